@@ -0,0 +1,161 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.io.IOException;
+import java.util.Map;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.CatalogFactory;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.config.GeoServer;
+import org.geoserver.data.test.MockData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.security.AccessMode;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * GeoServer instance used by the benchmarks, set up with the default system test data plus a synthetic catalog of
+ * configurable size. The synthetic layers are named {@code bench<w>:layer<l>} and share the data of
+ * {@link MockData#BASIC_POLYGONS}, each workspace has its own store.
+ *
+ * <p>Widens the visibility of the test support helpers the benchmarks need.
+ */
+public class BenchmarkGeoServer extends GeoServerSystemTestSupport {
+
+    static final String WORKSPACE_PREFIX = "bench";
+
+    static final String LAYER_PREFIX = "layer";
+
+    private final int workspaces;
+
+    private final int layersPerWorkspace;
+
+    public BenchmarkGeoServer(int workspaces, int layersPerWorkspace) {
+        this.workspaces = workspaces;
+        this.layersPerWorkspace = layersPerWorkspace;
+    }
+
+    /** Name of the i-th synthetic workspace */
+    public static String workspaceName(int w) {
+        return WORKSPACE_PREFIX + w;
+    }
+
+    /** Prefixed name of the l-th synthetic layer in the w-th synthetic workspace */
+    public static String layerName(int w, int l) {
+        return workspaceName(w) + ":" + LAYER_PREFIX + l;
+    }
+
+    public int getWorkspaces() {
+        return workspaces;
+    }
+
+    public int getLayersPerWorkspace() {
+        return layersPerWorkspace;
+    }
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        super.onSetUp(testData);
+        addSyntheticCatalog();
+    }
+
+    private void addSyntheticCatalog() throws IOException {
+        Catalog catalog = getRawCatalog();
+        CatalogFactory factory = catalog.getFactory();
+        CatalogBuilder builder = new CatalogBuilder(catalog);
+        LayerInfo templateLayer = catalog.getLayerByName(getLayerId(MockData.BASIC_POLYGONS));
+        FeatureTypeInfo template = (FeatureTypeInfo) templateLayer.getResource();
+        DataStoreInfo templateStore = (DataStoreInfo) template.getStore();
+
+        for (int w = 0; w < workspaces; w++) {
+            WorkspaceInfo ws = factory.createWorkspace();
+            ws.setName(workspaceName(w));
+            catalog.add(ws);
+
+            NamespaceInfo ns = factory.createNamespace();
+            ns.setPrefix(ws.getName());
+            ns.setURI("http://geoserver.org/" + ws.getName());
+            catalog.add(ns);
+
+            DataStoreInfo store = factory.createDataStore();
+            store.setName(ws.getName());
+            store.setWorkspace(ws);
+            store.setType(templateStore.getType());
+            store.setEnabled(true);
+            store.getConnectionParameters().putAll(templateStore.getConnectionParameters());
+            store.getConnectionParameters().put("namespace", ns.getURI());
+            catalog.add(store);
+
+            for (int l = 0; l < layersPerWorkspace; l++) {
+                FeatureTypeInfo ft = factory.createFeatureType();
+                ft.setName(LAYER_PREFIX + l);
+                ft.setNativeName(template.getNativeName());
+                ft.setTitle(ws.getName() + " " + ft.getName());
+                ft.setNamespace(ns);
+                ft.setStore(store);
+                ft.setSRS(template.getSRS());
+                ft.setNativeCRS(template.getNativeCRS());
+                ft.setNativeBoundingBox(template.getNativeBoundingBox());
+                ft.setLatLonBoundingBox(template.getLatLonBoundingBox());
+                ft.setProjectionPolicy(template.getProjectionPolicy());
+                ft.setEnabled(true);
+                catalog.add(ft);
+
+                LayerInfo layer = builder.buildLayer((ResourceInfo) ft);
+                layer.setDefaultStyle(templateLayer.getDefaultStyle());
+                catalog.add(layer);
+            }
+        }
+    }
+
+    /** The catalog without security and local workspace wrappers */
+    public Catalog getRawCatalog() {
+        return (Catalog) GeoServerExtensions.bean("rawCatalog");
+    }
+
+    /** The catalog applying the data access rules */
+    public Catalog getSecureCatalog() {
+        return (Catalog) GeoServerExtensions.bean("secureCatalog");
+    }
+
+    @Override
+    public Catalog getCatalog() {
+        return super.getCatalog();
+    }
+
+    @Override
+    public GeoServer getGeoServer() {
+        return super.getGeoServer();
+    }
+
+    @Override
+    public MockHttpServletResponse getAsServletResponse(String path) throws Exception {
+        return super.getAsServletResponse(path);
+    }
+
+    @Override
+    public Map<String, Object> parseKvp(Map<String, Object> raw) throws Exception {
+        return super.parseKvp(raw);
+    }
+
+    @Override
+    public <V> Map<String, V> caseInsensitiveKvp(Map<String, V> input) {
+        return super.caseInsensitiveKvp(input);
+    }
+
+    @Override
+    public void addLayerAccessRule(String workspace, String layer, AccessMode mode, String... roles)
+            throws IOException {
+        super.addLayerAccessRule(workspace, layer, mode, roles);
+    }
+}
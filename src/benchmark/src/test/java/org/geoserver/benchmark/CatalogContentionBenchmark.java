@@ -0,0 +1,74 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Catalog lookups performed while another thread keeps saving feature types, the way the REST API does. The reader
+ * throughput should scale with the number of reader threads, e.g., compare {@code -tg 1,1}, {@code -tg 2,1} and
+ * {@code -tg 4,1}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CatalogContentionBenchmark {
+
+    public static class CatalogState extends GeoServerState {
+
+        Catalog catalog;
+
+        List<String> layerIds = new ArrayList<>();
+
+        @Override
+        protected void initialize() {
+            catalog = geoServer.getRawCatalog();
+            for (LayerInfo layer : catalog.getLayers()) {
+                layerIds.add(layer.getId());
+            }
+        }
+
+        String randomLayerId() {
+            return layerIds.get(ThreadLocalRandom.current().nextInt(layerIds.size()));
+        }
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(3)
+    public LayerInfo readLayer(CatalogState state) {
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            return state.catalog.getLayerByName(state.randomLayerName());
+        }
+        return state.catalog.getLayer(state.randomLayerId());
+    }
+
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public FeatureTypeInfo writeFeatureType(CatalogState state) {
+        FeatureTypeInfo ft = state.catalog.getFeatureTypeByName(state.randomLayerName());
+        ft.setAbstract("Updated at " + System.nanoTime());
+        state.catalog.save(ft);
+        return ft;
+    }
+}
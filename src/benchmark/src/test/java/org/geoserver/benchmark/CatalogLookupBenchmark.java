@@ -0,0 +1,87 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Lookups by name and id, and filtered listing, against the raw {@code CatalogImpl} */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CatalogLookupBenchmark {
+
+    public static class CatalogState extends GeoServerState {
+
+        Catalog catalog;
+
+        List<String> layerIds = new ArrayList<>();
+
+        @Override
+        protected void initialize() {
+            catalog = geoServer.getRawCatalog();
+            for (LayerInfo layer : catalog.getLayers()) {
+                layerIds.add(layer.getId());
+            }
+        }
+
+        String randomLayerId() {
+            return layerIds.get(ThreadLocalRandom.current().nextInt(layerIds.size()));
+        }
+    }
+
+    @Benchmark
+    public LayerInfo layerByName(CatalogState state) {
+        return state.catalog.getLayerByName(state.randomLayerName());
+    }
+
+    @Benchmark
+    public LayerInfo layerById(CatalogState state) {
+        return state.catalog.getLayer(state.randomLayerId());
+    }
+
+    @Benchmark
+    public FeatureTypeInfo featureTypeByName(CatalogState state) {
+        return state.catalog.getFeatureTypeByName(state.randomLayerName());
+    }
+
+    @Benchmark
+    public WorkspaceInfo workspaceByName(CatalogState state) {
+        return state.catalog.getWorkspaceByName(BenchmarkGeoServer.workspaceName(state.randomWorkspace()));
+    }
+
+    @Benchmark
+    public int layersInWorkspace(CatalogState state) {
+        String workspace = BenchmarkGeoServer.workspaceName(state.randomWorkspace());
+        int count = 0;
+        try (CloseableIterator<LayerInfo> it = state.catalog.list(
+                LayerInfo.class, Predicates.equal("resource.store.workspace.name", workspace))) {
+            while (it.hasNext()) {
+                it.next();
+                count++;
+            }
+        }
+        return count;
+    }
+}
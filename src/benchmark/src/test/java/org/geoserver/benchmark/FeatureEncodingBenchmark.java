@@ -0,0 +1,63 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.geoserver.wfs.xml.GML3StreamingEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * WFS 1.1 GetFeature requests against the synthetic layers, encoded as GeoJSON and GML3, the latter with and without
+ * the streaming encoder
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FeatureEncodingBenchmark {
+
+    public static class GMLState extends GeoServerState {
+
+        /** Whether simple features are encoded by the streaming GML3 encoder */
+        @Param({"false", "true"})
+        public boolean streaming;
+
+        @Override
+        protected void initialize() {
+            System.setProperty(GML3StreamingEncoder.ENABLED_KEY, String.valueOf(streaming));
+        }
+    }
+
+    private static int getFeature(GeoServerState state, String outputFormat) throws Exception {
+        MockHttpServletResponse response = state.geoServer.getAsServletResponse(
+                "wfs?service=WFS&version=1.1.0&request=GetFeature&typeName=" + state.randomLayerName()
+                        + "&outputFormat=" + outputFormat);
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("GetFeature failed with status " + response.getStatus());
+        }
+        return response.getContentAsByteArray().length;
+    }
+
+    @Benchmark
+    public int geoJSON(GeoServerState state) throws Exception {
+        return getFeature(state, "application/json");
+    }
+
+    @Benchmark
+    public int gml3(GMLState state) throws Exception {
+        return getFeature(state, "text/xml;%20subtype=gml/3.1.1");
+    }
+}
@@ -0,0 +1,110 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import org.geoserver.wms.compiled.FilterCompiler;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.text.ecql.ECQL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Rule filter matching, as performed by the renderer for each feature, with the interpreted filters and with the
+ * predicates built by {@link FilterCompiler}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class FilterCompilerBenchmark {
+
+    /** Filters typical of thematic styles, one per rule */
+    static final String[][] RULES = {
+        {"population < 1000", "population BETWEEN 1000 AND 9999", "population >= 10000"},
+        {"type = 'primary' AND lanes > 2", "type IN ('secondary', 'tertiary')", "type = 'residential' OR lanes = 1"},
+        {"area * 2 > 500 AND strToLowerCase(name) = 'park'", "id IN (1, 5, 10, 50, 100, 500)", "name IS NULL"}
+    };
+
+    static final String[] TYPES = {"primary", "secondary", "tertiary", "residential"};
+
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        /** The rule set, an index in {@link #RULES} */
+        @Param({"0", "1", "2"})
+        public int rules;
+
+        /** Interpreted filters, or compiled predicates */
+        @Param({"interpreted", "compiled"})
+        public String mode;
+
+        @Param("10000")
+        public int features;
+
+        SimpleFeature[] data;
+
+        Predicate<SimpleFeature>[] predicates;
+
+        @Setup(Level.Trial)
+        @SuppressWarnings("unchecked")
+        public void setUp() throws Exception {
+            SimpleFeatureType type = DataUtilities.createType(
+                    "roads", "geom:Point,id:long,name:String,type:String,lanes:int,population:int,area:double");
+            // fixed seed, so that runs are comparable
+            Random random = new Random(0);
+            data = new SimpleFeature[features];
+            for (int i = 0; i < features; i++) {
+                Object[] values = {
+                    null,
+                    (long) i,
+                    i % 10 == 0 ? null : "Park " + i,
+                    TYPES[random.nextInt(TYPES.length)],
+                    random.nextInt(6),
+                    random.nextInt(20000),
+                    random.nextDouble() * 1000
+                };
+                data[i] = SimpleFeatureBuilder.build(type, values, "roads." + i);
+            }
+            String[] cql = RULES[rules];
+            predicates = new Predicate[cql.length];
+            for (int i = 0; i < cql.length; i++) {
+                Filter filter = ECQL.toFilter(cql[i]);
+                predicates[i] = "compiled".equals(mode) ? FilterCompiler.compile(filter, type) : filter::evaluate;
+            }
+        }
+    }
+
+    /** Matches every feature against all the rules, returning the number of matches */
+    @Benchmark
+    public int match(FilterState state) {
+        int matches = 0;
+        for (SimpleFeature feature : state.data) {
+            for (Predicate<SimpleFeature> predicate : state.predicates) {
+                if (predicate.test(feature)) {
+                    matches++;
+                }
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,69 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.data.test.MockData;
+import org.geoserver.gwc.GWC;
+import org.geowebcache.layer.TileLayer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** GWC tile layer lookups over the synthetic catalog, and WMTS GetTile requests served from the tile cache */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GWCTileLayerBenchmark {
+
+    public static class TileState extends GeoServerState {
+
+        static final String LAYER = MockData.BASIC_POLYGONS.getPrefix() + ":" + MockData.BASIC_POLYGONS.getLocalPart();
+
+        GWC gwc;
+
+        @Override
+        protected void initialize() throws Exception {
+            gwc = GWC.get();
+            // seed the hot tiles, the benchmark only measures cache hits
+            for (int col = 0; col < 2; col++) {
+                getTile(col);
+            }
+        }
+
+        MockHttpServletResponse getTile(int col) throws Exception {
+            MockHttpServletResponse response = geoServer.getAsServletResponse("gwc/service/wmts?request=GetTile&layer="
+                    + LAYER
+                    + "&format=image/png&tilematrixset=EPSG:4326&tilematrix=EPSG:4326:0&tilerow=0&tilecol="
+                    + col);
+            if (response.getStatus() != 200) {
+                throw new IllegalStateException("GetTile failed with status " + response.getStatus());
+            }
+            return response;
+        }
+    }
+
+    @Benchmark
+    public TileLayer tileLayerByName(TileState state) {
+        return state.gwc.getTileLayerByName(state.randomLayerName());
+    }
+
+    @Benchmark
+    public int cachedGetTile(TileState state) throws Exception {
+        return state.getTile(ThreadLocalRandom.current().nextInt(2))
+                .getContentAsByteArray()
+                .length;
+    }
+}
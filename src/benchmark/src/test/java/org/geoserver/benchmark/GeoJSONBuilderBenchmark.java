@@ -0,0 +1,124 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.io.Writer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.json.GeoJSONBuilder;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encoding of synthetic features with {@link GeoJSONBuilder}, comparing the builder based encoding of coordinates and
+ * numbers with the direct one
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GeoJSONBuilderBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class FeaturesState {
+
+        /** Number of features */
+        @Param("1000")
+        public int features;
+
+        /** Number of vertices of each polygon */
+        @Param({"10", "1000"})
+        public int vertices;
+
+        /** Number of decimals the coordinates are rounded to */
+        @Param({"4", "8"})
+        public int decimals;
+
+        /** True to write the coordinates and integral numbers directly */
+        @Param({"false", "true"})
+        public boolean direct;
+
+        Geometry[] geometries;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            GeometryFactory gf = new GeometryFactory();
+            // fixed seed, so that runs are comparable
+            Random random = new Random(0);
+            geometries = new Geometry[features];
+            for (int i = 0; i < features; i++) {
+                Coordinate[] ring = new Coordinate[vertices + 1];
+                double cx = random.nextDouble() * 360 - 180;
+                double cy = random.nextDouble() * 180 - 90;
+                for (int j = 0; j < vertices; j++) {
+                    double angle = 2 * Math.PI * j / vertices;
+                    double radius = 0.1 + random.nextDouble() * 0.01;
+                    ring[j] = new Coordinate(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle));
+                }
+                ring[vertices] = ring[0];
+                geometries[i] = gf.createPolygon(ring);
+            }
+        }
+    }
+
+    /** Discards the output, so that only the encoding is measured */
+    static class NullWriter extends Writer {
+
+        long count;
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    @Benchmark
+    public long encode(FeaturesState state) {
+        NullWriter writer = new NullWriter();
+        GeoJSONBuilder builder = new GeoJSONBuilder(writer);
+        builder.setNumberOfDecimals(state.decimals);
+        builder.setDirectEncoding(state.direct);
+        builder.object().key("type").value("FeatureCollection").key("features").array();
+        for (int i = 0; i < state.geometries.length; i++) {
+            Geometry geometry = state.geometries[i];
+            builder.object().key("type").value("Feature").key("id").value(i);
+            builder.key("geometry");
+            builder.writeGeom(geometry);
+            builder.key("properties").object();
+            builder.key("vertices");
+            builder.value(Integer.valueOf(geometry.getNumPoints()));
+            builder.endObject();
+            builder.writeBoundingBox(geometry.getEnvelopeInternal());
+            builder.endObject();
+        }
+        builder.endArray().endObject();
+        return writer.count;
+    }
+}
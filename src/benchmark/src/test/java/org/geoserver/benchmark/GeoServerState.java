@@ -0,0 +1,57 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Shared benchmark state, a {@link BenchmarkGeoServer} with a synthetic catalog whose size is controlled by the
+ * {@code workspaces} and {@code layersPerWorkspace} parameters. Subclasses add their own setup in
+ * {@link #initialize()}.
+ */
+@State(Scope.Benchmark)
+public class GeoServerState {
+
+    @Param("10")
+    public int workspaces;
+
+    @Param("100")
+    public int layersPerWorkspace;
+
+    public BenchmarkGeoServer geoServer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        geoServer = new BenchmarkGeoServer(workspaces, layersPerWorkspace);
+        geoServer.doSetup();
+        initialize();
+    }
+
+    /** Subclass hook called once GeoServer is up */
+    protected void initialize() throws Exception {}
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        GeoServerSystemTestSupport.doTearDownClass();
+    }
+
+    /** Index of a random synthetic workspace */
+    public int randomWorkspace() {
+        return ThreadLocalRandom.current().nextInt(workspaces);
+    }
+
+    /** Prefixed name of a random synthetic layer, to spread the lookups over the whole catalog */
+    public String randomLayerName() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return BenchmarkGeoServer.layerName(random.nextInt(workspaces), random.nextInt(layersPerWorkspace));
+    }
+}
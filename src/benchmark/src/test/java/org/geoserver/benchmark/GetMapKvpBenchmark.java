@@ -0,0 +1,78 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.map.GetMapKvpRequestReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** KVP parsing of GetMap requests, as done by the dispatcher, followed by {@link GetMapKvpRequestReader} */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class GetMapKvpBenchmark {
+
+    public static class GetMapState extends GeoServerState {
+
+        /** Number of layers in each GetMap request */
+        @Param({"1", "10"})
+        public int layersPerRequest;
+
+        GetMapKvpRequestReader reader;
+
+        @Override
+        protected void initialize() {
+            reader = (GetMapKvpRequestReader) GeoServerExtensions.bean("getMapKvpReader");
+        }
+
+        Map<String, Object> randomRequest() {
+            StringBuilder layers = new StringBuilder();
+            StringBuilder styles = new StringBuilder();
+            for (int i = 0; i < layersPerRequest; i++) {
+                if (i > 0) {
+                    layers.append(',');
+                    styles.append(',');
+                }
+                layers.append(randomLayerName());
+            }
+            Map<String, Object> raw = new HashMap<>();
+            raw.put("service", "WMS");
+            raw.put("version", "1.1.1");
+            raw.put("request", "GetMap");
+            raw.put("layers", layers.toString());
+            raw.put("styles", styles.toString());
+            raw.put("format", "image/png");
+            raw.put("srs", "EPSG:4326");
+            raw.put("bbox", "-180,-90,180,90");
+            raw.put("width", "256");
+            raw.put("height", "256");
+            raw.put("transparent", "true");
+            return raw;
+        }
+    }
+
+    @Benchmark
+    public GetMapRequest parseGetMap(GetMapState state) throws Exception {
+        Map<String, Object> raw = state.randomRequest();
+        Map<String, Object> kvp = state.geoServer.parseKvp(raw);
+        GetMapKvpRequestReader reader = state.reader;
+        return reader.read(reader.createRequest(), kvp, state.geoServer.caseInsensitiveKvp(raw));
+    }
+}
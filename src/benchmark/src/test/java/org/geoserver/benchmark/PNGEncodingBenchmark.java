@@ -0,0 +1,102 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.imagen.media.colorindexer.ColorIndexer;
+import org.eclipse.imagen.media.colorindexer.Quantizer;
+import org.geoserver.wms.map.png.PNGJWriter;
+import org.geotools.image.ImageWorker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PNG encoding via {@link PNGJWriter} of a synthetic map-like image, in RGBA and paletted form, comparing the single
+ * threaded PNGJ encoder with the parallel one
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PNGEncodingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class ImageState {
+
+        /** Image side, in pixels */
+        @Param({"256", "768", "4096"})
+        public int size;
+
+        /** The PNGJ single threaded encoder, or the parallel one using all the available processors */
+        @Param({"pngj", "parallel"})
+        public String encoder;
+
+        /** True to encode a paletted (PNG8) image */
+        @Param({"false", "true"})
+        public boolean paletted;
+
+        @Param("0.25")
+        public float quality;
+
+        RenderedImage image;
+
+        PNGJWriter writer;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            writer = "parallel".equals(encoder)
+                    ? new PNGJWriter(Runtime.getRuntime().availableProcessors(), 0, false)
+                    : new PNGJWriter(1, 0, false);
+            BufferedImage argb = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = argb.createGraphics();
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            // fixed seed, so that runs are comparable
+            Random random = new Random(0);
+            for (int i = 0; i < size / 2; i++) {
+                graphics.setColor(new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), 200));
+                int x = random.nextInt(size);
+                int y = random.nextInt(size);
+                if (i % 2 == 0) {
+                    graphics.fillOval(x, y, random.nextInt(size / 8) + 1, random.nextInt(size / 8) + 1);
+                } else {
+                    graphics.drawLine(x, y, random.nextInt(size), random.nextInt(size));
+                }
+            }
+            graphics.dispose();
+            if (paletted) {
+                // same quantization as PNG8 output, done once so that only the encoding is measured
+                ColorIndexer indexer = new Quantizer(256).subsample().buildColorIndexer(argb);
+                image = new ImageWorker(argb).colorIndex(indexer).getBufferedImage();
+            } else {
+                image = argb;
+            }
+        }
+    }
+
+    @Benchmark
+    public int encode(ImageState state) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        state.writer.writePNG(state.image, out, state.quality, null);
+        return out.size();
+    }
+}
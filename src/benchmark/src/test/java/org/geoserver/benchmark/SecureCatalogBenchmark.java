@@ -0,0 +1,98 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geoserver.security.AccessMode;
+import org.geotools.api.filter.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Filtering of the catalog contents by {@code SecureCatalogImpl}, for a user that can only see the even synthetic
+ * workspaces (the odd ones are restricted to another role).
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SecureCatalogBenchmark {
+
+    static final String USER_ROLE = "ROLE_BENCH";
+
+    static final String OTHER_ROLE = "ROLE_OTHER";
+
+    public static class SecureCatalogState extends GeoServerState {
+
+        Catalog catalog;
+
+        @Override
+        protected void initialize() throws Exception {
+            for (int w = 1; w < workspaces; w += 2) {
+                geoServer.addLayerAccessRule(BenchmarkGeoServer.workspaceName(w), "*", AccessMode.READ, OTHER_ROLE);
+            }
+            catalog = geoServer.getSecureCatalog();
+        }
+    }
+
+    /** Authenticates each benchmark thread */
+    @State(Scope.Thread)
+    public static class UserState {
+
+        @Setup(Level.Trial)
+        public void login() {
+            SecurityContextHolder.getContext()
+                    .setAuthentication(new UsernamePasswordAuthenticationToken(
+                            "bench", "bench", List.of(new SimpleGrantedAuthority(USER_ROLE))));
+        }
+
+        @TearDown(Level.Trial)
+        public void logout() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public LayerInfo layerByName(SecureCatalogState state, UserState user) {
+        return state.catalog.getLayerByName(state.randomLayerName());
+    }
+
+    @Benchmark
+    public int getLayers(SecureCatalogState state, UserState user) {
+        return state.catalog.getLayers().size();
+    }
+
+    @Benchmark
+    public int listLayers(SecureCatalogState state, UserState user) {
+        int count = 0;
+        try (CloseableIterator<LayerInfo> it = state.catalog.list(LayerInfo.class, Filter.INCLUDE)) {
+            while (it.hasNext()) {
+                it.next();
+                count++;
+            }
+        }
+        return count;
+    }
+}
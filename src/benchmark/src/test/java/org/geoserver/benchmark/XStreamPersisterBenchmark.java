@@ -0,0 +1,103 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.config.util.XStreamPersister;
+import org.geoserver.config.util.XStreamPersisterFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Save and load round trips of catalog objects through the {@link XStreamPersister}, as done by the data directory */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Threads(4)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class XStreamPersisterBenchmark {
+
+    public static class CatalogState extends GeoServerState {
+
+        Catalog catalog;
+
+        FeatureTypeInfo featureType;
+
+        LayerInfo layer;
+
+        byte[] featureTypeXml;
+
+        byte[] layerXml;
+
+        @Override
+        protected void initialize() throws Exception {
+            catalog = geoServer.getRawCatalog();
+            String name = BenchmarkGeoServer.layerName(0, 0);
+            featureType = catalog.getFeatureTypeByName(name);
+            layer = catalog.getLayerByName(name);
+            XStreamPersister persister = createPersister(catalog);
+            featureTypeXml = save(persister, featureType);
+            layerXml = save(persister, layer);
+        }
+    }
+
+    /** The persister is not thread safe, each benchmark thread gets its own */
+    @State(Scope.Thread)
+    public static class PersisterState {
+
+        XStreamPersister persister;
+
+        @Setup
+        public void setUp(CatalogState catalog) {
+            persister = createPersister(catalog.catalog);
+        }
+    }
+
+    static XStreamPersister createPersister(Catalog catalog) {
+        XStreamPersister persister = new XStreamPersisterFactory().createXMLPersister();
+        persister.setCatalog(catalog);
+        return persister;
+    }
+
+    static byte[] save(XStreamPersister persister, Object object) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        persister.save(object, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] saveFeatureType(CatalogState state, PersisterState persister) throws Exception {
+        return save(persister.persister, state.featureType);
+    }
+
+    @Benchmark
+    public byte[] saveLayer(CatalogState state, PersisterState persister) throws Exception {
+        return save(persister.persister, state.layer);
+    }
+
+    @Benchmark
+    public FeatureTypeInfo loadFeatureType(CatalogState state, PersisterState persister) throws Exception {
+        return persister.persister.load(new ByteArrayInputStream(state.featureTypeXml), FeatureTypeInfo.class);
+    }
+
+    @Benchmark
+    public LayerInfo loadLayer(CatalogState state, PersisterState persister) throws Exception {
+        return persister.persister.load(new ByteArrayInputStream(state.layerXml), LayerInfo.class);
+    }
+}
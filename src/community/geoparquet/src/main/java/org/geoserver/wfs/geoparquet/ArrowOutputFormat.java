@@ -0,0 +1,255 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.geoparquet;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.BitVector;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeMilliVector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.geoserver.config.GeoServer;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.WFSGetFeatureOutputFormat;
+import org.geoserver.wfs.request.FeatureCollectionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.kordamp.json.JSONObject;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * GetFeature output format writing an Arrow IPC stream.
+ *
+ * <p>The features are written in record batches of a configurable size, so that memory usage is bounded by the batch
+ * rather than by the number of features. Geometries are encoded as WKB, in fields tagged with the GeoArrow
+ * {@code geoarrow.wkb} extension type.
+ */
+public class ArrowOutputFormat extends WFSGetFeatureOutputFormat {
+
+    static final String MIME_TYPE = "application/vnd.apache.arrow.stream";
+
+    static final List<String> NAMES = List.of("arrow", "arrows");
+
+    static final String EXTENSION = "arrows";
+
+    /** Number of features per record batch */
+    public static final String BATCH_SIZE_KEY = "org.geoserver.wfs.arrow.batchSize";
+
+    static final int DEFAULT_BATCH_SIZE = 16384;
+
+    static final String EXTENSION_NAME = "ARROW:extension:name";
+
+    static final String EXTENSION_METADATA = "ARROW:extension:metadata";
+
+    static final String GEOARROW_WKB = "geoarrow.wkb";
+
+    public ArrowOutputFormat(GeoServer gs) {
+        super(gs, names());
+    }
+
+    private static Set<String> names() {
+        Set<String> names = new HashSet<>(NAMES);
+        names.add(MIME_TYPE);
+        return names;
+    }
+
+    @Override
+    public String getMimeType(Object value, Operation operation) throws ServiceException {
+        return MIME_TYPE;
+    }
+
+    @Override
+    public String getCapabilitiesElementName() {
+        return NAMES.get(0);
+    }
+
+    @Override
+    public List<String> getCapabilitiesElementNames() {
+        return NAMES;
+    }
+
+    @Override
+    public String getPreferredDisposition(Object value, Operation operation) {
+        return DISPOSITION_ATTACH;
+    }
+
+    @Override
+    protected String getExtension(FeatureCollectionResponse response) {
+        return EXTENSION;
+    }
+
+    @Override
+    protected void write(FeatureCollectionResponse featureCollection, OutputStream output, Operation getFeature)
+            throws IOException, ServiceException {
+        SimpleFeatureCollection features = GeoParquetOutputFormat.getSimpleFeatures(featureCollection, "Arrow");
+        List<FeatureColumn> columns = FeatureColumn.columns(features.getSchema());
+        int batchSize = getBatchSize();
+
+        WKBWriter wkbWriter = new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN);
+        try (BufferAllocator allocator = new RootAllocator();
+                VectorSchemaRoot root = VectorSchemaRoot.create(schema(columns), allocator);
+                ArrowStreamWriter writer =
+                        new ArrowStreamWriter(root, null, Channels.newChannel(new NonClosingOutputStream(output)));
+                SimpleFeatureIterator it = features.features()) {
+            writer.start();
+            root.allocateNew();
+            int row = 0;
+            int batches = 0;
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                for (int i = 0; i < columns.size(); i++) {
+                    FeatureColumn column = columns.get(i);
+                    Object value = feature.getAttribute(column.index());
+                    if (value != null) {
+                        set(root.getVector(i), column, row, value, wkbWriter);
+                    }
+                }
+                if (++row == batchSize) {
+                    root.setRowCount(row);
+                    writer.writeBatch();
+                    root.allocateNew();
+                    row = 0;
+                    batches++;
+                }
+            }
+            // the last, partial batch, or an empty one to carry the schema
+            if (row > 0 || batches == 0) {
+                root.setRowCount(row);
+                writer.writeBatch();
+            }
+            writer.end();
+        }
+        output.flush();
+    }
+
+    /** Builds the Arrow schema of the feature type */
+    static Schema schema(List<FeatureColumn> columns) {
+        List<Field> fields = new ArrayList<>();
+        for (FeatureColumn column : columns) {
+            Map<String, String> metadata = null;
+            if (column.type() == FeatureColumn.Type.GEOMETRY) {
+                metadata = Map.of(EXTENSION_NAME, GEOARROW_WKB, EXTENSION_METADATA, geoArrowMetadata(column));
+            }
+            FieldType type = new FieldType(true, arrowType(column.type()), null, metadata);
+            fields.add(new Field(column.name(), type, null));
+        }
+        return new Schema(fields);
+    }
+
+    private static ArrowType arrowType(FeatureColumn.Type type) {
+        return switch (type) {
+            case INT -> new ArrowType.Int(32, true);
+            case LONG -> new ArrowType.Int(64, true);
+            case FLOAT -> new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+            case DOUBLE -> new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+            case BOOLEAN -> ArrowType.Bool.INSTANCE;
+            case DATE -> new ArrowType.Date(DateUnit.DAY);
+            case TIME -> new ArrowType.Time(TimeUnit.MILLISECOND, 32);
+            case TIMESTAMP -> new ArrowType.Timestamp(TimeUnit.MILLISECOND, "UTC");
+            case GEOMETRY -> ArrowType.Binary.INSTANCE;
+            default -> ArrowType.Utf8.INSTANCE;
+        };
+    }
+
+    /**
+     * The GeoArrow extension metadata, referencing the reference system by authority code when known, and leaving it
+     * out for longitude/latitude WGS84
+     */
+    static String geoArrowMetadata(FeatureColumn column) {
+        JSONObject metadata = new JSONObject();
+        Integer code = FeatureColumn.getEpsgCode(column.crs());
+        if (code != null && code != 0) {
+            metadata.put("crs", "EPSG:" + code);
+            metadata.put("crs_type", "authority_code");
+        }
+        return metadata.toString();
+    }
+
+    private static void set(FieldVector vector, FeatureColumn column, int row, Object value, WKBWriter wkbWriter) {
+        switch (column.type()) {
+            case INT -> ((IntVector) vector).setSafe(row, ((Number) value).intValue());
+            case LONG -> ((BigIntVector) vector).setSafe(row, ((Number) value).longValue());
+            case FLOAT -> ((Float4Vector) vector).setSafe(row, ((Number) value).floatValue());
+            case DOUBLE -> ((Float8Vector) vector).setSafe(row, ((Number) value).doubleValue());
+            case BOOLEAN -> ((BitVector) vector).setSafe(row, (Boolean) value ? 1 : 0);
+            case DATE -> ((DateDayVector) vector).setSafe(row, FeatureColumn.toEpochDay(value));
+            case TIME -> ((TimeMilliVector) vector).setSafe(row, FeatureColumn.toMillisOfDay(value));
+            case TIMESTAMP -> ((TimeStampMilliTZVector) vector).setSafe(row, FeatureColumn.toEpochMillis(value));
+            case GEOMETRY -> {
+                if (value instanceof Geometry geometry) {
+                    ((VarBinaryVector) vector).setSafe(row, wkbWriter.write(geometry));
+                }
+            }
+            default -> {
+                byte[] bytes = FeatureColumn.toString(value).getBytes(StandardCharsets.UTF_8);
+                ((VarCharVector) vector).setSafe(row, bytes);
+            }
+        }
+    }
+
+    static int getBatchSize() {
+        String size = GeoServerExtensions.getProperty(BATCH_SIZE_KEY);
+        if (size != null) {
+            try {
+                int value = Integer.parseInt(size.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                GeoParquetOutputFormat.LOGGER.warning("Invalid " + BATCH_SIZE_KEY + " value: " + size);
+            }
+        }
+        return DEFAULT_BATCH_SIZE;
+    }
+
+    /** The writer closes its channel, the response output stream is left to the dispatcher instead */
+    static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
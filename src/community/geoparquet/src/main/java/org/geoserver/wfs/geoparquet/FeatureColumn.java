@@ -0,0 +1,137 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.geoparquet;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Time;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A column of the columnar output formats, mapping a simple feature attribute onto one of the few value types both
+ * GeoParquet and Arrow support
+ *
+ * @param name the column name
+ * @param index the attribute index in the feature type
+ * @param type the column value type
+ * @param crs the geometry reference system, for geometry columns
+ */
+record FeatureColumn(String name, int index, Type type, CoordinateReferenceSystem crs) {
+
+    /** The column value types */
+    enum Type {
+        STRING,
+        INT,
+        LONG,
+        FLOAT,
+        DOUBLE,
+        BOOLEAN,
+        /** Days since the epoch */
+        DATE,
+        /** Milliseconds since midnight */
+        TIME,
+        /** Milliseconds since the epoch, UTC */
+        TIMESTAMP,
+        /** WKB encoded geometry */
+        GEOMETRY
+    }
+
+    /** Returns the columns of the feature type, in attribute order */
+    static List<FeatureColumn> columns(SimpleFeatureType schema) {
+        List<FeatureColumn> columns = new ArrayList<>();
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        for (int i = 0; i < descriptors.size(); i++) {
+            AttributeDescriptor ad = descriptors.get(i);
+            Type type = type(ad.getType().getBinding());
+            CoordinateReferenceSystem crs =
+                    ad instanceof GeometryDescriptor gd ? gd.getCoordinateReferenceSystem() : null;
+            columns.add(new FeatureColumn(ad.getLocalName(), i, type, crs));
+        }
+        return columns;
+    }
+
+    static Type type(Class<?> binding) {
+        if (Geometry.class.isAssignableFrom(binding)) {
+            return Type.GEOMETRY;
+        } else if (Integer.class.equals(binding) || Short.class.equals(binding) || Byte.class.equals(binding)) {
+            return Type.INT;
+        } else if (Long.class.equals(binding)) {
+            return Type.LONG;
+        } else if (Float.class.equals(binding)) {
+            return Type.FLOAT;
+        } else if (BigDecimal.class.equals(binding) || BigInteger.class.equals(binding)) {
+            // arbitrary precision, kept exact as text rather than rounded to a double
+            return Type.STRING;
+        } else if (Number.class.isAssignableFrom(binding)) {
+            return Type.DOUBLE;
+        } else if (Boolean.class.equals(binding)) {
+            return Type.BOOLEAN;
+        } else if (java.sql.Date.class.isAssignableFrom(binding)) {
+            return Type.DATE;
+        } else if (Time.class.isAssignableFrom(binding)) {
+            return Type.TIME;
+        } else if (Date.class.isAssignableFrom(binding)) {
+            return Type.TIMESTAMP;
+        }
+        return Type.STRING;
+    }
+
+    static String toString(Object value) {
+        if (value instanceof String s) {
+            return s;
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        String converted = Converters.convert(value, String.class);
+        return converted != null ? converted : value.toString();
+    }
+
+    static int toEpochDay(Object value) {
+        return (int) ((java.sql.Date) value).toLocalDate().toEpochDay();
+    }
+
+    static int toMillisOfDay(Object value) {
+        return (int) (((Time) value).toLocalTime().toNanoOfDay() / 1_000_000);
+    }
+
+    static long toEpochMillis(Object value) {
+        return ((Date) value).getTime();
+    }
+
+    /**
+     * Returns the EPSG code of the reference system, 0 for the longitude/latitude WGS84 one, the default for both
+     * GeoParquet and GeoArrow, or null if the code cannot be found
+     */
+    static Integer getEpsgCode(CoordinateReferenceSystem crs) {
+        if (crs == null || CRS.equalsIgnoreMetadata(crs, DefaultGeographicCRS.WGS84)) {
+            return 0;
+        }
+        try {
+            Integer code = CRS.lookupEpsgCode(crs, false);
+            if (code != null && code == 4326 && CRS.getAxisOrder(crs) == CRS.AxisOrder.EAST_NORTH) {
+                return 0;
+            }
+            return code;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /** The geometry types GeoParquet names in the column metadata */
+    static String getGeometryType(Geometry geometry) {
+        String type = geometry.getGeometryType();
+        return Geometry.TYPENAME_LINEARRING.equals(type) ? Geometry.TYPENAME_LINESTRING : type;
+    }
+}
@@ -0,0 +1,442 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.geoparquet;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.apache.commons.io.FileUtils;
+import org.duckdb.DuckDBAppender;
+import org.duckdb.DuckDBConnection;
+import org.geoserver.config.GeoServer;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.wfs.WFSGetFeatureOutputFormat;
+import org.geoserver.wfs.request.FeatureCollectionResponse;
+import org.geoserver.wfs.request.GetFeatureRequest;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.ReprojectingFeatureCollection;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.logging.Logging;
+import org.kordamp.json.JSONArray;
+import org.kordamp.json.JSONNull;
+import org.kordamp.json.JSONObject;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * GetFeature output format writing GeoParquet files.
+ *
+ * <p>Nothing is streamed: all the features are first appended into a DuckDB staging table, which spills to a
+ * temporary directory once over the configured memory limit, the table is then copied into a ZSTD compressed Parquet
+ * temporary file, and only once complete the file is copied to the response. Disk usage can hence reach about twice the
+ * output size, the spilled table plus the file. Geometries are encoded as WKB, and a bounding box struct column is
+ * added for the primary geometry and declared as its covering in the GeoParquet metadata, so that readers can skip row
+ * groups on spatial filters.
+ *
+ * <p>GeoParquet declares reference systems other than longitude/latitude WGS84, its default, as complete PROJJSON
+ * definitions, which GeoTools cannot produce. The features are hence reprojected to WGS84 when the request does not
+ * name a reference system, and requests for any other one are rejected.
+ */
+public class GeoParquetOutputFormat extends WFSGetFeatureOutputFormat {
+
+    static final Logger LOGGER = Logging.getLogger(GeoParquetOutputFormat.class);
+
+    static final String MIME_TYPE = "application/vnd.apache.parquet";
+
+    static final List<String> NAMES = List.of("parquet", "geoparquet");
+
+    static final String EXTENSION = "parquet";
+
+    /** DuckDB memory limit while staging the features, beyond it the table spills to disk */
+    public static final String MEMORY_LIMIT_KEY = "org.geoserver.wfs.geoparquet.memoryLimit";
+
+    /** Number of rows per Parquet row group */
+    public static final String ROW_GROUP_SIZE_KEY = "org.geoserver.wfs.geoparquet.rowGroupSize";
+
+    static final String DEFAULT_MEMORY_LIMIT = "256MB";
+
+    static final int DEFAULT_ROW_GROUP_SIZE = 122880;
+
+    static final String GEOPARQUET_VERSION = "1.1.0";
+
+    static final String STAGING_TABLE = "features";
+
+    static final String[] BBOX_FIELDS = {"xmin", "ymin", "xmax", "ymax"};
+
+    public GeoParquetOutputFormat(GeoServer gs) {
+        super(gs, names());
+    }
+
+    private static Set<String> names() {
+        Set<String> names = new HashSet<>(NAMES);
+        names.add(MIME_TYPE);
+        return names;
+    }
+
+    @Override
+    public String getMimeType(Object value, Operation operation) throws ServiceException {
+        return MIME_TYPE;
+    }
+
+    @Override
+    public String getCapabilitiesElementName() {
+        return NAMES.get(0);
+    }
+
+    @Override
+    public List<String> getCapabilitiesElementNames() {
+        return NAMES;
+    }
+
+    @Override
+    public String getPreferredDisposition(Object value, Operation operation) {
+        return DISPOSITION_ATTACH;
+    }
+
+    @Override
+    protected String getExtension(FeatureCollectionResponse response) {
+        return EXTENSION;
+    }
+
+    @Override
+    protected void write(FeatureCollectionResponse featureCollection, OutputStream output, Operation getFeature)
+            throws IOException, ServiceException {
+        SimpleFeatureCollection features = toCRS84(getSimpleFeatures(featureCollection, "GeoParquet"), getFeature);
+
+        Path directory = Files.createTempDirectory("geoparquet");
+        try {
+            Path file = directory.resolve("features.parquet");
+            try (Connection connection = DriverManager.getConnection("jdbc:duckdb:")) {
+                DuckDBConnection duckdb = connection.unwrap(DuckDBConnection.class);
+                execute(duckdb, "SET temp_directory = " + literal(directory.resolve("spill").toString()));
+                execute(duckdb, "SET memory_limit = " + literal(getMemoryLimit()));
+                write(duckdb, features, file);
+            } catch (SQLException e) {
+                throw new IOException("Failed to write the GeoParquet output", e);
+            }
+            Files.copy(file, output);
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    /** Returns the single simple feature collection the columnar formats can write */
+    static SimpleFeatureCollection getSimpleFeatures(FeatureCollectionResponse response, String format) {
+        List<FeatureCollection> collections = response.getFeatures();
+        if (collections.size() != 1) {
+            throw new ServiceException(format + " output supports a single feature type per request");
+        }
+        if (!(collections.get(0) instanceof SimpleFeatureCollection features)) {
+            throw new ServiceException(format + " output does not support complex features");
+        }
+        return features;
+    }
+
+    /**
+     * Reprojects the features to longitude/latitude WGS84, the only reference system the output can declare, unless
+     * they are already in it
+     *
+     * @throws ServiceException if the request names another reference system
+     */
+    static SimpleFeatureCollection toCRS84(SimpleFeatureCollection features, Operation getFeature) {
+        boolean crs84 = features.getSchema().getAttributeDescriptors().stream()
+                .filter(GeometryDescriptor.class::isInstance)
+                .map(ad -> FeatureColumn.getEpsgCode(((GeometryDescriptor) ad).getCoordinateReferenceSystem()))
+                .allMatch(code -> code != null && code == 0);
+        if (crs84) {
+            return features;
+        }
+        if (getSrsName(getFeature) != null) {
+            throw new ServiceException(
+                    "GeoParquet output supports only longitude/latitude WGS84, request CRS:84 or leave srsName out",
+                    ServiceException.INVALID_PARAMETER_VALUE,
+                    "srsName");
+        }
+        try {
+            return new ReprojectingFeatureCollection(features, DefaultGeographicCRS.WGS84);
+        } catch (Exception e) {
+            throw new ServiceException("Failed to reproject the features to WGS84 for the GeoParquet output", e);
+        }
+    }
+
+    private static URI getSrsName(Operation getFeature) {
+        if (getFeature == null || getFeature.getParameters() == null || getFeature.getParameters().length == 0) {
+            return null;
+        }
+        GetFeatureRequest request = GetFeatureRequest.adapt(getFeature.getParameters()[0]);
+        if (request == null || request.getQueries().isEmpty()) {
+            return null;
+        }
+        return request.getQueries().get(0).getSrsName();
+    }
+
+    private void write(DuckDBConnection connection, SimpleFeatureCollection features, Path file)
+            throws SQLException {
+        SimpleFeatureType schema = features.getSchema();
+        List<FeatureColumn> columns = FeatureColumn.columns(schema);
+        GeometryDescriptor primary = schema.getGeometryDescriptor();
+        FeatureColumn primaryColumn = columns.stream()
+                .filter(c -> primary != null && c.name().equals(primary.getLocalName()))
+                .findFirst()
+                .orElse(null);
+
+        execute(connection, createStagingTable(columns, primaryColumn != null));
+
+        // per geometry column bounds and geometry types, for the GeoParquet metadata
+        Map<FeatureColumn, Envelope> bounds = new LinkedHashMap<>();
+        Map<FeatureColumn, Set<String>> geometryTypes = new LinkedHashMap<>();
+        for (FeatureColumn column : columns) {
+            if (column.type() == FeatureColumn.Type.GEOMETRY) {
+                bounds.put(column, new Envelope());
+                geometryTypes.put(column, new TreeSet<>());
+            }
+        }
+
+        WKBWriter wkbWriter = new WKBWriter(2, ByteOrderValues.LITTLE_ENDIAN);
+        long count = 0;
+        try (DuckDBAppender appender = connection.createAppender(DuckDBConnection.DEFAULT_SCHEMA, STAGING_TABLE);
+                SimpleFeatureIterator it = features.features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                appender.beginRow();
+                Envelope featureBounds = null;
+                for (FeatureColumn column : columns) {
+                    Object value = feature.getAttribute(column.index());
+                    if (column.type() == FeatureColumn.Type.GEOMETRY && value instanceof Geometry geometry) {
+                        appender.append(wkbWriter.write(geometry));
+                        if (!geometry.isEmpty()) {
+                            Envelope envelope = geometry.getEnvelopeInternal();
+                            geometryTypes.get(column).add(FeatureColumn.getGeometryType(geometry));
+                            bounds.get(column).expandToInclude(envelope);
+                            if (column == primaryColumn) {
+                                featureBounds = envelope;
+                            }
+                        }
+                    } else {
+                        append(appender, column, value);
+                    }
+                }
+                if (primaryColumn != null) {
+                    appendBounds(appender, featureBounds);
+                }
+                appender.endRow();
+                count++;
+            }
+        }
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Staged " + count + " features of " + schema.getTypeName() + " for GeoParquet output");
+        }
+
+        StringBuilder sql = new StringBuilder("COPY (");
+        sql.append(select(columns, primaryColumn != null));
+        sql.append(") TO ").append(literal(file.toString()));
+        sql.append(" (FORMAT PARQUET, COMPRESSION ZSTD, ROW_GROUP_SIZE ").append(getRowGroupSize());
+        if (primaryColumn != null) {
+            String geo = geoMetadata(primaryColumn, coveringName(columns), bounds, geometryTypes)
+                    .toString();
+            sql.append(", KV_METADATA {geo: ").append(literal(geo)).append("}");
+        }
+        sql.append(")");
+        execute(connection, sql.toString());
+    }
+
+    private static void append(DuckDBAppender appender, FeatureColumn column, Object value) throws SQLException {
+        if (value == null) {
+            appender.append((String) null);
+            return;
+        }
+        switch (column.type()) {
+            case INT -> appender.append(((Number) value).intValue());
+            case LONG -> appender.append(((Number) value).longValue());
+            case FLOAT -> appender.append(((Number) value).floatValue());
+            case DOUBLE -> appender.append(((Number) value).doubleValue());
+            case BOOLEAN -> appender.append((boolean) (Boolean) value);
+            case DATE -> appender.append(FeatureColumn.toEpochDay(value));
+            case TIME -> appender.append(FeatureColumn.toMillisOfDay(value));
+            case TIMESTAMP -> appender.append(FeatureColumn.toEpochMillis(value));
+            // a geometry column holding something else than a geometry
+            case GEOMETRY -> appender.append((String) null);
+            default -> appender.append(FeatureColumn.toString(value));
+        }
+    }
+
+    private static void appendBounds(DuckDBAppender appender, Envelope envelope) throws SQLException {
+        if (envelope == null) {
+            for (int i = 0; i < BBOX_FIELDS.length; i++) {
+                appender.append((String) null);
+            }
+        } else {
+            appender.append(envelope.getMinX());
+            appender.append(envelope.getMinY());
+            appender.append(envelope.getMaxX());
+            appender.append(envelope.getMaxY());
+        }
+    }
+
+    /**
+     * The staging table uses positional column names, as the attribute names are free form, and stores the temporal
+     * values as numbers, that the appender handles natively
+     */
+    static String createStagingTable(List<FeatureColumn> columns, boolean covering) {
+        List<String> definitions = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            definitions.add("c" + i + " " + stagingType(columns.get(i).type()));
+        }
+        if (covering) {
+            for (String field : BBOX_FIELDS) {
+                definitions.add(field + " DOUBLE");
+            }
+        }
+        return "CREATE TABLE " + STAGING_TABLE + " (" + String.join(", ", definitions) + ")";
+    }
+
+    private static String stagingType(FeatureColumn.Type type) {
+        return switch (type) {
+            case INT, DATE, TIME -> "INTEGER";
+            case LONG, TIMESTAMP -> "BIGINT";
+            case FLOAT -> "FLOAT";
+            case DOUBLE -> "DOUBLE";
+            case BOOLEAN -> "BOOLEAN";
+            case GEOMETRY -> "BLOB";
+            default -> "VARCHAR";
+        };
+    }
+
+    /** Maps the staging columns back to the attribute names and types */
+    static String select(List<FeatureColumn> columns, boolean covering) {
+        List<String> expressions = new ArrayList<>();
+        for (int i = 0; i < columns.size(); i++) {
+            FeatureColumn column = columns.get(i);
+            String c = "c" + i;
+            String expression =
+                    switch (column.type()) {
+                        case DATE -> "DATE '1970-01-01' + " + c;
+                        case TIME -> "TIME '00:00:00' + to_milliseconds(" + c + ")";
+                        case TIMESTAMP -> "epoch_ms(" + c + ")";
+                        default -> c;
+                    };
+            expressions.add(expression + " AS " + identifier(column.name()));
+        }
+        if (covering) {
+            List<String> fields = new ArrayList<>();
+            for (String field : BBOX_FIELDS) {
+                fields.add(field + " := " + field);
+            }
+            expressions.add("struct_pack(" + String.join(", ", fields) + ") AS " + identifier(coveringName(columns)));
+        }
+        return "SELECT " + String.join(", ", expressions) + " FROM " + STAGING_TABLE;
+    }
+
+    /** The bounding box column name, "bbox" unless an attribute already uses it */
+    static String coveringName(List<FeatureColumn> columns) {
+        Set<String> names = new HashSet<>();
+        columns.forEach(c -> names.add(c.name()));
+        String name = "bbox";
+        while (names.contains(name)) {
+            name = "_" + name;
+        }
+        return name;
+    }
+
+    /** Builds the "geo" file metadata, as described by the GeoParquet specification */
+    static JSONObject geoMetadata(
+            FeatureColumn primary,
+            String coveringName,
+            Map<FeatureColumn, Envelope> bounds,
+            Map<FeatureColumn, Set<String>> geometryTypes) {
+        JSONObject columns = new JSONObject();
+        for (Map.Entry<FeatureColumn, Envelope> entry : bounds.entrySet()) {
+            FeatureColumn column = entry.getKey();
+            JSONObject metadata = new JSONObject();
+            metadata.put("encoding", "WKB");
+            metadata.put("geometry_types", new JSONArray().element(geometryTypes.get(column)));
+            // omitted means CRS84, see toCRS84, null means undefined, for geometries without a known reference system
+            Integer code = FeatureColumn.getEpsgCode(column.crs());
+            if (code == null || code != 0) {
+                metadata.put("crs", JSONNull.getInstance());
+            }
+            Envelope envelope = entry.getValue();
+            if (!envelope.isNull()) {
+                JSONArray bbox = new JSONArray();
+                bbox.add(envelope.getMinX());
+                bbox.add(envelope.getMinY());
+                bbox.add(envelope.getMaxX());
+                bbox.add(envelope.getMaxY());
+                metadata.put("bbox", bbox);
+            }
+            if (column == primary) {
+                JSONObject fields = new JSONObject();
+                for (String field : BBOX_FIELDS) {
+                    fields.put(field, new JSONArray().element(coveringName).element(field));
+                }
+                metadata.put("covering", new JSONObject().element("bbox", fields));
+            }
+            columns.put(column.name(), metadata);
+        }
+        JSONObject geo = new JSONObject();
+        geo.put("version", GEOPARQUET_VERSION);
+        geo.put("primary_column", primary.name());
+        geo.put("columns", columns);
+        return geo;
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute(sql);
+        }
+    }
+
+    static String literal(String value) {
+        return "'" + value.replace("'", "''") + "'";
+    }
+
+    static String identifier(String name) {
+        return "\"" + name.replace("\"", "\"\"") + "\"";
+    }
+
+    private static String getMemoryLimit() {
+        String limit = GeoServerExtensions.getProperty(MEMORY_LIMIT_KEY);
+        return limit != null && !limit.isBlank() ? limit.trim() : DEFAULT_MEMORY_LIMIT;
+    }
+
+    static int getRowGroupSize() {
+        String size = GeoServerExtensions.getProperty(ROW_GROUP_SIZE_KEY);
+        if (size != null) {
+            try {
+                int value = Integer.parseInt(size.trim());
+                if (value > 0) {
+                    return value;
+                }
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid " + ROW_GROUP_SIZE_KEY + " value: " + size);
+            }
+        }
+        return DEFAULT_ROW_GROUP_SIZE;
+    }
+}
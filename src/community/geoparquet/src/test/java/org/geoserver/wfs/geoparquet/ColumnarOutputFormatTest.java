@@ -0,0 +1,277 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.geoparquet;
+
+import static org.custommonkey.xmlunit.XMLAssert.assertXpathEvaluatesTo;
+import static org.custommonkey.xmlunit.XMLAssert.assertXpathExists;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarBinaryVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.commons.io.FileUtils;
+import org.geoserver.data.test.MockData;
+import org.geoserver.wfs.WFSTestSupport;
+import org.junit.Test;
+import org.kordamp.json.JSONArray;
+import org.kordamp.json.JSONObject;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.WKBReader;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.w3c.dom.Document;
+
+public class ColumnarOutputFormatTest extends WFSTestSupport {
+
+    @Test
+    public void testCapabilities() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=1.1.0&request=GetCapabilities");
+        String formats = "//ows:Operation[@name='GetFeature']/ows:Parameter[@name='outputFormat']/ows:Value";
+        assertXpathExists(formats + "[text() = 'parquet']", dom);
+        assertXpathExists(formats + "[text() = 'arrow']", dom);
+    }
+
+    @Test
+    public void testGeoParquet() throws Exception {
+        MockHttpServletResponse response = getAsServletResponse(
+                "wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=parquet&typeName="
+                        + getLayerId(MockData.BUILDINGS));
+        assertEquals(GeoParquetOutputFormat.MIME_TYPE, response.getContentType());
+        assertTrue(response.getHeader("Content-Disposition").contains(".parquet"));
+
+        Path directory = Files.createTempDirectory("geoparquet");
+        try (Connection cx = DriverManager.getConnection("jdbc:duckdb:");
+                Statement st = cx.createStatement()) {
+            String file = parquetFile(directory, response);
+            try (ResultSet rs = st.executeQuery("SELECT FID, ADDRESS, the_geom, bbox.xmin, bbox.ymax FROM "
+                    + "read_parquet("
+                    + GeoParquetOutputFormat.literal(file)
+                    + ") ORDER BY FID")) {
+                assertTrue(rs.next());
+                assertEquals("113", rs.getString(1));
+                assertEquals("123 Main Street", rs.getString(2));
+                Geometry geometry = new WKBReader().read(rs.getBytes(3));
+                assertEquals("MultiPolygon", geometry.getGeometryType());
+                assertEquals(0.0008, rs.getDouble(4), 1e-9);
+                assertEquals(0.0007, rs.getDouble(5), 1e-9);
+                assertTrue(rs.next());
+                assertEquals("114", rs.getString(1));
+                assertFalse(rs.next());
+            }
+
+            JSONObject geo = geoMetadata(st, file);
+            assertEquals("1.1.0", geo.getString("version"));
+            assertEquals("the_geom", geo.getString("primary_column"));
+            JSONObject column = geo.getJSONObject("columns").getJSONObject("the_geom");
+            // CRS84, the default
+            assertFalse(column.has("crs"));
+            assertEquals("WKB", column.getString("encoding"));
+            assertEquals("MultiPolygon", column.getJSONArray("geometry_types").getString(0));
+            assertEquals(0.0008, column.getJSONArray("bbox").getDouble(0), 1e-9);
+            assertEquals(0.001, column.getJSONArray("bbox").getDouble(3), 1e-9);
+            JSONObject covering = column.getJSONObject("covering").getJSONObject("bbox");
+            assertEquals("bbox", covering.getJSONArray("xmin").getString(0));
+            assertEquals("xmin", covering.getJSONArray("xmin").getString(1));
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Test
+    public void testGeoParquetTypes() throws Exception {
+        MockHttpServletResponse response = getAsServletResponse(
+                "wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=geoparquet&typeName="
+                        + getLayerId(MockData.PRIMITIVEGEOFEATURE));
+        assertEquals(GeoParquetOutputFormat.MIME_TYPE, response.getContentType());
+
+        Path directory = Files.createTempDirectory("geoparquet");
+        try (Connection cx = DriverManager.getConnection("jdbc:duckdb:");
+                Statement st = cx.createStatement()) {
+            String file = parquetFile(directory, response);
+            try (ResultSet rs = st.executeQuery("SELECT name, intProperty, dateProperty, booleanProperty, bbox.xmin "
+                    + "FROM read_parquet("
+                    + GeoParquetOutputFormat.literal(file)
+                    + ") ORDER BY intProperty")) {
+                assertTrue(rs.next());
+                // all nulls but for the point and numbers
+                assertNull(rs.getString(1));
+                assertEquals(-900, rs.getInt(2));
+                assertNull(rs.getObject(3));
+                assertNull(rs.getObject(4));
+                assertNull(rs.getObject(5));
+                assertTrue(rs.next());
+                assertEquals("name-f002", rs.getString(1));
+                assertEquals(154, rs.getInt(2));
+                assertEquals(LocalDate.of(2006, 10, 23), rs.getDate(3).toLocalDate());
+                assertFalse(rs.getBoolean(4));
+            }
+
+            JSONObject geo = geoMetadata(st, file);
+            assertEquals("surfaceProperty", geo.getString("primary_column"));
+            JSONObject columns = geo.getJSONObject("columns");
+            assertEquals(3, columns.size());
+            assertFalse(columns.getJSONObject("pointProperty").has("crs"));
+            assertEquals("Point", columns.getJSONObject("pointProperty").getJSONArray("geometry_types").getString(0));
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Test
+    public void testGeoParquetReprojection() throws Exception {
+        // UTM 15N, reprojected to CRS84 as GeoParquet cannot declare it
+        MockHttpServletResponse response = getAsServletResponse(
+                "wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=parquet&typeName="
+                        + getLayerId(MockData.POINTS));
+        assertEquals(GeoParquetOutputFormat.MIME_TYPE, response.getContentType());
+
+        Path directory = Files.createTempDirectory("geoparquet");
+        try (Connection cx = DriverManager.getConnection("jdbc:duckdb:");
+                Statement st = cx.createStatement()) {
+            String file = parquetFile(directory, response);
+            JSONObject column = geoMetadata(st, file).getJSONObject("columns").getJSONObject("pointProperty");
+            assertFalse(column.has("crs"));
+            JSONArray bbox = column.getJSONArray("bbox");
+            assertEquals(-93, bbox.getDouble(0), 0.1);
+            assertEquals(4.5, bbox.getDouble(1), 0.1);
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Test
+    public void testGeoParquetProjectedSrsName() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=1.1.0&request=GetFeature&outputFormat=parquet"
+                + "&srsName=EPSG:3857&typeName="
+                + getLayerId(MockData.PRIMITIVEGEOFEATURE));
+        assertXpathEvaluatesTo("InvalidParameterValue", "//ows:Exception/@exceptionCode", dom);
+        assertXpathEvaluatesTo("srsName", "//ows:Exception/@locator", dom);
+    }
+
+    @Test
+    public void testArrow() throws Exception {
+        MockHttpServletResponse response = getAsServletResponse(
+                "wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=arrow&typeName="
+                        + getLayerId(MockData.BUILDINGS));
+        assertEquals(ArrowOutputFormat.MIME_TYPE, response.getContentType());
+        assertTrue(response.getHeader("Content-Disposition").contains(".arrows"));
+
+        try (RootAllocator allocator = new RootAllocator();
+                ArrowStreamReader reader =
+                        new ArrowStreamReader(new ByteArrayInputStream(response.getContentAsByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            Field geometry = root.getSchema().findField("the_geom");
+            assertEquals(ArrowOutputFormat.GEOARROW_WKB, geometry.getMetadata().get(ArrowOutputFormat.EXTENSION_NAME));
+            // CRS84, the default
+            JSONObject metadata =
+                    JSONObject.fromObject(geometry.getMetadata().get(ArrowOutputFormat.EXTENSION_METADATA));
+            assertFalse(metadata.has("crs"));
+
+            assertTrue(reader.loadNextBatch());
+            assertEquals(2, root.getRowCount());
+            VarCharVector addresses = (VarCharVector) root.getVector("ADDRESS");
+            assertEquals("123 Main Street", addresses.getObject(0).toString());
+            assertEquals("215 Main Street", addresses.getObject(1).toString());
+            VarBinaryVector geometries = (VarBinaryVector) root.getVector("the_geom");
+            assertEquals("MultiPolygon", new WKBReader().read(geometries.get(0)).getGeometryType());
+            assertFalse(reader.loadNextBatch());
+        }
+    }
+
+    @Test
+    public void testArrowBatches() throws Exception {
+        System.setProperty(ArrowOutputFormat.BATCH_SIZE_KEY, "2");
+        MockHttpServletResponse response;
+        try {
+            response = getAsServletResponse(
+                    "wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=arrow&srsName=EPSG:3857"
+                            + "&typeName="
+                            + getLayerId(MockData.PRIMITIVEGEOFEATURE));
+        } finally {
+            System.clearProperty(ArrowOutputFormat.BATCH_SIZE_KEY);
+        }
+
+        try (RootAllocator allocator = new RootAllocator();
+                ArrowStreamReader reader =
+                        new ArrowStreamReader(new ByteArrayInputStream(response.getContentAsByteArray()), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            Field points = root.getSchema().findField("pointProperty");
+            JSONObject metadata =
+                    JSONObject.fromObject(points.getMetadata().get(ArrowOutputFormat.EXTENSION_METADATA));
+            assertEquals("EPSG:3857", metadata.getString("crs"));
+
+            int batches = 0;
+            int rows = 0;
+            int nullDates = 0;
+            int intSum = 0;
+            while (reader.loadNextBatch()) {
+                batches++;
+                rows += root.getRowCount();
+                DateDayVector dates = (DateDayVector) root.getVector("dateProperty");
+                IntVector ints = (IntVector) root.getVector("intProperty");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    nullDates += dates.isNull(i) ? 1 : 0;
+                    intSum += ints.get(i);
+                }
+            }
+            assertEquals(3, batches);
+            assertEquals(5, rows);
+            assertEquals(1, nullDates);
+            assertEquals(155 + 154 + 180 + 300 - 900, intSum);
+        }
+    }
+
+    @Test
+    public void testBigNumbers() throws Exception {
+        // kept exact, as text
+        assertEquals(FeatureColumn.Type.STRING, FeatureColumn.type(BigDecimal.class));
+        assertEquals(FeatureColumn.Type.STRING, FeatureColumn.type(BigInteger.class));
+        assertEquals(FeatureColumn.Type.DOUBLE, FeatureColumn.type(Double.class));
+        String decimal = "12345678901234567890.12345";
+        assertEquals(decimal, FeatureColumn.toString(new BigDecimal(decimal)));
+        assertEquals("10000000000", FeatureColumn.toString(new BigDecimal("1E+10")));
+    }
+
+    @Test
+    public void testMultipleTypes() throws Exception {
+        Document dom = getAsDOM("wfs?service=WFS&version=1.0.0&request=GetFeature&outputFormat=parquet&typeName="
+                + getLayerId(MockData.BUILDINGS)
+                + ","
+                + getLayerId(MockData.BRIDGES));
+        assertEquals("ServiceExceptionReport", dom.getDocumentElement().getNodeName());
+    }
+
+    private static String parquetFile(Path directory, MockHttpServletResponse response) throws Exception {
+        Path file = directory.resolve("features.parquet");
+        Files.write(file, response.getContentAsByteArray());
+        return file.toString();
+    }
+
+    private static JSONObject geoMetadata(Statement st, String file) throws Exception {
+        try (ResultSet rs = st.executeQuery("SELECT decode(value) FROM parquet_kv_metadata("
+                + GeoParquetOutputFormat.literal(file)
+                + ") WHERE decode(key) = 'geo'")) {
+            assertTrue(rs.next());
+            return JSONObject.fromObject(rs.getString(1));
+        }
+    }
+}
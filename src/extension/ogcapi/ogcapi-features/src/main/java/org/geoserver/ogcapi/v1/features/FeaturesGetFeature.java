@@ -15,6 +15,7 @@
 import org.geoserver.ogcapi.APIRequestInfo;
 import org.geoserver.ows.URLMangler.URLType;
 import org.geoserver.ows.util.ResponseUtils;
+import org.geoserver.wfs.KeysetPaging;
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.request.FeatureCollectionResponse;
 import org.geoserver.wfs.request.GetFeatureRequest;
@@ -64,6 +65,8 @@ protected void buildPrevNextLinks(
         // wait for the filtering/crs extensions to show up before deciding exactly what exactly to
         // do
         kvp = APIRequestInfo.get().getSimpleQueryMap();
+        // the cursor of this page is not valid for the others
+        kvp.remove(KeysetPaging.CURSOR);
         // build prev link if needed
         if (offset > 0) {
             // previous offset calculated as the current offset - maxFeatures, or 0 if this is a
@@ -78,6 +81,9 @@ protected void buildPrevNextLinks(
         if (count > 0 && offset > -1 && maxFeatures <= count) {
             kvp.put("startIndex", String.valueOf(offset > 0 ? offset + count : count));
             kvp.put("limit", String.valueOf(maxFeatures));
+            if (result.getNextCursor() != null) {
+                kvp.put(KeysetPaging.CURSOR, result.getNextCursor());
+            }
             result.setNext(buildURL(itemsPath, kvp));
         }
     }
@@ -0,0 +1,170 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ogcapi.v1.features;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.jayway.jsonpath.DocumentContext;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.data.test.MockData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wfs.KeysetPaging;
+import org.geoserver.wfs.WFSInfo;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.jdbc.JDBCDataStoreFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+
+public class FeatureKeysetPagingTest extends FeaturesTestSupport {
+
+    static final int FEATURES = 20;
+
+    /** Number of distinct values, lots of ties on the sort key */
+    static final int VALUES = 3;
+
+    @BeforeClass
+    public static void enableKeysetPaging() {
+        System.setProperty(KeysetPaging.ENABLED_KEY, "true");
+    }
+
+    @AfterClass
+    public static void disableKeysetPaging() {
+        System.clearProperty(KeysetPaging.ENABLED_KEY);
+    }
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        super.onSetUp(testData);
+        // a store exposing its primary key, which keyset paging needs as the tie breaker
+        Catalog cat = getCatalog();
+        DataStoreInfo ds = cat.getFactory().createDataStore();
+        ds.setName("keyed");
+        ds.setWorkspace(cat.getDefaultWorkspace());
+        ds.setEnabled(true);
+        Map<String, Serializable> params = ds.getConnectionParameters();
+        params.put("dbtype", "geopkg");
+        params.put("database", testData.getDataDirectoryRoot().getAbsolutePath() + "/keyed.gpkg");
+        params.put("read_only", false);
+        params.put(JDBCDataStoreFactory.EXPOSE_PK.key, true);
+        cat.add(ds);
+
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("Keyed");
+        tb.add("geom", Point.class, 4326);
+        tb.nillable(false).add("value", Integer.class);
+        SimpleFeatureType type = tb.buildFeatureType();
+        DataStore store = (DataStore) ds.getDataStore(null);
+        store.createSchema(type);
+
+        GeometryFactory gf = new GeometryFactory();
+        DefaultFeatureCollection features = new DefaultFeatureCollection(null, null);
+        for (int i = 0; i < FEATURES; i++) {
+            Point point = gf.createPoint(new Coordinate(i, i));
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {point, i % VALUES}, null));
+        }
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("Keyed");
+        fs.addFeatures(DataUtilities.simple(features));
+
+        CatalogBuilder cb = new CatalogBuilder(cat);
+        cb.setStore(ds);
+        cat.add(cb.buildFeatureType(fs));
+    }
+
+    @Test
+    public void testPagingByPrimaryKey() throws Exception {
+        assertAllOnce(walk(items() + "?limit=6"));
+    }
+
+    @Test
+    public void testPagingWithTies() throws Exception {
+        WFSInfo wfsInfo = getGeoServer().getService(WFSInfo.class);
+        FeatureConformance featureServiceInfo = FeatureConformance.configuration(wfsInfo);
+        featureServiceInfo.setSortBy(true); // enable
+        getGeoServer().save(wfsInfo);
+        try {
+            List<String> ids = walk(items() + "?limit=4&sortby=-value");
+            assertAllOnce(ids);
+            // the pages follow the sort, the ties ordered by primary key
+            for (int i = 1; i < ids.size(); i++) {
+                int previous = value(ids.get(i - 1));
+                int current = value(ids.get(i));
+                assertTrue(
+                        ids.toString(),
+                        previous > current || previous == current && fid(ids.get(i - 1)) < fid(ids.get(i)));
+            }
+        } finally {
+            featureServiceInfo.setSortBy(null); // default
+            getGeoServer().save(wfsInfo);
+        }
+    }
+
+    @Test
+    public void testNoPrimaryKeyFallback() throws Exception {
+        // the property store does not expose a primary key, offset paging is used
+        String roadSegments = getLayerId(MockData.ROAD_SEGMENTS);
+        DocumentContext json = getAsJSONPath("ogc/features/v1/collections/" + roadSegments + "/items?limit=3", 200);
+        String next = json.read("$.links[?(@.rel=='next')].href", List.class).get(0).toString();
+        assertTrue(next.contains("startIndex=3"));
+        assertFalse(next.contains(KeysetPaging.CURSOR + "="));
+    }
+
+    private String items() {
+        String layer = getCatalog().getFeatureTypeByName("Keyed").prefixedName();
+        return "ogc/features/v1/collections/" + layer + "/items";
+    }
+
+    /** Follows the next links from the given request, checking they carry a cursor, and returns the ids read */
+    private List<String> walk(String request) throws Exception {
+        List<String> ids = new ArrayList<>();
+        String path = request;
+        int pages = 0;
+        while (path != null && pages++ < FEATURES) {
+            DocumentContext json = getAsJSONPath(path, 200);
+            ids.addAll(json.read("features[*].id", List.class));
+            List<?> links = json.read("$.links[?(@.rel=='next')].href", List.class);
+            path = null;
+            if (!links.isEmpty()) {
+                String next = links.get(0).toString();
+                assertTrue(next, next.contains(KeysetPaging.CURSOR + "="));
+                path = next.substring(next.indexOf("ogc/features"));
+            }
+        }
+        return ids;
+    }
+
+    private static void assertAllOnce(List<String> ids) {
+        // no duplicates, no gaps
+        assertEquals(FEATURES, ids.size());
+        assertEquals(FEATURES, new HashSet<>(ids).size());
+    }
+
+    /** The value of the feature, the fids are assigned in insertion order starting from 1 */
+    private static int value(String id) {
+        return (fid(id) - 1) % VALUES;
+    }
+
+    private static int fid(String id) {
+        return Integer.parseInt(id.substring(id.lastIndexOf('.') + 1));
+    }
+}
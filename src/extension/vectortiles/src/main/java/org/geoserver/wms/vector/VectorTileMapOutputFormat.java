@@ -11,13 +11,22 @@
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.DefaultWebMapService;
 import org.geoserver.wms.MapProducerCapabilities;
 import org.geoserver.wms.MetatileContextHolder;
 import org.geoserver.wms.WMS;
@@ -76,6 +85,9 @@ private static final class MetatileBuilders {
 
     private volatile boolean transformToScreenCoordinates;
 
+    /** Max number of layers read and transformed concurrently for a single tile, 1 means sequential */
+    private volatile int layerParallelism = Integer.getInteger("org.geoserver.wms.vector.layerParallelism", 1);
+
     public VectorTileMapOutputFormat(VectorTileBuilderFactory tileBuilderFactory) {
         super(tileBuilderFactory.getMimeType(), tileBuilderFactory.getOutputFormats());
         this.tileBuilderFactory = tileBuilderFactory;
@@ -96,6 +108,15 @@ public void setTransformToScreenCoordinates(boolean useScreenCoords) {
         this.transformToScreenCoordinates = useScreenCoords;
     }
 
+    /**
+     * Sets the max number of layers whose features are read and transformed concurrently while building a tile. With
+     * values greater than 1 the tile latency approaches the one of the slowest layer, rather than the sum of all of
+     * them. Defaults to the "org.geoserver.wms.vector.layerParallelism" system property, or 1 (sequential).
+     */
+    public void setLayerParallelism(int layerParallelism) {
+        this.layerParallelism = Math.max(1, layerParallelism);
+    }
+
     @FunctionalInterface
     /** Accepts features for addition to the tile builders */
     private interface FeatureSink {
@@ -232,6 +253,7 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
             builders = mb.builders;
         }
 
+        List<LayerJob> jobs = new ArrayList<>();
         CoordinateReferenceSystem sourceCrs;
         for (Layer layer : mapContent.layers()) {
             FeatureSource<?, ?> featureSource = layer.getFeatureSource();
@@ -277,25 +299,18 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
                         buffer + CLIP_BBOX_SIZE_INCREASE_PIXELS);
             }
 
-            String layerName = schema.getName().getLocalPart();
-            boolean coalesceEnabled = vectorTileOptions.isCoalesceEnabled();
-            run(features, pipeline, geometryDescriptor, layer, false, layerName, coalesceEnabled, sink);
+            jobs.add(new LayerJob(
+                    layer, featureSource, features, query, pipeline, geometryDescriptor, vectorTileOptions, sink));
+        }
 
-            if (vectorTileOptions.generateLabelLayer()) {
-                vectorTileOptions.customizeLabelQuery(query);
-                features = featureSource.getFeatures(query);
-                layerName = layerName + "_labels";
-                run(
-                        features,
-                        pipeline,
-                        geometryDescriptor,
-                        layer,
-                        vectorTileOptions.isPolygonLabelEnabled(),
-                        layerName,
-                        coalesceEnabled,
-                        sink);
+        if (layerParallelism > 1 && jobs.size() > 1) {
+            runParallel(jobs, mapContent);
+        } else {
+            for (LayerJob job : jobs) {
+                job.run(job.sink);
             }
         }
+
         if (builders.length == 1) {
             return builders[0].build(mapContent);
         } else {
@@ -313,6 +328,160 @@ public WebMap produceMap(final WMSMapContent mapContent) throws ServiceException
         }
     }
 
+    /**
+     * The work needed to add a layer to the tile: the query and the pipeline are prepared upfront, the features are
+     * read and transformed by {@link #run(FeatureSink)}, along with the optional label layer
+     */
+    private final class LayerJob {
+        final Layer layer;
+        final FeatureSource<?, ?> featureSource;
+        final FeatureCollection<?, ?> features;
+        final Query query;
+        final Pipeline pipeline;
+        final GeometryDescriptor geometryDescriptor;
+        final VectorTileOptions options;
+        final FeatureSink sink;
+
+        LayerJob(
+                Layer layer,
+                FeatureSource<?, ?> featureSource,
+                FeatureCollection<?, ?> features,
+                Query query,
+                Pipeline pipeline,
+                GeometryDescriptor geometryDescriptor,
+                VectorTileOptions options,
+                FeatureSink sink) {
+            this.layer = layer;
+            this.featureSource = featureSource;
+            this.features = features;
+            this.query = query;
+            this.pipeline = pipeline;
+            this.geometryDescriptor = geometryDescriptor;
+            this.options = options;
+            this.sink = sink;
+        }
+
+        void run(FeatureSink target) throws IOException {
+            String layerName = featureSource.getSchema().getName().getLocalPart();
+            boolean coalesceEnabled = options.isCoalesceEnabled();
+            VectorTileMapOutputFormat.this.run(
+                    features, pipeline, geometryDescriptor, layer, false, layerName, coalesceEnabled, target);
+
+            if (options.generateLabelLayer()) {
+                options.customizeLabelQuery(query);
+                FeatureCollection<?, ?> labelFeatures = featureSource.getFeatures(query);
+                VectorTileMapOutputFormat.this.run(
+                        labelFeatures,
+                        pipeline,
+                        geometryDescriptor,
+                        layer,
+                        options.isPolygonLabelEnabled(),
+                        layerName + "_labels",
+                        coalesceEnabled,
+                        target);
+            }
+        }
+    }
+
+    /** A feature ready to be added to the tile builders */
+    private record BufferedFeature(
+            String layerName,
+            String featureId,
+            String geometryName,
+            Geometry geometry,
+            Map<String, Object> properties) {}
+
+    /**
+     * Runs the layer jobs on the rendering pool, at most {@link #layerParallelism} at a time, buffering the transformed
+     * features of each layer. The buffers are replayed into the tile builders on the calling thread, in layer order, so
+     * that the tile contents do not depend on which query completes first. The buffered features are accounted against
+     * the max request memory, and the whole process against the max rendering time.
+     */
+    private void runParallel(List<LayerJob> jobs, WMSMapContent mapContent) throws IOException {
+        WMS wms = GeoServerExtensions.bean(WMS.class);
+        long memoryLimit = wms != null ? wms.getMaxRequestMemory() * 1024L : 0;
+        long maxRenderingTime = 0;
+        if (wms != null) {
+            maxRenderingTime = mapContent.getRequest() != null
+                    ? wms.getMaxRenderingTime(mapContent.getRequest())
+                    : wms.getMaxRenderingTime() * 1000L;
+        }
+        long deadline = maxRenderingTime > 0 ? System.currentTimeMillis() + maxRenderingTime : Long.MAX_VALUE;
+
+        ExecutorService pool = DefaultWebMapService.getRenderingPool();
+        LongAdder bufferedBytes = new LongAdder();
+        List<Future<List<BufferedFeature>>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < jobs.size(); i++) {
+                // keep at most layerParallelism jobs in flight
+                while (futures.size() < jobs.size() && futures.size() < i + layerParallelism) {
+                    LayerJob job = jobs.get(futures.size());
+                    futures.add(pool.submit(() -> buffer(job, bufferedBytes, memoryLimit)));
+                }
+                List<BufferedFeature> buffer = await(futures.get(i), deadline, maxRenderingTime, mapContent);
+                FeatureSink sink = jobs.get(i).sink;
+                for (BufferedFeature f : buffer) {
+                    sink.accept(f.layerName(), f.featureId(), f.geometryName(), f.geometry(), f.properties());
+                    if (memoryLimit > 0) {
+                        bufferedBytes.add(-MemoryGuardedVectorTileBuilder.estimateBytes(
+                                f.layerName(), f.featureId(), f.geometryName(), f.geometry(), f.properties()));
+                    }
+                }
+            }
+        } finally {
+            // in case of errors, stop the jobs still running
+            for (Future<?> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private List<BufferedFeature> buffer(LayerJob job, LongAdder bufferedBytes, long memoryLimit) throws IOException {
+        List<BufferedFeature> buffer = new ArrayList<>();
+        job.run((layerName, featureId, geometryName, geometry, properties) -> {
+            if (memoryLimit > 0) {
+                long bytes = MemoryGuardedVectorTileBuilder.estimateBytes(
+                        layerName, featureId, geometryName, geometry, properties);
+                bufferedBytes.add(bytes);
+                long total = bufferedBytes.sum();
+                if (total > memoryLimit) {
+                    throw new ServiceException(
+                            "MVT buffered features memory cap exceeded (" + total + " > " + memoryLimit + ")");
+                }
+            }
+            buffer.add(new BufferedFeature(layerName, featureId, geometryName, geometry, properties));
+        });
+        return buffer;
+    }
+
+    private List<BufferedFeature> await(
+            Future<List<BufferedFeature>> future, long deadline, long maxRenderingTime, WMSMapContent mapContent)
+            throws IOException {
+        try {
+            if (deadline == Long.MAX_VALUE) {
+                return future.get();
+            }
+            return future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new ServiceException("This request used more time than allowed and has been forcefully stopped. "
+                    + "Max rendering time is "
+                    + (maxRenderingTime / 1000.0)
+                    + "s. Layers: "
+                    + mapContent.layers().stream().map(Layer::getTitle).collect(Collectors.joining(",")));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while building the vector tile", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ServiceException se) {
+                throw se;
+            } else if (cause instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new ServiceException("Failed to build the vector tile", cause);
+        }
+    }
+
     private MetatileBuilders createMetatileBuilders(
             MetatileContextHolder.MetaInfo mi, Rectangle paintArea, ReferencedEnvelope renderingArea) {
 
@@ -402,6 +571,10 @@ void run(
         final String geometryName = geometryDescriptor.getName().getLocalPart();
         try (VTIterator it = VTIterator.getIterator(features.features(), coalesce)) {
             while (it.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // parallel job cancelled, e.g., by the rendering timeout
+                    throw new ServiceException("Vector tile layer building interrupted");
+                }
                 VTFeature feature = it.next();
                 total++;
 
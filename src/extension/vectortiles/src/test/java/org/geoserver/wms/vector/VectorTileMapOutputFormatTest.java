@@ -10,6 +10,7 @@
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -68,8 +69,10 @@
 import org.junit.Test;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.io.ParseException;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 
 public class VectorTileMapOutputFormatTest {
@@ -666,4 +669,34 @@ public void testCoalesce() throws Exception {
                         any(MultiPolygon.class),
                         eq(Map.of("sp", "StringProp3_3", "ip", 3000)));
     }
+
+    @Test
+    public void testParallelLayers() throws Exception {
+        outputFormat.setLayerParallelism(4);
+        ReferencedEnvelope mapBounds = new ReferencedEnvelope(0, 15, 0, 15, WGS84);
+        Rectangle renderingArea = new Rectangle(256, 256);
+
+        WMSMapContent mapContent =
+                createMapContent(mapBounds, renderingArea, 0, attributesPolygonLayer, labelPolygonLayer, pointLayer);
+
+        WebMap mockMap = mock(WebMap.class);
+        when(tileBuilderMock.build(same(mapContent))).thenReturn(mockMap);
+
+        assertSame(mockMap, outputFormat.produceMap(mapContent));
+
+        // the layers are read concurrently, but added to the tile in order
+        InOrder inOrder = inOrder(tileBuilderMock);
+        for (String fid : List.of("polygon1", "polygon2", "polygon3")) {
+            inOrder.verify(tileBuilderMock)
+                    .addFeature(eq("polygons"), eq(fid), eq("geom"), any(Polygon.class), anyProperties());
+        }
+        for (String fid : List.of("polygon1", "polygon2", "polygon3")) {
+            inOrder.verify(tileBuilderMock)
+                    .addFeature(eq("polygons_labels"), eq(fid), eq("geom"), any(Point.class), anyProperties());
+        }
+        for (String fid : List.of("point1", "point2", "point3")) {
+            inOrder.verify(tileBuilderMock)
+                    .addFeature(eq("points"), eq(fid), eq("geom"), any(Geometry.class), anyProperties());
+        }
+    }
 }
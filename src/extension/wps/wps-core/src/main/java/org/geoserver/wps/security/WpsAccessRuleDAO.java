@@ -150,6 +150,7 @@ private SecureTreeNode buildAuthorizationTree(Collection<WpsAccessRule> rules) {
         root.setAuthorizedRoles(AccessMode.READ, Collections.singleton("*"));
         root.setAuthorizedRoles(AccessMode.WRITE, Collections.singleton("NO_ONE"));
         root.setAuthorizedRoles(AccessMode.ADMIN, Collections.singleton("NO_ONE"));
+        root.compile();
         return root;
     }
 
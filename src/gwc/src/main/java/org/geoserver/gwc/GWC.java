@@ -105,6 +105,7 @@
 import org.geotools.ows.ServiceException;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.CRS.AxisOrder;
+import org.geotools.renderer.lite.MetaBufferEstimator;
 import org.geotools.util.logging.Logging;
 import org.geowebcache.GeoWebCacheEnvironment;
 import org.geowebcache.GeoWebCacheException;
@@ -179,6 +180,9 @@ public class GWC implements DisposableBean, InitializingBean, ApplicationContext
 
     static final Logger log = Logging.getLogger(GWC.class);
 
+    /** Rendering buffer used when the one of a style cannot be estimated, e.g., due to dynamic symbol sizes */
+    static final int UNKNOWN_BUFFER = 256;
+
     /** @see #getResponseEncoder(MimeType, RenderedImageMap) */
     private Map<String, Response> cachedTileEncoders = new HashMap<>();
 
@@ -228,6 +232,8 @@ public class GWC implements DisposableBean, InitializingBean, ApplicationContext
 
     private ExecutorService metaTilingExecutor;
 
+    private GWCTileWriteBehind tileWriteBehind;
+
     /**
      * Constructor for the GWC mediator
      *
@@ -282,6 +288,11 @@ public GWC(
         this.gwcSynchEnv = gwcSynchEnv;
 
         this.metaTilingExecutor = buildMetaTilingExecutor(getConfig().getMetaTilingThreads());
+        this.tileWriteBehind = GWCTileWriteBehind.create();
+        if (this.tileWriteBehind != null) {
+            // catches the truncations not going through this facade, e.g. the GWC REST API and seeding tasks
+            sb.addBlobStoreListener(this.tileWriteBehind);
+        }
     }
 
     /** Updates the configurable lock provider to use the specified bean */
@@ -374,6 +385,10 @@ public void destroy() throws Exception {
         if (this.metaTilingExecutor != null) {
             this.metaTilingExecutor.shutdownNow();
         }
+        if (this.tileWriteBehind != null) {
+            storageBroker.removeBlobStoreListener(this.tileWriteBehind);
+            this.tileWriteBehind.dispose();
+        }
         GWC.set(null, null);
     }
 
@@ -452,6 +467,7 @@ public void truncateByLayerDefaultStyle(final String layerName) {
     }
 
     public void truncate(final String layerName, final ReferencedEnvelope bounds) throws GeoWebCacheException {
+        discardPendingTiles(layerName);
 
         final TileLayer tileLayer = tld.getTileLayer(layerName);
         final Collection<String> gridSubSets = tileLayer.getGridSubsets();
@@ -476,9 +492,122 @@ public void truncate(final String layerName, final ReferencedEnvelope bounds) th
         }
     }
 
+    /**
+     * Truncates the tiles of a layer touching any of the given regions. Differently from
+     * {@link #truncate(String, ReferencedEnvelope)} the affected tile range is computed for each zoom level, growing
+     * the regions by the rendering buffer of the layer (symbols extending beyond the geometries, gutter) at that zoom
+     * level resolution, and widening the result to whole meta tiles, as labels are laid out meta tile wide.
+     *
+     * @param layerName the tile layer name
+     * @param regions the dirty regions, possibly in different CRSs
+     */
+    public void truncate(final String layerName, final List<ReferencedEnvelope> regions)
+            throws GeoWebCacheException, StorageException {
+        discardPendingTiles(layerName);
+        final TileLayer tileLayer = tld.getTileLayer(layerName);
+        final int buffer = getRenderingBuffer(tileLayer);
+        final int[] metaTiling = tileLayer.getMetaTilingFactors();
+        final Set<Map<String, String>> parameters = new HashSet<>(storageBroker.getCachedParameters(layerName));
+        // the default parameters
+        parameters.add(null);
+
+        for (String gridSetId : tileLayer.getGridSubsets()) {
+            final GridSubset layerGrid = tileLayer.getGridSubset(gridSetId);
+            final GridSet gridSet = layerGrid.getGridSet();
+            final int zoomStart = layerGrid.getZoomStart();
+            final int zoomStop = layerGrid.getZoomStop();
+            for (ReferencedEnvelope region : regions) {
+                BoundingBox bounds = getIntersectingBounds(layerName, layerGrid, region);
+                if (bounds == null) {
+                    continue;
+                }
+                long[][] rangeBounds = new long[zoomStop - zoomStart + 1][];
+                for (int z = zoomStart; z <= zoomStop; z++) {
+                    double distance = buffer * gridSet.getGrid(z).getResolution();
+                    BoundingBox grown = new BoundingBox(
+                            bounds.getMinX() - distance,
+                            bounds.getMinY() - distance,
+                            bounds.getMaxX() + distance,
+                            bounds.getMaxY() + distance);
+                    long[] range = layerGrid.getCoverageIntersection(z, grown);
+                    rangeBounds[z - zoomStart] = alignToMetaTiles(range, metaTiling, layerGrid.getCoverage(z));
+                }
+                for (MimeType mime : tileLayer.getMimeTypes()) {
+                    for (Map<String, String> params : parameters) {
+                        TileRange tr =
+                                new TileRange(layerName, gridSetId, zoomStart, zoomStop, rangeBounds, mime, params);
+                        tileBreeder.dispatchTasks(tileBreeder.createTasks(tr, TRUNCATE, 1, false));
+                    }
+                }
+            }
+        }
+    }
+
+    /** Widens a tile range (minx, miny, maxx, maxy, z) to whole meta tiles, staying within the coverage */
+    static long[] alignToMetaTiles(long[] range, int[] metaTiling, long[] coverage) {
+        long[] aligned = range.clone();
+        for (int axis = 0; axis < 2; axis++) {
+            long factor = Math.max(1, metaTiling[axis]);
+            aligned[axis] = Math.max(coverage[axis], Math.floorDiv(range[axis], factor) * factor);
+            aligned[axis + 2] =
+                    Math.min(coverage[axis + 2], Math.floorDiv(range[axis + 2], factor) * factor + factor - 1);
+        }
+        return aligned;
+    }
+
+    /**
+     * Returns the number of pixels the symbols of the layer can extend beyond the geometries, including the gutter,
+     * using the layer buffer if configured, or estimating it from the layer styles otherwise
+     */
+    private int getRenderingBuffer(TileLayer tileLayer) {
+        if (!(tileLayer instanceof GeoServerTileLayer gsLayer)) {
+            return 0;
+        }
+        List<LayerInfo> layers;
+        PublishedInfo published = gsLayer.getPublishedInfo();
+        if (published instanceof LayerGroupInfo group) {
+            layers = group.layers();
+        } else if (published instanceof LayerInfo layer) {
+            layers = List.of(layer);
+        } else {
+            layers = List.of();
+        }
+        int buffer = 0;
+        for (LayerInfo layer : layers) {
+            buffer = Math.max(buffer, getRenderingBuffer(layer));
+        }
+        return buffer + gsLayer.getInfo().getGutter();
+    }
+
+    private int getRenderingBuffer(LayerInfo layer) {
+        Integer layerBuffer = layer.getMetadata().get(LayerInfo.BUFFER, Integer.class);
+        if (layerBuffer != null && layerBuffer > 0) {
+            return layerBuffer;
+        }
+        Set<StyleInfo> styles = new HashSet<>(layer.getStyles());
+        if (layer.getDefaultStyle() != null) {
+            styles.add(layer.getDefaultStyle());
+        }
+        int buffer = 0;
+        for (StyleInfo style : styles) {
+            try {
+                MetaBufferEstimator estimator = new MetaBufferEstimator();
+                style.getStyle().accept(estimator);
+                buffer = Math.max(buffer, estimator.isEstimateAccurate() ? estimator.getBuffer() : UNKNOWN_BUFFER);
+            } catch (Exception e) {
+                log.log(Level.FINE, e, () -> "Could not estimate the buffer of style " + style.prefixedName());
+                buffer = Math.max(buffer, UNKNOWN_BUFFER);
+            }
+        }
+        return buffer;
+    }
+
     public TruncateAllRequest truncateAll() throws GeoWebCacheException, StorageException {
         // creating a mock internal request
         TruncateAllRequest truncateAll = new TruncateAllRequest();
+        if (tileWriteBehind != null) {
+            tileWriteBehind.discardAll();
+        }
         // truncating everything
         truncateAll.doTruncate(storageBroker, tileBreeder);
         log.info("Mass Truncate Completed");
@@ -605,6 +734,7 @@ private void truncate(
             final GridSubset gridSubset,
             String formatName,
             Map<String, String> parameters) {
+        discardPendingTiles(layer.getName());
         final int threadCount = 1;
         int zoomStart = gridSubset.getZoomStart();
         int zoomStop = gridSubset.getZoomStop();
@@ -1956,6 +2086,7 @@ public boolean isInternalGridSet(final String gridSetId) {
      *     (sigh)
      */
     public void deleteCacheByGridSetId(final String layerName, final String gridSetId) {
+        discardPendingTiles(layerName);
         try {
             storageBroker.deleteByGridSetId(layerName, gridSetId);
         } catch (StorageException e) {
@@ -2208,6 +2339,21 @@ public Executor getMetaTilingExecutor() {
         return metaTilingExecutor;
     }
 
+    /** Returns the write-behind pipeline for meta-tile tiles, or null if disabled */
+    public GWCTileWriteBehind getTileWriteBehind() {
+        return tileWriteBehind;
+    }
+
+    /**
+     * Drops the tiles of the layer still waiting to be saved, so that they do not outlive a truncation. Called ahead of
+     * the deletion, the blob store notifications only follow it.
+     */
+    private void discardPendingTiles(String layerName) {
+        if (tileWriteBehind != null) {
+            tileWriteBehind.discard(layerName);
+        }
+    }
+
     public JDBCConfiguration getJDBCDiskQuotaConfig()
             throws IOException, org.geowebcache.config.ConfigurationException {
         return jdbcConfigurationStorage.getJDBCDiskQuotaConfig();
@@ -0,0 +1,337 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.filter.parameters.ParametersUtils;
+import org.geowebcache.storage.BlobStoreListener;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileObject;
+
+/**
+ * Write-behind pipeline for the tiles of rendered meta-tiles.
+ *
+ * <p>Object store backed blob stores (S3, Azure, Google Cloud Storage) pay a network round trip for each tile put, so
+ * saving the tiles of a meta-tile one after the other dominates the latency of a cache miss. Tiles handed to this
+ * pipeline are queued and saved by a pool of writer threads, each draining batches of up to
+ * {@link #BATCH_SIZE_PROPERTY} tiles, coming from the same meta-tile or from concurrent ones, so that the puts run
+ * concurrently. Until saved, the tiles are served from the in-flight map by {@link #get(TileObject)}.
+ *
+ * <p>The memory held by the queued tiles is bounded by {@link #MAX_BYTES_PROPERTY}, once reached the callers block
+ * until enough tiles have been saved, providing back-pressure to the renderers.
+ *
+ * <p>Truncations win over the tiles waiting to be saved: each layer has an epoch, bumped by {@link #discard(String)},
+ * which is in turn called by the blob store notifications of deleted layers, grid subsets and parameters, whatever
+ * started the deletion. Queued tiles from an older epoch are neither served nor saved, and a tile whose layer epoch
+ * changed while it was being saved gets deleted right after. The deletion of a single tile, such as a disk quota
+ * eviction, only drops the queued tile with the same key. A truncation of tiles none of which were stored yet goes
+ * unnoticed unless it runs through {@link GWC}, which discards the queued tiles ahead of the deletion. The deletions
+ * issued by the writers themselves are not treated as truncations.
+ *
+ * <p>The pipeline is disabled by default, enable it with the {@link #ENABLED_PROPERTY} system property.
+ */
+public class GWCTileWriteBehind implements BlobStoreListener {
+
+    private static final Logger LOGGER = Logging.getLogger(GWCTileWriteBehind.class);
+
+    /** System property enabling the write-behind pipeline */
+    public static final String ENABLED_PROPERTY = "gwc.writeBehind";
+
+    /** System property setting the maximum size of the queued tiles, in bytes, defaults to 64MB */
+    public static final String MAX_BYTES_PROPERTY = "gwc.writeBehind.maxBytes";
+
+    /** System property setting the number of writer threads, defaults to 16 */
+    public static final String THREADS_PROPERTY = "gwc.writeBehind.threads";
+
+    /** System property setting the maximum number of tiles a writer takes from the queue at once, defaults to 16 */
+    public static final String BATCH_SIZE_PROPERTY = "gwc.writeBehind.batchSize";
+
+    /** Memory is accounted in blocks of this size, so that the semaphore permits fit an int */
+    private static final int BLOCK_SIZE = 1024;
+
+    private final Map<TileKey, PendingTile> inFlight = new ConcurrentHashMap<>();
+
+    /** Epochs by layer name, the entries are never removed so that epochs only move forward */
+    private final Map<String, AtomicLong> layerEpochs = new ConcurrentHashMap<>();
+
+    /** Epoch shared by all layers, bumped by {@link #discardAll()} */
+    private final AtomicLong globalEpoch = new AtomicLong();
+
+    private final BlockingQueue<PendingTile> queue = new LinkedBlockingQueue<>();
+
+    private final Semaphore memory;
+
+    private final int maxPermits;
+
+    private final int batchSize;
+
+    private final ExecutorService writers;
+
+    private volatile boolean disposed;
+
+    /** Set while a writer deletes a tile it just saved, so that its own deletion notification is ignored */
+    private final ThreadLocal<Boolean> deleting = ThreadLocal.withInitial(() -> false);
+
+    /** Returns a new pipeline configured by system properties, or null if disabled */
+    static GWCTileWriteBehind create() {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        return new GWCTileWriteBehind(
+                Long.getLong(MAX_BYTES_PROPERTY, 64 * 1024 * 1024),
+                Integer.getInteger(THREADS_PROPERTY, 16),
+                Integer.getInteger(BATCH_SIZE_PROPERTY, 16));
+    }
+
+    /**
+     * @param maxBytes the maximum size of the queued tiles, in bytes
+     * @param threads the number of writer threads
+     * @param batchSize the maximum number of tiles a writer takes from the queue at once
+     */
+    public GWCTileWriteBehind(long maxBytes, int threads, int batchSize) {
+        this.maxPermits = (int) Math.max(1, Math.min(Integer.MAX_VALUE, maxBytes / BLOCK_SIZE));
+        this.memory = new Semaphore(maxPermits);
+        this.batchSize = Math.max(1, batchSize);
+        int writerCount = Math.max(1, threads);
+        this.writers = Executors.newFixedThreadPool(
+                writerCount,
+                new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("GWC Tile Writer-%d")
+                        .build());
+        for (int i = 0; i < writerCount; i++) {
+            writers.execute(this::drain);
+        }
+    }
+
+    /**
+     * Queues a tile for saving, blocking if the queued tiles exceed the memory limit. If the pipeline is disposed, or
+     * the thread interrupted while waiting, the tile is saved right away instead.
+     */
+    public void put(StorageBroker storageBroker, TileObject tile) throws StorageException {
+        int permits = (int) Math.min(maxPermits, Math.max(1, (tile.getBlobSize() + BLOCK_SIZE - 1) / BLOCK_SIZE));
+        if (disposed || !acquire(permits)) {
+            storageBroker.put(tile);
+            return;
+        }
+        // read before the tile is visible, a concurrent discard either removes it or leaves it with a stale epoch
+        long epoch = epoch(tile.getLayerName());
+        PendingTile pending = new PendingTile(key(tile), storageBroker, tile, permits, epoch);
+        // a tile already queued for the same key gets superseded, it will be skipped by the writers
+        inFlight.put(pending.key(), pending);
+        queue.add(pending);
+    }
+
+    private boolean acquire(int permits) {
+        try {
+            memory.acquire(permits);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /** Returns the queued tile matching the given query tile, or null if there is none */
+    public TileObject get(TileObject query) {
+        PendingTile pending = inFlight.get(key(query));
+        return pending != null && isCurrent(pending) ? pending.tile() : null;
+    }
+
+    /** Number of tiles queued and not yet saved or skipped */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Drops the queued tiles of a layer, called when the layer cache gets truncated so that tiles rendered before the
+     * truncation are not written after it
+     */
+    public void discard(String layerName) {
+        layerEpochs.computeIfAbsent(layerName, k -> new AtomicLong()).incrementAndGet();
+    }
+
+    /** Drops all the queued tiles */
+    public void discardAll() {
+        globalEpoch.incrementAndGet();
+    }
+
+    private long epoch(String layerName) {
+        AtomicLong layerEpoch = layerEpochs.get(layerName);
+        return globalEpoch.get() + (layerEpoch != null ? layerEpoch.get() : 0);
+    }
+
+    private boolean isCurrent(PendingTile pending) {
+        return pending.epoch() == epoch(pending.tile().getLayerName());
+    }
+
+    @Override
+    public void tileStored(
+            String layerName,
+            String gridSetId,
+            String blobFormat,
+            String parametersId,
+            long x,
+            long y,
+            int z,
+            long blobSize) {
+        // nothing to do
+    }
+
+    @Override
+    public void tileDeleted(
+            String layerName,
+            String gridSetId,
+            String blobFormat,
+            String parametersId,
+            long x,
+            long y,
+            int z,
+            long blobSize) {
+        if (deleting.get()) {
+            return;
+        }
+        // only the queued copy of the same tile is stale, the writers skip it once out of the in-flight map
+        inFlight.remove(new TileKey(layerName, gridSetId, blobFormat, parametersId, x, y, z));
+    }
+
+    @Override
+    public void tileUpdated(
+            String layerName,
+            String gridSetId,
+            String blobFormat,
+            String parametersId,
+            long x,
+            long y,
+            int z,
+            long blobSize,
+            long oldSize) {
+        // nothing to do
+    }
+
+    @Override
+    public void layerDeleted(String layerName) {
+        discard(layerName);
+    }
+
+    @Override
+    public void layerRenamed(String oldLayerName, String newLayerName) {
+        discard(oldLayerName);
+    }
+
+    @Override
+    public void gridSubsetDeleted(String layerName, String gridSetId) {
+        discard(layerName);
+    }
+
+    @Override
+    public void parametersDeleted(String layerName, String parametersId) {
+        discard(layerName);
+    }
+
+    private void drain() {
+        List<PendingTile> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                PendingTile first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // once disposed, exit as soon as the queue is empty
+                    if (disposed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                for (PendingTile pending : batch) {
+                    write(pending);
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(PendingTile pending) {
+        TileObject tile = pending.tile();
+        try {
+            // skip superseded and discarded tiles
+            if (inFlight.get(pending.key()) == pending && isCurrent(pending)) {
+                pending.storageBroker().put(tile);
+                // discarded or deleted while being saved, the deletion may have run before the put
+                if (!isCurrent(pending) || !inFlight.containsKey(pending.key())) {
+                    deleting.set(true);
+                    try {
+                        pending.storageBroker().delete(tile);
+                    } finally {
+                        deleting.set(false);
+                    }
+                }
+            }
+        } catch (StorageException | RuntimeException e) {
+            LOGGER.log(Level.WARNING, e, () -> "Failed to save tile %s of layer %s"
+                    .formatted(Arrays.toString(tile.getXYZ()), tile.getLayerName()));
+        } finally {
+            inFlight.remove(pending.key(), pending);
+            memory.release(pending.permits());
+        }
+    }
+
+    /**
+     * Stops the writer threads, giving them up to 10 seconds to save the queued tiles, the ones still queued afterwards
+     * are dropped. Tiles put afterwards are saved right away.
+     */
+    public void dispose() {
+        disposed = true;
+        writers.shutdown();
+        try {
+            if (!writers.awaitTermination(10, TimeUnit.SECONDS)) {
+                LOGGER.warning("Tile writers did not complete in time, dropping the tiles still queued");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PendingTile> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (PendingTile pending : remaining) {
+            inFlight.remove(pending.key(), pending);
+            memory.release(pending.permits());
+        }
+    }
+
+    private static TileKey key(TileObject tile) {
+        long[] xyz = tile.getXYZ();
+        return new TileKey(
+                tile.getLayerName(),
+                tile.getGridSetId(),
+                tile.getBlobFormat(),
+                ParametersUtils.getId(tile.getParameters()),
+                xyz[0],
+                xyz[1],
+                xyz[2]);
+    }
+
+    private record TileKey(
+            String layerName, String gridSetId, String format, String parametersId, long x, long y, long z) {}
+
+    private record PendingTile(TileKey key, StorageBroker storageBroker, TileObject tile, int permits, long epoch) {}
+}
@@ -30,35 +30,61 @@
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
 import org.geotools.util.logging.Logging;
-import org.geowebcache.GeoWebCacheException;
+import org.springframework.beans.factory.DisposableBean;
 
 /**
  * Listens to transactions (so far only issued by WFS) and truncates the cache for the affected area of the layers
  * involved in the transaction.
  *
+ * <p>The bounds of each affected feature are tracked, and handed over to a {@link GWCTruncationQueue} once the
+ * transaction is committed, which in turn coalesces the dirty regions of close transactions before truncating only
+ * the tiles they touch.
+ *
  * <p>A Spring bean singleton of this class needs to be declared in order for GeoServer transactions to pick it up
  * automatically and forward transaction events to it.
  *
- * <p>TODO: upon deletion, only truncate if feature count > 0
- *
  * @author Arne Kepp
  * @author Gabriel Roldan
  */
-public class GWCTransactionListener implements TransactionCallback {
+public class GWCTransactionListener implements TransactionCallback, DisposableBean {
 
     private static Logger log = Logging.getLogger(GWCTransactionListener.class);
 
     private final GWC gwc;
 
+    private final GWCTruncationQueue truncationQueue;
+
     static final String GWC_TRANSACTION_INFO_PLACEHOLDER = "GWC_TRANSACTION_INFO_PLACEHOLDER";
 
+    /**
+     * Maximum number of affected features whose bounds are tracked one by one, past it the overall bounds of the
+     * affected features are used instead
+     */
+    static final int MAX_FEATURE_REGIONS = Integer.getInteger("gwc.truncate.maxFeatureRegions", 1000);
+
     /** @param gwc */
     public GWCTransactionListener(final GWC gwc) {
+        this(gwc, new GWCTruncationQueue(gwc));
+    }
+
+    public GWCTransactionListener(final GWC gwc, final GWCTruncationQueue truncationQueue) {
         this.gwc = gwc;
+        this.truncationQueue = truncationQueue;
+    }
+
+    /** Returns the queue the dirty regions are sent to once a transaction is committed */
+    public GWCTruncationQueue getTruncationQueue() {
+        return truncationQueue;
+    }
+
+    @Override
+    public void destroy() {
+        truncationQueue.dispose();
     }
 
     /** Not used, we're interested in the {@link #dataStoreChange} and {@link #afterTransaction} hooks */
@@ -104,43 +130,32 @@ private void afterTransactionInternal(final TransactionRequest transaction, bool
         }
         for (String tileLayerName : byLayerDirtyRegions.keySet()) {
             List<ReferencedEnvelope> dirtyList = byLayerDirtyRegions.get(tileLayerName);
-            ReferencedEnvelope dirtyRegion;
+            List<ReferencedEnvelope> dirtyRegions;
             try {
-                dirtyRegion = merge(tileLayerName, dirtyList);
+                dirtyRegions = toDeclaredCrs(tileLayerName, dirtyList);
             } catch (Exception e) {
                 log.log(Level.WARNING, e.getMessage(), e);
                 continue;
             }
-            if (dirtyRegion == null) {
-                continue;
-            }
-            try {
-                gwc.truncate(tileLayerName, dirtyRegion);
-            } catch (GeoWebCacheException e) {
-                log.warning("Error truncating tile layer "
-                        + tileLayerName
-                        + " for transaction affected bounds "
-                        + dirtyRegion);
-            }
+            truncationQueue.add(tileLayerName, dirtyRegions);
         }
     }
 
-    private ReferencedEnvelope merge(final String tileLayerName, final List<ReferencedEnvelope> dirtyList)
+    private List<ReferencedEnvelope> toDeclaredCrs(final String tileLayerName, final List<ReferencedEnvelope> dirtyList)
             throws TransformException, FactoryException {
         if (dirtyList.isEmpty()) {
-            return null;
+            return List.of();
         }
 
         final CoordinateReferenceSystem declaredCrs = CRS.getHorizontalCRS(gwc.getDeclaredCrs(tileLayerName));
-        ReferencedEnvelope merged = new ReferencedEnvelope(declaredCrs);
+        List<ReferencedEnvelope> transformed = new ArrayList<>(dirtyList.size());
         for (ReferencedEnvelope env : dirtyList) {
             if (env instanceof ReferencedEnvelope3D) {
                 env = new ReferencedEnvelope(env, CRS.getHorizontalCRS(env.getCoordinateReferenceSystem()));
             }
-            ReferencedEnvelope transformedDirtyRegion = env.transform(declaredCrs, true, 1000);
-            merged.expandToInclude(transformedDirtyRegion);
+            transformed.add(env.transform(declaredCrs, true, 1000));
         }
-        return merged;
+        return transformed;
     }
 
     /**
@@ -192,14 +207,34 @@ private void dataStoreChangeInternal(final TransactionEvent event) {
         }
 
         final SimpleFeatureCollection affectedFeatures = event.getAffectedFeatures();
-        final ReferencedEnvelope affectedBounds = affectedFeatures.getBounds();
+        final List<ReferencedEnvelope> affectedRegions = getAffectedRegions(affectedFeatures);
 
         final TransactionType transaction = event.getRequest();
         TransactionRequest request = TransactionRequest.adapt(transaction);
 
         for (String tileLayerName : affectedTileLayers) {
-            addLayerDirtyRegion(request, tileLayerName, affectedBounds);
+            addLayerDirtyRegions(request, tileLayerName, affectedRegions);
+        }
+    }
+
+    /**
+     * Returns the bounds of each affected feature, or the overall bounds of the affected features if there are more
+     * than {@link #MAX_FEATURE_REGIONS}
+     */
+    private List<ReferencedEnvelope> getAffectedRegions(final SimpleFeatureCollection affectedFeatures) {
+        List<ReferencedEnvelope> regions = new ArrayList<>();
+        try (SimpleFeatureIterator it = affectedFeatures.features()) {
+            while (it.hasNext()) {
+                if (regions.size() == MAX_FEATURE_REGIONS) {
+                    return List.of(affectedFeatures.getBounds());
+                }
+                ReferencedEnvelope bounds = ReferencedEnvelope.reference(it.next().getBounds());
+                if (bounds != null && !bounds.isNull()) {
+                    regions.add(bounds);
+                }
+            }
         }
+        return regions;
     }
 
     @SuppressWarnings("unchecked")
@@ -215,8 +250,10 @@ private Map<String, List<ReferencedEnvelope>> getByLayerDirtyRegions(final Trans
         return byLayerDirtyRegions;
     }
 
-    private void addLayerDirtyRegion(
-            final TransactionRequest transaction, final String tileLayerName, final ReferencedEnvelope affectedBounds) {
+    private void addLayerDirtyRegions(
+            final TransactionRequest transaction,
+            final String tileLayerName,
+            final List<ReferencedEnvelope> affectedRegions) {
 
         Map<String, List<ReferencedEnvelope>> byLayerDirtyRegions = getByLayerDirtyRegions(transaction);
 
@@ -225,6 +262,6 @@ private void addLayerDirtyRegion(
             layerDirtyRegion = new ArrayList<>(2);
             byLayerDirtyRegions.put(tileLayerName, layerDirtyRegion);
         }
-        layerDirtyRegion.add(affectedBounds);
+        layerDirtyRegion.addAll(affectedRegions);
     }
 }
@@ -0,0 +1,195 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Debounced, coalescing queue of the tile layer regions to be truncated, shared by all transactions.
+ *
+ * <p>Dirty regions are accumulated per tile layer, and truncated once no new region has been added for
+ * {@link #DELAY_PROPERTY} milliseconds, or at most {@link #MAX_DELAY_PROPERTY} milliseconds after the first one got
+ * queued, so that a burst of small transactions results in a single truncation. Overlapping regions are merged before
+ * truncating, if too many disjoint regions remain they are merged into a single one.
+ *
+ * <p>A delay of zero disables the queue, the regions are truncated right away in the calling thread.
+ */
+public class GWCTruncationQueue {
+
+    private static final Logger LOGGER = Logging.getLogger(GWCTruncationQueue.class);
+
+    /** System property setting the quiet time before queued truncations are performed, in milliseconds */
+    public static final String DELAY_PROPERTY = "gwc.truncate.delay";
+
+    /** System property setting the maximum time a truncation can be delayed, in milliseconds */
+    public static final String MAX_DELAY_PROPERTY = "gwc.truncate.maxDelay";
+
+    /** System property setting the maximum number of disjoint regions truncated at once for a layer */
+    public static final String MAX_REGIONS_PROPERTY = "gwc.truncate.maxRegions";
+
+    private final GWC gwc;
+
+    private final long delay;
+
+    private final long maxDelay;
+
+    private final int maxRegions;
+
+    /** Pending regions by tile layer name, guarded by this */
+    private Map<String, List<ReferencedEnvelope>> pending = new HashMap<>();
+
+    /** Time the first pending region got queued, and time of the last one, guarded by this */
+    private long firstQueued, lastQueued;
+
+    /** Whether a flush is scheduled, guarded by this */
+    private boolean scheduled;
+
+    /** Serializes the flushes, so that a flush returns only once all regions queued before it are truncated */
+    private final Object flushLock = new Object();
+
+    private final ScheduledExecutorService executor;
+
+    public GWCTruncationQueue(GWC gwc) {
+        this(
+                gwc,
+                Long.getLong(DELAY_PROPERTY, 1000),
+                Long.getLong(MAX_DELAY_PROPERTY, 10000),
+                Integer.getInteger(MAX_REGIONS_PROPERTY, 64));
+    }
+
+    /**
+     * @param gwc the GWC facade performing the truncations
+     * @param delay the quiet time before truncating, in milliseconds, zero to truncate right away
+     * @param maxDelay the maximum time a truncation can be delayed, in milliseconds
+     * @param maxRegions the maximum number of disjoint regions truncated at once for a layer
+     */
+    public GWCTruncationQueue(GWC gwc, long delay, long maxDelay, int maxRegions) {
+        this.gwc = gwc;
+        this.delay = delay;
+        this.maxDelay = Math.max(delay, maxDelay);
+        this.maxRegions = maxRegions;
+        this.executor = delay > 0
+                ? Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                        .setDaemon(true)
+                        .setNameFormat("GWC Truncation Queue-%d")
+                        .build())
+                : null;
+    }
+
+    /**
+     * Queues the truncation of the given regions of a tile layer
+     *
+     * @param tileLayerName the tile layer name
+     * @param regions the dirty regions, all in the same CRS
+     */
+    public void add(String tileLayerName, List<ReferencedEnvelope> regions) {
+        if (regions.isEmpty()) {
+            return;
+        }
+        if (executor == null) {
+            truncate(tileLayerName, regions);
+            return;
+        }
+        synchronized (this) {
+            pending.computeIfAbsent(tileLayerName, k -> new ArrayList<>()).addAll(regions);
+            lastQueued = System.nanoTime();
+            if (!scheduled) {
+                firstQueued = lastQueued;
+                scheduled = true;
+                executor.schedule(this::onTimer, delay, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    private void onTimer() {
+        synchronized (this) {
+            long now = System.nanoTime();
+            long quiet = TimeUnit.NANOSECONDS.toMillis(now - lastQueued);
+            long waited = TimeUnit.NANOSECONDS.toMillis(now - firstQueued);
+            if (quiet < delay && waited < maxDelay) {
+                // still receiving regions, wait some more
+                executor.schedule(this::onTimer, Math.min(delay - quiet, maxDelay - waited), TimeUnit.MILLISECONDS);
+                return;
+            }
+            scheduled = false;
+        }
+        flush();
+    }
+
+    /** Truncates all the pending regions right away, returns once the truncation tasks have been dispatched */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, List<ReferencedEnvelope>> batch;
+            synchronized (this) {
+                batch = pending;
+                pending = new HashMap<>();
+            }
+            batch.forEach(this::truncate);
+        }
+    }
+
+    private void truncate(String tileLayerName, List<ReferencedEnvelope> regions) {
+        List<ReferencedEnvelope> coalesced = coalesce(regions, maxRegions);
+        try {
+            gwc.truncate(tileLayerName, coalesced);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, e, () -> "Error truncating tile layer %s for transaction affected regions %s"
+                    .formatted(tileLayerName, coalesced));
+        }
+    }
+
+    /** Truncates the pending regions and stops the background thread */
+    public void dispose() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        flush();
+    }
+
+    /**
+     * Merges the overlapping regions, and all of them into a single one if more than {@code maxRegions} disjoint
+     * regions remain
+     */
+    static List<ReferencedEnvelope> coalesce(List<ReferencedEnvelope> regions, int maxRegions) {
+        List<ReferencedEnvelope> result = new ArrayList<>();
+        for (ReferencedEnvelope region : regions) {
+            ReferencedEnvelope merged = new ReferencedEnvelope(region);
+            boolean grown = true;
+            while (grown) {
+                grown = false;
+                for (Iterator<ReferencedEnvelope> it = result.iterator(); it.hasNext(); ) {
+                    ReferencedEnvelope other = it.next();
+                    if (merged.intersects((Envelope) other)) {
+                        merged.expandToInclude(other);
+                        it.remove();
+                        grown = true;
+                    }
+                }
+            }
+            result.add(merged);
+        }
+        if (result.size() > maxRegions) {
+            ReferencedEnvelope merged = new ReferencedEnvelope(result.get(0));
+            for (ReferencedEnvelope region : result) {
+                merged.expandToInclude((Envelope) region);
+            }
+            return List.of(merged);
+        }
+        return result;
+    }
+}
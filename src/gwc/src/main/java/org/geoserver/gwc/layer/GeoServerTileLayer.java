@@ -59,10 +59,12 @@
 import org.geoserver.catalog.impl.ModificationProxy;
 import org.geoserver.config.GeoServer;
 import org.geoserver.gwc.GWC;
+import org.geoserver.gwc.GWCTileWriteBehind;
 import org.geoserver.gwc.config.GWCConfig;
 import org.geoserver.gwc.dispatch.GwcServiceDispatcherCallback;
 import org.geoserver.gwc.security.AccessLimitsKeyBuilder;
 import org.geoserver.gwc.security.SecurityParameterFilter;
+import org.geoserver.gwc.seed.SeedTimer;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.LocalWorkspace;
 import org.geoserver.ows.Request;
@@ -78,6 +80,7 @@
 import org.geoserver.wms.GetMapRequest;
 import org.geoserver.wms.MetatileContextHolder;
 import org.geoserver.wms.RasterCleaner;
+import org.geoserver.wms.RenderingScheduler;
 import org.geoserver.wms.TiledWebMap;
 import org.geoserver.wms.WMS;
 import org.geoserver.wms.WebMap;
@@ -96,6 +99,7 @@
 import org.geowebcache.config.HintsLevel;
 import org.geowebcache.config.XMLGridSubset;
 import org.geowebcache.config.legends.LegendInfoBuilder;
+import org.geowebcache.conveyor.Conveyor.CacheResult;
 import org.geowebcache.conveyor.ConveyorTile;
 import org.geowebcache.filter.parameters.ParameterException;
 import org.geowebcache.filter.parameters.ParameterFilter;
@@ -144,7 +148,7 @@ public class GeoServerTileLayer extends TileLayer implements ProxyLayer, TileJSO
 
     private final GeoServerTileLayerInfo info;
 
-    public static final String GWC_SEED_INTERCEPT_TOKEN = "GWC_SEED_INTERCEPT";
+    public static final String GWC_SEED_INTERCEPT_TOKEN = RenderingScheduler.GWC_SEED_INTERCEPT_TOKEN;
 
     public static final ThreadLocal<WebMap> WEB_MAP = new ThreadLocal<>();
     public static final ThreadLocal<Set<DimensionWarning>> DIMENSION_WARNINGS = new ThreadLocal<>();
@@ -999,11 +1003,16 @@ private Runnable saveTileTask(
 
                 // Save tile to storage
                 StorageBroker storageBroker = tileProto.getStorageBroker();
+                GWCTileWriteBehind writeBehind = GWC.get().getTileWriteBehind();
+                long start = System.nanoTime();
                 if (tileProto.isMetaTileCacheOnly()) {
                     storageBroker.putTransient(tile);
+                } else if (writeBehind != null) {
+                    writeBehind.put(storageBroker, tile);
                 } else {
                     storageBroker.put(tile);
                 }
+                SeedTimer.addStoreTime(System.nanoTime() - start);
                 tileProto.getStorageObject().setCreated(tile.getCreated());
             } catch (IOException ex) {
                 throw new RuntimeException(ex);
@@ -1171,6 +1180,9 @@ private Map<String, String> buildGetMap(final ConveyorTile tile, final MetaTile
     private boolean tryCacheFetch(ConveyorTile tile) {
         int expireCache = this.getExpireCache((int) tile.getTileIndex()[2]);
         if (expireCache != GWCVars.CACHE_DISABLE_CACHE) {
+            if (fetchPendingTile(tile)) {
+                return true;
+            }
             try {
                 return tile.retrieve(expireCache * 1000L);
             } catch (GeoWebCacheException gwce) {
@@ -1182,6 +1194,19 @@ private boolean tryCacheFetch(ConveyorTile tile) {
         return false;
     }
 
+    /** Looks up the tile among the ones rendered but still waiting to be saved by the write-behind pipeline */
+    private boolean fetchPendingTile(ConveyorTile tile) {
+        GWCTileWriteBehind writeBehind = GWC.get().getTileWriteBehind();
+        TileObject pending = writeBehind != null ? writeBehind.get(tile.getStorageObject()) : null;
+        if (pending == null) {
+            return false;
+        }
+        tile.setBlob(pending.getBlob());
+        tile.getStorageObject().setCreated(pending.getCreated());
+        tile.setCacheResult(CacheResult.HIT);
+        return true;
+    }
+
     private ConveyorTile finalizeTile(ConveyorTile tile) {
         if (tile.getStatus() == 0 && !tile.getError()) {
             tile.setStatus(200);
@@ -0,0 +1,112 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+/**
+ * Additive increase, multiplicative decrease concurrency limit, driven by the latencies measured while seeding.
+ *
+ * <p>The limit is revised once per round of samples (as many samples as the current limit). It is decreased by a
+ * quarter when the average render time or blob store write time grew beyond {@link #TOLERANCE} times the best
+ * average seen so far, or when the connection pool of the store is nearly exhausted. Otherwise it is increased by one
+ * if all the permits were in use, that is, if more concurrency could have been used. The best averages slowly drift
+ * up, so that a legitimately slower workload (e.g., a different zoom level) does not keep the limit at the minimum.
+ *
+ * <p>Not thread safe, callers are expected to synchronize.
+ */
+class AdaptiveConcurrencyLimit {
+
+    /** Latency growth over the best average tolerated before reducing the concurrency */
+    static final double TOLERANCE = 2;
+
+    /** Pool usage ratio above which the concurrency is reduced */
+    static final double MAX_POOL_SATURATION = 0.9;
+
+    /** Weight of the new samples in the moving averages */
+    static final double ALPHA = 0.2;
+
+    /** Drift of the best averages at each revision */
+    static final double BASELINE_DRIFT = 1.02;
+
+    private final int min;
+
+    private final int max;
+
+    private int limit;
+
+    private double renderTime = Double.NaN;
+
+    private double renderBaseline = Double.NaN;
+
+    private double storeTime = Double.NaN;
+
+    private double storeBaseline = Double.NaN;
+
+    private double poolSaturation;
+
+    private int samples;
+
+    private boolean saturated;
+
+    AdaptiveConcurrencyLimit(int initial, int min, int max) {
+        this.min = Math.max(1, min);
+        this.max = Math.max(this.min, max);
+        this.limit = Math.min(this.max, Math.max(this.min, initial));
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /** The moving average of the render time, in nanoseconds */
+    double getRenderTime() {
+        return renderTime;
+    }
+
+    /** The moving average of the blob store write time, in nanoseconds */
+    double getStoreTime() {
+        return storeTime;
+    }
+
+    /**
+     * Records a sample, and revises the limit at the end of a round
+     *
+     * @param renderNanos the time spent rendering and encoding the meta-tile
+     * @param storeNanos the time spent writing the tiles to the blob store
+     * @param poolSaturation the ratio of the store connection pool in use, 0 if unknown
+     * @param inFlight the number of meta-tiles being seeded when the sample completed, including it
+     */
+    void onSample(long renderNanos, long storeNanos, double poolSaturation, int inFlight) {
+        renderTime = average(renderTime, renderNanos);
+        storeTime = average(storeTime, storeNanos);
+        this.poolSaturation = Math.max(this.poolSaturation, poolSaturation);
+        saturated |= inFlight >= limit;
+        if (++samples >= limit) {
+            revise();
+        }
+    }
+
+    private void revise() {
+        renderBaseline = baseline(renderBaseline, renderTime);
+        storeBaseline = baseline(storeBaseline, storeTime);
+        if (renderTime > renderBaseline * TOLERANCE
+                || storeTime > storeBaseline * TOLERANCE
+                || poolSaturation >= MAX_POOL_SATURATION) {
+            limit = Math.max(min, (int) (limit * 0.75));
+        } else if (saturated) {
+            limit = Math.min(max, limit + 1);
+        }
+        samples = 0;
+        saturated = false;
+        poolSaturation = 0;
+    }
+
+    private static double average(double average, long sample) {
+        return Double.isNaN(average) ? sample : average + ALPHA * (sample - average);
+    }
+
+    private static double baseline(double baseline, double average) {
+        return Double.isNaN(baseline) ? average : Math.min(baseline * BASELINE_DRIFT, average);
+    }
+}
@@ -0,0 +1,69 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+/**
+ * Hilbert curve mapping between a square grid of side {@code 2^order} and the position along the curve. Cells close on
+ * the curve are close in the grid, which makes it a good visiting order for data locality.
+ */
+final class HilbertCurve {
+
+    private HilbertCurve() {}
+
+    /** Returns the smallest order whose grid contains a square of the given side */
+    static int order(long side) {
+        int order = 0;
+        while ((1L << order) < side) {
+            order++;
+        }
+        return order;
+    }
+
+    /** Returns the position of the cell along the curve */
+    static long index(int order, long x, long y) {
+        long d = 0;
+        for (long s = (1L << order) >> 1; s > 0; s >>= 1) {
+            long rx = (x & s) > 0 ? 1 : 0;
+            long ry = (y & s) > 0 ? 1 : 0;
+            d += s * s * ((3 * rx) ^ ry);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                long t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+
+    /** Returns the cell at the given position along the curve, as a {x, y} pair */
+    static long[] cell(int order, long d) {
+        long x = 0;
+        long y = 0;
+        long n = 1L << order;
+        for (long s = 1; s < n; s <<= 1) {
+            long rx = 1 & (d / 2);
+            long ry = 1 & (d ^ rx);
+            // rotate the quadrant
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = s - 1 - x;
+                    y = s - 1 - y;
+                }
+                long t = x;
+                x = y;
+                y = t;
+            }
+            x += s * rx;
+            y += s * ry;
+            d /= 4;
+        }
+        return new long[] {x, y};
+    }
+}
@@ -0,0 +1,91 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+/**
+ * Walks the meta-tiles covering a tile range along a Hilbert curve.
+ *
+ * <p>The meta-tile grid is split in square blocks, the blocks are visited along a Hilbert curve, and so are the
+ * meta-tiles in each block. This keeps the memory usage constant regardless of the range size, while preserving the
+ * locality of the visit. Cells of the curves falling outside of the range are skipped.
+ */
+class MetaTileIterator {
+
+    /** Maximum order of the curve used inside a block, blocks are at most 256x256 meta-tiles */
+    static final int MAX_BLOCK_ORDER = 8;
+
+    private final long minX;
+
+    private final long minY;
+
+    private final long width;
+
+    private final long height;
+
+    private final int cellOrder;
+
+    private final long cellCount;
+
+    private final int blockOrder;
+
+    private final long blockCount;
+
+    private long block;
+
+    private long cell;
+
+    private long blockX;
+
+    private long blockY;
+
+    /**
+     * @param coverage the tile range, as a {minx, miny, maxx, maxy, ...} array
+     * @param metaX the meta-tiling factor along the x axis
+     * @param metaY the meta-tiling factor along the y axis
+     */
+    MetaTileIterator(long[] coverage, int metaX, int metaY) {
+        this.minX = Math.floorDiv(coverage[0], metaX);
+        this.minY = Math.floorDiv(coverage[1], metaY);
+        this.width = Math.floorDiv(coverage[2], metaX) - minX + 1;
+        this.height = Math.floorDiv(coverage[3], metaY) - minY + 1;
+        long side = Math.max(width, height);
+        this.cellOrder = Math.min(MAX_BLOCK_ORDER, HilbertCurve.order(side));
+        this.cellCount = 1L << (2 * cellOrder);
+        this.blockOrder = HilbertCurve.order((side + (1L << cellOrder) - 1) >> cellOrder);
+        this.blockCount = width > 0 && height > 0 ? 1L << (2 * blockOrder) : 0;
+        // forces moving to the first block
+        this.cell = cellCount;
+    }
+
+    /** Returns the next meta-tile as a {x, y} pair in meta-tile units, or null if the range has been walked */
+    long[] next() {
+        while (true) {
+            while (cell < cellCount) {
+                long[] c = HilbertCurve.cell(cellOrder, cell++);
+                long x = (blockX << cellOrder) + c[0];
+                long y = (blockY << cellOrder) + c[1];
+                if (x < width && y < height) {
+                    return new long[] {minX + x, minY + y};
+                }
+            }
+            if (!nextBlock()) {
+                return null;
+            }
+        }
+    }
+
+    private boolean nextBlock() {
+        while (block < blockCount) {
+            long[] b = HilbertCurve.cell(blockOrder, block++);
+            if ((b[0] << cellOrder) < width && (b[1] << cellOrder) < height) {
+                blockX = b[0];
+                blockY = b[1];
+                cell = 0;
+                return true;
+            }
+        }
+        return false;
+    }
+}
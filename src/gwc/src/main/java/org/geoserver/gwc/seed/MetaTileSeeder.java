@@ -0,0 +1,426 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.sql.DataSource;
+import org.apache.commons.dbcp2.BasicDataSource;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.gwc.GWC;
+import org.geoserver.gwc.layer.GeoServerTileLayer;
+import org.geoserver.gwc.seed.SeedJob.SeedTask;
+import org.geoserver.wms.RasterCleaner;
+import org.geotools.api.data.DataAccess;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.util.logging.Logging;
+import org.geowebcache.conveyor.ConveyorTile;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.grid.GridSubset;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.mime.MimeException;
+import org.geowebcache.mime.MimeType;
+import org.geowebcache.storage.StorageBroker;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Seeding engine aware of meta-tiles and of the stores the tile layers are reading from.
+ *
+ * <p>Each {@link SeedJob} seeds whole meta-tiles, visited along a Hilbert curve, a single request per meta-tile. The
+ * jobs are grouped in lanes, one per data store, so that layers reading from the same database share the same
+ * concurrency budget, and jobs in the same lane take turns. The concurrency of each lane is adjusted by an
+ * {@link AdaptiveConcurrencyLimit}, based on the measured render time, blob store write time, and connection pool usage
+ * of the store (when it is a DBCP pooled JDBC store), starting from {@link #INITIAL_THREADS_PER_STORE} threads up to
+ * {@link #MAX_THREADS_PER_STORE}. The total number of seeding threads is capped by {@link #MAX_THREADS}.
+ *
+ * <p>This engine complements the GeoWebCache tile breeder, which remains available through the GeoWebCache seeding
+ * REST API and user interface.
+ */
+public class MetaTileSeeder implements DisposableBean {
+
+    private static final Logger LOGGER = Logging.getLogger(MetaTileSeeder.class);
+
+    /** System property setting the maximum number of seeding threads, defaults to twice the number of processors */
+    public static final String MAX_THREADS = "gwc.seeder.maxThreads";
+
+    /** System property setting the maximum number of seeding threads per store, defaults to the maximum threads */
+    public static final String MAX_THREADS_PER_STORE = "gwc.seeder.maxThreadsPerStore";
+
+    /** System property setting the initial number of seeding threads per store, defaults to 2 */
+    public static final String INITIAL_THREADS_PER_STORE = "gwc.seeder.initialThreadsPerStore";
+
+    /** System property setting the number of failed meta-tiles stopping a job, defaults to 100, -1 to never stop */
+    public static final String MAX_FAILURES = "gwc.seeder.maxFailures";
+
+    private final GWC gwc;
+
+    private final StorageBroker storageBroker;
+
+    private final int maxThreads;
+
+    private final int maxThreadsPerStore;
+
+    private final int initialThreadsPerStore;
+
+    private final int maxFailures;
+
+    private final ExecutorService executor;
+
+    private final AtomicLong ids = new AtomicLong();
+
+    private final Map<Long, SeedJob> jobs = new ConcurrentSkipListMap<>();
+
+    /** Lanes by store key, guarded by this */
+    private final Map<String, Lane> lanes = new LinkedHashMap<>();
+
+    /** Number of meta-tiles being seeded, guarded by this */
+    private int running;
+
+    public MetaTileSeeder(GWC gwc, StorageBroker storageBroker) {
+        this(
+                gwc,
+                storageBroker,
+                Integer.getInteger(MAX_THREADS, 2 * Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(MAX_THREADS_PER_STORE, -1),
+                Integer.getInteger(INITIAL_THREADS_PER_STORE, 2),
+                Integer.getInteger(MAX_FAILURES, 100));
+    }
+
+    /**
+     * @param gwc the GWC facade, used to look up the tile layers
+     * @param storageBroker the storage broker the tiles are saved into
+     * @param maxThreads the maximum number of seeding threads
+     * @param maxThreadsPerStore the maximum number of seeding threads per store, a negative value means no limit
+     * @param initialThreadsPerStore the number of threads a store lane starts with
+     * @param maxFailures the number of failed meta-tiles stopping a job, a negative value means no limit
+     */
+    public MetaTileSeeder(
+            GWC gwc,
+            StorageBroker storageBroker,
+            int maxThreads,
+            int maxThreadsPerStore,
+            int initialThreadsPerStore,
+            int maxFailures) {
+        this.gwc = gwc;
+        this.storageBroker = storageBroker;
+        this.maxThreads = Math.max(1, maxThreads);
+        this.maxThreadsPerStore = maxThreadsPerStore < 0 ? this.maxThreads : Math.min(maxThreadsPerStore, maxThreads);
+        this.initialThreadsPerStore = initialThreadsPerStore;
+        this.maxFailures = maxFailures;
+        this.executor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("GWC MetaTile Seeder-%d")
+                .build());
+    }
+
+    /**
+     * Submits a new seeding job
+     *
+     * @param layerName the tile layer name
+     * @param gridSetId the grid set to seed
+     * @param format the format to seed
+     * @param zoomStart the first zoom level to seed, clamped to the grid subset levels
+     * @param zoomStop the last zoom level to seed, clamped to the grid subset levels
+     * @param bounds the area to seed, in the grid set CRS, or null to seed the whole grid subset
+     * @param reseed whether the tiles already cached have to be seeded again
+     * @return the submitted job
+     * @throws IllegalArgumentException if the layer, grid set or format are not found or not cached
+     */
+    public SeedJob submit(
+            String layerName,
+            String gridSetId,
+            String format,
+            int zoomStart,
+            int zoomStop,
+            BoundingBox bounds,
+            boolean reseed) {
+        TileLayer layer = gwc.getTileLayerByName(layerName);
+        GridSubset subset = layer.getGridSubset(gridSetId);
+        if (subset == null) {
+            throw new IllegalArgumentException("Tile layer " + layerName + " is not cached on grid set " + gridSetId);
+        }
+        MimeType mimeType;
+        try {
+            mimeType = MimeType.createFromFormat(format);
+        } catch (MimeException e) {
+            throw new IllegalArgumentException("Unknown format " + format, e);
+        }
+        if (!layer.getMimeTypes().contains(mimeType)) {
+            throw new IllegalArgumentException("Tile layer " + layerName + " is not cached in format " + format);
+        }
+
+        long[][] coverages = bounds == null ? subset.getCoverages() : subset.getCoverageIntersections(bounds);
+        int start = Math.max(zoomStart, subset.getZoomStart());
+        int stop = Math.min(zoomStop, subset.getZoomStop());
+        List<long[]> levels = new ArrayList<>();
+        for (long[] coverage : coverages) {
+            int z = (int) coverage[4];
+            if (z >= start && z <= stop && coverage[2] >= coverage[0] && coverage[3] >= coverage[1]) {
+                levels.add(coverage);
+            }
+        }
+        if (levels.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to seed for tile layer " + layerName + " in the given range");
+        }
+
+        int metaX = 1;
+        int metaY = 1;
+        if (GWC.supportsMetaTiling(mimeType)) {
+            int[] factors = layer.getMetaTilingFactors();
+            metaX = factors[0];
+            metaY = factors[1];
+        }
+        // the request security context gets cleared once the request completes, keep a copy
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        PublishedInfo published = layer instanceof GeoServerTileLayer gs ? gs.getPublishedInfo() : null;
+        SeedJob job = new SeedJob(
+                ids.incrementAndGet(),
+                layer,
+                gridSetId,
+                mimeType,
+                null,
+                reseed,
+                levels.toArray(new long[levels.size()][]),
+                metaX,
+                metaY,
+                maxFailures,
+                getStoreKey(layerName, published),
+                securityContext);
+        jobs.put(job.getId(), job);
+        synchronized (this) {
+            Lane lane = lanes.computeIfAbsent(job.getStoreKey(), k -> new Lane(k));
+            lane.dataSource = getDataSource(published);
+            lane.jobs.add(job);
+            dispatch();
+        }
+        return job;
+    }
+
+    /** Returns the jobs, sorted by identifier */
+    public List<SeedJob> getJobs() {
+        return new ArrayList<>(jobs.values());
+    }
+
+    /** Returns the job with the given identifier, or null if not found */
+    public SeedJob getJob(long id) {
+        return jobs.get(id);
+    }
+
+    /** Cancels a job, returns false if the job was not found */
+    public boolean cancel(long id) {
+        SeedJob job = jobs.get(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancel();
+        return true;
+    }
+
+    /** Forgets about the finished jobs */
+    public void purge() {
+        jobs.values().removeIf(SeedJob::isFinished);
+    }
+
+    /** Summarizes the status of the store lanes, as a list of maps ready for encoding */
+    public synchronized List<Map<String, Object>> getLanes() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("store", lane.key);
+            summary.put("threads", lane.limit.getLimit());
+            summary.put("running", lane.running);
+            summary.put("jobs", lane.jobs.size());
+            summary.put("renderTimeMillis", millis(lane.limit.getRenderTime()));
+            summary.put("storeTimeMillis", millis(lane.limit.getStoreTime()));
+            summary.put("poolSaturation", lane.getPoolSaturation());
+            result.add(summary);
+        }
+        return result;
+    }
+
+    private static double millis(double nanos) {
+        return Double.isNaN(nanos) ? 0 : Math.round(nanos / 1e5) / 10d;
+    }
+
+    /** Starts as many meta-tiles as the global and per lane limits allow, taking turns among lanes */
+    private synchronized void dispatch() {
+        boolean started = true;
+        while (started && running < maxThreads) {
+            started = false;
+            for (Lane lane : lanes.values()) {
+                if (running >= maxThreads) {
+                    break;
+                }
+                if (lane.running >= lane.limit.getLimit()) {
+                    continue;
+                }
+                SeedTask task = lane.next();
+                if (task != null) {
+                    running++;
+                    lane.running++;
+                    executor.execute(() -> seed(lane, task));
+                    started = true;
+                }
+            }
+        }
+        // idle lanes are dropped, their state is rebuilt if new jobs come in
+        lanes.values().removeIf(l -> l.running == 0 && l.jobs.isEmpty());
+    }
+
+    private void seed(Lane lane, SeedTask task) {
+        SeedJob job = task.job();
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContextHolder.setContext(job.getSecurityContext());
+        long start = System.nanoTime();
+        SeedTimer.start();
+        Exception error = null;
+        try {
+            TileLayer layer = job.getLayer();
+            ConveyorTile tile = new ConveyorTile(
+                    storageBroker,
+                    layer.getName(),
+                    job.getGridSetId(),
+                    task.tileIndex(),
+                    job.getMimeType(),
+                    job.getParameters(),
+                    null,
+                    null);
+            tile.setTileLayer(layer);
+            layer.seedTile(tile, !job.isReseed());
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, e, () -> "Failed to seed meta-tile at %s of layer %s"
+                    .formatted(Arrays.toString(task.tileIndex()), job.getLayer().getName()));
+            error = e;
+        } finally {
+            long storeTime = SeedTimer.stop();
+            long renderTime = System.nanoTime() - start - storeTime;
+            RasterCleaner.cleanup();
+            SecurityContextHolder.setContext(previous);
+            completed(lane, task, error, renderTime, storeTime);
+        }
+    }
+
+    private synchronized void completed(Lane lane, SeedTask task, Exception error, long renderTime, long storeTime) {
+        task.job().completed(task, error);
+        lane.limit.onSample(renderTime, storeTime, lane.getPoolSaturation(), lane.running);
+        running--;
+        lane.running--;
+        dispatch();
+    }
+
+    /** Key grouping the layers by data source, layer groups get their own lane */
+    static String getStoreKey(String layerName, PublishedInfo published) {
+        if (published instanceof LayerInfo layer && layer.getResource() != null) {
+            StoreInfo store = layer.getResource().getStore();
+            if (store != null) {
+                return store.getWorkspace() != null
+                        ? store.getWorkspace().getName() + ":" + store.getName()
+                        : store.getName();
+            }
+        }
+        if (published instanceof LayerGroupInfo) {
+            return "layergroup:" + layerName;
+        }
+        return "layer:" + layerName;
+    }
+
+    /** The pooled data source of the JDBC store the layer reads from, or null if not a JDBC layer */
+    private static DataSource getDataSource(PublishedInfo published) {
+        if (published instanceof LayerInfo layer
+                && layer.getResource() != null
+                && layer.getResource().getStore() instanceof DataStoreInfo store) {
+            try {
+                DataAccess<?, ?> access = store.getDataStore(null);
+                if (access instanceof JDBCDataStore jdbc) {
+                    return jdbc.getDataSource();
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Could not access the data store " + store.getName(), e);
+            }
+        }
+        return null;
+    }
+
+    /** Stops the seeding threads, the jobs are cancelled */
+    @Override
+    public void destroy() throws Exception {
+        jobs.values().forEach(SeedJob::cancel);
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /** The jobs reading from the same store, and their concurrency limit */
+    private class Lane {
+
+        final String key;
+
+        final AdaptiveConcurrencyLimit limit;
+
+        final List<SeedJob> jobs = new ArrayList<>();
+
+        /** Position of the next job to pick a meta-tile from */
+        int turn;
+
+        int running;
+
+        DataSource dataSource;
+
+        Lane(String key) {
+            this.key = key;
+            this.limit = new AdaptiveConcurrencyLimit(initialThreadsPerStore, 1, maxThreadsPerStore);
+        }
+
+        /** Picks the next meta-tile, taking turns among the jobs, and dropping the ones having nothing left */
+        SeedTask next() {
+            while (!jobs.isEmpty()) {
+                if (turn >= jobs.size()) {
+                    turn = 0;
+                }
+                SeedTask task = jobs.get(turn).next();
+                if (task != null) {
+                    turn++;
+                    return task;
+                }
+                jobs.remove(turn);
+            }
+            return null;
+        }
+
+        /** The ratio of connections in use in the store pool, 0 if unknown */
+        double getPoolSaturation() {
+            if (dataSource == null) {
+                return 0;
+            }
+            try {
+                if (dataSource.isWrapperFor(BasicDataSource.class)) {
+                    BasicDataSource pool = dataSource.unwrap(BasicDataSource.class);
+                    return pool.getMaxTotal() > 0 ? (double) pool.getNumActive() / pool.getMaxTotal() : 0;
+                }
+            } catch (SQLException e) {
+                LOGGER.log(Level.FINEST, "Could not unwrap the connection pool", e);
+            }
+            return 0;
+        }
+    }
+}
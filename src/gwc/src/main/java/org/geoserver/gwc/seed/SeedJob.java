@@ -0,0 +1,329 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geowebcache.layer.TileLayer;
+import org.geowebcache.mime.MimeType;
+import org.springframework.security.core.context.SecurityContext;
+
+/**
+ * A seeding job run by the {@link MetaTileSeeder}: the meta-tiles of a tile layer, grid set and format, over a range
+ * of zoom levels.
+ *
+ * <p>The zoom levels are seeded from the lowest to the highest, and the meta-tiles of each level are visited along a
+ * Hilbert curve, so that the meta-tiles seeded at the same time, and one after the other, are close to each other and
+ * hit the same data pages, index nodes and caches in the store. The progress and throughput are tracked per zoom level.
+ */
+public class SeedJob {
+
+    public enum State {
+        PENDING,
+        RUNNING,
+        DONE,
+        CANCELLED,
+        FAILED
+    }
+
+    private final long id;
+
+    private final TileLayer layer;
+
+    private final String gridSetId;
+
+    private final MimeType mimeType;
+
+    private final Map<String, String> parameters;
+
+    private final boolean reseed;
+
+    private final int metaX;
+
+    private final int metaY;
+
+    private final int maxFailures;
+
+    private final SecurityContext securityContext;
+
+    private final ZoomProgress[] levels;
+
+    private final String storeKey;
+
+    private int currentLevel;
+
+    private MetaTileIterator iterator;
+
+    private int inFlight;
+
+    private long failures;
+
+    private String lastError;
+
+    private State state = State.PENDING;
+
+    /**
+     * @param id the job identifier
+     * @param layer the tile layer
+     * @param gridSetId the grid set
+     * @param mimeType the tiles format
+     * @param parameters the parameters of the tiles, or null for the default ones
+     * @param reseed whether the tiles already in the cache have to be seeded again
+     * @param coverages the tile ranges to seed, one {minx, miny, maxx, maxy, z} array per zoom level
+     * @param metaX the meta-tiling factor along the x axis
+     * @param metaY the meta-tiling factor along the y axis
+     * @param maxFailures the number of meta-tiles failing before the job is stopped
+     * @param storeKey the key of the store the layer data comes from
+     * @param securityContext the security context the tiles are seeded with
+     */
+    SeedJob(
+            long id,
+            TileLayer layer,
+            String gridSetId,
+            MimeType mimeType,
+            Map<String, String> parameters,
+            boolean reseed,
+            long[][] coverages,
+            int metaX,
+            int metaY,
+            int maxFailures,
+            String storeKey,
+            SecurityContext securityContext) {
+        this.id = id;
+        this.layer = layer;
+        this.gridSetId = gridSetId;
+        this.mimeType = mimeType;
+        this.parameters = parameters;
+        this.reseed = reseed;
+        this.metaX = metaX;
+        this.metaY = metaY;
+        this.maxFailures = maxFailures;
+        this.storeKey = storeKey;
+        this.securityContext = securityContext;
+        this.levels = new ZoomProgress[coverages.length];
+        for (int i = 0; i < coverages.length; i++) {
+            levels[i] = new ZoomProgress(coverages[i], metaX, metaY);
+        }
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public TileLayer getLayer() {
+        return layer;
+    }
+
+    public String getGridSetId() {
+        return gridSetId;
+    }
+
+    public MimeType getMimeType() {
+        return mimeType;
+    }
+
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public boolean isReseed() {
+        return reseed;
+    }
+
+    public String getStoreKey() {
+        return storeKey;
+    }
+
+    SecurityContext getSecurityContext() {
+        return securityContext;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /** True if the job is done, failed or cancelled */
+    public synchronized boolean isFinished() {
+        return state == State.DONE || state == State.CANCELLED || state == State.FAILED;
+    }
+
+    /** Cancels the job, the meta-tiles being seeded are completed, no new ones are started */
+    public synchronized void cancel() {
+        if (!isFinished()) {
+            state = State.CANCELLED;
+        }
+    }
+
+    /** Returns the next meta-tile to seed, or null if there are none left, or the job is finished */
+    synchronized SeedTask next() {
+        if (isFinished()) {
+            return null;
+        }
+        while (currentLevel < levels.length) {
+            ZoomProgress level = levels[currentLevel];
+            if (iterator == null) {
+                iterator = new MetaTileIterator(level.coverage, metaX, metaY);
+            }
+            long[] metaTile = iterator.next();
+            if (metaTile != null) {
+                state = State.RUNNING;
+                inFlight++;
+                level.started();
+                return new SeedTask(this, level, seedTile(level.coverage, metaTile), tiles(level.coverage, metaTile));
+            }
+            iterator = null;
+            currentLevel++;
+        }
+        checkDone();
+        return null;
+    }
+
+    /** Records the completion of a meta-tile */
+    synchronized void completed(SeedTask task, Exception error) {
+        inFlight--;
+        task.level().completed(task.tiles(), error == null);
+        if (error != null) {
+            failures++;
+            lastError = error.getMessage();
+            if (maxFailures >= 0 && failures > maxFailures && !isFinished()) {
+                state = State.FAILED;
+            }
+        }
+        checkDone();
+    }
+
+    private void checkDone() {
+        if (inFlight == 0 && currentLevel >= levels.length && !isFinished()) {
+            state = State.DONE;
+        }
+    }
+
+    /** The index of the tile seeded to produce the meta-tile: the first one falling in the coverage */
+    private long[] seedTile(long[] coverage, long[] metaTile) {
+        long x = Math.max(metaTile[0] * metaX, coverage[0]);
+        long y = Math.max(metaTile[1] * metaY, coverage[1]);
+        return new long[] {x, y, coverage[4]};
+    }
+
+    /** The number of tiles of the meta-tile falling in the coverage */
+    private long tiles(long[] coverage, long[] metaTile) {
+        long minX = Math.max(metaTile[0] * metaX, coverage[0]);
+        long maxX = Math.min(metaTile[0] * metaX + metaX - 1, coverage[2]);
+        long minY = Math.max(metaTile[1] * metaY, coverage[1]);
+        long maxY = Math.min(metaTile[1] * metaY + metaY - 1, coverage[3]);
+        return (maxX - minX + 1) * (maxY - minY + 1);
+    }
+
+    /** Summarizes the job status and progress, as a tree of maps and lists ready for encoding */
+    public synchronized Map<String, Object> summarize() {
+        long now = System.nanoTime();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("id", id);
+        result.put("layer", layer.getName());
+        result.put("gridSet", gridSetId);
+        result.put("format", mimeType.getFormat());
+        result.put("reseed", reseed);
+        result.put("store", storeKey);
+        result.put("state", state.name());
+        long tilesTotal = 0;
+        long tilesDone = 0;
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+        List<Map<String, Object>> zoomLevels = new ArrayList<>();
+        for (ZoomProgress level : levels) {
+            tilesTotal += level.tilesTotal;
+            tilesDone += level.tilesDone;
+            if (level.firstStart != 0) {
+                first = Math.min(first, level.firstStart);
+                last = Math.max(last, level.end(now));
+            }
+            zoomLevels.add(level.summarize(now));
+        }
+        result.put("tilesTotal", tilesTotal);
+        result.put("tilesDone", tilesDone);
+        result.put("tilesPerSecond", throughput(tilesDone, first, last));
+        result.put("failures", failures);
+        if (lastError != null) {
+            result.put("lastError", lastError);
+        }
+        result.put("zoomLevels", zoomLevels);
+        return result;
+    }
+
+    static double throughput(long tiles, long start, long end) {
+        if (tiles == 0 || end <= start) {
+            return 0;
+        }
+        return Math.round(tiles * 1e10 / (end - start)) / 10d;
+    }
+
+    /** A meta-tile to be seeded */
+    record SeedTask(SeedJob job, ZoomProgress level, long[] tileIndex, long tiles) {}
+
+    /** Progress of the seeding of a zoom level */
+    static class ZoomProgress {
+
+        final long[] coverage;
+
+        final long tilesTotal;
+
+        final long metaTilesTotal;
+
+        long tilesDone;
+
+        long metaTilesDone;
+
+        long failures;
+
+        int inFlight;
+
+        /** Time the first meta-tile got started, and the last one completed, in nanoseconds */
+        long firstStart, lastEnd;
+
+        ZoomProgress(long[] coverage, int metaX, int metaY) {
+            this.coverage = coverage;
+            this.tilesTotal = (coverage[2] - coverage[0] + 1) * (coverage[3] - coverage[1] + 1);
+            this.metaTilesTotal = (Math.floorDiv(coverage[2], metaX) - Math.floorDiv(coverage[0], metaX) + 1)
+                    * (Math.floorDiv(coverage[3], metaY) - Math.floorDiv(coverage[1], metaY) + 1);
+        }
+
+        void started() {
+            inFlight++;
+            if (firstStart == 0) {
+                firstStart = System.nanoTime();
+            }
+        }
+
+        void completed(long tiles, boolean success) {
+            inFlight--;
+            metaTilesDone++;
+            if (success) {
+                tilesDone += tiles;
+            } else {
+                failures++;
+            }
+            lastEnd = System.nanoTime();
+        }
+
+        /** The end of the measurement interval, now if the level is still being seeded */
+        long end(long now) {
+            return inFlight > 0 || metaTilesDone < metaTilesTotal ? now : lastEnd;
+        }
+
+        Map<String, Object> summarize(long now) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("zoom", coverage[4]);
+            result.put("tilesTotal", tilesTotal);
+            result.put("tilesDone", tilesDone);
+            result.put("metaTilesTotal", metaTilesTotal);
+            result.put("metaTilesDone", metaTilesDone);
+            result.put("failures", failures);
+            result.put("tilesPerSecond", firstStart == 0 ? 0d : throughput(tilesDone, firstStart, end(now)));
+            return result;
+        }
+    }
+}
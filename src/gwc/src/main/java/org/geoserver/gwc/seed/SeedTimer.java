@@ -0,0 +1,37 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+/**
+ * Accumulates the time spent writing tiles to the blob store while a meta-tile is being seeded, so that the
+ * {@link MetaTileSeeder} can tell apart the rendering and the storage latency. Seeding saves the tiles in the seeding
+ * thread, the time is tracked with a thread local and only while a measurement is active.
+ */
+public final class SeedTimer {
+
+    private static final ThreadLocal<long[]> STORE_TIME = new ThreadLocal<>();
+
+    private SeedTimer() {}
+
+    /** Starts measuring the time spent storing tiles in the current thread */
+    static void start() {
+        STORE_TIME.set(new long[1]);
+    }
+
+    /** Adds to the current measurement, if any, the time spent storing a tile, in nanoseconds */
+    public static void addStoreTime(long nanos) {
+        long[] time = STORE_TIME.get();
+        if (time != null) {
+            time[0] += nanos;
+        }
+    }
+
+    /** Stops the measurement, returning the time spent storing tiles in nanoseconds */
+    static long stop() {
+        long[] time = STORE_TIME.get();
+        STORE_TIME.remove();
+        return time != null ? time[0] : 0;
+    }
+}
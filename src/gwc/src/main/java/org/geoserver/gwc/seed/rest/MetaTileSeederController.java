@@ -0,0 +1,110 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed.rest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.gwc.seed.MetaTileSeeder;
+import org.geoserver.gwc.seed.SeedJob;
+import org.geoserver.rest.RestBaseController;
+import org.geoserver.rest.RestException;
+import org.geowebcache.grid.BoundingBox;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controls the {@link MetaTileSeeder}:
+ *
+ * <ul>
+ *   <li>{@code GET /rest/gwc/seeder} returns the store lanes and the jobs, with their progress per zoom level
+ *   <li>{@code GET /rest/gwc/seeder/<id>} returns a single job
+ *   <li>{@code POST /rest/gwc/seeder/<layer>?gridSet=&format=&zoomStart=&zoomStop=&bbox=&reseed=} submits a job
+ *   <li>{@code DELETE /rest/gwc/seeder/<id>} cancels a job
+ *   <li>{@code DELETE /rest/gwc/seeder} forgets about the finished jobs
+ * </ul>
+ */
+@RestController
+@RequestMapping(
+        path = RestBaseController.ROOT_PATH + "/gwc/seeder",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+public class MetaTileSeederController extends RestBaseController {
+
+    private final MetaTileSeeder seeder;
+
+    public MetaTileSeederController(MetaTileSeeder seeder) {
+        this.seeder = seeder;
+    }
+
+    @GetMapping
+    public Map<String, Object> jobsGet() {
+        List<Map<String, Object>> jobs = new ArrayList<>();
+        for (SeedJob job : seeder.getJobs()) {
+            jobs.add(job.summarize());
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stores", seeder.getLanes());
+        result.put("jobs", jobs);
+        return result;
+    }
+
+    @GetMapping(path = "/{id:\\d+}")
+    public Map<String, Object> jobGet(@PathVariable long id) {
+        return getJob(id).summarize();
+    }
+
+    @PostMapping(path = "/{layerName}")
+    @ResponseStatus(HttpStatus.CREATED)
+    public Map<String, Object> jobPost(
+            @PathVariable String layerName,
+            @RequestParam(defaultValue = "EPSG:900913") String gridSet,
+            @RequestParam(defaultValue = "image/png") String format,
+            @RequestParam(defaultValue = "0") int zoomStart,
+            @RequestParam(required = false) Integer zoomStop,
+            @RequestParam(required = false) String bbox,
+            @RequestParam(defaultValue = "false") boolean reseed) {
+        BoundingBox bounds = null;
+        if (bbox != null) {
+            bounds = new BoundingBox(bbox);
+            if (!bounds.isSane()) {
+                throw new RestException("Invalid bounding box " + bbox, HttpStatus.BAD_REQUEST);
+            }
+        }
+        try {
+            int stop = zoomStop != null ? zoomStop : Integer.MAX_VALUE;
+            return seeder.submit(layerName, gridSet, format, zoomStart, stop, bounds, reseed)
+                    .summarize();
+        } catch (IllegalArgumentException e) {
+            throw new RestException(e.getMessage(), HttpStatus.BAD_REQUEST, e);
+        }
+    }
+
+    @DeleteMapping(path = "/{id:\\d+}")
+    public void jobDelete(@PathVariable long id) {
+        getJob(id).cancel();
+    }
+
+    @DeleteMapping
+    public void jobsDelete() {
+        seeder.purge();
+    }
+
+    private SeedJob getJob(long id) {
+        SeedJob job = seeder.getJob(id);
+        if (job == null) {
+            throw new RestException("No seeding job found with id " + id, HttpStatus.NOT_FOUND);
+        }
+        return job;
+    }
+}
@@ -962,6 +962,8 @@ public void testAutomaticTruncationFeatureChange() throws Exception {
         MockHttpServletResponse wfsResponse = postAsServletResponse(wfsRequest, wfsInsert);
         assertEquals(200, wfsResponse.getStatus());
 
+        // truncation is debounced, run it right away
+        GeoServerExtensions.bean(GWCTransactionListener.class).getTruncationQueue().flush();
         waitTileBreederCompletion();
 
         MockHttpServletResponse response3 = getAsServletResponse(request);
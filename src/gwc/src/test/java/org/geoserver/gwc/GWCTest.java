@@ -143,6 +143,7 @@
 import org.geowebcache.storage.DefaultStorageFinder;
 import org.geowebcache.storage.StorageBroker;
 import org.geowebcache.storage.StorageException;
+import org.geowebcache.storage.TileRange;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -869,6 +870,47 @@ public void testTruncateByBounds() throws Exception {
         verify(tileBreeder, times(expected)).seed(eq(layerName), any(SeedRequest.class));
     }
 
+    @Test
+    public void testTruncateByRegions() throws Exception {
+        String layerName = tileLayer.getName();
+        when(storageBroker.getCachedParameters(layerName)).thenReturn(Collections.emptySet());
+
+        // outside of the layer bounds (which are -180,0,0,90)
+        mediator.truncate(layerName, List.of(new ReferencedEnvelope(10, 20, 10, 20, DefaultGeographicCRS.WGS84)));
+        verify(tileBreeder, never()).dispatchTasks(any());
+
+        // two regions, one task per region, gridset and format, each covering all zoom levels
+        mediator.truncate(
+                layerName,
+                List.of(
+                        new ReferencedEnvelope(-10, -5, 10, 15, DefaultGeographicCRS.WGS84),
+                        new ReferencedEnvelope(-100, -90, 40, 50, DefaultGeographicCRS.WGS84)));
+        ArgumentCaptor<TileRange> ranges = ArgumentCaptor.forClass(TileRange.class);
+        verify(tileBreeder, times(2 * tileLayer.getGridSubsets().size() * tileLayer.getMimeTypes().size()))
+                .createTasks(ranges.capture(), eq(GWCTask.TYPE.TRUNCATE), eq(1), eq(false));
+        for (TileRange range : ranges.getAllValues()) {
+            GridSubset subset = tileLayer.getGridSubset(range.getGridSetId());
+            assertEquals(subset.getZoomStart(), range.getZoomStart());
+            assertEquals(subset.getZoomStop(), range.getZoomStop());
+        }
+    }
+
+    @Test
+    public void testAlignToMetaTiles() {
+        long[] coverage = {0, 0, 9, 9, 3};
+        assertArrayEquals(
+                new long[] {4, 0, 7, 7, 3},
+                GWC.alignToMetaTiles(new long[] {5, 1, 6, 6, 3}, new int[] {4, 4}, coverage));
+        // clamped to the coverage
+        assertArrayEquals(
+                new long[] {8, 8, 9, 9, 3},
+                GWC.alignToMetaTiles(new long[] {9, 9, 9, 9, 3}, new int[] {4, 4}, coverage));
+        // no meta tiling
+        assertArrayEquals(
+                new long[] {5, 1, 6, 6, 3},
+                GWC.alignToMetaTiles(new long[] {5, 1, 6, 6, 3}, new int[] {1, 1}, coverage));
+    }
+
     @Test
     public void testTruncateByBoundsWithDimension() throws Exception {
         TileLayerInfoUtil.updateAcceptAllRegExParameterFilter(tileLayerInfo, "TIME", true);
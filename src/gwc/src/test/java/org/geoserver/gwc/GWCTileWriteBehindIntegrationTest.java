@@ -0,0 +1,112 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collections;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.geoserver.data.test.MockData;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.TileObject;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/** Checks the tiles rendered by the tile layers and queued for saving do not survive a truncation */
+public class GWCTileWriteBehindIntegrationTest extends GeoServerSystemTestSupport {
+
+    @BeforeClass
+    public static void enableWriteBehind() {
+        System.setProperty(GWCTileWriteBehind.ENABLED_PROPERTY, "true");
+        // a single writer, that the test can hold
+        System.setProperty(GWCTileWriteBehind.THREADS_PROPERTY, "1");
+    }
+
+    @AfterClass
+    public static void disableWriteBehind() {
+        System.clearProperty(GWCTileWriteBehind.ENABLED_PROPERTY);
+        System.clearProperty(GWCTileWriteBehind.THREADS_PROPERTY);
+    }
+
+    @Test
+    public void testTruncateDropsPendingTiles() throws Exception {
+        GWCTileWriteBehind writeBehind = GWC.get().getTileWriteBehind();
+        assertNotNull(writeBehind);
+        StorageBroker storageBroker = applicationContext.getBean("gwcStorageBroker", StorageBroker.class);
+        String layer = getLayerId(MockData.BASIC_POLYGONS);
+        // a tile saved right away, so that the layer has a cache to truncate
+        storageBroker.put(TileObject.createCompleteTileObject(
+                layer,
+                new long[] {10, 10, 5},
+                "EPSG:4326",
+                "image/png",
+                Collections.emptyMap(),
+                new ByteArrayResource(new byte[10])));
+
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker blocking = mock(StorageBroker.class);
+        doAnswer(invocation -> {
+                    writing.countDown();
+                    release.await();
+                    return true;
+                })
+                .when(blocking)
+                .put(any(TileObject.class));
+        try {
+            writeBehind.put(
+                    blocking,
+                    TileObject.createCompleteTileObject(
+                            "blocker",
+                            new long[] {0, 0, 0},
+                            "EPSG:4326",
+                            "image/png",
+                            null,
+                            new ByteArrayResource(new byte[10])));
+            assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            // the meta-tile tiles are queued, and served from the queue
+            String request = "gwc/service/wmts?request=GetTile&layer="
+                    + layer
+                    + "&format=image/png&tilematrixset=EPSG:4326&tilematrix=EPSG:4326:0&tilerow=0&tilecol=0";
+            MockHttpServletResponse response = getAsServletResponse(request);
+            assertEquals(200, response.getStatus());
+            assertEquals("MISS", response.getHeader("geowebcache-cache-result"));
+            response = getAsServletResponse(request);
+            assertEquals("HIT", response.getHeader("geowebcache-cache-result"));
+            assertNotNull(writeBehind.get(query(layer, 0)));
+            assertNotNull(writeBehind.get(query(layer, 1)));
+
+            // truncate the way the GWC REST API does, bypassing the GWC facade
+            assertTrue(storageBroker.delete(layer));
+            assertNull(writeBehind.get(query(layer, 0)));
+            assertNull(writeBehind.get(query(layer, 1)));
+        } finally {
+            release.countDown();
+        }
+        Awaitility.await().atMost(1, TimeUnit.MINUTES).until(() -> writeBehind.getInFlightCount() == 0);
+
+        assertFalse(storageBroker.get(query(layer, 0)));
+        assertFalse(storageBroker.get(query(layer, 1)));
+    }
+
+    private static TileObject query(String layer, long x) {
+        return TileObject.createQueryTileObject(
+                layer, new long[] {x, 0, 0}, "EPSG:4326", "image/png", Collections.emptyMap());
+    }
+}
@@ -0,0 +1,276 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.geowebcache.io.ByteArrayResource;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.TileObject;
+import org.junit.After;
+import org.junit.Test;
+
+public class GWCTileWriteBehindTest {
+
+    private GWCTileWriteBehind writeBehind;
+
+    @After
+    public void dispose() {
+        if (writeBehind != null) {
+            writeBehind.dispose();
+        }
+    }
+
+    @Test
+    public void testServedUntilWritten() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 2, 4);
+
+        TileObject tile = tile("roads", 1, 2, 3, 100);
+        writeBehind.put(broker, tile);
+        // the writer is blocked, the tile is served from the in-flight map
+        assertSame(tile, writeBehind.get(tile("roads", 1, 2, 3, 0)));
+        assertNull(writeBehind.get(tile("roads", 2, 2, 3, 0)));
+        assertNull(writeBehind.get(tile("rivers", 1, 2, 3, 0)));
+
+        release.countDown();
+        verify(broker, timeout(5000)).put(tile);
+        waitForWrites();
+        assertNull(writeBehind.get(tile("roads", 1, 2, 3, 0)));
+    }
+
+    @Test
+    public void testDiscard() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        // a single writer, blocked on the first tile
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 1, 1);
+        TileObject first = tile("rivers", 0, 0, 0, 100);
+        writeBehind.put(broker, first);
+        verify(broker, timeout(5000)).put(first);
+
+        TileObject roads = tile("roads", 1, 1, 1, 100);
+        TileObject rivers = tile("rivers", 1, 1, 1, 100);
+        writeBehind.put(broker, roads);
+        writeBehind.put(broker, rivers);
+        writeBehind.discard("roads");
+        assertNull(writeBehind.get(roads));
+        assertSame(rivers, writeBehind.get(rivers));
+
+        release.countDown();
+        verify(broker, timeout(5000)).put(rivers);
+        waitForWrites();
+        verify(broker, never()).put(roads);
+    }
+
+    @Test
+    public void testDiscardWhileWriting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 1, 1);
+        TileObject roads = tile("roads", 0, 0, 0, 100);
+        writeBehind.put(broker, roads);
+        verify(broker, timeout(5000)).put(roads);
+
+        // truncated while the tile is being saved, it gets removed once saved
+        writeBehind.discard("roads");
+        release.countDown();
+        verify(broker, timeout(5000)).delete(roads);
+        waitForWrites();
+    }
+
+    @Test
+    public void testBlobStoreNotifications() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 1, 1);
+        TileObject first = tile("lakes", 0, 0, 0, 100);
+        writeBehind.put(broker, first);
+        verify(broker, timeout(5000)).put(first);
+
+        TileObject roads = tile("roads", 1, 1, 1, 100);
+        TileObject rivers = tile("rivers", 1, 1, 1, 100);
+        TileObject otherRivers = tile("rivers", 2, 1, 1, 100);
+        TileObject streams = tile("streams", 1, 1, 1, 100);
+        TileObject lakes = tile("lakes", 1, 1, 1, 100);
+        writeBehind.put(broker, roads);
+        writeBehind.put(broker, rivers);
+        writeBehind.put(broker, otherRivers);
+        writeBehind.put(broker, streams);
+        writeBehind.put(broker, lakes);
+        writeBehind.layerDeleted("roads");
+        // a single tile deletion only drops the same tile
+        writeBehind.tileDeleted("rivers", "EPSG:4326", "image/png", null, 1, 1, 1, 100);
+        writeBehind.tileDeleted("rivers", "EPSG:4326", "image/png", null, 5, 5, 5, 100);
+        writeBehind.layerRenamed("streams", "brooks");
+        assertNull(writeBehind.get(roads));
+        assertNull(writeBehind.get(rivers));
+        assertSame(otherRivers, writeBehind.get(otherRivers));
+        assertNull(writeBehind.get(streams));
+        assertSame(lakes, writeBehind.get(lakes));
+
+        // a tile queued after the truncation is saved
+        TileObject newRoads = tile("roads", 2, 1, 1, 100);
+        writeBehind.put(broker, newRoads);
+        assertSame(newRoads, writeBehind.get(tile("roads", 2, 1, 1, 0)));
+
+        release.countDown();
+        verify(broker, timeout(5000)).put(newRoads);
+        waitForWrites();
+        verify(broker).put(lakes);
+        verify(broker).put(otherRivers);
+        verify(broker, never()).put(roads);
+        verify(broker, never()).put(rivers);
+        verify(broker, never()).put(streams);
+    }
+
+    @Test
+    public void testTileDeletedWhileWriting() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        // the blob store notifies the deletions, including the ones issued by the writers
+        doAnswer(invocation -> {
+                    TileObject deleted = invocation.getArgument(0);
+                    long[] xyz = deleted.getXYZ();
+                    writeBehind.tileDeleted(
+                            deleted.getLayerName(),
+                            deleted.getGridSetId(),
+                            deleted.getBlobFormat(),
+                            null,
+                            xyz[0],
+                            xyz[1],
+                            (int) xyz[2],
+                            100);
+                    return true;
+                })
+                .when(broker)
+                .delete(any(TileObject.class));
+        // two writers, both blocked saving a tile
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 2, 1);
+        TileObject first = tile("roads", 0, 0, 0, 100);
+        TileObject second = tile("roads", 1, 0, 0, 100);
+        writeBehind.put(broker, first);
+        writeBehind.put(broker, second);
+        verify(broker, timeout(5000)).put(first);
+        verify(broker, timeout(5000)).put(second);
+
+        // e.g. a disk quota eviction of the first tile, while both puts are running
+        writeBehind.tileDeleted("roads", "EPSG:4326", "image/png", null, 0, 0, 0, 100);
+        TileObject third = tile("roads", 2, 0, 0, 100);
+        TileObject fourth = tile("roads", 3, 0, 0, 100);
+        writeBehind.put(broker, third);
+        writeBehind.put(broker, fourth);
+        assertSame(third, writeBehind.get(third));
+
+        release.countDown();
+        verify(broker, timeout(5000)).put(third);
+        verify(broker, timeout(5000)).put(fourth);
+        waitForWrites();
+        // the evicted tile is removed once saved, and its deletion does not spread to the other tiles
+        verify(broker).delete(first);
+        verify(broker, never()).delete(second);
+        verify(broker, never()).delete(third);
+        verify(broker, never()).delete(fourth);
+    }
+
+    @Test
+    public void testDiscardAll() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 1, 1);
+        TileObject first = tile("lakes", 0, 0, 0, 100);
+        writeBehind.put(broker, first);
+        verify(broker, timeout(5000)).put(first);
+
+        TileObject roads = tile("roads", 1, 1, 1, 100);
+        writeBehind.put(broker, roads);
+        writeBehind.discardAll();
+        assertNull(writeBehind.get(roads));
+
+        release.countDown();
+        waitForWrites();
+        verify(broker, never()).put(roads);
+    }
+
+    @Test
+    public void testBackPressure() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        StorageBroker broker = blockingBroker(release);
+        // room for two 1KB tiles
+        writeBehind = new GWCTileWriteBehind(2048, 1, 1);
+        writeBehind.put(broker, tile("roads", 0, 0, 0, 1024));
+        writeBehind.put(broker, tile("roads", 1, 0, 0, 1024));
+
+        CountDownLatch queued = new CountDownLatch(1);
+        Thread producer = new Thread(() -> {
+            try {
+                writeBehind.put(broker, tile("roads", 2, 0, 0, 1024));
+                queued.countDown();
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+        producer.start();
+        assertFalse(queued.await(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        assertTrue(queued.await(5, TimeUnit.SECONDS));
+        producer.join();
+    }
+
+    @Test
+    public void testDisposeWritesPending() throws Exception {
+        StorageBroker broker = mock(StorageBroker.class);
+        writeBehind = new GWCTileWriteBehind(1024 * 1024, 1, 16);
+        for (int i = 0; i < 10; i++) {
+            writeBehind.put(broker, tile("roads", i, 0, 0, 10));
+        }
+        writeBehind.dispose();
+        assertEquals(0, writeBehind.getInFlightCount());
+        verify(broker, times(10)).put(any(TileObject.class));
+
+        // after disposal tiles are written right away
+        TileObject late = tile("roads", 100, 0, 0, 10);
+        writeBehind.put(broker, late);
+        verify(broker).put(late);
+    }
+
+    private void waitForWrites() throws InterruptedException {
+        for (int i = 0; i < 500 && writeBehind.getInFlightCount() > 0; i++) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, writeBehind.getInFlightCount());
+    }
+
+    private static StorageBroker blockingBroker(CountDownLatch release) throws Exception {
+        StorageBroker broker = mock(StorageBroker.class);
+        doAnswer(invocation -> {
+                    release.await();
+                    return true;
+                })
+                .when(broker)
+                .put(any(TileObject.class));
+        return broker;
+    }
+
+    private static TileObject tile(String layer, long x, long y, long z, int size) {
+        return TileObject.createCompleteTileObject(
+                layer, new long[] {x, y, z}, "EPSG:4326", "image/png", null, new ByteArrayResource(new byte[size]));
+    }
+}
@@ -6,21 +6,27 @@
 package org.geoserver.gwc;
 
 import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import javax.xml.namespace.QName;
@@ -30,8 +36,10 @@
 import org.geoserver.wfs.TransactionEventType;
 import org.geoserver.wfs.request.TransactionRequest;
 import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.ReferencedEnvelope3D;
 import org.geotools.referencing.CRS;
@@ -47,7 +55,7 @@ public class GWCTransactionListenerTest {
     @Before
     public void setUp() throws Exception {
         mediator = mock(GWC.class);
-        listener = new GWCTransactionListener(mediator);
+        listener = new GWCTransactionListener(mediator, new GWCTruncationQueue(mediator, 0, 0, 64));
     }
 
     @Test
@@ -154,8 +162,8 @@ public void testDataStoreChangeInsert() {
 
         assertNotNull(placeHolder.get("theLayer"));
 
-        assertSame(affectedBounds, placeHolder.get("theLayer").get(0));
-        assertSame(affectedBounds, placeHolder.get("theGroup").get(0));
+        assertEquals(List.of(affectedBounds), placeHolder.get("theLayer"));
+        assertEquals(List.of(affectedBounds), placeHolder.get("theGroup"));
     }
 
     @Test
@@ -177,8 +185,8 @@ public void testAfterTransactionCompoundCRS() throws Exception {
         ReferencedEnvelope expectedBounds =
                 new ReferencedEnvelope(transactionBounds, CRS.getHorizontalCRS(compoundCrs));
 
-        verify(mediator, times(1)).truncate(eq("theLayer"), eq(expectedBounds));
-        verify(mediator, times(1)).truncate(eq("theGroup"), eq(expectedBounds));
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(List.of(expectedBounds)));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(List.of(expectedBounds)));
     }
 
     @Test
@@ -198,15 +206,81 @@ public void testAfterTransaction() throws Exception {
         when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
         listener.afterTransaction(request, result, true);
 
+        // the two regions touch, they get merged
         ReferencedEnvelope expectedEnv = new ReferencedEnvelope(affectedBounds1);
         expectedEnv.expandToInclude(affectedBounds2);
 
-        verify(mediator, times(1)).truncate(eq("theLayer"), eq(expectedEnv));
-        verify(mediator, times(1)).truncate(eq("theGroup"), eq(expectedEnv));
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(List.of(expectedEnv)));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(List.of(expectedEnv)));
     }
 
-    /** Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup" */
-    private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvelope affectedBounds) {
+    @Test
+    public void testAfterTransactionDisjointFeatures() throws Exception {
+        Map<Object, Object> extendedProperties = new HashMap<>();
+        ReferencedEnvelope feature1 = new ReferencedEnvelope(-10, -9, 0, 1, WGS84);
+        ReferencedEnvelope feature2 = new ReferencedEnvelope(9, 10, 40, 41, WGS84);
+
+        // a single insert of two far away features
+        issueInsert(extendedProperties, feature1, feature2);
+
+        TransactionRequest request = mock(TransactionRequest.class);
+        when(request.getExtendedProperties()).thenReturn(extendedProperties);
+        when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
+        listener.afterTransaction(request, mock(TransactionResponse.class), true);
+
+        // each feature is truncated on its own, rather than the whole area between them
+        verify(mediator, times(1)).truncate(eq("theLayer"), eq(List.of(feature1, feature2)));
+        verify(mediator, times(1)).truncate(eq("theGroup"), eq(List.of(feature1, feature2)));
+    }
+
+    @Test
+    public void testTruncationDebounced() throws Exception {
+        GWCTruncationQueue queue = new GWCTruncationQueue(mediator, 200, 10000, 64);
+        listener = new GWCTransactionListener(mediator, queue);
+        when(mediator.getDeclaredCrs(anyString())).thenReturn(WGS84);
+
+        // two transactions in a row, touching overlapping areas
+        ReferencedEnvelope bounds1 = new ReferencedEnvelope(-10, 0, 0, 10, WGS84);
+        ReferencedEnvelope bounds2 = new ReferencedEnvelope(-5, 5, 5, 15, WGS84);
+        for (ReferencedEnvelope bounds : List.of(bounds1, bounds2)) {
+            Map<Object, Object> extendedProperties = new HashMap<>();
+            issueInsert(extendedProperties, bounds);
+            TransactionRequest request = mock(TransactionRequest.class);
+            when(request.getExtendedProperties()).thenReturn(extendedProperties);
+            listener.afterTransaction(request, mock(TransactionResponse.class), true);
+        }
+        verify(mediator, never()).truncate(anyString(), anyList());
+
+        // a single truncation of the merged area once the transactions stop
+        ReferencedEnvelope expected = new ReferencedEnvelope(bounds1);
+        expected.expandToInclude(bounds2);
+        verify(mediator, timeout(5000)).truncate(eq("theLayer"), eq(List.of(expected)));
+        verify(mediator, timeout(5000)).truncate(eq("theGroup"), eq(List.of(expected)));
+        listener.destroy();
+        verify(mediator, times(2)).truncate(anyString(), anyList());
+    }
+
+    @Test
+    public void testCoalesce() {
+        ReferencedEnvelope a = new ReferencedEnvelope(0, 1, 0, 1, WGS84);
+        ReferencedEnvelope b = new ReferencedEnvelope(10, 11, 10, 11, WGS84);
+        // bridges a and b
+        ReferencedEnvelope c = new ReferencedEnvelope(0.5, 10.5, 0.5, 10.5, WGS84);
+
+        assertEquals(List.of(a, b), GWCTruncationQueue.coalesce(List.of(a, b), 64));
+        assertEquals(
+                List.of(new ReferencedEnvelope(0, 11, 0, 11, WGS84)),
+                GWCTruncationQueue.coalesce(List.of(a, b, c), 64));
+        // too many regions, merged in one
+        assertEquals(
+                List.of(new ReferencedEnvelope(0, 11, 0, 11, WGS84)), GWCTruncationQueue.coalesce(List.of(a, b), 1));
+    }
+
+    /**
+     * Issues a fake dataStoreChange insert event that affects two tile layers: "theLayer" and "theGroup", inserting one
+     * feature for each of the given bounds
+     */
+    private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvelope... featureBounds) {
 
         TransactionType transaction = mock(TransactionType.class);
         when(transaction.getExtendedProperties()).thenReturn(extendedProperties);
@@ -226,8 +300,18 @@ private void issueInsert(Map<Object, Object> extendedProperties, ReferencedEnvel
         when(mediator.getTileLayersByFeatureType(eq(layerName.getNamespaceURI()), eq(layerName.getLocalPart())))
                 .thenReturn(ImmutableSet.of("theLayer", "theGroup"));
 
+        List<SimpleFeature> features = new ArrayList<>();
+        for (ReferencedEnvelope bounds : featureBounds) {
+            SimpleFeature feature = mock(SimpleFeature.class);
+            when(feature.getBounds()).thenReturn(bounds);
+            features.add(feature);
+        }
+        Iterator<SimpleFeature> delegate = features.iterator();
+        SimpleFeatureIterator iterator = mock(SimpleFeatureIterator.class);
+        when(iterator.hasNext()).thenAnswer(invocation -> delegate.hasNext());
+        when(iterator.next()).thenAnswer(invocation -> delegate.next());
         SimpleFeatureCollection affectedFeatures = mock(SimpleFeatureCollection.class);
-        when(affectedFeatures.getBounds()).thenReturn(affectedBounds);
+        when(affectedFeatures.features()).thenReturn(iterator);
         when(event.getAffectedFeatures()).thenReturn(affectedFeatures);
 
         listener.dataStoreChange(event);
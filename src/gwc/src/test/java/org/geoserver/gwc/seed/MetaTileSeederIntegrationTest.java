@@ -0,0 +1,111 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.geoserver.data.test.MockData;
+import org.geoserver.gwc.GWC;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.geowebcache.grid.BoundingBox;
+import org.geowebcache.storage.StorageBroker;
+import org.geowebcache.storage.TileObject;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Seeds actual tile layers with the {@link MetaTileSeeder} and checks the tiles end up in the storage broker */
+public class MetaTileSeederIntegrationTest extends GeoServerSystemTestSupport {
+
+    @Before
+    public void truncate() throws Exception {
+        GWC.get().truncate(getLayerId(MockData.BASIC_POLYGONS));
+        getSeeder().purge();
+    }
+
+    @Test
+    public void testSeed() throws Exception {
+        String layerName = getLayerId(MockData.BASIC_POLYGONS);
+        assertFalse(isCached(layerName, 0, 0, 0));
+
+        SeedJob job = getSeeder().submit(layerName, "EPSG:4326", "image/png", 0, 1, null, false);
+        assertSame(job, getSeeder().getJob(job.getId()));
+        waitFor(job);
+
+        assertEquals(SeedJob.State.DONE, job.getState());
+        Map<String, Object> summary = job.summarize();
+        assertEquals(summary.get("tilesTotal"), summary.get("tilesDone"));
+        assertEquals(0L, summary.get("failures"));
+        // the layer straddles the prime meridian, both tiles of the first level are there
+        assertTrue(isCached(layerName, 0, 0, 0));
+        assertTrue(isCached(layerName, 1, 0, 0));
+        // and the second level too, but for the tiles outside of the layer bounds
+        assertTrue(isCached(layerName, 1, 1, 1));
+        assertTrue(isCached(layerName, 2, 1, 1));
+        assertFalse(isCached(layerName, 0, 0, 1));
+
+        // a single store lane for the property store, idle once done
+        List<Map<String, Object>> lanes = getSeeder().getLanes();
+        assertEquals(1, lanes.size());
+        assertEquals(0, lanes.get(0).get("running"));
+    }
+
+    @Test
+    public void testSeedBounds() throws Exception {
+        String layerName = getLayerId(MockData.BASIC_POLYGONS);
+
+        SeedJob job = getSeeder().submit(layerName, "EPSG:4326", "image/png", 1, 1, new BoundingBox(1, 1, 2, 2), false);
+        waitFor(job);
+
+        assertEquals(SeedJob.State.DONE, job.getState());
+        assertEquals(1L, job.summarize().get("tilesDone"));
+        assertTrue(isCached(layerName, 2, 1, 1));
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        MetaTileSeeder seeder = getSeeder();
+        String layerName = getLayerId(MockData.BASIC_POLYGONS);
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> seeder.submit("cite:NotThere", "EPSG:4326", "image/png", 0, 1, null, false));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> seeder.submit(layerName, "EPSG:2000", "image/png", 0, 1, null, false));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> seeder.submit(layerName, "EPSG:4326", "image/tiff", 0, 1, null, false));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> seeder.submit(layerName, "EPSG:4326", "image/png", 40, 41, null, false));
+        assertTrue(seeder.getJobs().isEmpty());
+    }
+
+    private MetaTileSeeder getSeeder() {
+        MetaTileSeeder seeder = applicationContext.getBean(MetaTileSeeder.class);
+        assertNotNull(seeder);
+        return seeder;
+    }
+
+    private static void waitFor(SeedJob job) {
+        Awaitility.await().atMost(1, TimeUnit.MINUTES).until(job::isFinished);
+    }
+
+    private boolean isCached(String layerName, long x, long y, long z) throws Exception {
+        StorageBroker storageBroker = applicationContext.getBean("gwcStorageBroker", StorageBroker.class);
+        TileObject tile = TileObject.createQueryTileObject(
+                layerName, new long[] {x, y, z}, "EPSG:4326", "image/png", Collections.emptyMap());
+        return storageBroker.get(tile);
+    }
+}
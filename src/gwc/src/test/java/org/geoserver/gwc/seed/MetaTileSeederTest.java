@@ -0,0 +1,138 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Set;
+import org.geoserver.gwc.seed.SeedJob.SeedTask;
+import org.geoserver.gwc.seed.SeedJob.State;
+import org.junit.Test;
+
+public class MetaTileSeederTest {
+
+    @Test
+    public void testHilbertRoundTrip() {
+        int order = 4;
+        Set<Long> seen = new HashSet<>();
+        long[] previous = null;
+        for (long d = 0; d < 256; d++) {
+            long[] cell = HilbertCurve.cell(order, d);
+            assertEquals(d, HilbertCurve.index(order, cell[0], cell[1]));
+            assertTrue(seen.add(cell[0] * 16 + cell[1]));
+            // consecutive cells are adjacent
+            if (previous != null) {
+                assertEquals(1, Math.abs(cell[0] - previous[0]) + Math.abs(cell[1] - previous[1]));
+            }
+            previous = cell;
+        }
+        assertEquals(0, HilbertCurve.order(1));
+        assertEquals(3, HilbertCurve.order(5));
+        assertEquals(3, HilbertCurve.order(8));
+    }
+
+    @Test
+    public void testMetaTileIterator() {
+        // tiles 3..20 x 5..9 with 4x4 meta-tiles: meta-tiles 0..5 x 1..2
+        MetaTileIterator iterator = new MetaTileIterator(new long[] {3, 5, 20, 9, 7}, 4, 4);
+        Set<String> visited = new HashSet<>();
+        long[] metaTile;
+        while ((metaTile = iterator.next()) != null) {
+            assertTrue(metaTile[0] >= 0 && metaTile[0] <= 5);
+            assertTrue(metaTile[1] >= 1 && metaTile[1] <= 2);
+            assertTrue(visited.add(metaTile[0] + "/" + metaTile[1]));
+        }
+        assertEquals(12, visited.size());
+    }
+
+    @Test
+    public void testMetaTileIteratorMultipleBlocks() {
+        // 600 x 3 meta-tiles, more than one block along x
+        MetaTileIterator iterator = new MetaTileIterator(new long[] {0, 0, 599, 2, 10}, 1, 1);
+        int count = 0;
+        while (iterator.next() != null) {
+            count++;
+        }
+        assertEquals(1800, count);
+    }
+
+    @Test
+    public void testJobProgress() {
+        long[][] coverages = {{0, 0, 0, 0, 0}, {0, 0, 1, 1, 1}, {0, 0, 3, 3, 2}};
+        SeedJob job = new SeedJob(1, null, "EPSG:4326", null, null, false, coverages, 4, 4, 0, "ws:store", null);
+        assertEquals(State.PENDING, job.getState());
+
+        // one meta-tile per level, partial ones seed the tiles in the coverage only
+        SeedTask first = job.next();
+        assertArrayEquals(new long[] {0, 0, 0}, first.tileIndex());
+        assertEquals(1, first.tiles());
+        SeedTask second = job.next();
+        assertArrayEquals(new long[] {0, 0, 1}, second.tileIndex());
+        assertEquals(4, second.tiles());
+        SeedTask third = job.next();
+        assertEquals(16, third.tiles());
+        assertNull(job.next());
+        assertEquals(State.RUNNING, job.getState());
+
+        job.completed(first, null);
+        job.completed(second, null);
+        assertEquals(State.RUNNING, job.getState());
+        job.completed(third, null);
+        assertEquals(State.DONE, job.getState());
+    }
+
+    @Test
+    public void testJobFailure() {
+        long[][] coverages = {{0, 0, 7, 7, 3}};
+        SeedJob job = new SeedJob(1, null, "EPSG:4326", null, null, false, coverages, 4, 4, 0, "ws:store", null);
+        SeedTask task = job.next();
+        job.completed(task, new RuntimeException("boom"));
+        assertEquals(State.FAILED, job.getState());
+        assertNull(job.next());
+    }
+
+    @Test
+    public void testAdaptiveLimitIncrease() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4);
+        // steady latency with all permits in use grows the limit up to the maximum
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(100, 10, 0, limit.getLimit());
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    public void testAdaptiveLimitNoIncreaseWhenUnderused() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 4);
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(100, 10, 0, 1);
+        }
+        assertEquals(2, limit.getLimit());
+    }
+
+    @Test
+    public void testAdaptiveLimitDecrease() {
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 1, 8);
+        for (int i = 0; i < 8; i++) {
+            limit.onSample(100, 10, 0, 8);
+        }
+        // blob store writes slowing down
+        for (int i = 0; i < 8; i++) {
+            limit.onSample(100, 1000, 0, 8);
+        }
+        assertTrue(limit.getLimit() < 8);
+
+        // connection pool exhausted
+        AdaptiveConcurrencyLimit pooled = new AdaptiveConcurrencyLimit(8, 1, 8);
+        for (int i = 0; i < 8; i++) {
+            pooled.onSample(100, 10, 1, 8);
+        }
+        assertEquals(6, pooled.getLimit());
+    }
+}
@@ -0,0 +1,105 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.gwc.seed.rest;
+
+import static org.geoserver.rest.RestBaseController.ROOT_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.awaitility.Awaitility;
+import org.geoserver.data.test.MockData;
+import org.geoserver.gwc.GWC;
+import org.geoserver.gwc.seed.MetaTileSeeder;
+import org.geoserver.gwc.seed.SeedJob;
+import org.geoserver.test.GeoServerSystemTestSupport;
+import org.junit.Before;
+import org.junit.Test;
+import org.kordamp.json.JSONArray;
+import org.kordamp.json.JSONObject;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class MetaTileSeederControllerTest extends GeoServerSystemTestSupport {
+
+    static final String SEEDER = ROOT_PATH + "/gwc/seeder";
+
+    @Before
+    public void purge() throws Exception {
+        GWC.get().truncate(getLayerId(MockData.BASIC_POLYGONS));
+        getSeeder().purge();
+    }
+
+    @Test
+    public void testSubmitAndGet() throws Exception {
+        JSONObject job = submit("?gridSet=EPSG:4326&zoomStop=1");
+        assertEquals(getLayerId(MockData.BASIC_POLYGONS), job.getString("layer"));
+        assertEquals("EPSG:4326", job.getString("gridSet"));
+        assertEquals("image/png", job.getString("format"));
+        assertEquals(2, job.getJSONArray("zoomLevels").size());
+        long id = job.getLong("id");
+        waitFor(id);
+
+        job = (JSONObject) getAsJSON(SEEDER + "/" + id);
+        assertEquals(id, job.getLong("id"));
+        assertEquals("DONE", job.getString("state"));
+        assertEquals(job.getLong("tilesTotal"), job.getLong("tilesDone"));
+
+        JSONObject status = (JSONObject) getAsJSON(SEEDER);
+        JSONArray jobs = status.getJSONArray("jobs");
+        assertEquals(1, jobs.size());
+        assertEquals(id, jobs.getJSONObject(0).getLong("id"));
+        JSONArray stores = status.getJSONArray("stores");
+        assertEquals(1, stores.size());
+        assertEquals(0, stores.getJSONObject(0).getInt("running"));
+    }
+
+    @Test
+    public void testInvalidRequests() throws Exception {
+        String layer = SEEDER + "/" + getLayerId(MockData.BASIC_POLYGONS);
+        assertEquals(400, post(layer + "?gridSet=EPSG:2000").getStatus());
+        assertEquals(400, post(layer + "?gridSet=EPSG:4326&format=image/tiff").getStatus());
+        assertEquals(400, post(layer + "?gridSet=EPSG:4326&bbox=10,10,0,0").getStatus());
+        assertEquals(400, post(layer + "?gridSet=EPSG:4326&zoomStart=40").getStatus());
+        assertEquals(400, post(SEEDER + "/cite:NotThere").getStatus());
+        assertTrue(getSeeder().getJobs().isEmpty());
+
+        assertEquals(404, getAsServletResponse(SEEDER + "/1000").getStatus());
+        assertEquals(404, deleteAsServletResponse(SEEDER + "/1000").getStatus());
+    }
+
+    @Test
+    public void testCancelAndPurge() throws Exception {
+        // a deep seed that will not be over by the time it's cancelled
+        long id = submit("?gridSet=EPSG:4326&zoomStop=12").getLong("id");
+        assertEquals(200, deleteAsServletResponse(SEEDER + "/" + id).getStatus());
+        waitFor(id);
+        JSONObject job = (JSONObject) getAsJSON(SEEDER + "/" + id);
+        assertEquals(SeedJob.State.CANCELLED.name(), job.getString("state"));
+        assertTrue(job.getLong("tilesDone") < job.getLong("tilesTotal"));
+
+        assertEquals(200, deleteAsServletResponse(SEEDER).getStatus());
+        assertTrue(((JSONObject) getAsJSON(SEEDER)).getJSONArray("jobs").isEmpty());
+        assertEquals(404, getAsServletResponse(SEEDER + "/" + id).getStatus());
+    }
+
+    private JSONObject submit(String query) throws Exception {
+        MockHttpServletResponse response = post(SEEDER + "/" + getLayerId(MockData.BASIC_POLYGONS) + query);
+        assertEquals(201, response.getStatus());
+        return JSONObject.fromObject(response.getContentAsString());
+    }
+
+    private MockHttpServletResponse post(String path) throws Exception {
+        return postAsServletResponse(path, "", "text/plain");
+    }
+
+    private void waitFor(long id) {
+        SeedJob job = getSeeder().getJob(id);
+        Awaitility.await().atMost(1, TimeUnit.MINUTES).until(job::isFinished);
+    }
+
+    private MetaTileSeeder getSeeder() {
+        return applicationContext.getBean(MetaTileSeeder.class);
+    }
+}
@@ -8,14 +8,16 @@
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.logging.Level;
@@ -33,6 +35,15 @@
  * <p>The lookups by predicate have been tested and optimized for performance, in particular the current for loops
  * turned out to be significantly faster than building and returning streams
  *
+ * <p>Secondary indexes can be registered with {@link #addIndex(String, Function)}, they map the value of a property
+ * (typically the id of a referenced object, e.g. {@code workspace.id}) to the objects having it, and are kept in sync
+ * on add, remove and update. They allow {@link #list(Class, String, Collection, Predicate, int)} to visit only the
+ * objects that can possibly match a query, while preserving the same iteration order as a full scan.
+ *
+ * <p>The read path takes no locks: the per class maps are concurrent, and the classes to visit for a given query class
+ * come from an immutable routing table, copied and republished only when a new implementation class shows up. Lookups
+ * by id and by name are allocation free. Mutations affecting several maps are serialized by {@link #writeLock}.
+ *
  * @param <T>
  */
 class CatalogInfoLookup<T extends CatalogInfo> {
@@ -43,19 +54,65 @@
     Function<T, Name> nameMapper;
     static final Predicate<?> TRUE = x -> true;
 
+    /** The name of the pseudo-index performing lookups by id */
+    static final String ID_INDEX = "id";
+
+    /** Secondary indexes, by property name. Set up at construction time, never modified afterwards */
+    Map<String, SecondaryIndex<T>> indexes = new LinkedHashMap<>();
+
     /**
-     * Guards against mutating operations that affect multiple resources (e.g. {@link #idMultiMap} and
-     * {@link #nameMultiMap})
+     * Maps the value of a property to the objects having it, organized by class and name like {@link #nameMultiMap},
+     * so that a scan returns objects in the same order as a full scan
      */
-    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+    static class SecondaryIndex<T extends CatalogInfo> {
+        final Function<T, String> keyMapper;
+
+        final ConcurrentHashMap<Class<T>, ConcurrentHashMap<String, Map<Name, T>>> maps = new ConcurrentHashMap<>();
+
+        SecondaryIndex(Function<T, String> keyMapper) {
+            this.keyMapper = keyMapper;
+        }
+
+        void put(Class<T> clazz, String key, Name name, T value) {
+            if (key != null) {
+                maps.computeIfAbsent(clazz, k -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(key, k -> new ConcurrentSkipListMap<>())
+                        .put(name, value);
+            }
+        }
+
+        void remove(Class<T> clazz, String key, Name name) {
+            if (key != null) {
+                ConcurrentHashMap<String, Map<Name, T>> keyMap = maps.get(clazz);
+                if (keyMap != null) {
+                    Map<Name, T> values = keyMap.get(key);
+                    if (values != null) {
+                        values.remove(name);
+                        if (values.isEmpty()) keyMap.remove(key);
+                    }
+                }
+            }
+        }
+    }
+
     /**
-     * We only use the write-lock here since all read operations work against a single concurrent map. Subclasses are
-     * free to use both the read and write locks if they need to guard unsafe data structures.
+     * Guards against mutating operations that affect multiple resources (e.g. {@link #idMultiMap} and
+     * {@link #nameMultiMap}). Readers do not take it, all read operations work against concurrent maps or immutable
+     * snapshots.
      *
      * @see NamespaceInfoLookup
      */
     protected final Lock writeLock = new ReentrantLock();
 
+    /**
+     * Routing table, maps a query class to the classes of the stored values assignable to it, in the iteration order
+     * of {@link #nameMultiMap}. Immutable, filled lazily and reset when a new value class is added.
+     */
+    private volatile Map<Class<?>, Class<T>[]> routes = Map.of();
+
+    /** Guards the routing table updates */
+    private final Object routesLock = new Object();
+
     /** Returns {@link CatalogInfoLookup#TRUE} in a type-safe way */
     @SuppressWarnings("unchecked")
     public static <T> Predicate<T> ptrue() {
@@ -66,6 +123,70 @@ public CatalogInfoLookup(Function<T, Name> nameMapper) {
         this.nameMapper = nameMapper;
     }
 
+    /**
+     * Registers a secondary index on the given property. Meant to be called right after construction, before any
+     * value is added.
+     *
+     * @param property The property name, as used in the filters the index is meant to speed up (e.g.
+     *     {@code workspace.id})
+     * @param keyMapper Extracts the property value from an object, may return null for objects that should not be
+     *     indexed
+     * @return this lookup
+     */
+    public CatalogInfoLookup<T> addIndex(String property, Function<T, String> keyMapper) {
+        indexes.put(property, new SecondaryIndex<>(keyMapper));
+        return this;
+    }
+
+    /** Returns true if the lookup can perform an indexed scan on the given property */
+    public boolean hasIndex(String property) {
+        return ID_INDEX.equals(property) || indexes.containsKey(property);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T unwrapProxy(T value) {
+        if (Proxy.isProxyClass(value.getClass())) {
+            ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(value);
+            return (T) h.getProxyObject();
+        }
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addToIndexes(T value, Name name) {
+        Class<T> vc = (Class<T>) value.getClass();
+        for (SecondaryIndex<T> index : indexes.values()) {
+            index.put(vc, index.keyMapper.apply(value), name, value);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void removeFromIndexes(T value, Name name) {
+        Class<T> vc = (Class<T>) value.getClass();
+        for (SecondaryIndex<T> index : indexes.values()) {
+            index.remove(vc, index.keyMapper.apply(value), name);
+        }
+    }
+
+    /**
+     * Updates the name of a value in the secondary indexes, for the case where the name changes due to a modification
+     * of a related object (e.g., a layer whose resource got renamed)
+     */
+    @SuppressWarnings("unchecked")
+    protected void renameInIndexes(T value, Name oldName, Name newName) {
+        Class<T> vc = (Class<T>) value.getClass();
+        writeLock.lock();
+        try {
+            for (SecondaryIndex<T> index : indexes.values()) {
+                String key = index.keyMapper.apply(value);
+                index.remove(vc, key, oldName);
+                index.put(vc, key, newName, value);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
     @SuppressWarnings("unchecked")
     <K> Map<K, T> getMapForValue(ConcurrentHashMap<Class<T>, Map<K, T>> maps, T value) {
         Class<T> vc;
@@ -90,11 +211,42 @@ protected <K> Map<K, T> getMapForValue(ConcurrentHashMap<Class<T>, Map<K, T>> ma
         if (vcMap == null) {
             @SuppressWarnings("unchecked")
             Class<T> uncheked = (Class<T>) vc;
-            vcMap = maps.computeIfAbsent(uncheked, k -> new ConcurrentSkipListMap<>());
+            synchronized (routesLock) {
+                vcMap = maps.computeIfAbsent(uncheked, k -> new ConcurrentSkipListMap<>());
+                routes = Map.of();
+            }
         }
         return vcMap;
     }
 
+    /**
+     * Returns the classes of the stored values that are assignable to the given class, in the iteration order of
+     * {@link #nameMultiMap}
+     */
+    @SuppressWarnings("unchecked")
+    Class<T>[] routes(Class<?> clazz) {
+        Class<T>[] result = routes.get(clazz);
+        if (result == null) {
+            synchronized (routesLock) {
+                result = routes.get(clazz);
+                if (result == null) {
+                    List<Class<T>> matches = new ArrayList<>();
+                    for (Class<T> key : nameMultiMap.keySet()) {
+                        if (clazz.isAssignableFrom(key)) {
+                            matches.add(key);
+                        }
+                    }
+                    result = matches.toArray(new Class[matches.size()]);
+                    // copy on write, the published table is never modified
+                    Map<Class<?>, Class<T>[]> copy = new HashMap<>(routes);
+                    copy.put(clazz, result);
+                    routes = Map.copyOf(copy);
+                }
+            }
+        }
+        return result;
+    }
+
     @SuppressWarnings("unchecked")
     public T add(T value) {
         if (Proxy.isProxyClass(value.getClass())) {
@@ -107,6 +259,7 @@ public T add(T value) {
         writeLock.lock();
         try {
             nameMap.put(name, value);
+            addToIndexes(value, name);
             return idMap.put(value.getId(), value);
         } finally {
             writeLock.unlock();
@@ -129,6 +282,7 @@ public T remove(T value) {
         writeLock.lock();
         try {
             nameMap.remove(name);
+            if (!indexes.isEmpty()) removeFromIndexes(unwrapProxy(value), name);
             if (value.getId() != null) return idMap.remove(value.getId());
             return null;
         } finally {
@@ -136,7 +290,7 @@ public T remove(T value) {
         }
     }
 
-    /** Updates the value in the name map. The new value must be a ModificationProxy */
+    /** Updates the value in the name map and indexes. The new value must be a ModificationProxy */
     @SuppressWarnings("unchecked")
     public void update(T proxiedValue) {
         ModificationProxy h = (ModificationProxy) Proxy.getInvocationHandler(proxiedValue);
@@ -144,12 +298,27 @@ public void update(T proxiedValue) {
 
         Name oldName = nameMapper.apply(actualValue);
         Name newName = nameMapper.apply(proxiedValue);
-        if (!oldName.equals(newName)) {
+        boolean nameChanged = !oldName.equals(newName);
+        boolean keysChanged = false;
+        for (SecondaryIndex<T> index : indexes.values()) {
+            if (!Objects.equals(index.keyMapper.apply(actualValue), index.keyMapper.apply(proxiedValue))) {
+                keysChanged = true;
+                break;
+            }
+        }
+        if (nameChanged || keysChanged) {
             Map<Name, T> nameMap = getMapForValue(nameMultiMap, actualValue);
+            Class<T> vc = (Class<T>) actualValue.getClass();
             writeLock.lock();
             try {
-                nameMap.remove(oldName);
-                nameMap.put(newName, actualValue);
+                if (nameChanged) {
+                    nameMap.remove(oldName);
+                    nameMap.put(newName, actualValue);
+                }
+                for (SecondaryIndex<T> index : indexes.values()) {
+                    index.remove(vc, index.keyMapper.apply(actualValue), oldName);
+                    index.put(vc, index.keyMapper.apply(proxiedValue), newName, actualValue);
+                }
             } finally {
                 writeLock.unlock();
             }
@@ -159,8 +328,14 @@ public void update(T proxiedValue) {
     public void clear() {
         writeLock.lock();
         try {
-            idMultiMap.clear();
-            nameMultiMap.clear();
+            synchronized (routesLock) {
+                idMultiMap.clear();
+                nameMultiMap.clear();
+                routes = Map.of();
+            }
+            for (SecondaryIndex<T> index : indexes.values()) {
+                index.maps.clear();
+            }
         } finally {
             writeLock.unlock();
         }
@@ -174,18 +349,30 @@ public void clear() {
      * 44s (which is a lot, considering there is a lot of other things going on)
      */
     <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate) {
+        return list(clazz, predicate, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Looks up objects by class and matching predicate, stopping as soon as {@code maxResults} matches have been
+     * found.
+     */
+    <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate, int maxResults) {
         List<U> result = List.of(); // replaced by ArrayList if there are matches
-        for (Class<T> key : nameMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<Name, T> valueMap = nameMultiMap.get(key);
-                if (valueMap != null) {
-                    for (T v : valueMap.values()) {
-                        final U u = clazz.cast(v);
-                        if (predicate == TRUE || predicate.test(u)) {
-                            if (result.isEmpty()) {
-                                result = new ArrayList<>();
-                            }
-                            result.add(u);
+        if (maxResults <= 0) {
+            return result;
+        }
+        for (Class<T> key : routes(clazz)) {
+            Map<Name, T> valueMap = nameMultiMap.get(key);
+            if (valueMap != null) {
+                for (T v : valueMap.values()) {
+                    final U u = clazz.cast(v);
+                    if (predicate == TRUE || predicate.test(u)) {
+                        if (result.isEmpty()) {
+                            result = new ArrayList<>();
+                        }
+                        result.add(u);
+                        if (result.size() >= maxResults) {
+                            return result;
                         }
                     }
                 }
@@ -195,18 +382,108 @@ <U extends CatalogInfo> List<U> list(Class<U> clazz, Predicate<U> predicate) {
         return result;
     }
 
+    /**
+     * Looks up objects by class and matching predicate, visiting only the objects whose indexed property value is one
+     * of the given keys. The result order is the same as {@link #list(Class, Predicate, int)}.
+     *
+     * @param clazz The class of the objects to look up
+     * @param property An indexed property, see {@link #hasIndex(String)}
+     * @param keys The property values to look up
+     * @param predicate The predicate to be matched by the returned objects
+     * @param maxResults The maximum number of results to return
+     */
+    <U extends CatalogInfo> List<U> list(
+            Class<U> clazz, String property, Collection<String> keys, Predicate<U> predicate, int maxResults) {
+        if (ID_INDEX.equals(property)) {
+            return listById(clazz, keys, predicate, maxResults);
+        }
+        SecondaryIndex<T> index = indexes.get(property);
+        if (index == null) {
+            throw new IllegalArgumentException("No index available on property " + property);
+        }
+
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        if (maxResults <= 0 || keys.isEmpty()) {
+            return result;
+        }
+        // iterate over the classes in the same order as the full scan
+        for (Class<T> key : routes(clazz)) {
+            ConcurrentHashMap<String, Map<Name, T>> keyMap = index.maps.get(key);
+            if (keyMap == null) {
+                continue;
+            }
+            Collection<T> values;
+            if (keys.size() == 1) {
+                Map<Name, T> valueMap = keyMap.get(keys.iterator().next());
+                values = valueMap == null ? List.of() : valueMap.values();
+            } else {
+                // merge the per key maps preserving the name order
+                TreeMap<Name, T> merged = new TreeMap<>();
+                for (String k : keys) {
+                    Map<Name, T> valueMap = keyMap.get(k);
+                    if (valueMap != null) merged.putAll(valueMap);
+                }
+                values = merged.values();
+            }
+            for (T v : values) {
+                final U u = clazz.cast(v);
+                if (predicate == TRUE || predicate.test(u)) {
+                    if (result.isEmpty()) {
+                        result = new ArrayList<>();
+                    }
+                    result.add(u);
+                    if (result.size() >= maxResults) {
+                        return result;
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    private <U extends CatalogInfo> List<U> listById(
+            Class<U> clazz, Collection<String> ids, Predicate<U> predicate, int maxResults) {
+        List<U> result = List.of(); // replaced by ArrayList if there are matches
+        if (maxResults <= 0) {
+            return result;
+        }
+        // iterate over the classes in the same order as the full scan, sorting by name within each
+        for (Class<T> key : routes(clazz)) {
+            Map<String, T> valueMap = idMultiMap.get(key);
+            if (valueMap == null) {
+                continue;
+            }
+            TreeMap<Name, T> matches = new TreeMap<>();
+            for (String id : ids) {
+                T v = id == null ? null : valueMap.get(id);
+                if (v != null && (predicate == TRUE || predicate.test(clazz.cast(v)))) {
+                    matches.put(nameMapper.apply(v), v);
+                }
+            }
+            for (T v : matches.values()) {
+                if (result.isEmpty()) {
+                    result = new ArrayList<>();
+                }
+                result.add(clazz.cast(v));
+                if (result.size() >= maxResults) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
     /** Looks up a CatalogInfo by class and identifier */
     public <U extends CatalogInfo> U findById(String id, Class<U> clazz) {
-        for (Class<T> key : idMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<String, T> valueMap = idMultiMap.get(key);
-                if (valueMap != null) {
-                    T t = valueMap.get(id);
-                    if (t != null) {
-                        @SuppressWarnings("unchecked")
-                        U cast = (U) t;
-                        return cast;
-                    }
+        for (Class<T> key : routes(clazz)) {
+            Map<String, T> valueMap = idMultiMap.get(key);
+            if (valueMap != null) {
+                T t = valueMap.get(id);
+                if (t != null) {
+                    @SuppressWarnings("unchecked")
+                    U cast = (U) t;
+                    return cast;
                 }
             }
         }
@@ -215,16 +492,14 @@ public <U extends CatalogInfo> U findById(String id, Class<U> clazz) {
 
     /** Looks up a CatalogInfo by class and name */
     public <U extends CatalogInfo> U findByName(Name name, Class<U> clazz) {
-        for (Class<T> key : nameMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<Name, T> valueMap = nameMultiMap.get(key);
-                if (valueMap != null) {
-                    T t = valueMap.get(name);
-                    if (t != null) {
-                        @SuppressWarnings("unchecked")
-                        U cast = (U) t;
-                        return cast;
-                    }
+        for (Class<T> key : routes(clazz)) {
+            Map<Name, T> valueMap = nameMultiMap.get(key);
+            if (valueMap != null) {
+                T t = valueMap.get(name);
+                if (t != null) {
+                    @SuppressWarnings("unchecked")
+                    U cast = (U) t;
+                    return cast;
                 }
             }
         }
@@ -240,16 +515,14 @@ public <U extends CatalogInfo> U findByName(Name name, Class<U> clazz) {
      * 44s (which is a lot, considering there is a lot of other things going on)
      */
     <U extends CatalogInfo> U findFirst(Class<U> clazz, Predicate<U> predicate) {
-        for (Class<T> key : nameMultiMap.keySet()) {
-            if (clazz.isAssignableFrom(key)) {
-                Map<Name, T> valueMap = nameMultiMap.get(key);
-                if (valueMap != null) {
-                    for (T v : valueMap.values()) {
-                        @SuppressWarnings("unchecked")
-                        final U u = (U) v;
-                        if (predicate == TRUE || predicate.test(u)) {
-                            return u;
-                        }
+        for (Class<T> key : routes(clazz)) {
+            Map<Name, T> valueMap = nameMultiMap.get(key);
+            if (valueMap != null) {
+                for (T v : valueMap.values()) {
+                    @SuppressWarnings("unchecked")
+                    final U u = (U) v;
+                    if (predicate == TRUE || predicate.test(u)) {
+                        return u;
                     }
                 }
             }
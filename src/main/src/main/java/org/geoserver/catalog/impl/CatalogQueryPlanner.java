@@ -0,0 +1,175 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.feature.NameImpl;
+
+/**
+ * Turns the filters passed to {@link DefaultCatalogFacade#list} and {@link DefaultCatalogFacade#count} into scans of
+ * the {@link CatalogInfoLookup} secondary indexes, when possible.
+ *
+ * <p>The planner recognizes equality comparisons against the id of the object, or against the id or name of a
+ * referenced object (e.g. {@code workspace.name}, {@code store.workspace.name}, {@code resource.store.id}), joining
+ * through the indexes of the intermediate lookups as needed, and their combination via {@link And} (the most selective
+ * branch is used) and {@link Or} (if all branches hit the same index). The resulting scan visits a superset of the
+ * objects matching the filter, the filter itself is still evaluated on each of them.
+ */
+class CatalogQueryPlanner {
+
+    /** An index scan over a lookup, visiting the objects whose property value is one of the keys */
+    record IndexScan(String property, Set<String> keys) {}
+
+    /** The references that can be navigated via the indexes, by type */
+    static final Map<Class<?>, Map<String, Class<? extends CatalogInfo>>> REFERENCES = Map.of(
+            StoreInfo.class, Map.of("workspace", WorkspaceInfo.class),
+            ResourceInfo.class, Map.of("store", StoreInfo.class, "namespace", NamespaceInfo.class),
+            LayerInfo.class, Map.of("resource", ResourceInfo.class),
+            LayerGroupInfo.class, Map.of("workspace", WorkspaceInfo.class),
+            StyleInfo.class, Map.of("workspace", WorkspaceInfo.class));
+
+    private final DefaultCatalogFacade facade;
+
+    CatalogQueryPlanner(DefaultCatalogFacade facade) {
+        this.facade = facade;
+    }
+
+    /**
+     * Plans an index scan for the given type and filter
+     *
+     * @return The index scan, or null if the filter cannot be answered with the indexes and a full scan is needed
+     */
+    IndexScan plan(Class<? extends CatalogInfo> of, Filter filter) {
+        if (filter == null || filter == Filter.INCLUDE) {
+            return null;
+        } else if (filter instanceof PropertyIsEqualTo equal) {
+            return planEqual(of, equal);
+        } else if (filter instanceof And and) {
+            IndexScan best = null;
+            for (Filter child : and.getChildren()) {
+                IndexScan scan = plan(of, child);
+                if (scan != null && (best == null || scan.keys().size() < best.keys().size())) {
+                    best = scan;
+                }
+            }
+            return best;
+        } else if (filter instanceof Or or) {
+            String property = null;
+            Set<String> keys = new LinkedHashSet<>();
+            for (Filter child : or.getChildren()) {
+                IndexScan scan = plan(of, child);
+                if (scan == null || (property != null && !property.equals(scan.property()))) {
+                    return null;
+                }
+                property = scan.property();
+                keys.addAll(scan.keys());
+            }
+            return property == null ? null : new IndexScan(property, keys);
+        }
+        return null;
+    }
+
+    private IndexScan planEqual(Class<? extends CatalogInfo> of, PropertyIsEqualTo equal) {
+        if (!equal.isMatchingCase()) {
+            return null;
+        }
+        Expression e1 = equal.getExpression1();
+        Expression e2 = equal.getExpression2();
+        PropertyName property;
+        Literal literal;
+        if (e1 instanceof PropertyName p && e2 instanceof Literal l) {
+            property = p;
+            literal = l;
+        } else if (e2 instanceof PropertyName p && e1 instanceof Literal l) {
+            property = p;
+            literal = l;
+        } else {
+            return null;
+        }
+        if (!(literal.getValue() instanceof String value)) {
+            return null;
+        }
+
+        return planEqual(of, property.getPropertyName(), value);
+    }
+
+    /** Plans a scan for objects of the given type whose property (path) is equal to the given value */
+    private IndexScan planEqual(Class<? extends CatalogInfo> of, String path, String value) {
+        CatalogInfoLookup<?> lookup = facade.getLookup(of);
+        if (lookup == null) {
+            return null;
+        }
+        if (CatalogInfoLookup.ID_INDEX.equals(path)) {
+            return new IndexScan(CatalogInfoLookup.ID_INDEX, Set.of(value));
+        }
+
+        int dot = path.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        String head = path.substring(0, dot);
+        String indexed = head + "." + CatalogInfoLookup.ID_INDEX;
+        Class<? extends CatalogInfo> referenced = getReferencedType(of, head);
+        if (referenced == null || !lookup.hasIndex(indexed)) {
+            return null;
+        }
+        Set<String> ids = resolveIds(referenced, path.substring(dot + 1), value);
+        return ids == null ? null : new IndexScan(indexed, ids);
+    }
+
+    /** Returns the ids of the objects of the given type whose property (path) is equal to the given value */
+    private Set<String> resolveIds(Class<? extends CatalogInfo> type, String path, String value) {
+        if (CatalogInfoLookup.ID_INDEX.equals(path)) {
+            return Set.of(value);
+        } else if (WorkspaceInfo.class.equals(type) && "name".equals(path)) {
+            WorkspaceInfo ws = facade.workspaces.findByName(new NameImpl(value), WorkspaceInfo.class);
+            // not found, the object might be referencing a workspace not in the catalog, full scan
+            return ws == null ? null : Set.of(ws.getId());
+        } else if (NamespaceInfo.class.equals(type) && "prefix".equals(path)) {
+            NamespaceInfo ns = facade.namespaces.findByName(new NameImpl(value), NamespaceInfo.class);
+            return ns == null ? null : Set.of(ns.getId());
+        }
+
+        // join through the indexes of the referenced type
+        IndexScan scan = planEqual(type, path, value);
+        if (scan == null) {
+            return null;
+        }
+        List<? extends CatalogInfo> matches = facade.getLookup(type)
+                .list(type, scan.property(), scan.keys(), CatalogInfoLookup.ptrue(), Integer.MAX_VALUE);
+        Set<String> ids = new LinkedHashSet<>();
+        for (CatalogInfo match : matches) {
+            ids.add(match.getId());
+        }
+        return ids;
+    }
+
+    private Class<? extends CatalogInfo> getReferencedType(Class<?> of, String property) {
+        for (Map.Entry<Class<?>, Map<String, Class<? extends CatalogInfo>>> entry : REFERENCES.entrySet()) {
+            if (entry.getKey().isAssignableFrom(of)) {
+                return entry.getValue().get(property);
+            }
+        }
+        return null;
+    }
+}
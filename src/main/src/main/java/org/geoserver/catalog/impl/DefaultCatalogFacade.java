@@ -5,8 +5,6 @@
  */
 package org.geoserver.catalog.impl;
 
-import com.google.common.collect.Iterables;
-import com.google.common.collect.Ordering;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
@@ -16,6 +14,7 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.PriorityQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
@@ -81,6 +80,7 @@ static final class LayerInfoLookup extends CatalogInfoLookup<LayerInfo> {
 
         public LayerInfoLookup() {
             super(LAYER_NAME_MAPPER);
+            addIndex("resource.id", l -> id(l.getResource()));
         }
 
         public void update(ResourceInfo proxiedValue) {
@@ -98,6 +98,7 @@ public void update(ResourceInfo proxiedValue) {
                     // handle case of feature type without a corresponding layer
                     if (value != null) {
                         nameMap.put(newName, value);
+                        renameInIndexes(value, oldName, newName);
                     }
                 } finally {
                     writeLock.unlock();
@@ -112,14 +113,37 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
         }
     }
 
+    /** Returns the id of the given object, or null if the object is null */
+    static String id(CatalogInfo info) {
+        return info != null ? info.getId() : null;
+    }
+
+    static CatalogInfoLookup<StoreInfo> newStoreLookup() {
+        return new CatalogInfoLookup<>(STORE_NAME_MAPPER).addIndex("workspace.id", s -> id(s.getWorkspace()));
+    }
+
+    static CatalogInfoLookup<ResourceInfo> newResourceLookup() {
+        return new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER)
+                .addIndex("store.id", r -> id(r.getStore()))
+                .addIndex("namespace.id", r -> id(r.getNamespace()));
+    }
+
+    static CatalogInfoLookup<LayerGroupInfo> newLayerGroupLookup() {
+        return new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER).addIndex("workspace.id", lg -> id(lg.getWorkspace()));
+    }
+
+    static CatalogInfoLookup<StyleInfo> newStyleLookup() {
+        return new CatalogInfoLookup<>(STYLE_NAME_MAPPER).addIndex("workspace.id", s -> id(s.getWorkspace()));
+    }
+
     /** Contains the stores keyed by implementation class */
-    protected CatalogInfoLookup<StoreInfo> stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+    protected CatalogInfoLookup<StoreInfo> stores = newStoreLookup();
 
     /** The default store keyed by workspace id */
     protected Map<String, DataStoreInfo> defaultStores = new ConcurrentHashMap<>();
 
     /** resources */
-    protected CatalogInfoLookup<ResourceInfo> resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+    protected CatalogInfoLookup<ResourceInfo> resources = newResourceLookup();
 
     /** The default namespace */
     protected volatile NamespaceInfo defaultNamespace;
@@ -140,14 +164,17 @@ public LayerInfoLookup setCatalog(Catalog catalog) {
     protected List<MapInfo> maps = new CopyOnWriteArrayList<>();
 
     /** layer groups */
-    protected CatalogInfoLookup<LayerGroupInfo> layerGroups = new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+    protected CatalogInfoLookup<LayerGroupInfo> layerGroups = newLayerGroupLookup();
 
     /** styles */
-    protected CatalogInfoLookup<StyleInfo> styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+    protected CatalogInfoLookup<StyleInfo> styles = newStyleLookup();
 
     /** the catalog */
     private CatalogImpl catalog;
 
+    /** turns list and count filters into index scans */
+    private final CatalogQueryPlanner planner = new CatalogQueryPlanner(this);
+
     public DefaultCatalogFacade(Catalog catalog) {
         setCatalog(catalog);
     }
@@ -228,7 +255,12 @@ public <T extends StoreInfo> List<T> getStoresByWorkspace(WorkspaceInfo workspac
             ws = workspace;
         }
 
-        List<T> matches = stores.list(clazz, s -> ws.equals(s.getWorkspace()));
+        Predicate<T> predicate = s -> ws.equals(s.getWorkspace());
+        String id = id(ws);
+        // objects not added to the catalog yet have no id, and cannot be looked up in the index
+        List<T> matches = id == null
+                ? stores.list(clazz, predicate)
+                : stores.list(clazz, "workspace.id", List.of(id), predicate, Integer.MAX_VALUE);
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -372,7 +404,12 @@ private <T extends CatalogInfo> T wrapInModificationProxy(T ci, Class<T> clazz)
 
     @Override
     public <T extends ResourceInfo> List<T> getResourcesByStore(StoreInfo store, Class<T> clazz) {
-        List<T> matches = resources.list(clazz, r -> store.equals(r.getStore()));
+        Predicate<T> predicate = r -> store.equals(r.getStore());
+        String id = id(store);
+        // objects not added to the catalog yet have no id, and cannot be looked up in the index
+        List<T> matches = id == null
+                ? resources.list(clazz, predicate)
+                : resources.list(clazz, "store.id", List.of(id), predicate, Integer.MAX_VALUE);
         return ModificationProxy.createList(matches, clazz);
     }
 
@@ -911,7 +948,7 @@ public void resolve() {
 
         // stores
         if (stores == null) {
-            stores = new CatalogInfoLookup<>(STORE_NAME_MAPPER);
+            stores = newStoreLookup();
         }
         for (Object o : stores.values()) {
             resolve((StoreInfoImpl) o);
@@ -919,7 +956,7 @@ public void resolve() {
 
         // styles
         if (styles == null) {
-            styles = new CatalogInfoLookup<>(STYLE_NAME_MAPPER);
+            styles = newStyleLookup();
         }
         for (StyleInfo s : styles.values()) {
             resolve(s);
@@ -927,7 +964,7 @@ public void resolve() {
 
         // resources
         if (resources == null) {
-            resources = new CatalogInfoLookup<>(RESOURCE_NAME_MAPPER);
+            resources = newResourceLookup();
         }
         for (Object o : resources.values()) {
             resolve((ResourceInfo) o);
@@ -943,7 +980,7 @@ public void resolve() {
 
         // layer groups
         if (layerGroups == null) {
-            layerGroups = new CatalogInfoLookup<>(LAYERGROUP_NAME_MAPPER);
+            layerGroups = newLayerGroupLookup();
         }
         for (LayerGroupInfo lg : layerGroups.values()) {
             resolve(lg);
@@ -983,7 +1020,7 @@ public void syncTo(CatalogFacade dao) {
 
     @Override
     public <T extends CatalogInfo> int count(final Class<T> of, final Filter filter) {
-        return Iterables.size(iterable(of, filter, null));
+        return query(of, filter, null, null, null).size();
     }
 
     /**
@@ -1034,62 +1071,136 @@ public <T extends CatalogInfo> CloseableIterator<T> list(
             }
         }
 
-        Iterable<T> iterable = iterable(of, filter, sortOrder);
-
-        if (offset != null && offset.intValue() > 0) {
-            iterable = Iterables.skip(iterable, offset.intValue());
-        }
-
-        if (count != null && count.intValue() >= 0) {
-            iterable = Iterables.limit(iterable, count.intValue());
-        }
-
-        Iterator<T> iterator = iterable.iterator();
+        List<T> page = query(of, filter, sortOrder, offset, count);
+        Iterator<T> iterator = ModificationProxy.createList(page, of).iterator();
 
         return new CloseableIteratorAdapter<>(iterator);
     }
 
-    @SuppressWarnings("unchecked")
     public <T extends CatalogInfo> Iterable<T> iterable(
             final Class<T> of, final Filter filter, final SortBy[] sortByList) {
-        List<T> all;
+        return ModificationProxy.createList(query(of, filter, sortByList, null, null), of);
+    }
 
+    /** Returns the lookup containing objects of the given type, or null if there is no single lookup for it */
+    CatalogInfoLookup<?> getLookup(Class<?> of) {
         if (NamespaceInfo.class.isAssignableFrom(of)) {
-            all = namespaces.list(of, toPredicate(filter));
+            return namespaces;
         } else if (WorkspaceInfo.class.isAssignableFrom(of)) {
-            all = workspaces.list(of, toPredicate(filter));
+            return workspaces;
         } else if (StoreInfo.class.isAssignableFrom(of)) {
-            all = stores.list(of, toPredicate(filter));
+            return stores;
         } else if (ResourceInfo.class.isAssignableFrom(of)) {
-            all = resources.list(of, toPredicate(filter));
+            return resources;
         } else if (LayerInfo.class.isAssignableFrom(of)) {
-            all = layers.list(of, toPredicate(filter));
+            return layers;
         } else if (LayerGroupInfo.class.isAssignableFrom(of)) {
-            all = layerGroups.list(of, toPredicate(filter));
+            return layerGroups;
+        } else if (StyleInfo.class.isAssignableFrom(of)) {
+            return styles;
+        }
+        return null;
+    }
+
+    /**
+     * Runs a query against the lookups, using the secondary indexes when the filter allows it. When not sorting,
+     * the scan stops as soon as the requested page is filled, when sorting with a limit, only the top
+     * {@code offset + count} objects are retained and sorted.
+     */
+    @SuppressWarnings("unchecked")
+    <T extends CatalogInfo> List<T> query(
+            final Class<T> of,
+            final Filter filter,
+            final SortBy[] sortByList,
+            @Nullable Integer offset,
+            @Nullable Integer count) {
+        final boolean sorted = sortByList != null && sortByList.length > 0;
+        final int skip = offset != null && offset.intValue() > 0 ? offset.intValue() : 0;
+        final int limit = count != null && count.intValue() >= 0 ? count.intValue() : Integer.MAX_VALUE;
+        final int max = (int) Math.min(Integer.MAX_VALUE, (long) skip + limit);
+        final Predicate<T> predicate = toPredicate(filter);
+
+        List<T> all;
+        CatalogInfoLookup<?> lookup = getLookup(of);
+        if (lookup != null) {
+            all = select(lookup, of, filter, predicate, sorted ? Integer.MAX_VALUE : max);
         } else if (PublishedInfo.class.isAssignableFrom(of)) {
+            int scanMax = sorted ? Integer.MAX_VALUE : max;
             all = new ArrayList<>();
-            all.addAll((List<T>) layers.list(LayerInfo.class, toPredicate(filter)));
-            all.addAll((List<T>) layerGroups.list(LayerGroupInfo.class, toPredicate(filter)));
-        } else if (StyleInfo.class.isAssignableFrom(of)) {
-            all = styles.list(of, toPredicate(filter));
+            all.addAll((List<T>) layers.list(LayerInfo.class, toPredicate(filter), scanMax));
+            if (all.size() < scanMax) {
+                all.addAll((List<T>) layerGroups.list(LayerGroupInfo.class, toPredicate(filter), scanMax - all.size()));
+            }
         } else if (MapInfo.class.isAssignableFrom(of)) {
             all = (List<T>) new ArrayList<>(maps);
         } else {
             throw new IllegalArgumentException("Unknown type: " + of);
         }
 
-        if (null != sortByList) {
-            for (int i = sortByList.length - 1; i >= 0; i--) {
-                SortBy sortBy = sortByList[i];
-                Ordering<Object> ordering = Ordering.from(comparator(sortBy));
+        if (sorted) {
+            Comparator<Object> comparator = null;
+            for (SortBy sortBy : sortByList) {
+                Comparator<Object> c = comparator(sortBy);
                 if (SortOrder.DESCENDING.equals(sortBy.getSortOrder())) {
-                    ordering = ordering.reverse();
+                    c = c.reversed();
                 }
-                all = ordering.sortedCopy(all);
+                comparator = comparator == null ? c : comparator.thenComparing(c);
             }
+            if (max < all.size()) {
+                all = topN(all, comparator, max);
+            } else {
+                // stable sort, equal objects retain the lookup order
+                all = new ArrayList<>(all);
+                all.sort(comparator);
+            }
+        }
+
+        if (skip >= all.size()) {
+            return List.of();
+        } else if (skip > 0 || max < all.size()) {
+            all = all.subList(skip, Math.min(max, all.size()));
+        }
+        return all;
+    }
+
+    private <T extends CatalogInfo> List<T> select(
+            CatalogInfoLookup<?> lookup, Class<T> of, Filter filter, Predicate<T> predicate, int max) {
+        CatalogQueryPlanner.IndexScan scan = planner.plan(of, filter);
+        if (scan != null) {
+            return lookup.list(of, scan.property(), scan.keys(), predicate, max);
         }
+        return lookup.list(of, predicate, max);
+    }
 
-        return ModificationProxy.createList(all, of);
+    /**
+     * Returns the first {@code n} elements of the list according to the comparator, in order, without sorting the
+     * whole list. Equal elements retain their relative order, like in a stable sort.
+     */
+    static <T> List<T> topN(List<T> list, Comparator<Object> comparator, int n) {
+        if (n <= 0) {
+            return List.of();
+        }
+        Comparator<Integer> byPosition = (i1, i2) -> {
+            int c = comparator.compare(list.get(i1), list.get(i2));
+            return c != 0 ? c : Integer.compare(i1, i2);
+        };
+        // max-heap, the head is the worst element retained so far
+        PriorityQueue<Integer> heap = new PriorityQueue<>(n + 1, byPosition.reversed());
+        for (int i = 0; i < list.size(); i++) {
+            if (heap.size() < n) {
+                heap.add(i);
+            } else if (byPosition.compare(i, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(i);
+            }
+        }
+        List<Integer> positions = new ArrayList<>(heap);
+        positions.sort(byPosition);
+        List<T> result = new ArrayList<>(positions.size());
+        for (Integer position : positions) {
+            result.add(list.get(position));
+        }
+        return result;
     }
 
     private <T> Predicate<T> toPredicate(Filter filter) {
@@ -20,7 +20,8 @@
  *
  * <p>All {@link CatalogInfoLookup} mutating methods are overridden to maintain the index consistency
  *
- * @implNote this class uses {@link CatalogInfoLookup#lock} to guard modifications to the index and its ArrayList values
+ * @implNote the index values are immutable lists, replaced on every change while holding
+ *     {@link CatalogInfoLookup#writeLock}, so that lookups need no locking nor copying
  */
 class NamespaceInfoLookup extends CatalogInfoLookup<NamespaceInfo> {
 
@@ -35,12 +36,7 @@ public NamespaceInfoLookup() {
 
     /** Uses the internal URI index to locate all the {@link NamespaceInfo}s with such URI */
     public List<NamespaceInfo> findAllByUri(String uri) {
-        lock.readLock().lock();
-        try {
-            return List.copyOf(valueList(uri, false));
-        } finally {
-            lock.readLock().unlock();
-        }
+        return valueList(uri);
     }
 
     /** type-narrowing for the return type */
@@ -63,9 +59,10 @@ public NamespaceInfo add(NamespaceInfo value) {
     }
 
     private void addInternal(NamespaceInfo value) {
-        List<NamespaceInfo> values = valueList(value.getURI(), true);
+        List<NamespaceInfo> values = new ArrayList<>(valueList(value.getURI()));
         values.add(ModificationProxy.unwrap(value));
         values.sort(VALUE_ORDER);
+        index.put(value.getURI(), List.copyOf(values));
     }
 
     @Override
@@ -93,10 +90,12 @@ public NamespaceInfo remove(NamespaceInfo value) {
     }
 
     private void removeInternal(NamespaceInfo value, String uri) {
-        List<NamespaceInfo> list = valueList(uri, false);
-        if (!list.isEmpty()) list.remove(ModificationProxy.unwrap(value));
+        List<NamespaceInfo> list = new ArrayList<>(valueList(uri));
+        list.remove(ModificationProxy.unwrap(value));
         if (list.isEmpty()) {
             index.remove(uri);
+        } else {
+            index.put(uri, List.copyOf(list));
         }
     }
 
@@ -126,14 +125,10 @@ public void update(NamespaceInfo value) {
      * Looks up the list of values associated to the given {@code uri}
      *
      * @param uri the index key
-     * @param create whether to create the index entry list if it doesn't exist
-     * @return the index entry, may an unmodifiable empty list if it doesn't exist and {@code create == false}
+     * @return the index entry, an unmodifiable list, empty if it doesn't exist
      */
     @VisibleForTesting
-    List<NamespaceInfo> valueList(String uri, boolean create) {
-        if (create) {
-            return index.computeIfAbsent(uri, v -> new ArrayList<>());
-        }
+    List<NamespaceInfo> valueList(String uri) {
         return index.getOrDefault(uri, List.of());
     }
 }
@@ -0,0 +1,500 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.config;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.PublishedInfo;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.ows.AbstractDispatcherCallback;
+import org.geoserver.ows.LocalPublished;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.ows.LocalWorkspaceCatalogFilter;
+import org.geoserver.ows.ProxifyingURLMangler;
+import org.geoserver.ows.Request;
+import org.geoserver.ows.Response;
+import org.geoserver.ows.util.ResponseUtils;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Operation;
+import org.geoserver.platform.ServiceException;
+import org.geoserver.security.ResourceAccessManager;
+import org.geoserver.security.impl.DataAccessRuleDAO;
+import org.geoserver.security.impl.DefaultResourceAccessManager;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the encoded WMS and WFS capabilities documents, so that repeated GetCapabilities requests do not walk and
+ * encode the whole catalog again.
+ *
+ * <p>The documents are cached per service, version, virtual service, user roles and request, where the request is
+ * described by its KVP parameters, base URL and proxy headers. When a custom {@link ResourceAccessManager} is in use
+ * the user name is part of the key too, as its decisions might not depend on the roles alone. Only GET requests are
+ * cached.
+ *
+ * <p>Catalog and configuration changes invalidate the documents they can affect: a change in a workspace drops the
+ * documents of that workspace virtual services and the global ones, changes to global objects drop everything (and so
+ * do workspace changes, when the virtual services inherit global layer groups and there are any). The documents also
+ * expire after a configurable time, as a safety net for the contents depending on the data (e.g., dimension domains)
+ * or on configuration that does not emit events.
+ *
+ * <p>The cache is disabled by default, it can be enabled by setting "CAPABILITIES_DOCUMENT_CACHE_ENABLED" to "true",
+ * either as a system, environment or servlet context variable. The maximum memory used, in megabytes, and the expiry
+ * time, in seconds, are controlled by "CAPABILITIES_DOCUMENT_CACHE_MAX_MEMORY" (default 64) and
+ * "CAPABILITIES_DOCUMENT_CACHE_EXPIRY" (default 600).
+ *
+ * <p>Each invalidation bumps a generation counter, captured when the operation is dispatched: documents built while
+ * the generation moved are served but not cached, as they might predate the change.
+ */
+public class CapabilitiesDocumentCache extends AbstractDispatcherCallback {
+
+    static final Logger LOGGER = Logging.getLogger(CapabilitiesDocumentCache.class);
+
+    /** The services whose capabilities documents are cached */
+    static final Set<String> SERVICES = Set.of("WMS", "WFS");
+
+    /**
+     * Cache key
+     *
+     * @param workspace the local workspace name, or null for the global services
+     * @param roles the sorted user roles, or null if there is no user
+     * @param user the user name, only used when the access decisions might depend on it
+     * @param rules the data access rules version
+     * @param kvp the request parameters, with upper case keys
+     * @param headers the proxy headers found in the request
+     */
+    record Key(
+            String service,
+            String version,
+            String workspace,
+            String published,
+            Set<String> roles,
+            String user,
+            long rules,
+            boolean soap,
+            String baseURL,
+            SortedMap<String, String> kvp,
+            SortedMap<String, String> headers) {}
+
+    private final Cache<Key, byte[]> cache;
+
+    private final Catalog catalog;
+
+    /** Incremented on each invalidation, before dropping the documents */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The generation at the time the current request operation was dispatched */
+    private static final ThreadLocal<Long> DISPATCH_GENERATION = new ThreadLocal<>();
+
+    private boolean enabled;
+
+    public CapabilitiesDocumentCache(GeoServer gs) {
+        this.catalog = gs.getCatalog();
+
+        String enabledValue = GeoServerExtensions.getProperty("CAPABILITIES_DOCUMENT_CACHE_ENABLED");
+        this.enabled = Boolean.parseBoolean(enabledValue);
+        long maxMemory = getLongProperty("CAPABILITIES_DOCUMENT_CACHE_MAX_MEMORY", 64);
+        long expiry = getLongProperty("CAPABILITIES_DOCUMENT_CACHE_EXPIRY", 600);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumWeight(maxMemory * 1024 * 1024)
+                .<Key, byte[]>weigher((k, v) -> v.length)
+                .expireAfterWrite(expiry, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Capabilities document cache enabled: " + enabled);
+        }
+
+        catalog.addListener(new CatalogInvalidator());
+        gs.addListener(new ConfigurationInvalidator());
+    }
+
+    private static long getLongProperty(String name, long defaultValue) {
+        String value = GeoServerExtensions.getProperty(name);
+        if (value != null) {
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                LOGGER.warning("Invalid value for " + name + ": " + value + ", using " + defaultValue);
+            }
+        }
+        return defaultValue;
+    }
+
+    @Override
+    public Operation operationDispatched(Request request, Operation operation) {
+        if (isCacheable(request, operation)) {
+            // before the operation runs, the documents it builds reflect the catalog from this point on
+            DISPATCH_GENERATION.set(generation.get());
+        }
+        return operation;
+    }
+
+    @Override
+    public Response responseDispatched(Request request, Operation operation, Object result, Response response) {
+        Long dispatchGeneration = DISPATCH_GENERATION.get();
+        if (dispatchGeneration != null && isCacheable(request, operation)) {
+            Key key = buildKey(request, operation);
+            if (key != null) {
+                return new CachingResponse(response, key, dispatchGeneration);
+            }
+        }
+        return response;
+    }
+
+    @Override
+    public void finished(Request request) {
+        DISPATCH_GENERATION.remove();
+    }
+
+    private boolean isCacheable(Request request, Operation operation) {
+        return enabled
+                && request.isGet()
+                && "GetCapabilities".equalsIgnoreCase(request.getRequest())
+                && operation.getService() != null
+                && SERVICES.contains(operation.getService().getId().toUpperCase());
+    }
+
+    /** Builds the cache key, or returns null if the request cannot be cached */
+    Key buildKey(Request request, Operation operation) {
+        HttpServletRequest http = request.getHttpRequest();
+        if (http == null) {
+            return null;
+        }
+        DataAccessRuleDAO dao = DataAccessRuleDAO.get();
+        if (dao != null && dao.isModified()) {
+            // the rules are being reloaded, let the access manager catch up first
+            return null;
+        }
+
+        WorkspaceInfo ws = LocalWorkspace.get();
+        PublishedInfo published = LocalPublished.get();
+        Authentication user = SecurityContextHolder.getContext().getAuthentication();
+        Set<String> roles = null;
+        String userName = null;
+        if (user != null) {
+            roles = new TreeSet<>();
+            Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+            if (authorities != null) {
+                for (GrantedAuthority authority : authorities) {
+                    roles.add(authority.getAuthority());
+                }
+            }
+            if (!isRoleBasedAccessManager()) {
+                userName = user.getName();
+            }
+        }
+
+        SortedMap<String, String> kvp = new TreeMap<>();
+        Map<String, Object> rawKvp = request.getRawKvp();
+        if (rawKvp != null) {
+            for (Map.Entry<String, Object> entry : rawKvp.entrySet()) {
+                Object value = entry.getValue();
+                String text = value instanceof Object[] array ? Arrays.toString(array) : String.valueOf(value);
+                kvp.put(entry.getKey().toUpperCase(), text);
+            }
+        }
+        SortedMap<String, String> headers = new TreeMap<>();
+        for (ProxifyingURLMangler.Headers header : ProxifyingURLMangler.Headers.values()) {
+            String value = http.getHeader(header.asString());
+            if (value != null) {
+                headers.put(header.asString(), value);
+            }
+        }
+
+        return new Key(
+                operation.getService().getId().toUpperCase(),
+                String.valueOf(operation.getService().getVersion()),
+                ws != null ? ws.getName() : null,
+                published != null ? published.prefixedName() : null,
+                roles,
+                userName,
+                dao != null ? dao.getLastModified() : 0,
+                request.isSOAP(),
+                ResponseUtils.baseURL(http),
+                kvp,
+                headers);
+    }
+
+    /**
+     * Returns true if the only access manager around is the default one, whose decisions depend on the user roles
+     * alone
+     */
+    private boolean isRoleBasedAccessManager() {
+        List<ResourceAccessManager> managers = GeoServerExtensions.extensions(ResourceAccessManager.class);
+        return managers.stream().allMatch(m -> DefaultResourceAccessManager.class.equals(m.getClass()));
+    }
+
+    /** Returns true if the cache is enabled */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Enables/disables the cache, disabling it drops the cached documents */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        if (!enabled) {
+            invalidateAll();
+        }
+    }
+
+    /** Returns the hit and miss statistics of the cache, since its creation */
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    /** Returns the number of cached documents */
+    public long size() {
+        return cache.size();
+    }
+
+    /** Drops all the cached documents */
+    public void invalidateAll() {
+        LOGGER.fine(() -> "Invalidating " + cache.size() + " cached capabilities documents");
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Drops the documents that might contain objects of the given workspace, that is, the ones of the workspace virtual
+     * services and the global ones. Drops all the documents if the workspace is null.
+     */
+    void invalidate(String workspace) {
+        if (workspace == null || LocalWorkspaceCatalogFilter.workspaceLayerGroupInherit() && hasGlobalLayerGroups()) {
+            // global objects show up everywhere, and when inheriting so do global groups with workspace layers
+            invalidateAll();
+        } else {
+            Predicate<Key> affected = k -> k.workspace() == null || workspace.equals(k.workspace());
+            generation.incrementAndGet();
+            cache.asMap().keySet().removeIf(affected);
+        }
+    }
+
+    private boolean hasGlobalLayerGroups() {
+        return catalog.count(LayerGroupInfo.class, Predicates.isNull("workspace.id")) > 0;
+    }
+
+    /** Returns the name of the workspace containing the object, or null if the object is global */
+    static String getWorkspaceName(CatalogInfo info) {
+        WorkspaceInfo ws = null;
+        if (info instanceof WorkspaceInfo workspace) {
+            ws = workspace;
+        } else if (info instanceof NamespaceInfo ns) {
+            return ns.getPrefix();
+        } else if (info instanceof StoreInfo store) {
+            ws = store.getWorkspace();
+        } else if (info instanceof ResourceInfo resource) {
+            return resource.getNamespace() != null ? resource.getNamespace().getPrefix() : null;
+        } else if (info instanceof LayerInfo layer) {
+            return layer.getResource() != null ? getWorkspaceName(layer.getResource()) : null;
+        } else if (info instanceof LayerGroupInfo group) {
+            ws = group.getWorkspace();
+        } else if (info instanceof StyleInfo style) {
+            ws = style.getWorkspace();
+        }
+        return ws != null ? ws.getName() : null;
+    }
+
+    /** Drops the documents affected by catalog changes */
+    class CatalogInvalidator extends AbstractCatalogListener {
+
+        @Override
+        public void handleAddEvent(CatalogAddEvent event) {
+            invalidate(getWorkspaceName(event.getSource()));
+        }
+
+        @Override
+        public void handleRemoveEvent(CatalogRemoveEvent event) {
+            invalidate(getWorkspaceName(event.getSource()));
+        }
+
+        @Override
+        public void handleModifyEvent(CatalogModifyEvent event) {
+            // before the change, in case the object is moving to another workspace
+            invalidate(getWorkspaceName(event.getSource()));
+        }
+
+        @Override
+        public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+            // and after it, dropping the documents computed while the change was being applied
+            invalidate(getWorkspaceName(event.getSource()));
+        }
+
+        @Override
+        public void reloaded() {
+            invalidateAll();
+        }
+    }
+
+    /** Drops the documents affected by configuration changes */
+    class ConfigurationInvalidator extends ConfigurationListenerAdapter {
+
+        @Override
+        public void handleGlobalChange(
+                GeoServerInfo global, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
+            invalidateAll();
+        }
+
+        @Override
+        public void handlePostGlobalChange(GeoServerInfo global) {
+            invalidateAll();
+        }
+
+        @Override
+        public void handleSettingsAdded(SettingsInfo settings) {
+            invalidate(settings.getWorkspace());
+        }
+
+        @Override
+        public void handleSettingsModified(
+                SettingsInfo settings, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
+            invalidate(settings.getWorkspace());
+        }
+
+        @Override
+        public void handleSettingsPostModified(SettingsInfo settings) {
+            invalidate(settings.getWorkspace());
+        }
+
+        @Override
+        public void handleSettingsRemoved(SettingsInfo settings) {
+            invalidate(settings.getWorkspace());
+        }
+
+        @Override
+        public void handleServiceChange(
+                ServiceInfo service, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
+            invalidate(service.getWorkspace());
+        }
+
+        @Override
+        public void handlePostServiceChange(ServiceInfo service) {
+            invalidate(service.getWorkspace());
+        }
+
+        @Override
+        public void handleServiceRemove(ServiceInfo service) {
+            invalidate(service.getWorkspace());
+        }
+
+        @Override
+        public void reloaded() {
+            invalidateAll();
+        }
+
+        private void invalidate(WorkspaceInfo ws) {
+            CapabilitiesDocumentCache.this.invalidate(ws != null ? ws.getName() : null);
+        }
+    }
+
+    /** A Response wrapper serving the cached documents, and caching the ones it encodes */
+    private class CachingResponse extends Response {
+
+        Response delegate;
+
+        Key key;
+
+        long dispatchGeneration;
+
+        public CachingResponse(Response delegate, Key key, long dispatchGeneration) {
+            super(delegate.getBinding());
+            this.delegate = delegate;
+            this.key = key;
+            this.dispatchGeneration = dispatchGeneration;
+        }
+
+        @Override
+        public boolean canHandle(Operation operation) {
+            return delegate.canHandle(operation);
+        }
+
+        @Override
+        public String getMimeType(Object value, Operation operation) throws ServiceException {
+            return delegate.getMimeType(value, operation);
+        }
+
+        @Override
+        public String[][] getHeaders(Object value, Operation operation) throws ServiceException {
+            return delegate.getHeaders(value, operation);
+        }
+
+        @Override
+        public void write(Object value, OutputStream output, Operation operation) throws IOException, ServiceException {
+            byte[] document = cache.getIfPresent(key);
+            if (document == null) {
+                // encode fully before caching and writing, a failed encoding must not leave a partial document behind
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                delegate.write(value, bos, operation);
+                document = bos.toByteArray();
+                cache(document);
+            }
+            output.write(document);
+        }
+
+        /**
+         * Caches the document unless an invalidation happened since the operation was dispatched. The generation is
+         * checked again after the put, as an invalidation bumps it before dropping the documents: either it runs after
+         * the put and drops the document itself, or the second check sees it.
+         */
+        private void cache(byte[] document) {
+            if (generation.get() != dispatchGeneration) {
+                return;
+            }
+            cache.put(key, document);
+            if (generation.get() != dispatchGeneration) {
+                cache.invalidate(key);
+            }
+        }
+
+        @Override
+        public String getPreferredDisposition(Object value, Operation operation) {
+            return delegate.getPreferredDisposition(value, operation);
+        }
+
+        @Override
+        public String getAttachmentFileName(Object value, Operation operation) {
+            return delegate.getAttachmentFileName(value, operation);
+        }
+
+        @Override
+        public String getCharset(Operation operation) {
+            return delegate.getCharset(operation);
+        }
+    }
+}
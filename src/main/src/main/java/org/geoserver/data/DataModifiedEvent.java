@@ -4,11 +4,34 @@
  */
 package org.geoserver.data;
 
+import javax.xml.namespace.QName;
 import org.springframework.context.ApplicationEvent;
 
 public class DataModifiedEvent extends ApplicationEvent {
 
+    private final QName layerName;
+
     public DataModifiedEvent(Object source) {
+        this(source, null);
+    }
+
+    /**
+     * Builds an event for a modification to the data of a specific layer
+     *
+     * @param source The event source
+     * @param layerName The qualified name of the modified layer, or null if unknown
+     */
+    public DataModifiedEvent(Object source, QName layerName) {
         super(source);
+        this.layerName = layerName;
+    }
+
+    /**
+     * The qualified name of the layer whose data got modified. The namespace URI might be empty if the client did not
+     * qualify the name. Returns null if the modified layer is unknown, in which case listeners should assume any data
+     * might have been modified.
+     */
+    public QName getLayerName() {
+        return layerName;
     }
 }
@@ -5,14 +5,18 @@
  */
 package org.geoserver.json;
 
+import java.io.IOException;
 import java.io.Writer;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
 import org.geotools.referencing.CRS;
 import org.geotools.util.Converters;
 import org.kordamp.json.JSONException;
+import org.kordamp.json.JSONString;
 import org.kordamp.json.util.JSONBuilder;
+import org.kordamp.json.util.JSONUtils;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -32,14 +36,39 @@
  */
 public class GeoJSONBuilder extends JSONBuilder {
 
+    /**
+     * Enables writing coordinates and integral numbers straight to the output, rather than converting each of them to
+     * a {@link String} first
+     */
+    public static final boolean DIRECT_ENCODING =
+            Boolean.parseBoolean(System.getProperty("GEOJSON_DIRECT_ENCODING", "true"));
+
+    /** Empty value, used to have the builder emit the separators before a value written directly */
+    private static final JSONString EMPTY = () -> "";
+
+    private static final double[] SCALE = {1d, 10d, 100d, 1000d, 10000d, 100000d, 1000000d, 10000000d, 100000000d};
+
+    /** The decimals are written directly only if the scaled value has up to 15 digits, thus a single representation */
+    private static final long MAX_DIRECT_UNITS = 1_000_000_000_000_000L;
+
     private CRS.AxisOrder axisOrder = CRS.AxisOrder.EAST_NORTH;
 
     private int numDecimals = 6;
 
     private boolean encodeMeasures = false;
 
+    private boolean directEncoding = DIRECT_ENCODING;
+
+    private final Writer out;
+
+    /** Characters written directly, flushed to the output at the end of each value */
+    private char[] chars = new char[1024];
+
+    private int length;
+
     public GeoJSONBuilder(Writer w) {
         super(w);
+        this.out = w;
     }
 
     /**
@@ -57,7 +86,12 @@ public JSONBuilder writeGeom(Geometry geometry) throws JSONException {
 
         final int geometryType = getGeometryType(geometry);
 
-        if (geometryType != MULTIGEOMETRY) {
+        if (geometryType != MULTIGEOMETRY && directEncoding) {
+            this.key("coordinates");
+            super.value(EMPTY);
+            appendGeometry(geometry, geometryType);
+            flushChars();
+        } else if (geometryType != MULTIGEOMETRY) {
             this.key("coordinates");
 
             switch (geometryType) {
@@ -223,6 +257,219 @@ private void roundedValue(double value) {
         super.value(normalizeFloatingNumber(RoundingUtil.round(value, numDecimals)));
     }
 
+    /** Appends the coordinates of a non collection geometry, mirroring the builder based encoding */
+    private void appendGeometry(Geometry geometry, int geometryType) {
+        switch (geometryType) {
+            case POINT:
+                appendCoordinate(((Point) geometry).getCoordinateSequence(), 0, false);
+                break;
+            case LINESTRING:
+                appendCoordinates(((LineString) geometry).getCoordinateSequence(), false);
+                break;
+            case MULTIPOINT:
+                append('[');
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    appendCoordinate(((Point) geometry.getGeometryN(i)).getCoordinateSequence(), 0, i > 0);
+                }
+                append(']');
+                break;
+            case POLYGON:
+                appendPolygon((Polygon) geometry, false);
+                break;
+            case MULTILINESTRING:
+                append('[');
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    appendCoordinates(((LineString) geometry.getGeometryN(i)).getCoordinateSequence(), i > 0);
+                }
+                append(']');
+                break;
+            case MULTIPOLYGON:
+                append('[');
+                for (int i = 0, n = geometry.getNumGeometries(); i < n; i++) {
+                    appendPolygon((Polygon) geometry.getGeometryN(i), i > 0);
+                }
+                append(']');
+                break;
+        }
+    }
+
+    private void appendPolygon(Polygon polygon, boolean separator) {
+        if (separator) {
+            append(',');
+        }
+        append('[');
+        appendCoordinates(polygon.getExteriorRing().getCoordinateSequence(), false);
+        for (int i = 0, n = polygon.getNumInteriorRing(); i < n; i++) {
+            appendCoordinates(polygon.getInteriorRingN(i).getCoordinateSequence(), true);
+        }
+        append(']');
+    }
+
+    private void appendCoordinates(CoordinateSequence coordinates, boolean separator) {
+        if (separator) {
+            append(',');
+        }
+        append('[');
+        for (int i = 0, n = coordinates.size(); i < n; i++) {
+            appendCoordinate(coordinates, i, i > 0);
+            // keep the buffer small on long sequences
+            if (length > 8192) {
+                flushChars();
+            }
+        }
+        append(']');
+    }
+
+    /** Same as {@link #writeCoordinate(double, double, double, double)}, for the coordinate at the given index */
+    private void appendCoordinate(CoordinateSequence coordinates, int index, boolean separator) {
+        if (separator) {
+            append(',');
+        }
+        double x = coordinates.getX(index);
+        double y = coordinates.getY(index);
+        double z = coordinates.getZ(index);
+        double m = encodeMeasures ? coordinates.getM(index) : Double.NaN;
+        append('[');
+        boolean written;
+        if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
+            written = appendOrdinate(y, false);
+            written = appendOrdinate(x, written);
+        } else {
+            written = appendOrdinate(x, false);
+            written = appendOrdinate(y, written);
+        }
+        z = Double.isNaN(z) && !Double.isNaN(m) ? 0 : z;
+        written = appendOrdinate(z, written);
+        appendOrdinate(m, written);
+        append(']');
+    }
+
+    /**
+     * Same as {@link #encodeOrdinate(double)}, returns true if a value has been written, either now or before in the
+     * same array
+     */
+    private boolean appendOrdinate(double value, boolean separator) {
+        if (Double.isNaN(value)) {
+            return separator;
+        }
+        if (Double.isInfinite(value)) {
+            if (separator) {
+                append(',');
+            }
+            append(value > 0 ? "\"Infinity\"" : "\"-Infinity\"");
+        } else {
+            appendRounded(value, separator);
+        }
+        return true;
+    }
+
+    /** Appends the value rounded to the configured decimals, same output as {@link #roundedValue(double)} */
+    private void appendRounded(double value, boolean separator) {
+        if (separator) {
+            append(',');
+        }
+        double rounded = RoundingUtil.round(value, numDecimals);
+        if (rounded == Math.rint(rounded) && rounded >= Long.MIN_VALUE && rounded <= Long.MAX_VALUE) {
+            appendLong((long) rounded);
+        } else if (!appendDecimal(rounded)) {
+            // the builder conversion, Double.toString with the trailing zeros removed
+            append(JSONUtils.numberToString(rounded));
+        }
+    }
+
+    /**
+     * Appends a non integral value in plain notation, if it has no more digits than the configured decimals, and
+     * Double.toString would not use the computerized scientific notation for it
+     *
+     * @return true if the value has been appended
+     */
+    private boolean appendDecimal(double value) {
+        double abs = Math.abs(value);
+        if (numDecimals < 1 || numDecimals >= SCALE.length || abs < 1e-3 || abs >= 1e7) {
+            return false;
+        }
+        double scale = SCALE[numDecimals];
+        long units = Math.round(abs * scale);
+        if (units >= MAX_DIRECT_UNITS || units / scale != abs) {
+            return false;
+        }
+        long power = (long) scale;
+        long integral = units / power;
+        long fraction = units % power;
+        int digits = numDecimals;
+        while (fraction != 0 && fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        if (value < 0) {
+            append('-');
+        }
+        appendLong(integral);
+        append('.');
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        length += digits;
+        return true;
+    }
+
+    private void appendLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            append('-');
+            value = -value;
+        }
+        int digits = 1;
+        for (long v = value; v >= 10; v /= 10) {
+            digits++;
+        }
+        ensureCapacity(digits);
+        for (int i = length + digits - 1; i >= length; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        length += digits;
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        chars[length++] = c;
+    }
+
+    private void append(String s) {
+        ensureCapacity(s.length());
+        s.getChars(0, s.length(), chars, length);
+        length += s.length();
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > chars.length) {
+            chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+        }
+    }
+
+    private void flushChars() {
+        try {
+            out.write(chars, 0, length);
+        } catch (IOException e) {
+            throw new JSONException(e);
+        } finally {
+            length = 0;
+        }
+    }
+
+    private static boolean isFinite(Envelope env) {
+        return Double.isFinite(env.getMinX())
+                && Double.isFinite(env.getMinY())
+                && Double.isFinite(env.getMaxX())
+                && Double.isFinite(env.getMaxY());
+    }
+
     /**
      * Turns an envelope into an array [minX,minY,maxX,maxY]
      *
@@ -231,6 +478,24 @@ private void roundedValue(double value) {
      */
     public JSONBuilder writeBoundingBox(Envelope env) {
         this.key("bbox");
+        if (directEncoding && isFinite(env)) {
+            super.value(EMPTY);
+            append('[');
+            if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
+                appendRounded(env.getMinY(), false);
+                appendRounded(env.getMinX(), true);
+                appendRounded(env.getMaxY(), true);
+                appendRounded(env.getMaxX(), true);
+            } else {
+                appendRounded(env.getMinX(), false);
+                appendRounded(env.getMinY(), true);
+                appendRounded(env.getMaxX(), true);
+                appendRounded(env.getMaxY(), true);
+            }
+            append(']');
+            flushChars();
+            return this;
+        }
         this.array();
         if (axisOrder == CRS.AxisOrder.NORTH_EAST) {
             roundedValue(env.getMinY());
@@ -390,6 +655,11 @@ public GeoJSONBuilder value(Object value) {
         } else {
             if (value instanceof java.util.Date || value instanceof Calendar) {
                 value = Converters.convert(value, String.class);
+            } else if (directEncoding && isIntegral(value)) {
+                super.value(EMPTY);
+                appendLong(((Number) value).longValue());
+                flushChars();
+                return this;
             } else if (value instanceof Number number) {
                 value = normalizeFloatingNumber(number);
             }
@@ -398,6 +668,11 @@ public GeoJSONBuilder value(Object value) {
         return this;
     }
 
+    /** Returns true for the values whose conversion does not depend on the number formatting */
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+    }
+
     /** Restores json-lib legacy behavior where integral float/double values are serialized without a trailing ".0". */
     private static Number normalizeFloatingNumber(Number number) {
         if (number instanceof Double value) {
@@ -439,6 +714,14 @@ public void setEncodeMeasures(boolean encodeMeasures) {
         this.encodeMeasures = encodeMeasures;
     }
 
+    /**
+     * Sets if coordinates and integral numbers are written straight to the output, rather than through the builder.
+     * Both ways produce the same output, defaults to {@link #DIRECT_ENCODING}.
+     */
+    public void setDirectEncoding(boolean directEncoding) {
+        this.directEncoding = directEncoding;
+    }
+
     /** Writes a JSON link */
     public void writeLink(GeoJSONBuilder jw, String title, String mimeType, String rel, String href) {
         if (href != null) {
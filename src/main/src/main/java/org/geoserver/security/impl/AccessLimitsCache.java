@@ -0,0 +1,139 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.security.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.geoserver.catalog.LayerGroupInfo;
+import org.geotools.util.logging.Logging;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Cross request cache of the access limits computed by {@link DefaultResourceAccessManager}.
+ *
+ * <p>The decisions of the default access manager only depend on the roles of the user, on the rules, on the catalog
+ * and on a few request flags (admin request, layer group containment checks, security enabled for the request). The
+ * key holds the roles rather than the user name, so that users sharing the same roles share the cache entries. The
+ * owner is responsible for invalidating the cache when the rules or the catalog change, the entries also expire after
+ * a configurable time as a safety net.
+ */
+class AccessLimitsCache {
+
+    private static final Logger LOGGER = Logging.getLogger(AccessLimitsCache.class);
+
+    /** The kind of access limits being cached */
+    enum Kind {
+        WORKSPACE,
+        LAYER,
+        RESOURCE,
+        LAYER_GROUP
+    }
+
+    /**
+     * Cache key, the flags capture the request state the decisions depend on
+     *
+     * @param roles the user roles, or null for a null user
+     */
+    record Key(
+            Kind kind,
+            Set<String> roles,
+            String target,
+            String containers,
+            boolean adminRequest,
+            boolean containmentCheck,
+            boolean securityEnabled) {}
+
+    private final Cache<Key, Optional<Object>> cache;
+
+    /**
+     * Builds a new cache
+     *
+     * @param maxSize maximum number of cached access limits
+     * @param expirySeconds time after the computation before an entry expires
+     */
+    AccessLimitsCache(long maxSize, long expirySeconds) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expirySeconds, TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached access limits for the given key, computing them if missing. Null access limits (no limits)
+     * are cached as well.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Key key, Supplier<T> loader) {
+        try {
+            return (T) cache.get(key, () -> Optional.ofNullable(loader.get())).orElse(null);
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new IllegalStateException("Failed to compute access limits", e.getCause());
+        }
+    }
+
+    /** Clears all the cached access limits */
+    void invalidateAll() {
+        LOGGER.fine(() -> "Invalidating " + cache.size() + " cached access limits, " + describeStats());
+        cache.invalidateAll();
+    }
+
+    /** Returns the number of cached access limits */
+    long size() {
+        return cache.size();
+    }
+
+    /** Returns the hit and miss statistics of the cache, since its creation */
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    private String describeStats() {
+        CacheStats stats = cache.stats();
+        return "hit rate %.1f%% over %d lookups".formatted(stats.hitRate() * 100, stats.requestCount());
+    }
+
+    /** The key representing the user, the set of the role names */
+    static Set<String> roles(Authentication user) {
+        if (user == null) {
+            return null;
+        }
+        Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+        if (authorities == null) {
+            return Set.of();
+        }
+        return authorities.stream().map(GrantedAuthority::getAuthority).collect(Collectors.toSet());
+    }
+
+    /** The key representing a list of containers, or null if any of them has no identifier */
+    static String containers(List<LayerGroupInfo> containers) {
+        if (containers == null || containers.isEmpty()) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder();
+        for (LayerGroupInfo container : containers) {
+            if (container.getId() == null) {
+                return null;
+            }
+            sb.append(container.getId()).append(',');
+        }
+        return sb.toString();
+    }
+}
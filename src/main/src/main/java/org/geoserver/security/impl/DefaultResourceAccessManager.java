@@ -7,6 +7,7 @@
 
 import static org.geoserver.security.impl.DataAccessRule.ANY;
 
+import com.google.common.cache.CacheStats;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -14,6 +15,7 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -24,6 +26,7 @@
 import org.geoserver.catalog.LayerGroupInfo;
 import org.geoserver.catalog.LayerGroupInfo.Mode;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.NamespaceInfo;
 import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.PublishedInfo;
 import org.geoserver.catalog.ResourceInfo;
@@ -31,6 +34,12 @@
 import org.geoserver.catalog.WMSLayerInfo;
 import org.geoserver.catalog.WMTSLayerInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.event.AbstractCatalogListener;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogEvent;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
 import org.geoserver.ows.Dispatcher;
 import org.geoserver.ows.Request;
 import org.geoserver.platform.GeoServerExtensions;
@@ -39,6 +48,7 @@
 import org.geoserver.security.CatalogMode;
 import org.geoserver.security.CoverageAccessLimits;
 import org.geoserver.security.DataAccessLimits;
+import org.geoserver.security.GeoServerSecurityFilterChainProxy;
 import org.geoserver.security.InMemorySecurityFilter;
 import org.geoserver.security.LayerGroupAccessLimits;
 import org.geoserver.security.ResourceAccessManager;
@@ -47,6 +57,8 @@
 import org.geoserver.security.WMSAccessLimits;
 import org.geoserver.security.WMTSAccessLimits;
 import org.geoserver.security.WorkspaceAccessLimits;
+import org.geoserver.security.impl.AccessLimitsCache.Key;
+import org.geoserver.security.impl.AccessLimitsCache.Kind;
 import org.geoserver.security.impl.LayerGroupContainmentCache.LayerGroupSummary;
 import org.geotools.api.filter.Filter;
 import org.geotools.util.logging.Logging;
@@ -91,6 +103,12 @@ public class DefaultResourceAccessManager implements ResourceAccessManager {
     static final Boolean RESOURCE_EQUALITY_FILTER_ENABLED =
             Boolean.getBoolean("geoserver.access.resourceEqualityFilterEnabled");
 
+    /** Maximum number of access limits cached across requests, zero or a negative value disables the cache */
+    static final long LIMITSCACHE_SIZE = Long.getLong("geoserver.access.limitsCacheSize", 10000);
+
+    /** Time, in seconds, after which a cached access limit expires */
+    static final long LIMITSCACHE_EXPIRY_TIME = Long.getLong("geoserver.access.limitsCacheExpiry", 300);
+
     /** A {@link LayerGroupSummary} extended with the associated secure tree node */
     static class SecuredGroupSummary extends LayerGroupSummary {
 
@@ -123,6 +141,9 @@ public SecureTreeNode getNode() {
     private final SecurityFilterCache filterCache =
             new SecurityFilterCache(FILTERCACHE_SIZE, FILTERCACHE_EXPIRY_TIME, this::buildSecurityPrefilter);
 
+    private final AccessLimitsCache limitsCache =
+            LIMITSCACHE_SIZE > 0 ? new AccessLimitsCache(LIMITSCACHE_SIZE, LIMITSCACHE_EXPIRY_TIME) : null;
+
     /**
      * Pass a reference to the raw, unsecured catalog. The reference is used to evaluate the relationship between layers
      * and the groups containing them
@@ -131,6 +152,19 @@ public DefaultResourceAccessManager(DataAccessRuleDAO dao, Catalog rawCatalog) {
         this.dao = dao;
         this.rawCatalog = rawCatalog;
         this.root = buildAuthorizationTree(dao);
+        if (limitsCache != null && rawCatalog != null) {
+            // renames, moves and layer group changes can all alter the decisions
+            rawCatalog.addListener(new LimitsCacheInvalidator());
+        }
+    }
+
+    /**
+     * Returns the hit and miss statistics of the cross request access limits cache
+     *
+     * @return The statistics, or null if the cache is disabled
+     */
+    public CacheStats getAccessLimitsCacheStats() {
+        return limitsCache != null ? limitsCache.stats() : null;
     }
 
     /**
@@ -157,31 +191,13 @@ public boolean canAccess(Authentication user, WorkspaceInfo workspace, AccessMod
         // if there is anything inside the workspace that can be read (otherwise
         // we are denying access to everything below it, which is not the spirit of the
         // tree override design)
-        if (mode == AccessMode.READ && canAccessChild(node, user, mode)) {
+        if (mode == AccessMode.READ && node.canAccessAny(user, mode)) {
             return true;
         } else {
             return false;
         }
     }
 
-    /**
-     * Returns true if the user can access the specified node, or one of the nodes below it
-     *
-     * <p>the specified nodes
-     */
-    private boolean canAccessChild(SecureTreeNode node, Authentication user, AccessMode mode) {
-        if (node.canAccess(user, mode)) {
-            return true;
-        }
-        for (SecureTreeNode child : node.getChildren().values()) {
-            if (canAccessChild(child, user, mode)) {
-                return true;
-            }
-        }
-
-        return false;
-    }
-
     public boolean canAccess(Authentication user, LayerInfo layer, AccessMode mode, boolean directAccess) {
         checkPropertyFile();
         if (layer.getResource() == null) {
@@ -331,6 +347,9 @@ private void rebuildAuthorizationTree(boolean force) {
             lastLoaded = daoLastModified;
             // The filter cache must be invalidated, since the security rules have changed!!!
             filterCache.invalidateAll();
+            if (limitsCache != null) {
+                limitsCache.invalidateAll();
+            }
         }
     }
 
@@ -379,11 +398,22 @@ SecureTreeNode buildAuthorizationTree(DataAccessRuleDAO dao) {
             node.setAuthorizedRoles(accessMode, new HashSet<>(rule.getRoles()));
         }
 
+        // resolve the rule inheritance and intern the roles once, access checks become bitset intersections
+        root.compile();
         return root;
     }
 
     @Override
     public DataAccessLimits getAccessLimits(Authentication user, LayerInfo layer, List<LayerGroupInfo> context) {
+        return cached(
+                Kind.LAYER,
+                user,
+                layer.getId(),
+                AccessLimitsCache.containers(context),
+                () -> buildAccessLimits(user, layer, context));
+    }
+
+    private DataAccessLimits buildAccessLimits(Authentication user, LayerInfo layer, List<LayerGroupInfo> context) {
         final boolean directAccess = context == null || context.isEmpty();
         boolean read = canAccess(user, layer, AccessMode.READ, directAccess);
         boolean write = canAccess(user, layer, AccessMode.WRITE, directAccess);
@@ -394,6 +424,10 @@ public DataAccessLimits getAccessLimits(Authentication user, LayerInfo layer, Li
 
     @Override
     public DataAccessLimits getAccessLimits(Authentication user, ResourceInfo resource) {
+        return cached(Kind.RESOURCE, user, resource.getId(), "", () -> buildAccessLimits(user, resource));
+    }
+
+    private DataAccessLimits buildAccessLimits(Authentication user, ResourceInfo resource) {
         boolean read = canAccess(user, resource, AccessMode.READ, true);
         boolean write = canAccess(user, resource, AccessMode.WRITE, true);
         Filter readFilter = read ? Filter.INCLUDE : Filter.EXCLUDE;
@@ -433,6 +467,10 @@ DataAccessLimits buildLimits(Class<? extends ResourceInfo> resourceClass, Filter
 
     @Override
     public WorkspaceAccessLimits getAccessLimits(Authentication user, WorkspaceInfo workspace) {
+        return cached(Kind.WORKSPACE, user, workspace.getId(), "", () -> buildAccessLimits(user, workspace));
+    }
+
+    private WorkspaceAccessLimits buildAccessLimits(Authentication user, WorkspaceInfo workspace) {
         boolean readable = canAccess(user, workspace, AccessMode.READ);
         boolean writable = canAccess(user, workspace, AccessMode.WRITE);
         boolean adminable = canAccess(user, workspace, AccessMode.ADMIN);
@@ -456,6 +494,16 @@ public StyleAccessLimits getAccessLimits(Authentication user, StyleInfo style) {
     @Override
     public LayerGroupAccessLimits getAccessLimits(
             Authentication user, LayerGroupInfo layerGroup, List<LayerGroupInfo> containers) {
+        return cached(
+                Kind.LAYER_GROUP,
+                user,
+                layerGroup.getId(),
+                AccessLimitsCache.containers(containers),
+                () -> buildAccessLimits(user, layerGroup, containers));
+    }
+
+    private LayerGroupAccessLimits buildAccessLimits(
+            Authentication user, LayerGroupInfo layerGroup, List<LayerGroupInfo> containers) {
         boolean allowAccess = canAccess(user, layerGroup, containers == null || containers.isEmpty());
         return allowAccess ? null : new LayerGroupAccessLimits(getMode());
     }
@@ -842,6 +890,64 @@ public LayerGroupAccessLimits getAccessLimits(Authentication user, LayerGroupInf
         return getAccessLimits(user, layerGroup, Collections.emptyList());
     }
 
+    /**
+     * Looks up the access limits in the cross request cache, computing them if missing. Objects without an identifier
+     * cannot be told apart, their limits are always computed.
+     */
+    private <T> T cached(Kind kind, Authentication user, String target, String containers, Supplier<T> loader) {
+        // make sure rule changes are picked up before looking in the cache
+        checkPropertyFile();
+        if (limitsCache == null || target == null || containers == null) {
+            return loader.get();
+        }
+        Key key = new Key(
+                kind,
+                AccessLimitsCache.roles(user),
+                target,
+                containers,
+                AdminRequest.get() != null,
+                layerGroupContainmentCheckRequired(),
+                GeoServerSecurityFilterChainProxy.isSecurityEnabledForCurrentRequest());
+        return limitsCache.get(key, loader);
+    }
+
+    /** Clears the access limits cache on catalog changes */
+    private class LimitsCacheInvalidator extends AbstractCatalogListener {
+
+        @Override
+        public void handleAddEvent(CatalogAddEvent event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void handleRemoveEvent(CatalogRemoveEvent event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void handleModifyEvent(CatalogModifyEvent event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void handlePostModifyEvent(CatalogPostModifyEvent event) {
+            invalidate(event);
+        }
+
+        @Override
+        public void reloaded() {
+            limitsCache.invalidateAll();
+        }
+
+        private void invalidate(CatalogEvent event) {
+            // styles and namespaces play no role in the access decisions
+            Object source = event.getSource();
+            if (!(source instanceof StyleInfo) && !(source instanceof NamespaceInfo)) {
+                limitsCache.invalidateAll();
+            }
+        }
+    }
+
     /**
      * Retrieves the layer group containment cache. If empty, it will fetch it from the context
      *
@@ -0,0 +1,74 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.security.impl;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * Interns the role names used by the rules of a compiled {@link SecureTreeNode} tree into bit positions, so that role
+ * sets become {@link BitSet} instances and role matching a bitset intersection.
+ *
+ * <p>The administrator role is always interned at position {@link #ROOT_BIT}. Roles granted to a user but not used by
+ * any rule get no position, they cannot match any rule anyways.
+ */
+class RoleIndex {
+
+    /** The bit position of the administrator role */
+    static final int ROOT_BIT = 0;
+
+    /** The bits of the last user being checked, and the authorities they were computed from */
+    private record UserBits(Collection<? extends GrantedAuthority> authorities, BitSet bits) {}
+
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    private volatile UserBits last;
+
+    RoleIndex() {
+        intern(SecureTreeNode.ROOT_ROLE);
+    }
+
+    /** Returns the bit position of the role, allocating a new one if needed. Not thread safe, use while compiling. */
+    int intern(String role) {
+        return positions.computeIfAbsent(role, r -> positions.size());
+    }
+
+    /** Turns a set of role names into bits, interning the roles as needed */
+    BitSet toBits(Set<String> roles) {
+        BitSet bits = new BitSet();
+        for (String role : roles) {
+            bits.set(intern(role));
+        }
+        return bits;
+    }
+
+    /**
+     * Returns the bits of the roles granted to the user. The bits of the last user are memoized, as the same user is
+     * typically checked against many nodes in a row (e.g., while filtering the layers in a capabilities document).
+     */
+    BitSet toBits(Authentication user) {
+        Collection<? extends GrantedAuthority> authorities = user.getAuthorities();
+        UserBits cached = last;
+        if (cached != null && cached.authorities() == authorities) {
+            return cached.bits();
+        }
+        BitSet bits = new BitSet();
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                Integer position = positions.get(authority.getAuthority());
+                if (position != null) {
+                    bits.set(position);
+                }
+            }
+        }
+        last = new UserBits(authorities, bits);
+        return bits;
+    }
+}
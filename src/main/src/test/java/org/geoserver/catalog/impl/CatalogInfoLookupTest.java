@@ -0,0 +1,65 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import org.geoserver.catalog.CoverageStoreInfo;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geotools.feature.NameImpl;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Test suite for the lock free lookups of {@link CatalogInfoLookup} */
+public class CatalogInfoLookupTest {
+
+    private WorkspaceInfo ws;
+
+    private CatalogInfoLookup<StoreInfo> lookup;
+
+    @Before
+    public void setUp() {
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-id");
+        ws.setName("ws");
+        this.ws = ws;
+        lookup = DefaultCatalogFacade.newStoreLookup();
+    }
+
+    private <S extends StoreInfoImpl> S init(S store, String name) {
+        store.setId(name + "-id");
+        store.setName(name);
+        store.setWorkspace(ws);
+        return store;
+    }
+
+    @Test
+    public void testRoutesFollowNewClasses() {
+        DataStoreInfo ds = init(new DataStoreInfoImpl(null), "ds");
+        lookup.add(ds);
+
+        // look up coverage stores before any is added, the routing table must not hide later additions
+        assertNull(lookup.findById("cs-id", CoverageStoreInfo.class));
+        assertEquals(List.of(ds), lookup.list(StoreInfo.class, CatalogInfoLookup.ptrue()));
+
+        CoverageStoreInfo cs = init(new CoverageStoreInfoImpl(null), "cs");
+        lookup.add(cs);
+        assertSame(cs, lookup.findById("cs-id", CoverageStoreInfo.class));
+        assertSame(cs, lookup.findByName(new NameImpl("ws-id", "cs"), StoreInfo.class));
+        assertNull(lookup.findById("cs-id", DataStoreInfo.class));
+        assertEquals(2, lookup.list(StoreInfo.class, CatalogInfoLookup.ptrue()).size());
+
+        // clearing resets the routes as well
+        lookup.clear();
+        assertNull(lookup.findById("ds-id", StoreInfo.class));
+        lookup.add(cs);
+        assertEquals(List.of(cs), lookup.list(StoreInfo.class, CatalogInfoLookup.ptrue()));
+    }
+}
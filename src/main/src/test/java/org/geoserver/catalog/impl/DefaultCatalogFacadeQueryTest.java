@@ -0,0 +1,231 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.catalog.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.StoreInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.sort.SortBy;
+import org.junit.Before;
+import org.junit.Test;
+
+/** Tests the indexed query support in {@link DefaultCatalogFacade} */
+public class DefaultCatalogFacadeQueryTest {
+
+    CatalogImpl catalog;
+
+    DefaultCatalogFacade facade;
+
+    List<WorkspaceInfoImpl> workspaces = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        catalog = new CatalogImpl();
+        facade = new DefaultCatalogFacade(catalog);
+        for (int w = 0; w < 3; w++) {
+            WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+            ws.setId("ws" + w + "-id");
+            ws.setName("ws" + w);
+            facade.add(ws);
+            workspaces.add(ws);
+
+            NamespaceInfoImpl ns = new NamespaceInfoImpl();
+            ns.setId("ns" + w + "-id");
+            ns.setPrefix("ws" + w);
+            ns.setURI("http://test/ws" + w);
+            facade.add(ns);
+
+            for (int s = 0; s < 3; s++) {
+                DataStoreInfoImpl store = new DataStoreInfoImpl(catalog, "store" + w + s + "-id");
+                store.setName("store" + s);
+                store.setWorkspace(ws);
+                facade.add(store);
+
+                // reverse the names so that name order and insertion order differ
+                for (int r = 4; r >= 0; r--) {
+                    FeatureTypeInfoImpl ft = new FeatureTypeInfoImpl(catalog, "ft" + w + s + r + "-id");
+                    ft.setName("ft" + w + s + r);
+                    ft.setNativeName(ft.getName());
+                    ft.setStore(store);
+                    ft.setNamespace(ns);
+                    ft.setEnabled(r % 2 == 0);
+                    facade.add(ft);
+
+                    LayerInfoImpl layer = new LayerInfoImpl();
+                    layer.setId("layer" + w + s + r + "-id");
+                    layer.setResource(ft);
+                    facade.add(layer);
+                }
+            }
+        }
+    }
+
+    /** Evaluates the filter with a full scan, as the reference for the indexed queries */
+    private <T extends CatalogInfo> List<String> fullScan(Class<T> type, Filter filter) {
+        List<String> ids = new ArrayList<>();
+        CatalogInfoLookup<?> lookup = facade.getLookup(type);
+        for (T info : lookup.list(type, filter::evaluate)) {
+            ids.add(info.getId());
+        }
+        return ids;
+    }
+
+    private <T extends CatalogInfo> List<String> ids(CloseableIterator<T> it) {
+        List<String> ids = new ArrayList<>();
+        try (it) {
+            it.forEachRemaining(i -> ids.add(i.getId()));
+        }
+        return ids;
+    }
+
+    private <T extends CatalogInfo> void assertIndexed(Class<T> type, Filter filter, int expectedCount) {
+        assertNotNull(
+                "Expected filter to be answered by an index: " + filter,
+                new CatalogQueryPlanner(facade).plan(type, filter));
+        List<String> expected = fullScan(type, filter);
+        assertEquals(expectedCount, expected.size());
+        assertEquals(expected, ids(facade.list(type, filter, null, null)));
+        assertEquals(expectedCount, facade.count(type, filter));
+    }
+
+    @Test
+    public void testStoresByWorkspace() {
+        assertIndexed(StoreInfo.class, Predicates.equal("workspace.name", "ws1"), 3);
+        assertIndexed(StoreInfo.class, Predicates.equal("workspace.id", "ws2-id"), 3);
+        assertEquals(3, facade.getStoresByWorkspace(workspaces.get(0), StoreInfo.class).size());
+    }
+
+    @Test
+    public void testResourcesJoins() {
+        assertIndexed(ResourceInfo.class, Predicates.equal("store.id", "store11-id"), 5);
+        assertIndexed(FeatureTypeInfo.class, Predicates.equal("store.workspace.name", "ws1"), 15);
+        assertIndexed(ResourceInfo.class, Predicates.equal("namespace.prefix", "ws2"), 15);
+        assertIndexed(
+                ResourceInfo.class,
+                Predicates.and(Predicates.equal("store.workspace.name", "ws1"), Predicates.equal("enabled", true)),
+                9);
+        assertIndexed(
+                ResourceInfo.class,
+                Predicates.or(Predicates.equal("store.id", "store00-id"), Predicates.equal("store.id", "store21-id")),
+                10);
+    }
+
+    @Test
+    public void testLayersJoins() {
+        assertIndexed(LayerInfo.class, Predicates.equal("resource.store.workspace.name", "ws0"), 15);
+        assertIndexed(LayerInfo.class, Predicates.equal("resource.namespace.prefix", "ws1"), 15);
+        assertIndexed(LayerInfo.class, Predicates.equal("id", "layer123-id"), 1);
+    }
+
+    @Test
+    public void testNotIndexed() {
+        Filter filter = Predicates.equal("enabled", true);
+        assertNull(new CatalogQueryPlanner(facade).plan(ResourceInfo.class, filter));
+        assertEquals(fullScan(ResourceInfo.class, filter), ids(facade.list(ResourceInfo.class, filter, null, null)));
+        // unknown workspace, falls back on a full scan
+        filter = Predicates.equal("workspace.name", "notThere");
+        assertNull(new CatalogQueryPlanner(facade).plan(StoreInfo.class, filter));
+        assertEquals(0, facade.count(StoreInfo.class, filter));
+    }
+
+    @Test
+    public void testIndexUpdatedOnSave() {
+        StoreInfo store = facade.getStore("store00-id", StoreInfo.class);
+        store.setWorkspace(workspaces.get(1));
+        facade.save(store);
+
+        assertEquals(2, facade.count(StoreInfo.class, Predicates.equal("workspace.name", "ws0")));
+        assertEquals(4, facade.count(StoreInfo.class, Predicates.equal("workspace.name", "ws1")));
+        assertEquals(20, facade.count(LayerInfo.class, Predicates.equal("resource.store.workspace.name", "ws1")));
+
+        facade.remove(facade.getStore("store01-id", StoreInfo.class));
+        assertEquals(1, facade.count(StoreInfo.class, Predicates.equal("workspace.name", "ws0")));
+    }
+
+    @Test
+    public void testIndexUpdatedOnResourceRename() {
+        ResourceInfo resource = facade.getResource("ft000-id", ResourceInfo.class);
+        resource.setName("zzz");
+        facade.save(resource);
+
+        Filter filter = Predicates.equal("resource.store.id", "store00-id");
+        List<String> ids = ids(facade.list(LayerInfo.class, filter, null, null));
+        assertEquals(5, ids.size());
+        assertEquals(fullScan(LayerInfo.class, filter), ids);
+        // the renamed layer sorts last
+        assertEquals("layer000-id", ids.get(4));
+    }
+
+    @Test
+    public void testSortedPaging() {
+        SortBy byName = Predicates.sortBy("name", false);
+        Filter filter = Predicates.equal("enabled", true);
+        List<String> all = ids(facade.list(ResourceInfo.class, filter, null, null, byName));
+        assertEquals(27, all.size());
+        List<String> sorted = new ArrayList<>(all);
+        Function<String, String> name = id -> facade.getResource(id, ResourceInfo.class).getName();
+        sorted.sort(Comparator.comparing(name).reversed());
+        assertEquals(sorted, all);
+
+        assertEquals(all.subList(0, 5), ids(facade.list(ResourceInfo.class, filter, 0, 5, byName)));
+        assertEquals(all.subList(10, 15), ids(facade.list(ResourceInfo.class, filter, 10, 5, byName)));
+        assertEquals(all.subList(25, 27), ids(facade.list(ResourceInfo.class, filter, 25, 5, byName)));
+        assertEquals(List.of(), ids(facade.list(ResourceInfo.class, filter, 30, 5, byName)));
+
+        // multiple sort orders, the second one breaks ties of the first one
+        SortBy byEnabled = Predicates.sortBy("enabled", true);
+        SortBy byNameAsc = Predicates.sortBy("name", true);
+        List<String> multi = ids(facade.list(ResourceInfo.class, Filter.INCLUDE, null, null, byEnabled, byNameAsc));
+        assertEquals(
+                multi.subList(40, 45),
+                ids(facade.list(ResourceInfo.class, Filter.INCLUDE, 40, 5, byEnabled, byNameAsc)));
+    }
+
+    @Test
+    public void testUnsortedPaging() {
+        List<String> all = ids(facade.list(LayerInfo.class, Filter.INCLUDE, null, null));
+        assertEquals(45, all.size());
+        assertEquals(all.subList(7, 17), ids(facade.list(LayerInfo.class, Filter.INCLUDE, 7, 10)));
+        Filter filter = Predicates.equal("resource.store.workspace.name", "ws2");
+        assertEquals(fullScan(LayerInfo.class, filter).subList(3, 6), ids(facade.list(LayerInfo.class, filter, 3, 3)));
+    }
+
+    @Test
+    public void testLookupsWithoutId() {
+        // objects not added to the catalog yet have no id
+        DataStoreInfoImpl store = new DataStoreInfoImpl(catalog);
+        store.setName("unsaved");
+        store.setWorkspace(workspaces.get(0));
+        assertEquals(List.of(), facade.getResourcesByStore(store, ResourceInfo.class));
+
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setName("unsaved");
+        assertEquals(List.of(), facade.getStoresByWorkspace(ws, StoreInfo.class));
+    }
+
+    @Test
+    public void testTopN() {
+        List<Integer> values = List.of(5, 3, 9, 1, 3, 7, 1, 8);
+        Comparator<Object> comparator = (o1, o2) -> Integer.compare((Integer) o1, (Integer) o2);
+        List<Integer> sorted = new ArrayList<>(values);
+        sorted.sort(comparator);
+        for (int n = 0; n <= values.size(); n++) {
+            assertEquals(sorted.subList(0, n), DefaultCatalogFacade.topN(values, comparator, n));
+        }
+    }
+}
@@ -49,10 +49,10 @@ private void addAll(NamespaceInfo... values) {
     @Test
     public void testAdd() {
         lookup.add(uri1_2);
-        assertEquals(List.of(uri1_2), lookup.valueList(URI_1, false));
+        assertEquals(List.of(uri1_2), lookup.valueList(URI_1));
 
         lookup.add(uri1_1);
-        assertEquals(List.of(uri1_1, uri1_2), lookup.valueList(URI_1, false));
+        assertEquals(List.of(uri1_1, uri1_2), lookup.valueList(URI_1));
 
         assertSame(uri1_1, lookup.findById(uri1_1.getId(), NamespaceInfo.class));
         assertSame(uri1_2, lookup.findById(uri1_2.getId(), NamespaceInfo.class));
@@ -92,15 +92,15 @@ public void testUpdate() {
 
     private void testUpdate(NamespaceInfo ns, String newUri, List<NamespaceInfo> expected) {
         String oldUri = ns.getURI();
-        assertTrue(lookup.valueList(oldUri, false).contains(ns));
+        assertTrue(lookup.valueList(oldUri).contains(ns));
 
         NamespaceInfo proxied = ModificationProxy.create(ns, NamespaceInfo.class);
         proxied.setURI(newUri);
         lookup.update(proxied);
         ModificationProxy.handler(proxied).commit();
-        assertEquals(expected, lookup.valueList(newUri, false));
+        assertEquals(expected, lookup.valueList(newUri));
 
-        assertFalse(lookup.valueList(oldUri, false).contains(ns));
+        assertFalse(lookup.valueList(oldUri).contains(ns));
     }
 
     @Test
@@ -13,6 +13,7 @@
 import java.util.Calendar;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 import java.util.TimeZone;
 import java.util.UUID;
 import org.junit.Before;
@@ -20,9 +21,11 @@
 import org.kordamp.json.JSONArray;
 import org.kordamp.json.JSONObject;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.impl.CoordinateArraySequence;
 import org.locationtech.jts.io.WKTReader;
 
@@ -485,6 +488,63 @@ public void testWrite3DLineWithInfiniteCoordinates() throws Exception {
                 writer.toString());
     }
 
+    @Test
+    public void testDirectEncodingSameOutput() throws Exception {
+        Random random = new Random(42);
+        GeometryFactory gf = new GeometryFactory();
+        for (int decimals = 0; decimals < 12; decimals++) {
+            for (int i = 0; i < 50; i++) {
+                Coordinate[] coordinates = new Coordinate[10];
+                for (int j = 0; j < coordinates.length - 1; j++) {
+                    double scale = Math.pow(10, random.nextInt(12) - 4);
+                    coordinates[j] = new Coordinate(
+                            (random.nextDouble() - 0.5) * scale,
+                            (random.nextDouble() - 0.5) * scale,
+                            random.nextBoolean() ? random.nextDouble() * scale : Double.NaN);
+                }
+                coordinates[coordinates.length - 1] = coordinates[0];
+                Geometry line = gf.createLineString(coordinates);
+                Geometry polygon = gf.createPolygon(coordinates);
+                Geometry multi = gf.createMultiPolygon(new Polygon[] {(Polygon) polygon, (Polygon) polygon});
+                for (Geometry g : new Geometry[] {line, polygon, multi, line.getCentroid()}) {
+                    assertEquals(encode(g, decimals, false), encode(g, decimals, true));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testDirectEncodingNumbersSameOutput() throws Exception {
+        Object[] values = {0, -1, Integer.MAX_VALUE, Long.MIN_VALUE, (short) 12, (byte) -3, 1.5d, 2f, -0d, 1e20};
+        for (boolean direct : new boolean[] {false, true}) {
+            StringWriter writer = new StringWriter();
+            GeoJSONBuilder builder = new GeoJSONBuilder(writer);
+            builder.setDirectEncoding(direct);
+            builder.object();
+            for (int i = 0; i < values.length; i++) {
+                builder.key("v" + i).value(values[i]);
+            }
+            builder.key("list").writeList(Arrays.asList(values));
+            builder.writeBoundingBox(new Envelope(-180.1234567, 180.0000001, -90, 89.5));
+            builder.endObject();
+            assertEquals(
+                    "{\"v0\":0,\"v1\":-1,\"v2\":2147483647,\"v3\":-9223372036854775808,\"v4\":12,\"v5\":-3,"
+                            + "\"v6\":1.5,\"v7\":2,\"v8\":0,\"v9\":1.0E20,"
+                            + "\"list\":[0,-1,2147483647,-9223372036854775808,12,-3,1.5,2,0,1.0E20],"
+                            + "\"bbox\":[-180.123457,-90,180,89.5]}",
+                    writer.toString());
+        }
+    }
+
+    private static String encode(Geometry g, int decimals, boolean direct) {
+        StringWriter writer = new StringWriter();
+        GeoJSONBuilder builder = new GeoJSONBuilder(writer);
+        builder.setNumberOfDecimals(decimals);
+        builder.setDirectEncoding(direct);
+        builder.writeGeom(g);
+        return writer.toString();
+    }
+
     private void addLevels(final GeoJSONBuilder builder, int level, final int max) {
         if (level >= max) return;
         level++;
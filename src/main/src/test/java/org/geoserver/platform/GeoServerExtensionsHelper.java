@@ -53,6 +53,7 @@ public static void clear() {
         GeoServerExtensions.singletonBeanCache.clear();
         GeoServerExtensions.propertyCache.clear();
         GeoServerExtensions.fileCache.clear();
+        GeoServerExtensions.cacheGeneration.incrementAndGet();
     }
     /**
      * Sets the web application context to be used for looking up extensions.
@@ -99,6 +100,7 @@ public static void singleton(String name, Object bean, Class<?>... declaredClass
             Class<?> type = bean.getClass();
             addToCache(GeoServerExtensions.extensionsCache, type, name);
         }
+        GeoServerExtensions.cacheGeneration.incrementAndGet();
     }
 
     static <T> void addToCache(Map<T, String[]> cache, T key, String name) {
@@ -6,18 +6,25 @@
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.mockito.Mockito.mock;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Lists;
 import java.util.Collection;
 import java.util.Collections;
 import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.catalog.impl.CatalogImpl;
+import org.geoserver.catalog.impl.WorkspaceInfoImpl;
 import org.geoserver.security.AccessMode;
+import org.geoserver.security.DataAccessLimits;
 import org.geoserver.security.WorkspaceAccessLimits;
 import org.geotools.api.filter.Filter;
 import org.junit.Test;
@@ -92,4 +99,70 @@ public void testSecurityFilterCache() {
         fil = defaultResourceAccessManager.getSecurityFilter(authentication, ResourceInfo.class);
         assertEquals(Predicates.acceptAll(), fil);
     }
+
+    @Test
+    public void testAccessLimitsCache() {
+        Catalog catalog = mock(Catalog.class);
+        WorkspaceInfo ws = mock(WorkspaceInfo.class);
+        Mockito.when(ws.getName()).thenReturn("ws");
+        DataStoreInfo store = mock(DataStoreInfo.class);
+        Mockito.when(store.getWorkspace()).thenReturn(ws);
+        FeatureTypeInfo ft = mock(FeatureTypeInfo.class);
+        Mockito.when(ft.getId()).thenReturn("ft1");
+        Mockito.when(ft.getName()).thenReturn("layer1");
+        Mockito.when(ft.getStore()).thenReturn(store);
+        LayerInfo layer = mock(LayerInfo.class);
+        Mockito.when(layer.getId()).thenReturn("layer1");
+        Mockito.when(layer.getResource()).thenReturn(ft);
+
+        DataAccessRuleDAO dataAccessRuleDAO = mock(DataAccessRuleDAO.class);
+        DataAccessRule rule = new DataAccessRule("ws", "layer1", AccessMode.READ, "MY_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule));
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dataAccessRuleDAO, catalog);
+
+        Authentication allowed = authentication("MY_ROLE");
+        Authentication denied = authentication("OTHER_ROLE");
+        assertNull(manager.getAccessLimits(allowed, layer));
+        DataAccessLimits limits = manager.getAccessLimits(denied, layer);
+        assertEquals(Filter.EXCLUDE, limits.getReadFilter());
+        // users with the same roles share the cached limits
+        assertSame(limits, manager.getAccessLimits(authentication("OTHER_ROLE"), layer));
+        assertNull(manager.getAccessLimits(allowed, layer));
+        CacheStats stats = manager.getAccessLimitsCacheStats();
+        assertEquals(2, stats.missCount());
+        assertEquals(2, stats.hitCount());
+
+        // rule changes invalidate the cache
+        rule = new DataAccessRule("ws", "layer1", AccessMode.READ, "OTHER_ROLE");
+        Mockito.when(dataAccessRuleDAO.getRules()).thenReturn(Lists.newArrayList(rule));
+        Mockito.when(dataAccessRuleDAO.getLastModified()).thenReturn(System.currentTimeMillis());
+        assertNull(manager.getAccessLimits(denied, layer));
+        assertEquals(Filter.EXCLUDE, manager.getAccessLimits(allowed, layer).getReadFilter());
+    }
+
+    @Test
+    public void testAccessLimitsCacheCatalogEvents() {
+        CatalogImpl catalog = new CatalogImpl();
+        DataAccessRuleDAO dataAccessRuleDAO = mock(DataAccessRuleDAO.class);
+        DefaultResourceAccessManager manager = new DefaultResourceAccessManager(dataAccessRuleDAO, catalog);
+        WorkspaceInfoImpl ws = new WorkspaceInfoImpl();
+        ws.setId("ws-id");
+        ws.setName("ws");
+
+        manager.getAccessLimits(authentication("MY_ROLE"), ws);
+        manager.getAccessLimits(authentication("MY_ROLE"), ws);
+        assertEquals(1, manager.getAccessLimitsCacheStats().hitCount());
+
+        catalog.add(ws);
+        manager.getAccessLimits(authentication("MY_ROLE"), ws);
+        assertEquals(2, manager.getAccessLimitsCacheStats().missCount());
+    }
+
+    private Authentication authentication(String role) {
+        Authentication authentication = mock(Authentication.class);
+        Collection<? extends GrantedAuthority> grantedAuthorities = Collections.singletonList(new GeoServerRole(role));
+        Mockito.<Collection<? extends GrantedAuthority>>when(authentication.getAuthorities())
+                .thenReturn(grantedAuthorities);
+        return authentication;
+    }
 }
@@ -28,7 +28,6 @@
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -1028,17 +1027,15 @@ Object fireOperationExecutedCallback(Request req, Operation op, Object result) {
     void response(Object result, Request req, Operation opDescriptor) throws Throwable {
         // step 6: write response
         if (result != null) {
-            // look up respones
-            List<Response> responses = GeoServerExtensions.extensions(Response.class);
+            // look up responses whose binding can handle the result
+            List<Response> responses = new ArrayList<>(DispatcherRoutingTable.get().getResponses(result.getClass()));
 
             // first filter by binding, and canHandle
             O:
             for (Iterator itr = responses.iterator(); itr.hasNext(); ) {
                 Response response = (Response) itr.next();
 
-                Class<?> binding = response.getBinding();
-
-                if (!binding.isAssignableFrom(result.getClass()) || !response.canHandle(opDescriptor)) {
+                if (!response.canHandle(opDescriptor)) {
                     itr.remove();
 
                     continue;
@@ -1257,7 +1254,6 @@ Response fireResponseDispatchedCallback(Request req, Operation op, Object result
 
     Service findService(String id, String ver, String namespace) throws ServiceException {
         Version version = (ver != null) ? new Version(ver) : null;
-        Collection<Service> services = RequestUtils.loadServices();
 
         // the id is actually the pathinfo, in case workspace specific services
         // are active we want to skip the workspace part in the path and go directly to the
@@ -1266,142 +1262,19 @@ Service findService(String id, String ver, String namespace) throws ServiceExcep
             id = id.substring(id.indexOf("/") + 1);
         }
 
-        // first just match on service,request
-        List<Service> matches = new ArrayList<>();
-
-        for (Service sBean : services) {
-            if (sBean.getId().equalsIgnoreCase(id)) {
-                matches.add(sBean);
-            }
-        }
-
-        if (matches.isEmpty()) {
-            return null;
-        }
-
-        Service sBean = null;
-
-        // if multiple, use version to filter match
-        if (matches.size() > 1) {
-            List<Service> vmatches = new ArrayList<>(matches);
-
-            // match up the version
-            if (version != null) {
-                // version specified, look for a match
-                for (Iterator<Service> itr = vmatches.iterator(); itr.hasNext(); ) {
-                    Service s = itr.next();
-
-                    if (version.equals(s.getVersion())) {
-                        continue;
-                    }
-
-                    itr.remove();
-                }
-
-                if (vmatches.isEmpty()) {
-                    // no matching version found, drop out and next step
-                    // will sort to return highest version
-                    vmatches = new ArrayList<>(matches);
-                }
-            }
-
-            // if still multiple matches use namespace, if available, to filter
-            if (namespace != null && vmatches.size() > 1) {
-                List<Service> nmatches = new ArrayList<>(vmatches);
-                for (Iterator<Service> itr = nmatches.iterator(); itr.hasNext(); ) {
-                    Service s = itr.next();
-                    if (s.getNamespace() != null && !s.getNamespace().equals(namespace)) {
-                        // service declares namespace, kick it out if there is no match, otherwise
-                        // leave it along
-                        itr.remove();
-                    }
-                }
-
-                if (!nmatches.isEmpty()) {
-                    vmatches = nmatches;
-                }
-            }
-
-            // multiple services found, sort by version
-            if (vmatches.size() > 1) {
-                // use the highest version
-                Comparator<Service> comparator = (s1, s2) -> s1.getVersion().compareTo(s2.getVersion());
-
-                Collections.sort(vmatches, comparator);
-            }
-
-            sBean = vmatches.get(vmatches.size() - 1);
-        } else {
-            // only a single match, that was easy
-            sBean = matches.get(0);
-        }
-
-        return sBean;
+        return DispatcherRoutingTable.get().findService(id, version, namespace);
     }
 
     public static Collection<KvpRequestReader> loadKvpRequestReaders() {
-        Collection<KvpRequestReader> kvpReaders = GeoServerExtensions.extensions(KvpRequestReader.class);
-
-        if (!(new HashSet<>(kvpReaders).size() == kvpReaders.size())) {
-            String msg = "Two identical kvp readers found";
-            throw new IllegalStateException(msg);
-        }
-
-        return kvpReaders;
+        return DispatcherRoutingTable.loadKvpRequestReaders();
     }
 
     public static KvpRequestReader findKvpRequestReader(Class<?> type) {
-        Collection<KvpRequestReader> kvpReaders = loadKvpRequestReaders();
-
-        List<KvpRequestReader> matches = new ArrayList<>();
-
-        for (KvpRequestReader kvpReader : kvpReaders) {
-            if (kvpReader.getRequestBean().isAssignableFrom(type)) {
-                matches.add(kvpReader);
-            }
-        }
-
-        if (matches.isEmpty()) {
-            return null;
-        }
-
-        if (matches.size() > 1) {
-            // sort by class hierarchy
-            Comparator<KvpRequestReader> comparator = (kvp1, kvp2) -> {
-                if (kvp2.getRequestBean().isAssignableFrom(kvp1.getRequestBean())) {
-                    return -1;
-                }
-
-                return 1;
-            };
-
-            Collections.sort(matches, comparator);
-        }
-
-        return matches.get(0);
+        return DispatcherRoutingTable.get().findKvpRequestReader(type);
     }
 
     static Collection<XmlRequestReader> loadXmlReaders() {
-        List<XmlRequestReader> xmlReaders = GeoServerExtensions.extensions(XmlRequestReader.class);
-
-        if (!(new HashSet<>(xmlReaders).size() == xmlReaders.size())) {
-
-            String msg = "Two identical xml readers found";
-            for (int i = 0; i < xmlReaders.size(); i++) {
-                XmlRequestReader r1 = xmlReaders.get(i);
-                for (int j = i + 1; j < xmlReaders.size(); j++) {
-                    XmlRequestReader r2 = xmlReaders.get(j);
-                    if (r1.equals(r2)) {
-                        msg += ": " + r1 + " and " + r2;
-                        break;
-                    }
-                }
-            }
-
-            throw new IllegalStateException(msg);
-        }
-
-        return xmlReaders;
+        return DispatcherRoutingTable.loadXmlReaders();
     }
 
     /**
@@ -1414,7 +1287,8 @@ static Collection<XmlRequestReader> loadXmlReaders() {
      * @return An {@link XmlRequestReader} capable of reading the request body
      */
     public static XmlRequestReader findXmlReader(String namespace, String element, String serviceId, String ver) {
-        Collection<XmlRequestReader> xmlReaders = loadXmlReaders();
+        // only the readers sharing the element local name (case insensitive) can match
+        Collection<XmlRequestReader> xmlReaders = DispatcherRoutingTable.get().getXmlReaders(element);
 
         // first just match on namespace, element
         List<XmlRequestReader> matches = new ArrayList<>();
@@ -1954,7 +1828,7 @@ void handleServiceException(ServiceException se, Service service, Request reques
         ServiceExceptionHandler handler = null;
 
         // look up the service exception handler
-        List<ServiceExceptionHandler> handlers = GeoServerExtensions.extensions(ServiceExceptionHandler.class);
+        List<ServiceExceptionHandler> handlers = DispatcherRoutingTable.get().getServiceExceptionHandlers();
         for (ServiceExceptionHandler seh : handlers) {
             if (seh.canHandle(service, request)) {
                 handler = seh;
@@ -2016,29 +1890,6 @@ public static boolean isSecurityException(Throwable t) {
      * @return List of enabled versions for the service
      */
     private static List<String> getEnabledVersions(String serviceId) {
-        List<String> versions = RequestUtils.getSupportedVersions(serviceId);
-        logger.info("Dispatcher.getEnabledVersions for " + serviceId + ", all versions: " + versions);
-
-        Collection<ServiceVersionFilter> filters = GeoServerExtensions.extensions(ServiceVersionFilter.class);
-        logger.info("Found " + filters.size() + " ServiceVersionFilter(s)");
-        if (!filters.isEmpty()) {
-            Collection<Service> services = GeoServerExtensions.extensions(Service.class);
-            Service service = services.stream()
-                    .filter(s -> s.getId().equalsIgnoreCase(serviceId))
-                    .findFirst()
-                    .orElse(null);
-
-            if (service != null) {
-                for (ServiceVersionFilter filter : filters) {
-                    versions = filter.filterVersions(service, versions);
-                }
-            }
-        }
-
-        if (versions != null) {
-            versions.sort(Comparator.comparing(Version::new, Comparator.reverseOrder()));
-        }
-
-        return versions;
+        return DispatcherRoutingTable.get().getEnabledVersions(serviceId);
     }
 }
@@ -0,0 +1,337 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.platform.Service;
+import org.geotools.util.Version;
+
+/**
+ * Immutable snapshot of the extensions the {@link Dispatcher} uses to route a request: service descriptors, KVP and
+ * XML request readers, responses, service exception handlers and service version filters.
+ *
+ * <p>Looking up these extensions via {@link GeoServerExtensions} and linearly scanning them on every request is
+ * expensive when serving many small requests, so the table is built once, indexed by service id, XML element name and
+ * result type, and reused until the {@link GeoServerExtensions} caches are reset (application context set or
+ * refreshed, e.g., on plugin reload), at which point it's rebuilt on the next access.
+ *
+ * <p>Lookups that depend on request specific values (operation, output format, version) are still evaluated on each
+ * call, but only against the small set of candidates pre-selected by the index.
+ */
+public final class DispatcherRoutingTable {
+
+    /** The current routing table, rebuilt lazily when the extension caches generation changes */
+    private static volatile DispatcherRoutingTable current;
+
+    private final long generation;
+
+    /** Services by lower case id, in extension order */
+    private final Map<String, List<Service>> servicesById;
+
+    /** Services by lower case id, sorted by ascending version (stable with respect to extension order) */
+    private final Map<String, List<Service>> servicesByIdSorted;
+
+    private final List<KvpRequestReader> kvpReaders;
+
+    /** KVP readers resolved by request bean type, the set of types is bounded by the operation signatures */
+    private final Map<Class<?>, Optional<KvpRequestReader>> kvpReadersByType = new ConcurrentHashMap<>();
+
+    /** XML readers by lower case element local name, in extension order */
+    private final Map<String, List<XmlRequestReader>> xmlReadersByElement;
+
+    private final List<Response> responses;
+
+    /** Responses whose binding can handle a given result type, the set of types is bounded by the operations */
+    private final Map<Class<?>, List<Response>> responsesByResultType = new ConcurrentHashMap<>();
+
+    private final List<ServiceExceptionHandler> exceptionHandlers;
+
+    private final List<ServiceVersionFilter> versionFilters;
+
+    DispatcherRoutingTable(
+            long generation,
+            Collection<Service> services,
+            Collection<KvpRequestReader> kvpReaders,
+            Collection<XmlRequestReader> xmlReaders,
+            Collection<Response> responses,
+            Collection<ServiceExceptionHandler> exceptionHandlers,
+            Collection<ServiceVersionFilter> versionFilters) {
+        this.generation = generation;
+
+        Map<String, List<Service>> byId = new LinkedHashMap<>();
+        for (Service service : services) {
+            byId.computeIfAbsent(key(service.getId()), k -> new ArrayList<>()).add(service);
+        }
+        Map<String, List<Service>> byIdSorted = new LinkedHashMap<>();
+        for (Map.Entry<String, List<Service>> entry : byId.entrySet()) {
+            List<Service> sorted = new ArrayList<>(entry.getValue());
+            sorted.sort(Comparator.comparing(Service::getVersion, Comparator.nullsFirst(Comparator.naturalOrder())));
+            byIdSorted.put(entry.getKey(), Collections.unmodifiableList(sorted));
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+        this.servicesById = Collections.unmodifiableMap(byId);
+        this.servicesByIdSorted = Collections.unmodifiableMap(byIdSorted);
+
+        this.kvpReaders = List.copyOf(kvpReaders);
+
+        Map<String, List<XmlRequestReader>> byElement = new LinkedHashMap<>();
+        for (XmlRequestReader reader : xmlReaders) {
+            byElement
+                    .computeIfAbsent(key(reader.getElement().getLocalPart()), k -> new ArrayList<>())
+                    .add(reader);
+        }
+        byElement.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        this.xmlReadersByElement = Collections.unmodifiableMap(byElement);
+
+        this.responses = List.copyOf(responses);
+        this.exceptionHandlers = List.copyOf(exceptionHandlers);
+        this.versionFilters = List.copyOf(versionFilters);
+    }
+
+    /**
+     * Returns the routing table for the current set of extensions, building it if the extension lookup caches have
+     * been reset since the last build.
+     */
+    public static DispatcherRoutingTable get() {
+        long generation = GeoServerExtensions.getCacheGeneration();
+        DispatcherRoutingTable table = current;
+        if (table == null || table.generation != generation) {
+            // concurrent rebuilds are harmless, they all produce equivalent tables
+            table = build(generation);
+            current = table;
+        }
+        return table;
+    }
+
+    /** Drops the current routing table, forcing a rebuild on the next access */
+    public static void reset() {
+        current = null;
+    }
+
+    static DispatcherRoutingTable build(long generation) {
+        return new DispatcherRoutingTable(
+                generation,
+                loadServices(),
+                loadKvpRequestReaders(),
+                loadXmlReaders(),
+                GeoServerExtensions.extensions(Response.class),
+                GeoServerExtensions.extensions(ServiceExceptionHandler.class),
+                GeoServerExtensions.extensions(ServiceVersionFilter.class));
+    }
+
+    static Collection<Service> loadServices() {
+        Collection<Service> services = GeoServerExtensions.extensions(Service.class);
+
+        if (!(new HashSet<>(services).size() == services.size())) {
+            String msg = "Two identical service descriptors found";
+            throw new IllegalStateException(msg);
+        }
+
+        return services;
+    }
+
+    static Collection<KvpRequestReader> loadKvpRequestReaders() {
+        Collection<KvpRequestReader> kvpReaders = GeoServerExtensions.extensions(KvpRequestReader.class);
+
+        if (!(new HashSet<>(kvpReaders).size() == kvpReaders.size())) {
+            String msg = "Two identical kvp readers found";
+            throw new IllegalStateException(msg);
+        }
+
+        return kvpReaders;
+    }
+
+    static Collection<XmlRequestReader> loadXmlReaders() {
+        List<XmlRequestReader> xmlReaders = GeoServerExtensions.extensions(XmlRequestReader.class);
+
+        if (!(new HashSet<>(xmlReaders).size() == xmlReaders.size())) {
+
+            String msg = "Two identical xml readers found";
+            for (int i = 0; i < xmlReaders.size(); i++) {
+                XmlRequestReader r1 = xmlReaders.get(i);
+                for (int j = i + 1; j < xmlReaders.size(); j++) {
+                    XmlRequestReader r2 = xmlReaders.get(j);
+                    if (r1.equals(r2)) {
+                        msg += ": " + r1 + " and " + r2;
+                        break;
+                    }
+                }
+            }
+
+            throw new IllegalStateException(msg);
+        }
+
+        return xmlReaders;
+    }
+
+    private static String key(String name) {
+        return name == null ? null : name.toLowerCase(Locale.ENGLISH);
+    }
+
+    /** Returns the services with the given id (case insensitive), in extension order */
+    public List<Service> getServices(String id) {
+        List<Service> services = servicesById.get(key(id));
+        return services == null ? Collections.emptyList() : services;
+    }
+
+    /**
+     * Finds the service descriptor matching id, version and namespace. When multiple services match the id, the one
+     * with the requested version is preferred, then the one matching the namespace, falling back on the highest
+     * version otherwise.
+     *
+     * @param id The service id, case insensitive
+     * @param version The requested version, optional
+     * @param namespace The request namespace, optional
+     * @return The matching service, or null if none is found
+     */
+    public Service findService(String id, Version version, String namespace) {
+        List<Service> candidates = servicesByIdSorted.get(key(id));
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        if (candidates.size() == 1) {
+            return candidates.get(0);
+        }
+
+        // only filter by version if at least one service matches it, otherwise consider them all
+        boolean filterVersion = false;
+        if (version != null) {
+            for (Service s : candidates) {
+                if (version.equals(s.getVersion())) {
+                    filterVersion = true;
+                    break;
+                }
+            }
+        }
+
+        // scan from the highest version down, the first one matching the namespace wins, if none
+        // matches the namespace, the highest version one is used
+        Service highest = null;
+        for (int i = candidates.size() - 1; i >= 0; i--) {
+            Service s = candidates.get(i);
+            if (filterVersion && !version.equals(s.getVersion())) {
+                continue;
+            }
+            if (highest == null) {
+                highest = s;
+            }
+            if (namespace == null || s.getNamespace() == null || s.getNamespace().equals(namespace)) {
+                return s;
+            }
+        }
+        return highest;
+    }
+
+    /**
+     * Returns the versions supported by the given service, after applying the registered
+     * {@link ServiceVersionFilter}, sorted from the highest to the lowest.
+     *
+     * @param serviceId The service identifier (e.g., "WMS", "WFS")
+     * @return List of enabled versions for the service
+     */
+    public List<String> getEnabledVersions(String serviceId) {
+        List<Service> services = getServices(serviceId);
+        List<String> versions = new ArrayList<>(services.size());
+        for (Service s : services) {
+            versions.add(s.getVersion().toString());
+        }
+
+        if (!versionFilters.isEmpty() && !services.isEmpty()) {
+            Service service = services.get(0);
+            for (ServiceVersionFilter filter : versionFilters) {
+                versions = filter.filterVersions(service, versions);
+            }
+        }
+
+        if (versions != null) {
+            versions.sort(Comparator.comparing(Version::new, Comparator.reverseOrder()));
+        }
+
+        return versions;
+    }
+
+    /**
+     * Finds the most specific {@link KvpRequestReader} able to parse the given request bean type.
+     *
+     * @param type The request bean type
+     * @return The reader, or null if none is found
+     */
+    public KvpRequestReader findKvpRequestReader(Class<?> type) {
+        return kvpReadersByType
+                .computeIfAbsent(type, t -> Optional.ofNullable(selectKvpRequestReader(kvpReaders, t)))
+                .orElse(null);
+    }
+
+    static KvpRequestReader selectKvpRequestReader(Collection<KvpRequestReader> kvpReaders, Class<?> type) {
+        List<KvpRequestReader> matches = new ArrayList<>();
+
+        for (KvpRequestReader kvpReader : kvpReaders) {
+            if (kvpReader.getRequestBean().isAssignableFrom(type)) {
+                matches.add(kvpReader);
+            }
+        }
+
+        if (matches.isEmpty()) {
+            return null;
+        }
+
+        if (matches.size() > 1) {
+            // sort by class hierarchy
+            Comparator<KvpRequestReader> comparator = (kvp1, kvp2) -> {
+                if (kvp2.getRequestBean().isAssignableFrom(kvp1.getRequestBean())) {
+                    return -1;
+                }
+
+                return 1;
+            };
+
+            Collections.sort(matches, comparator);
+        }
+
+        return matches.get(0);
+    }
+
+    /**
+     * Returns the XML readers whose element local name matches the given one, case insensitive, in extension order.
+     * The list is a superset of the readers {@link Dispatcher#findXmlReader(String, String, String, String)} will
+     * consider for the element.
+     */
+    public List<XmlRequestReader> getXmlReaders(String element) {
+        List<XmlRequestReader> readers = xmlReadersByElement.get(key(element));
+        return readers == null ? Collections.emptyList() : readers;
+    }
+
+    /**
+     * Returns the responses whose binding is compatible with the given result type, in extension order. Filtering by
+     * operation and output format is left to the caller, as it depends on the request.
+     */
+    public List<Response> getResponses(Class<?> resultType) {
+        return responsesByResultType.computeIfAbsent(resultType, t -> {
+            List<Response> result = new ArrayList<>();
+            for (Response response : responses) {
+                if (response.getBinding().isAssignableFrom(t)) {
+                    result.add(response);
+                }
+            }
+            return Collections.unmodifiableList(result);
+        });
+    }
+
+    /** Returns the registered service exception handlers, in extension order */
+    public List<ServiceExceptionHandler> getServiceExceptionHandlers() {
+        return exceptionHandlers;
+    }
+}
@@ -0,0 +1,108 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.ows;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import org.geoserver.platform.Service;
+import org.geotools.util.Version;
+import org.junit.Test;
+import org.springframework.context.support.FileSystemXmlApplicationContext;
+
+public class DispatcherRoutingTableTest {
+
+    static final Service HELLO_10 = new Service("hello", null, new Version("1.0.0"), List.of("Hello"));
+
+    static final Service HELLO_20 = new Service("hello", null, new Version("2.0.0"), List.of("Hello"));
+
+    static final Service HELLO_11_NS =
+            new Service("hello", "http://hello.org", null, new Version("1.1.0"), List.of("Hello"));
+
+    static final Service GOODBYE = new Service("goodbye", null, new Version("1.0.0"), List.of("Goodbye"));
+
+    private DispatcherRoutingTable table(Service... services) {
+        return new DispatcherRoutingTable(
+                0,
+                List.of(services),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList(),
+                Collections.emptyList());
+    }
+
+    @Test
+    public void testFindServiceById() {
+        DispatcherRoutingTable table = table(HELLO_10, GOODBYE);
+        assertSame(HELLO_10, table.findService("hello", null, null));
+        assertSame(HELLO_10, table.findService("HELLO", new Version("3.0.0"), null));
+        assertSame(GOODBYE, table.findService("Goodbye", null, null));
+        assertNull(table.findService("foo", null, null));
+    }
+
+    @Test
+    public void testFindServiceByVersion() {
+        DispatcherRoutingTable table = table(HELLO_20, HELLO_10, HELLO_11_NS);
+        // no version, highest wins
+        assertSame(HELLO_20, table.findService("hello", null, null));
+        // exact version match
+        assertSame(HELLO_10, table.findService("hello", new Version("1.0.0"), null));
+        assertSame(HELLO_11_NS, table.findService("hello", new Version("1.1.0"), null));
+        // unknown version, highest wins
+        assertSame(HELLO_20, table.findService("hello", new Version("5.0.0"), null));
+    }
+
+    @Test
+    public void testFindServiceByNamespace() {
+        DispatcherRoutingTable table = table(HELLO_10, HELLO_11_NS);
+        // services not declaring a namespace are kept, highest version wins
+        assertSame(HELLO_11_NS, table.findService("hello", null, "http://hello.org"));
+        assertSame(HELLO_10, table.findService("hello", null, "http://other.org"));
+
+        Service other = new Service("hello", "http://other.org", null, new Version("2.0.0"), List.of("Hello"));
+        table = table(HELLO_11_NS, other);
+        assertSame(HELLO_11_NS, table.findService("hello", null, "http://hello.org"));
+        // nothing matches the namespace, falls back on the highest version
+        assertSame(other, table.findService("hello", null, "http://foo.org"));
+    }
+
+    @Test
+    public void testEnabledVersions() {
+        DispatcherRoutingTable table = table(HELLO_10, HELLO_20, HELLO_11_NS, GOODBYE);
+        assertEquals(List.of("2.0.0", "1.1.0", "1.0.0"), table.getEnabledVersions("Hello"));
+        assertEquals(List.of("1.0.0"), table.getEnabledVersions("goodbye"));
+        assertTrue(table.getEnabledVersions("foo").isEmpty());
+    }
+
+    @Test
+    public void testRebuiltOnContextChange() throws Exception {
+        URL url = getClass().getResource("applicationContext.xml");
+        try (FileSystemXmlApplicationContext context = new FileSystemXmlApplicationContext(url.toString())) {
+            DispatcherRoutingTable table = DispatcherRoutingTable.get();
+            assertSame(table, DispatcherRoutingTable.get());
+            assertEquals(1, table.getServices("hello").size());
+            assertEquals(1, table.getXmlReaders("hello").size());
+            assertSame(
+                    table.findKvpRequestReader(Message.class),
+                    DispatcherRoutingTable.get().findKvpRequestReader(Message.class));
+            assertEquals(1, table.getResponses(Message.class).size());
+
+            URL url2 = getClass().getResource("applicationContextNamespace.xml");
+            try (FileSystemXmlApplicationContext context2 = new FileSystemXmlApplicationContext(url2.toString())) {
+                DispatcherRoutingTable table2 = DispatcherRoutingTable.get();
+                assertNotSame(table, table2);
+                assertEquals(2, table2.getServices("hello").size());
+                assertEquals(3, table2.getXmlReaders("Hello").size());
+            }
+        }
+    }
+}
@@ -13,6 +13,7 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geoserver.platform.resource.FilePaths;
@@ -71,6 +72,9 @@ public class GeoServerExtensions implements ApplicationContextAware, Application
     /** SPI lookups are very expensive, we need to cache them */
     static SoftValueHashMap<Class<?>, List<?>> spiCache = new SoftValueHashMap<>(40);
 
+    /** Incremented every time the extension caches are reset, see {@link #getCacheGeneration()} */
+    static final AtomicLong cacheGeneration = new AtomicLong();
+
     /**
      * Flag to identify use of spring context via {@link #setApplicationContext(ApplicationContext)} an enable
      * additional consistency checks for missing extensions.
@@ -105,6 +109,18 @@ public void setApplicationContext(ApplicationContext context) throws BeansExcept
         extensionsCache.clear();
         singletonBeanCache.clear();
         propertyCache.clear();
+        cacheGeneration.incrementAndGet();
+    }
+
+    /**
+     * Returns a counter that changes every time the extension lookup caches are reset (new application context,
+     * context refresh, test overrides). Code building derived lookup structures out of the extensions can use it to
+     * find out when they need to be rebuilt.
+     *
+     * @return The current cache generation
+     */
+    public static long getCacheGeneration() {
+        return cacheGeneration.get();
     }
 
     /**
@@ -382,6 +398,7 @@ public void onApplicationEvent(ApplicationEvent event) {
         if (event instanceof ContextRefreshedEvent) {
             extensionsCache.clear();
             singletonBeanCache.clear();
+            cacheGeneration.incrementAndGet();
         }
     }
 
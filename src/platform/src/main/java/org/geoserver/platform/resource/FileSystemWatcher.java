@@ -5,11 +5,23 @@
  */
 package org.geoserver.platform.resource;
 
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
 import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -21,11 +33,14 @@
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -38,8 +53,16 @@
 /**
  * Active object (using a ScheduledExecutorService) used to watch file system for changes.
  *
- * <p>This implementation currently polls the file system and should be updated with Java 7 WatchService when available.
- * The internal design is similar to WatchService, WatchKey and WatchEvent in order to facilitate this transition.
+ * <p>When the file system supports it, this implementation uses a native {@link WatchService} to be told about changes:
+ * each watched directory (or the parent directory of a watched file) is registered with the service, and bursts of
+ * events are coalesced and turned into a check of the affected watches only. Watches that cannot be registered (the
+ * file does not exist yet, the directory got removed, the file system does not support native events) are polled on a
+ * timer, diffing directory listings. Native events can be disabled altogether, e.g., for network file systems such as
+ * NFS that do not report changes made by other hosts, by setting the {@link #NATIVE_EVENTS_PROPERTY} system property to
+ * {@code false}.
+ *
+ * <p>Regardless of the mode, changes are computed and reported in the same way, directory watches report changes to
+ * their direct children.
  *
  * <p>This implementation makes a few concessions to being associated with ResourceStore, reporting changes with
  * resource paths rather than files.
@@ -117,6 +140,15 @@ private static class Watch implements Comparable<Watch> {
         private Set<File> children = null;
         private long childrenLastModifiedMax = 0L;
 
+        /** The directory registered for native events, null if this watch is polled */
+        volatile Path nativeDirectory;
+
+        /** True if the native directory is the watched file itself, false if it's its parent */
+        volatile boolean nativeDirectoryWatch;
+
+        /** False if native events registration failed in a way that won't be fixed by retrying */
+        volatile boolean nativeRetry = true;
+
         public Watch(File file, String path) {
             Objects.requireNonNull(file);
             Objects.requireNonNull(path);
@@ -303,8 +335,33 @@ public boolean isMatch(File file, String path) {
     CopyOnWriteArrayList<Watch> watchers = new CopyOnWriteArrayList<>();
 
     /**
-     * Note we have a single runnable here to review all outstanding Watch instances. The focus is on using minimal
-     * system resources while we wait for Java 7 WatchService (to be more efficient).
+     * System property that can be set to {@code false} to disable native file system events and poll the file system
+     * instead. Meant for file systems that do not report all changes, such as NFS.
+     */
+    public static final String NATIVE_EVENTS_PROPERTY = "GS_FILE_WATCHER_NATIVE";
+
+    /** Milliseconds used to coalesce a burst of native events into a single check */
+    static final long COALESCE_DELAY = 100;
+
+    private final boolean nativeEventsEnabled;
+
+    /** The native watch service, lazily created on the first registration */
+    private WatchService watchService;
+
+    /** Native watch keys, by registered directory */
+    private final Map<Path, WatchKey> nativeKeys = new ConcurrentHashMap<>();
+
+    /** The watches interested in native events, by registered directory */
+    private final Map<Path, Set<Watch>> nativeWatches = new ConcurrentHashMap<>();
+
+    /** The watches that received native events and need to be checked */
+    private final Set<Watch> dirty = ConcurrentHashMap.newKeySet();
+
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /**
+     * Note we have a single runnable here to review all outstanding polled Watch instances, watches receiving native
+     * file system events are checked by {@link #flush} instead.
      */
     private Runnable sync = new Runnable() {
         @Override
@@ -313,63 +370,240 @@ public void run() {
             for (Watch watch : watchers) {
                 if (watch.getListeners().isEmpty()) {
                     watchers.remove(watch);
+                    unregisterNative(watch);
                     continue;
                 }
-                final boolean directory = watch.file.isDirectory();
-                Level level = Level.FINER;
-                long start = System.nanoTime();
-                if (directory) LOGGER.log(level, "polling contents of " + watch.file);
-                Delta delta;
-                try {
-                    delta = watch.changed(now);
-                } catch (RuntimeException e) {
-                    LOGGER.log(Level.WARNING, "Error polling contents of " + watch.file, e);
+                if (watch.nativeDirectory != null) {
+                    continue;
+                }
+                if (!check(watch, now)) {
                     return;
                 }
-                if (directory && LOGGER.isLoggable(level)) {
-                    long ellapsedMicros = MICROSECONDS.convert(System.nanoTime() - start, NANOSECONDS);
-                    long ellapsedMillis = MILLISECONDS.convert(ellapsedMicros, MICROSECONDS);
-                    String unit = ellapsedMillis == 0L ? "us" : "ms";
-                    long time = ellapsedMillis == 0L ? ellapsedMicros : ellapsedMillis;
-                    LOGGER.log(level, "delta computed in %,d%s for %s".formatted(time, unit, watch.file));
+                // the watched file might have been created in the meantime, try switching to events
+                if (nativeEventsEnabled && watch.nativeRetry && registerNative(watch)) {
+                    // catch up with changes occurred between the poll and the registration
+                    dirty.add(watch);
+                    scheduleFlush();
+                }
+            }
+        }
+    };
+
+    /** Checks the watches that received native file system events since the last run */
+    private Runnable flush = new Runnable() {
+        @Override
+        public void run() {
+            flushScheduled.set(false);
+            long now = System.currentTimeMillis();
+            for (Iterator<Watch> it = dirty.iterator(); it.hasNext(); ) {
+                Watch watch = it.next();
+                it.remove();
+                if (!watch.getListeners().isEmpty() && watchers.contains(watch) && check(watch, now)) {
+                    if (watch.nativeDirectory != null && watch.nativeDirectoryWatch != watch.file.isDirectory()) {
+                        // switched between file and directory, the directory to register changed too
+                        unregisterNative(watch);
+                        if (registerNative(watch)) {
+                            dirty.add(watch);
+                            scheduleFlush();
+                        }
+                    }
+                }
+            }
+        }
+    };
+
+    /**
+     * Checks a watch for changes, notifying its listeners if needed
+     *
+     * @return false if the check failed
+     */
+    private boolean check(Watch watch, long now) {
+        final boolean directory = watch.file.isDirectory();
+        Level level = Level.FINER;
+        long start = System.nanoTime();
+        if (directory) LOGGER.log(level, "polling contents of " + watch.file);
+        Delta delta;
+        try {
+            delta = watch.changed(now);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Error polling contents of " + watch.file, e);
+            return false;
+        }
+        if (directory && LOGGER.isLoggable(level)) {
+            long ellapsedMicros = MICROSECONDS.convert(System.nanoTime() - start, NANOSECONDS);
+            long ellapsedMillis = MILLISECONDS.convert(ellapsedMicros, MICROSECONDS);
+            String unit = ellapsedMillis == 0L ? "us" : "ms";
+            long time = ellapsedMillis == 0L ? ellapsedMicros : ellapsedMillis;
+            LOGGER.log(level, "delta computed in %,d%s for %s".formatted(time, unit, watch.file));
+        }
+        if (delta != null) {
+            notify(watch, delta);
+        }
+        return true;
+    }
+
+    private void notify(Watch watch, Delta delta) {
+        if (LOGGER.isLoggable(Level.INFO)) {
+            LOGGER.config("Notifying %s change on %s. Created: %,d, removed: %,d, modified: %,d"
+                    .formatted(
+                            delta.kind,
+                            delta.context,
+                            delta.created.size(),
+                            delta.removed.size(),
+                            delta.modified.size()));
+        }
+        // do not call listeners on the watch thread, they may take a
+        // considerable amount of time to process the events
+        CompletableFuture.runAsync(() -> {
+            /** Created based on created/removed/modified files */
+            List<ResourceNotification.Event> events =
+                    ResourceNotification.delta(watch.file, delta.created, delta.removed, delta.modified);
+
+            ResourceNotification notify = new ResourceNotification(watch.getPath(), delta.kind, watch.last, events);
+
+            for (ResourceListener listener : watch.getListeners()) {
+                try {
+                    listener.changed(notify);
+                } catch (Throwable t) {
+                    Logger logger =
+                            Logger.getLogger(listener.getClass().getPackage().getName());
+                    logger.log(Level.FINE, "Unable to notify " + watch + ":" + t.getMessage(), t);
                 }
-                if (delta != null) {
-                    notify(watch, delta);
+            }
+        });
+    }
+
+    /**
+     * Registers the watch for native file system events, if possible
+     *
+     * @return true if the watch is receiving native events
+     */
+    private synchronized boolean registerNative(Watch watch) {
+        if (watch.nativeDirectory != null) {
+            return true;
+        }
+        if (!nativeEventsEnabled || !watch.nativeRetry) {
+            return false;
+        }
+        boolean directoryWatch = watch.file.isDirectory();
+        File directory = directoryWatch ? watch.file : watch.file.getParentFile();
+        if (directory == null || !directory.isDirectory()) {
+            // poll until it gets created
+            return false;
+        }
+        Path path = directory.toPath();
+        try {
+            WatchService service = getWatchService();
+            if (service == null) {
+                watch.nativeRetry = false;
+                return false;
+            }
+            if (!nativeKeys.containsKey(path)) {
+                WatchKey key = path.register(service, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY);
+                nativeKeys.put(path, key);
+            }
+            nativeWatches.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(watch);
+            watch.nativeDirectoryWatch = directoryWatch;
+            watch.nativeDirectory = path;
+            return true;
+        } catch (NoSuchFileException e) {
+            // removed in the meantime, poll until it gets created again
+            return false;
+        } catch (IOException | UnsupportedOperationException | ClosedWatchServiceException e) {
+            LOGGER.log(Level.FINE, "Native file system events not available for " + path + ", will poll it", e);
+            watch.nativeRetry = false;
+            return false;
+        }
+    }
+
+    /** Removes the watch from the native events registrations, if needed */
+    private synchronized void unregisterNative(Watch watch) {
+        Path path = watch.nativeDirectory;
+        if (path == null) {
+            return;
+        }
+        watch.nativeDirectory = null;
+        Set<Watch> watches = nativeWatches.get(path);
+        if (watches != null) {
+            watches.remove(watch);
+            if (watches.isEmpty()) {
+                nativeWatches.remove(path);
+                WatchKey key = nativeKeys.remove(path);
+                if (key != null) {
+                    key.cancel();
                 }
             }
         }
+    }
 
-        private void notify(Watch watch, Delta delta) {
-            if (LOGGER.isLoggable(Level.INFO)) {
-                LOGGER.config("Notifying %s change on %s. Created: %,d, removed: %,d, modified: %,d"
-                        .formatted(
-                                delta.kind,
-                                delta.context,
-                                delta.created.size(),
-                                delta.removed.size(),
-                                delta.modified.size()));
+    /** The directory is no longer watchable (e.g., it was removed), switch its watches back to polling */
+    private synchronized void nativeKeyInvalidated(Path path) {
+        nativeKeys.remove(path);
+        Set<Watch> watches = nativeWatches.remove(path);
+        if (watches != null) {
+            for (Watch watch : watches) {
+                watch.nativeDirectory = null;
+                dirty.add(watch);
             }
-            // do not call listeners on the watch thread, they may take a
-            // considerable amount of time to process the events
-            CompletableFuture.runAsync(() -> {
-                /** Created based on created/removed/modified files */
-                List<ResourceNotification.Event> events =
-                        ResourceNotification.delta(watch.file, delta.created, delta.removed, delta.modified);
-
-                ResourceNotification notify = new ResourceNotification(watch.getPath(), delta.kind, watch.last, events);
-
-                for (ResourceListener listener : watch.getListeners()) {
-                    try {
-                        listener.changed(notify);
-                    } catch (Throwable t) {
-                        Logger logger = Logger.getLogger(
-                                listener.getClass().getPackage().getName());
-                        logger.log(Level.FINE, "Unable to notify " + watch + ":" + t.getMessage(), t);
+        }
+    }
+
+    /** Lazily creates the watch service and the thread consuming its events, returns null if not supported */
+    private WatchService getWatchService() throws IOException {
+        if (watchService == null) {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            if (service.getClass().getSimpleName().contains("Polling")) {
+                // JDK fallback for platforms without native support, polls with a coarse period
+                service.close();
+                LOGGER.fine("No native file system events support, will poll the file system");
+                return null;
+            }
+            watchService = service;
+            Thread thread = tFactory.newThread(() -> processEvents(service));
+            thread.start();
+        }
+        return watchService;
+    }
+
+    /** Consumes the native events, marking the affected watches as dirty and scheduling a coalesced check */
+    private void processEvents(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Path directory = (Path) key.watchable();
+                Set<Watch> watches = nativeWatches.getOrDefault(directory, Collections.emptySet());
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == OVERFLOW) {
+                        dirty.addAll(watches);
+                    } else {
+                        String name = String.valueOf(event.context());
+                        for (Watch watch : watches) {
+                            if (watch.nativeDirectoryWatch || watch.file.getName().equals(name)) {
+                                dirty.add(watch);
+                            }
+                        }
                     }
                 }
-            });
+                if (!key.reset()) {
+                    nativeKeyInvalidated(directory);
+                }
+                scheduleFlush();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            LOGGER.fine("File system events processing stopped");
         }
-    };
+    }
+
+    private void scheduleFlush() {
+        if (!dirty.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                pool.schedule(flush, COALESCE_DELAY, MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                flushScheduled.set(false);
+            }
+        }
+    }
 
     private ScheduledFuture<?> monitor;
 
@@ -390,9 +624,20 @@ private void notify(Watch watch, Delta delta) {
      * <p>Internally a single threaded schedule executor is used to monitor files.
      */
     FileSystemWatcher(Function<String, File> fileExtractor) {
+        this(fileExtractor, Boolean.parseBoolean(System.getProperty(NATIVE_EVENTS_PROPERTY, "true")));
+    }
+
+    /**
+     * FileSystemWatcher used to track file changes.
+     *
+     * @param fileExtractor Maps the notification paths to files
+     * @param nativeEvents Whether to use native file system events when available, or poll only
+     */
+    FileSystemWatcher(Function<String, File> fileExtractor, boolean nativeEvents) {
         Objects.requireNonNull(fileExtractor);
         this.pool = Executors.newSingleThreadScheduledExecutor(tFactory);
         this.fileExtractor = fileExtractor;
+        this.nativeEventsEnabled = nativeEvents;
     }
 
     FileSystemWatcher() {
@@ -420,6 +665,7 @@ public synchronized void addListener(String path, ResourceListener listener) {
         if (watch == null) {
             watch = new Watch(file, path);
             watchers.add(watch);
+            registerNative(watch);
             if (monitor == null) {
                 monitor = pool.scheduleWithFixedDelay(sync, delay, delay, unit);
             }
@@ -439,6 +685,7 @@ public synchronized boolean removeListener(String path, ResourceListener listene
             watch.removeListener(listener);
             if (watch.getListeners().isEmpty()) {
                 removed = watchers.remove(watch);
+                unregisterNative(watch);
             }
         }
         if (removed && watchers.isEmpty()) {
@@ -460,10 +707,25 @@ public void schedule(long delay, TimeUnit unit) {
         }
     }
 
+    /** Returns true if the resource at the given path is being watched via native file system events */
+    boolean isNativelyWatched(String path) {
+        File file = fileExtractor.apply(path);
+        Watch watch = watch(file, path);
+        return watch != null && watch.nativeDirectory != null;
+    }
+
     @Override
     public void destroy() throws Exception {
         pool.shutdown();
         monitor = null;
+        synchronized (this) {
+            if (watchService != null) {
+                watchService.close();
+                watchService = null;
+            }
+            nativeKeys.clear();
+            nativeWatches.clear();
+        }
     }
 
     @Override
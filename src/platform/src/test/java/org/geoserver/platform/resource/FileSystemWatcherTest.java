@@ -0,0 +1,112 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.platform.resource;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.platform.resource.ResourceNotification.Event;
+import org.geoserver.platform.resource.ResourceNotification.Kind;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests the native file system events support of {@link FileSystemWatcher} */
+public class FileSystemWatcherTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    FileSystemWatcher watcher;
+
+    List<ResourceNotification> notifications = new CopyOnWriteArrayList<>();
+
+    @Before
+    public void setUp() {
+        watcher = new FileSystemWatcher(path -> new File(folder.getRoot(), path), true);
+        // make sure notifications can only come from native events
+        watcher.schedule(1, TimeUnit.HOURS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        watcher.destroy();
+    }
+
+    @Test
+    public void testDirectoryEvents() throws Exception {
+        File dir = folder.newFolder("data");
+        watcher.addListener("data", notifications::add);
+        assumeTrue("Native file system events not supported", watcher.isNativelyWatched("data"));
+
+        // bursts of events are coalesced, but all changes are reported
+        for (int i = 0; i < 3; i++) {
+            new File(dir, "file" + i).createNewFile();
+        }
+        await().atMost(10, TimeUnit.SECONDS).until(() -> notifications.stream()
+                .mapToLong(n -> n.events().size())
+                .sum() == 3);
+        for (ResourceNotification n : notifications) {
+            assertEquals("data", n.getPath());
+            for (Event e : n.events()) {
+                assertEquals(Kind.ENTRY_CREATE, e.getKind());
+            }
+        }
+    }
+
+    @Test
+    public void testFileEvents() throws Exception {
+        File file = folder.newFile("test.properties");
+        folder.newFile("other.properties");
+        watcher.addListener("test.properties", notifications::add);
+        assumeTrue("Native file system events not supported", watcher.isNativelyWatched("test.properties"));
+
+        // changes to sibling files are ignored
+        new File(folder.getRoot(), "other.properties").delete();
+        file.delete();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> !notifications.isEmpty());
+        assertEquals(1, notifications.size());
+        assertEquals(Kind.ENTRY_DELETE, notifications.get(0).getKind());
+        assertEquals("test.properties", notifications.get(0).getPath());
+    }
+
+    @Test
+    public void testDirectoryCreatedAfterListener() throws Exception {
+        watcher.addListener("created", notifications::add);
+        assumeTrue("Native file system events not supported", watcher.isNativelyWatched("created"));
+
+        // the parent directory is registered first, then the directory itself once created
+        File dir = new File(folder.getRoot(), "created");
+        dir.mkdir();
+        new File(dir, "child1").createNewFile();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hasEvent("child1"));
+        new File(dir, "child2").createNewFile();
+        await().atMost(10, TimeUnit.SECONDS).until(() -> hasEvent("child2"));
+    }
+
+    private boolean hasEvent(String path) {
+        return notifications.stream().flatMap(n -> n.events().stream()).anyMatch(e -> path.equals(e.getPath()));
+    }
+
+    @Test
+    public void testPollingOnly() throws Exception {
+        FileSystemWatcher polling = new FileSystemWatcher(path -> new File(folder.getRoot(), path), false);
+        try {
+            folder.newFolder("data");
+            polling.addListener("data", notifications::add);
+            assertFalse(polling.isNativelyWatched("data"));
+        } finally {
+            polling.destroy();
+        }
+    }
+}
@@ -7,6 +7,7 @@
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
 import java.io.BufferedWriter;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
@@ -94,6 +95,11 @@ protected void writeInternal(RestWrapper<?> wrapper, HttpOutputMessage outputMes
             templateWriter.flush();
         } catch (TemplateException te) {
             throw new IOException("Template processing error " + te.getMessage());
+        } finally {
+            // lazy collections, such as the ones streaming catalog objects, might hold resources
+            if (wrapper.getObject() instanceof Closeable closeable) {
+                closeable.close();
+            }
         }
     }
 
@@ -12,6 +12,7 @@
 import com.thoughtworks.xstream.io.HierarchicalStreamReader;
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import com.thoughtworks.xstream.io.json.JettisonMappedXmlDriver;
+import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collection;
 import org.codehaus.jettison.mapped.Configuration;
@@ -60,12 +61,23 @@ public RestListWrapper<?> readInternal(Class<? extends RestListWrapper<?>> clazz
     @Override
     public void writeInternal(RestListWrapper<?> wrapper, HttpOutputMessage outputMessage)
             throws IOException, HttpMessageNotWritableException {
-        XStream xstream = this.createXStreamInstance();
-        Class<?> targetClass = wrapper.getObjectClass();
-        Collection<?> data = wrapper.getCollection();
-        this.aliasCollection(data, xstream, targetClass, wrapper);
-        this.configureXStream(xstream, targetClass, wrapper);
-        xstream.toXML(data, outputMessage.getBody());
+        try {
+            XStream xstream = this.createXStreamInstance();
+            Class<?> targetClass = wrapper.getObjectClass();
+            Collection<?> data = wrapper.getCollection();
+            this.aliasCollection(data, xstream, targetClass, wrapper);
+            this.configureXStream(xstream, targetClass, wrapper);
+            xstream.toXML(data, outputMessage.getBody());
+        } finally {
+            close(wrapper);
+        }
+    }
+
+    /** Releases the resources held by lazy collections, such as the ones streaming catalog objects */
+    protected void close(RestListWrapper<?> wrapper) throws IOException {
+        if (wrapper.getCollection() instanceof Closeable closeable) {
+            closeable.close();
+        }
     }
 
     protected void configureXStream(XStream xstream, Class<?> clazz, RestListWrapper<?> wrapper) {
@@ -207,7 +219,11 @@ public void writeInternal(RestListWrapper<?> wrapper, HttpOutputMessage outputMe
                 throws IOException, HttpMessageNotWritableException {
 
             if (wrapper.getCollection().size() == 1) {
-                writeSingleElementCollection(wrapper, outputMessage);
+                try {
+                    writeSingleElementCollection(wrapper, outputMessage);
+                } finally {
+                    close(wrapper);
+                }
             } else {
                 super.writeInternal(wrapper, outputMessage);
             }
@@ -0,0 +1,80 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.rest.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.rest.RestBaseController;
+import org.geoserver.rest.RestException;
+import org.geoserver.wms.profiling.RenderProfiler;
+import org.geoserver.wms.profiling.StyleProfile;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Exposes the measurements of the {@link RenderProfiler}, and allows to enable, disable and reset it:
+ *
+ * <ul>
+ *   <li>{@code GET /rest/services/wms/profiling} returns the status and the profiles of all styles
+ *   <li>{@code GET /rest/services/wms/profiling/<style>} returns the profile of a single style, by prefixed name
+ *   <li>{@code PUT /rest/services/wms/profiling?enabled=true|false} enables or disables the profiler
+ *   <li>{@code DELETE /rest/services/wms/profiling} removes all the measurements
+ * </ul>
+ */
+@RestController
+@RequestMapping(
+        path = RestBaseController.ROOT_PATH + "/services/wms/profiling",
+        produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE})
+public class RenderProfilerController extends RestBaseController {
+
+    private final RenderProfiler profiler;
+
+    @Autowired
+    public RenderProfilerController(RenderProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @GetMapping
+    public Map<String, Object> profilesGet() {
+        long now = System.currentTimeMillis();
+        List<Map<String, Object>> styles = new ArrayList<>();
+        for (StyleProfile profile : profiler.getStyleProfiles()) {
+            styles.add(profile.summarize(now));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", profiler.isEnabled());
+        result.put("styles", styles);
+        return result;
+    }
+
+    @GetMapping(path = "/{styleName}")
+    public Map<String, Object> profileGet(@PathVariable String styleName) {
+        StyleProfile profile = profiler.getStyleProfile(styleName);
+        if (profile == null) {
+            throw new RestException("No rendering profile found for style " + styleName, HttpStatus.NOT_FOUND);
+        }
+        return profile.summarize(System.currentTimeMillis());
+    }
+
+    @PutMapping
+    public void profilingPut(@RequestParam boolean enabled) {
+        profiler.setEnabled(enabled);
+    }
+
+    @DeleteMapping
+    public void profilesDelete() {
+        profiler.clear();
+    }
+}
@@ -0,0 +1,111 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.rest.service;
+
+import static org.geoserver.rest.RestBaseController.ROOT_PATH;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.geoserver.data.test.MockData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.rest.catalog.CatalogRESTTestSupport;
+import org.geoserver.wms.profiling.RenderProfiler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kordamp.json.JSONArray;
+import org.kordamp.json.JSONObject;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class RenderProfilerControllerTest extends CatalogRESTTestSupport {
+
+    static final String PROFILING = ROOT_PATH + "/services/wms/profiling";
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        super.onSetUp(testData);
+        // same name as the global style, in a workspace
+        testData.addStyle(
+                catalog.getWorkspaceByName(MockData.CITE_PREFIX),
+                "Buildings",
+                "Buildings.sld",
+                SystemTestData.class,
+                catalog);
+    }
+
+    @Before
+    public void enableProfiler() throws Exception {
+        assertEquals(200, putAsServletResponse(PROFILING + "?enabled=true", "", "text/plain").getStatus());
+    }
+
+    @After
+    public void resetProfiler() {
+        RenderProfiler profiler = applicationContext.getBean(RenderProfiler.class);
+        profiler.setEnabled(false);
+        profiler.clear();
+    }
+
+    @Test
+    public void testGetProfiles() throws Exception {
+        getMap("Buildings");
+        getMap("cite:Buildings");
+        getMap("cite:Buildings");
+
+        JSONObject json = (JSONObject) getAsJSON(PROFILING + ".json");
+        assertTrue(json.getBoolean("enabled"));
+        JSONArray styles = json.getJSONArray("styles");
+        assertEquals(2, styles.size());
+        // sorted by name, the workspace style is kept apart from the global one
+        JSONObject global = styles.getJSONObject(0);
+        assertEquals("Buildings", global.getString("name"));
+        assertEquals(1, global.getInt("count"));
+        assertEquals(2, global.getInt("featuresRead"));
+        JSONObject local = styles.getJSONObject(1);
+        assertEquals("cite:Buildings", local.getString("name"));
+        assertEquals(2, local.getInt("count"));
+        assertEquals(getLayerId(MockData.BUILDINGS), local.getJSONArray("layers").getString(0));
+    }
+
+    @Test
+    public void testGetStyleProfile() throws Exception {
+        getMap("cite:Buildings");
+
+        JSONObject profile = (JSONObject) getAsJSON(PROFILING + "/cite:Buildings.json");
+        assertEquals("cite:Buildings", profile.getString("name"));
+        assertEquals(1, profile.getInt("count"));
+        assertFalse(profile.getJSONArray("rules").isEmpty());
+
+        assertEquals(404, getAsServletResponse(PROFILING + "/Buildings.json").getStatus());
+    }
+
+    @Test
+    public void testDisableAndClear() throws Exception {
+        getMap("Buildings");
+
+        assertEquals(200, putAsServletResponse(PROFILING + "?enabled=false", "", "text/plain").getStatus());
+        JSONObject json = (JSONObject) getAsJSON(PROFILING + ".json");
+        assertFalse(json.getBoolean("enabled"));
+        assertEquals(1, json.getJSONArray("styles").size());
+
+        // disabled, not recorded
+        getMap("cite:Buildings");
+        assertEquals(404, getAsServletResponse(PROFILING + "/cite:Buildings.json").getStatus());
+
+        assertEquals(200, deleteAsServletResponse(PROFILING).getStatus());
+        json = (JSONObject) getAsJSON(PROFILING + ".json");
+        assertTrue(json.getJSONArray("styles").isEmpty());
+    }
+
+    private void getMap(String style) throws Exception {
+        MockHttpServletResponse response = getAsServletResponse(
+                "wms?service=WMS&version=1.1.1&request=GetMap&format=image/png&width=256&height=256"
+                        + "&srs=EPSG:4326&bbox=0,0,0.003,0.002&layers="
+                        + getLayerId(MockData.BUILDINGS)
+                        + "&styles="
+                        + style);
+        assertEquals("image/png", response.getContentType());
+    }
+}
@@ -10,15 +10,22 @@
 import java.util.List;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.CatalogInfo;
 import org.geoserver.catalog.CoverageInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.impl.FeatureTypeInfoImpl;
 import org.geoserver.config.GeoServerDataDirectory;
 import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.rest.RestBaseController;
 import org.geoserver.rest.RestException;
+import org.geoserver.rest.wrapper.RestWrapper;
 import org.geoserver.security.GeoServerSecurityManager;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.sort.SortBy;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.filter.text.cql2.CQLException;
+import org.geotools.filter.text.ecql.ECQL;
 import org.geotools.referencing.CRS;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -125,4 +132,59 @@ protected void checkFullAdminRequired(String workspaceName) {
                     "Cannot edit global resource , full admin credentials required", HttpStatus.METHOD_NOT_ALLOWED);
         }
     }
+
+    /**
+     * Wraps a page of the catalog objects matching the filter in a list wrapper, the objects are streamed from
+     * {@link Catalog#list(Class, Filter, Integer, Integer, SortBy)} while the response is encoded.
+     *
+     * @param clazz The type of catalog objects to list
+     * @param filter The base filter of the listing, e.g., the objects in a given workspace
+     * @param offset The first object to return, or null to start from the first one
+     * @param limit The maximum number of objects to return, or null for no limit
+     * @param cqlFilter An optional ECQL filter against the catalog object properties, ANDed with the base filter
+     * @param sortBy An optional sort order, a property name optionally followed by {@code ASC} or {@code DESC}
+     */
+    protected <T extends CatalogInfo> RestWrapper<T> wrapCatalogList(
+            Class<T> clazz, Filter filter, Integer offset, Integer limit, String cqlFilter, String sortBy) {
+        if (offset != null && offset < 0) {
+            throw new RestException("offset must be a non negative integer: " + offset, HttpStatus.BAD_REQUEST);
+        }
+        if (limit != null && limit < 0) {
+            throw new RestException("limit must be a non negative integer: " + limit, HttpStatus.BAD_REQUEST);
+        }
+        if (cqlFilter != null && !cqlFilter.isBlank()) {
+            try {
+                filter = Predicates.and(filter, ECQL.toFilter(cqlFilter));
+            } catch (CQLException e) {
+                throw new RestException("Invalid filter: " + cqlFilter, HttpStatus.BAD_REQUEST, e);
+            }
+        }
+        CatalogInfoCollection<T> collection;
+        try {
+            collection = new CatalogInfoCollection<>(catalog, clazz, filter, offset, limit, parseSortBy(sortBy));
+        } catch (IllegalArgumentException e) {
+            throw new RestException(
+                    "Cannot list " + clazz.getSimpleName() + ": " + e.getMessage(), HttpStatus.BAD_REQUEST, e);
+        }
+        return wrapList(collection, clazz);
+    }
+
+    private SortBy parseSortBy(String sortBy) {
+        if (sortBy == null || sortBy.isBlank()) {
+            return null;
+        }
+        String[] parts = sortBy.trim().split("\\s+");
+        if (parts.length > 2) {
+            throw new RestException("Invalid sortBy, expected a single property: " + sortBy, HttpStatus.BAD_REQUEST);
+        }
+        boolean ascending = true;
+        if (parts.length == 2) {
+            if ("DESC".equalsIgnoreCase(parts[1]) || "D".equalsIgnoreCase(parts[1])) {
+                ascending = false;
+            } else if (!"ASC".equalsIgnoreCase(parts[1]) && !"A".equalsIgnoreCase(parts[1])) {
+                throw new RestException("Invalid sort order in sortBy: " + sortBy, HttpStatus.BAD_REQUEST);
+            }
+        }
+        return Predicates.sortBy(parts[0], ascending);
+    }
 }
@@ -0,0 +1,113 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.rest.catalog;
+
+import java.io.Closeable;
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogInfo;
+import org.geoserver.catalog.util.CloseableIterator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.sort.SortBy;
+
+/**
+ * A lazy collection over a page of catalog objects, backed by {@link Catalog#list(Class, Filter, Integer, Integer,
+ * SortBy)}. The objects are pulled from the catalog while the collection is being encoded, instead of being copied in a
+ * list first, so that the cost of a listing is proportional to the page size.
+ *
+ * <p>The first iterator is opened eagerly, so that invalid filters and sort orders are reported before the response
+ * starts. Each call to {@link #iterator()} runs a new query, the iterators close themselves once exhausted, and
+ * {@link #close()} releases the ones that have not been fully consumed.
+ */
+class CatalogInfoCollection<T extends CatalogInfo> extends AbstractCollection<T> implements Closeable {
+
+    private final Catalog catalog;
+
+    private final Class<T> type;
+
+    private final Filter filter;
+
+    private final Integer offset;
+
+    private final Integer limit;
+
+    private final SortBy sortBy;
+
+    private final List<CloseableIterator<T>> open = new ArrayList<>();
+
+    private CloseableIterator<T> first;
+
+    private int size = -1;
+
+    CatalogInfoCollection(Catalog catalog, Class<T> type, Filter filter, Integer offset, Integer limit, SortBy sortBy) {
+        this.catalog = catalog;
+        this.type = type;
+        this.filter = filter;
+        this.offset = offset;
+        this.limit = limit;
+        this.sortBy = sortBy;
+        this.first = query();
+    }
+
+    private CloseableIterator<T> query() {
+        CloseableIterator<T> it = catalog.list(type, filter, offset, limit, sortBy);
+        open.add(it);
+        return it;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        CloseableIterator<T> it = first != null ? first : query();
+        first = null;
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                if (it.hasNext()) {
+                    return true;
+                }
+                it.close();
+                open.remove(it);
+                return false;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return it.next();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        if (size < 0) {
+            int count = catalog.count(type, filter);
+            if (offset != null) {
+                count = Math.max(0, count - offset);
+            }
+            if (limit != null) {
+                count = Math.min(count, limit);
+            }
+            size = count;
+        }
+        return size;
+    }
+
+    @Override
+    public void close() {
+        for (CloseableIterator<T> it : open) {
+            it.close();
+        }
+        open.clear();
+        first = null;
+    }
+}
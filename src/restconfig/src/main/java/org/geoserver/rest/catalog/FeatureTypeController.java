@@ -26,6 +26,7 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.MetadataMap;
 import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.config.util.XStreamPersister;
 import org.geoserver.rest.ObjectToMapWrapper;
 import org.geoserver.rest.ResourceNotFoundException;
@@ -39,6 +40,7 @@
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.filter.Filter;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.util.logging.Logging;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -86,7 +88,11 @@ public FeatureTypeController(@Qualifier("catalog") Catalog catalog) {
     public Object featureTypesGet(
             @PathVariable String workspaceName,
             @PathVariable(required = false) String storeName,
-            @RequestParam(defaultValue = "configured") String list) {
+            @RequestParam(defaultValue = "configured") String list,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String sortBy) {
 
         if ("available".equalsIgnoreCase(list)
                 || "available_with_geom".equalsIgnoreCase(list)
@@ -132,17 +138,15 @@ public Object featureTypesGet(
 
             return new StringsList(featureTypes, "featureTypeName");
         } else {
-            List<FeatureTypeInfo> fts;
-
+            Filter fts;
             if (storeName != null) {
                 DataStoreInfo dataStore = catalog.getDataStoreByName(workspaceName, storeName);
-                fts = catalog.getFeatureTypesByDataStore(dataStore);
+                fts = dataStore == null ? Filter.EXCLUDE : Predicates.equal("store.id", dataStore.getId());
             } else {
-                NamespaceInfo ns = catalog.getNamespaceByPrefix(workspaceName);
-                fts = catalog.getFeatureTypesByNamespace(ns);
+                fts = Predicates.equal("namespace.prefix", workspaceName);
             }
 
-            return wrapList(fts, FeatureTypeInfo.class);
+            return wrapCatalogList(FeatureTypeInfo.class, fts, offset, limit, filter, sortBy);
         }
     }
 
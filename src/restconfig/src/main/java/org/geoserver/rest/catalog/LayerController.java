@@ -8,8 +8,6 @@
 import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
 import java.io.IOException;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.logging.Logger;
 import org.geoserver.catalog.CascadeDeleteVisitor;
@@ -19,6 +17,7 @@
 import org.geoserver.catalog.CoverageInfo;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WMSLayerInfo;
@@ -27,6 +26,7 @@
 import org.geoserver.rest.RestBaseController;
 import org.geoserver.rest.converters.XStreamMessageConverter;
 import org.geoserver.rest.wrapper.RestWrapper;
+import org.geotools.api.filter.Filter;
 import org.geotools.util.logging.Logging;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
@@ -60,24 +60,27 @@ public LayerController(@Qualifier("catalog") Catalog catalog) {
     }
 
     /**
-     * All layers as JSON, XML or HTML.
+     * All layers as JSON, XML or HTML, optionally filtered, sorted and paged.
      *
+     * @param offset The index of the first layer to return
+     * @param limit The maximum number of layers to return
+     * @param filter An ECQL filter against the layer properties
+     * @param sortBy The property to sort on, optionally followed by ASC or DESC
      * @return All layers
      */
     @GetMapping(
             produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_HTML_VALUE})
-    public RestWrapper<LayerInfo> layersGet(@PathVariable(required = false) String workspaceName) {
-
-        List<LayerInfo> layers;
-        if (workspaceName == null) {
-            layers = catalog.getLayers();
-        } else {
-            layers = new ArrayList<>();
-            for (ResourceInfo resourceInfo : catalog.getResourcesByNamespace(workspaceName, ResourceInfo.class)) {
-                layers.addAll(catalog.getLayers(resourceInfo));
-            }
-        }
-        return wrapList(layers, LayerInfo.class);
+    public RestWrapper<LayerInfo> layersGet(
+            @PathVariable(required = false) String workspaceName,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String sortBy) {
+
+        Filter layers = workspaceName == null
+                ? Predicates.acceptAll()
+                : Predicates.equal("resource.namespace.prefix", workspaceName);
+        return wrapCatalogList(LayerInfo.class, layers, offset, limit, filter, sortBy);
     }
 
     /**
@@ -24,8 +24,8 @@
 import org.geoserver.catalog.CascadeDeleteVisitor;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.CatalogBuilder;
-import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourcePool;
 import org.geoserver.catalog.SLDHandler;
 import org.geoserver.catalog.SLDNamedLayerValidator;
@@ -41,6 +41,7 @@
 import org.geoserver.rest.util.IOUtils;
 import org.geoserver.rest.util.MediaTypeExtensions;
 import org.geoserver.rest.wrapper.RestWrapper;
+import org.geotools.api.filter.Filter;
 import org.geotools.api.style.Style;
 import org.geotools.api.style.StyledLayerDescriptor;
 import org.geotools.factory.CommonFactoryFinder;
@@ -93,7 +94,12 @@ public StyleController(@Qualifier("catalog") Catalog catalog) {
 
     @GetMapping(value = {"/styles", "/layers/{layerName}/styles", "/workspaces/{workspaceName}/styles"})
     public RestWrapper<?> stylesGet(
-            @PathVariable(required = false) String layerName, @PathVariable(required = false) String workspaceName) {
+            @PathVariable(required = false) String layerName,
+            @PathVariable(required = false) String workspaceName,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String sortBy) {
 
         if (workspaceName != null && catalog.getWorkspaceByName(workspaceName) == null) {
             throw new ResourceNotFoundException("Workspace " + workspaceName + " not found");
@@ -101,11 +107,11 @@ public RestWrapper<?> stylesGet(
 
         if (layerName != null) {
             return wrapList(catalog.getLayerByName(layerName).getStyles(), StyleInfo.class);
-        } else if (workspaceName != null) {
-            return wrapList(catalog.getStylesByWorkspace(workspaceName), StyleInfo.class);
         }
-        List<StyleInfo> styles = catalog.getStylesByWorkspace(CatalogFacade.NO_WORKSPACE);
-        return wrapList(styles, StyleInfo.class);
+        Filter styles = workspaceName != null
+                ? Predicates.equal("workspace.name", workspaceName)
+                : Predicates.isNull("workspace.id");
+        return wrapCatalogList(StyleInfo.class, styles, offset, limit, filter, sortBy);
     }
 
     @PostMapping(
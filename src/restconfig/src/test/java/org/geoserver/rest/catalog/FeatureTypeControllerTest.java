@@ -41,7 +41,9 @@
 import org.geoserver.catalog.DataStoreInfo;
 import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.data.test.CiteTestData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.rest.RestBaseController;
@@ -164,6 +166,43 @@ public void testGetAllByWorkspace() throws Exception {
                 dom.getElementsByTagName("featureType").getLength());
     }
 
+    @Test
+    public void testGetAllByWorkspacePagedAndSorted() throws Exception {
+        Document dom = getAsDOM(BASEPATH + "/workspaces/cite/featuretypes.xml?offset=2&limit=3&sortBy=name%20DESC");
+        assertXpathEvaluatesTo("3", "count(//featureType)", dom);
+        List<String> expected = new ArrayList<>();
+        try (CloseableIterator<FeatureTypeInfo> it = catalog.list(
+                FeatureTypeInfo.class,
+                Predicates.equal("namespace.prefix", "cite"),
+                2,
+                3,
+                Predicates.sortBy("name", false))) {
+            it.forEachRemaining(ft -> expected.add(ft.getName()));
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertXpathEvaluatesTo(expected.get(i), "//featureType[" + (i + 1) + "]/name", dom);
+        }
+    }
+
+    @Test
+    public void testGetAllByDataStoreFiltered() throws Exception {
+        addPropertyDataStore(true);
+        addGeomlessPropertyDataStore(true);
+
+        Document dom = getAsDOM(BASEPATH + "/workspaces/gs/datastores/pds/featuretypes.xml?filter=name%20%3D%20'pdsb'");
+        assertXpathEvaluatesTo("1", "count(//featureType)", dom);
+        assertXpathEvaluatesTo("pdsb", "//featureType/name", dom);
+
+        dom = getAsDOM(BASEPATH + "/workspaces/gs/datastores/pds/featuretypes.xml?sortBy=name&offset=1");
+        assertXpathEvaluatesTo("1", "count(//featureType)", dom);
+        assertXpathEvaluatesTo("pdsb", "//featureType/name", dom);
+
+        assertEquals(
+                400,
+                getAsServletResponse(BASEPATH + "/workspaces/gs/featuretypes.xml?filter=not%20a%20filter")
+                        .getStatus());
+    }
+
     @Test // GEOS-9190
     public void testCreateFeatureTypeSameStoreNameDifferentWorkspace() throws Exception {
         final boolean configureFeatureType = false;
@@ -23,12 +23,16 @@
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import org.geoserver.catalog.Catalog;
 import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StyleInfo;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.config.CatalogModificationUserUpdater;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.data.test.SystemTestData;
@@ -158,6 +162,42 @@ public void testGetAllAsHTML() throws Exception {
         getAsDOM(ROOT_PATH + "/layers.html", 200);
     }
 
+    @Test
+    public void testGetPagedAndSorted() throws Exception {
+        Document dom = getAsDOM(ROOT_PATH + "/layers.xml?offset=2&limit=3&sortBy=name%20DESC", 200);
+        assertXpathEvaluatesTo("3", "count(//layer)", dom);
+        List<String> expected = new ArrayList<>();
+        try (CloseableIterator<LayerInfo> it =
+                catalog.list(LayerInfo.class, Predicates.acceptAll(), 2, 3, Predicates.sortBy("name", false))) {
+            it.forEachRemaining(l -> expected.add(l.prefixedName()));
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            assertXpathEvaluatesTo(expected.get(i), "//layer[" + (i + 1) + "]/name", dom);
+        }
+
+        // single element pages keep the array encoding in JSON
+        JSONObject json = (JSONObject) getAsJSON(ROOT_PATH + "/layers.json?limit=1&sortBy=name");
+        assertEquals(1, json.getJSONObject("layers").getJSONArray("layer").size());
+    }
+
+    @Test
+    public void testGetFiltered() throws Exception {
+        Document dom = getAsDOM(ROOT_PATH + "/layers.xml?filter=resource.store.name%20%3D%20'cite'", 200);
+        int count = catalog.count(LayerInfo.class, Predicates.equal("resource.store.name", "cite"));
+        assertTrue(count > 0);
+        assertXpathEvaluatesTo(count + "", "count(//layer)", dom);
+
+        dom = getAsDOM(ROOT_PATH + "/workspaces/cite/layers.xml?filter=enabled%20%3D%20false", 200);
+        assertXpathEvaluatesTo("0", "count(//layer)", dom);
+    }
+
+    @Test
+    public void testGetInvalidListing() throws Exception {
+        assertEquals(400, getAsServletResponse(ROOT_PATH + "/layers.xml?offset=-1").getStatus());
+        assertEquals(400, getAsServletResponse(ROOT_PATH + "/layers.xml?filter=not%20a%20filter").getStatus());
+        assertEquals(400, getAsServletResponse(ROOT_PATH + "/layers.xml?sortBy=name%20UP").getStatus());
+    }
+
     @Test
     public void testPut() throws Exception {
         LayerInfo l = catalog.getLayerByName("cite:Buildings");
@@ -24,6 +24,7 @@
 import java.io.StringWriter;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
@@ -35,10 +36,12 @@
 import org.geoserver.catalog.CatalogFacade;
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.MetadataMap;
+import org.geoserver.catalog.Predicates;
 import org.geoserver.catalog.PropertyStyleHandler;
 import org.geoserver.catalog.SLDHandler;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.Styles;
+import org.geoserver.catalog.util.CloseableIterator;
 import org.geoserver.config.CatalogModificationUserUpdater;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.data.test.SystemTestData;
@@ -71,6 +74,7 @@ public class StyleControllerTest extends CatalogRESTTestSupport {
     @Before
     public void removeStyles() throws IOException {
         removeStyle("gs", "foo");
+        removeStyle("gs", "bar");
         removeStyle(null, "foo");
         removeStyle(getCatalog().getDefaultWorkspace().getName(), "foo");
     }
@@ -142,6 +146,50 @@ public void testGetAllFromWorkspace() throws Exception {
         assertXpathExists("//style/name[text() = 'foo']", dom);
     }
 
+    @Test
+    public void testGetPagedAndSorted() throws Exception {
+        Document dom = getAsDOM(RestBaseController.ROOT_PATH + "/styles.xml?offset=1&limit=2&sortBy=name%20DESC");
+        assertXpathEvaluatesTo("2", "count(//style)", dom);
+        List<String> expected = new ArrayList<>();
+        try (CloseableIterator<StyleInfo> it = catalog.list(
+                StyleInfo.class, Predicates.isNull("workspace.id"), 1, 2, Predicates.sortBy("name", false))) {
+            it.forEachRemaining(s -> expected.add(s.getName()));
+        }
+        assertEquals(2, expected.size());
+        assertXpathEvaluatesTo(expected.get(0), "//style[1]/name", dom);
+        assertXpathEvaluatesTo(expected.get(1), "//style[2]/name", dom);
+    }
+
+    @Test
+    public void testGetFilteredFromWorkspace() throws Exception {
+        addStyleToWorkspace("foo");
+        addStyleToWorkspace("bar");
+
+        Document dom = getAsDOM(RestBaseController.ROOT_PATH + "/workspaces/gs/styles.xml?filter=name%20%3D%20'foo'");
+        assertXpathEvaluatesTo("1", "count(//style)", dom);
+        assertXpathExists("//style/name[text() = 'foo']", dom);
+
+        dom = getAsDOM(RestBaseController.ROOT_PATH + "/workspaces/gs/styles.xml?sortBy=name&limit=1");
+        assertXpathEvaluatesTo("1", "count(//style)", dom);
+        assertXpathExists("//style/name[text() = 'bar']", dom);
+
+        // global styles are not mixed with the workspace ones
+        dom = getAsDOM(RestBaseController.ROOT_PATH + "/styles.xml?filter=name%20%3D%20'foo'");
+        assertXpathEvaluatesTo("0", "count(//style)", dom);
+    }
+
+    @Test
+    public void testGetInvalidListing() throws Exception {
+        assertEquals(
+                400,
+                getAsServletResponse(RestBaseController.ROOT_PATH + "/styles.xml?limit=-1")
+                        .getStatus());
+        assertEquals(
+                400,
+                getAsServletResponse(RestBaseController.ROOT_PATH + "/styles.xml?sortBy=name%20UP")
+                        .getStatus());
+    }
+
     void addStyleToWorkspace(String name) {
         Catalog cat = getCatalog();
         StyleInfo s = cat.getFactory().createStyle();
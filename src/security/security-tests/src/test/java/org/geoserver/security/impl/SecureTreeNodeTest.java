@@ -6,14 +6,20 @@
 package org.geoserver.security.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 import org.geoserver.security.AccessMode;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
 
 public class SecureTreeNodeTest {
 
@@ -45,4 +51,61 @@ public void testEmptyRoot() {
         assertTrue(root.canAccess(null, AccessMode.WRITE));
         assertTrue(root.canAccess(null, AccessMode.READ));
     }
+
+    @Test
+    public void testCompiled() {
+        SecureTreeNode root = new SecureTreeNode();
+        SecureTreeNode ws = root.addChild("ws");
+        ws.setAuthorizedRoles(AccessMode.READ, Set.of("ROLE_A"));
+        SecureTreeNode layer = ws.addChild("layer");
+        layer.setAuthorizedRoles(AccessMode.READ, Set.of("ROLE_B", "ROLE_C"));
+        SecureTreeNode other = ws.addChild("other");
+        other.setAuthorizedRoles(AccessMode.WRITE, Set.of());
+        SecureTreeNode open = root.addChild("open");
+
+        List<Authentication> users = List.of(
+                anonymous,
+                new TestingAuthenticationToken("a", null, "ROLE_A"),
+                new TestingAuthenticationToken("b", null, "ROLE_B", "ROLE_X"),
+                new TestingAuthenticationToken("admin", null, SecureTreeNode.ROOT_ROLE));
+        List<SecureTreeNode> nodes = List.of(root, ws, layer, other, open);
+
+        // collect the answers of the uncompiled tree, then compare with the compiled one
+        List<Boolean> expected = new ArrayList<>();
+        List<Boolean> expectedAny = new ArrayList<>();
+        for (Authentication user : users) {
+            for (SecureTreeNode node : nodes) {
+                for (AccessMode mode : AccessMode.values()) {
+                    expected.add(node.canAccess(user, mode));
+                    expectedAny.add(node.canAccessAny(user, mode));
+                }
+            }
+        }
+        root.compile();
+        assertNotNull(layer.compiledRoles);
+        List<Boolean> actual = new ArrayList<>();
+        List<Boolean> actualAny = new ArrayList<>();
+        for (Authentication user : users) {
+            for (SecureTreeNode node : nodes) {
+                for (AccessMode mode : AccessMode.values()) {
+                    actual.add(node.canAccess(user, mode));
+                    actualAny.add(node.canAccessAny(user, mode));
+                }
+            }
+        }
+        assertEquals(expected, actual);
+        assertEquals(expectedAny, actualAny);
+
+        // spot checks
+        assertTrue(ws.canAccessAny(users.get(2), AccessMode.READ));
+        assertFalse(ws.canAccess(users.get(2), AccessMode.READ));
+        assertFalse(other.canAccess(users.get(1), AccessMode.WRITE));
+        assertTrue(other.canAccess(users.get(3), AccessMode.WRITE));
+
+        // modifications drop the compiled state
+        open.setAuthorizedRoles(AccessMode.READ, Set.of("ROLE_A"));
+        assertNull(root.compiledRoles);
+        assertNull(layer.compiledRoles);
+        assertFalse(open.canAccess(users.get(2), AccessMode.READ));
+    }
 }
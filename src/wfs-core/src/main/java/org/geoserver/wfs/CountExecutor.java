@@ -6,6 +6,7 @@
 package org.geoserver.wfs;
 
 import java.io.IOException;
+import org.geoserver.catalog.FeatureTypeInfo;
 import org.geotools.api.data.FeatureSource;
 import org.geotools.api.data.Query;
 
@@ -25,11 +26,25 @@ class CountExecutor {
 
     int providedCount = COUNT_UNSET;
 
+    FeatureCountCache cache;
+
+    FeatureCountCache.CountKey key;
+
     public CountExecutor(FeatureSource source, Query query) {
         this.source = source;
         this.query = query;
     }
 
+    /** Builds an executor looking up the count in the given cache first, when enabled */
+    public CountExecutor(FeatureSource source, Query query, FeatureTypeInfo meta, FeatureCountCache cache) {
+        this(source, query);
+        if (cache != null && cache.isEnabled()) {
+            // the key depends on the current user, compute it while still in the request thread
+            this.cache = cache;
+            this.key = FeatureCountCache.getKey(meta, query);
+        }
+    }
+
     public CountExecutor(int providedCount) {
         this.providedCount = providedCount;
     }
@@ -37,6 +52,8 @@ public CountExecutor(int providedCount) {
     public int getCount() throws IOException {
         if (isCountSet()) {
             return providedCount;
+        } else if (key != null) {
+            return cache.getCount(key, source, query);
         } else {
             // make sure we get a count by getting a feature colleciton
             // FeatureSource.getCount(...) can return -1
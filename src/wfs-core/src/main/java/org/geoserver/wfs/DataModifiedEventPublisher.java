@@ -19,7 +19,7 @@ public class DataModifiedEventPublisher implements TransactionListener, Applicat
 
     @Override
     public void dataStoreChange(TransactionEvent event) throws WFSException {
-        DataModifiedEvent springEvent = new DataModifiedEvent(this);
+        DataModifiedEvent springEvent = new DataModifiedEvent(this, event.getLayerName());
         applicationContext.publishEvent(springEvent);
     }
 
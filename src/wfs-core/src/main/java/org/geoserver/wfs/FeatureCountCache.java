@@ -0,0 +1,439 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.wfs.request.TransactionRequest;
+import org.geoserver.wfs.request.TransactionResponse;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.MultiValuedFilter.MatchAction;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsNotEqualTo;
+import org.geotools.filter.text.ecql.ECQL;
+import org.geotools.filter.visitor.DefaultFilterVisitor;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the feature counts computed for the WFS 2.0 numberMatched attribute, so that paging through a result set does
+ * not run a full count on the store for each page.
+ *
+ * <p>Counts are keyed by {@link CountKey}, that is, by feature type, normalized filter, view parameters, feature
+ * version and user, since the secured feature sources return different counts to different users. The cache is
+ * bounded in number of entries, with least recently used eviction, and the counts can be given a time to live, which
+ * also bounds the staleness caused by modifications GeoServer is not notified about (e.g., direct database updates,
+ * data security rule changes).
+ *
+ * <p>Transactions and other data modifications evict the counts of the modified layer, the counts of the layers
+ * modified by a transaction are evicted again once it ends, so that counts run concurrently with the transaction are
+ * not kept. Catalog changes wipe the whole cache. Statistics are exposed via JMX as {@link #OBJECT_NAME}.
+ *
+ * <p>The cache is disabled by default, it can be enabled using the {@link #ENABLED_KEY} system property.
+ */
+public class FeatureCountCache
+        implements TransactionCallback,
+                ApplicationListener<DataModifiedEvent>,
+                CatalogListener,
+                GeoServerLifecycleHandler,
+                FeatureCountCacheMXBean {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureCountCache.class);
+
+    /** System property enabling the count cache */
+    public static final String ENABLED_KEY = "org.geoserver.wfs.countCache";
+
+    /** System property setting the maximum number of cached counts */
+    public static final String MAX_ENTRIES_KEY = "org.geoserver.wfs.countCache.maxEntries";
+
+    /** System property setting the time to live of the cached counts, in seconds, 0 or less to never expire them */
+    public static final String TTL_KEY = "org.geoserver.wfs.countCache.ttl";
+
+    /** The JMX name the statistics are published under */
+    public static final String OBJECT_NAME = "org.geoserver:type=FeatureCountCache";
+
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    static final long DEFAULT_TTL = 0;
+
+    private final boolean enabled;
+
+    private final int maxEntries;
+
+    private final long ttl;
+
+    private final Cache<CountKey, Integer> counts;
+
+    /** Incremented on each eviction, allows to spot counts computed while the data was being modified */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The layers modified by the transaction running in the current thread */
+    private final ThreadLocal<Set<QName>> modifiedLayers = new ThreadLocal<>();
+
+    public FeatureCountCache(Catalog catalog) {
+        this(
+                Boolean.getBoolean(ENABLED_KEY),
+                Integer.getInteger(MAX_ENTRIES_KEY, DEFAULT_MAX_ENTRIES),
+                Long.getLong(TTL_KEY, DEFAULT_TTL),
+                Ticker.systemTicker());
+        if (enabled) {
+            catalog.addListener(this);
+            registerMBean();
+        }
+    }
+
+    /**
+     * @param enabled whether the count cache is enabled
+     * @param maxEntries the maximum number of cached counts
+     * @param ttl the time to live of the cached counts, in seconds, 0 or less to never expire them
+     * @param ticker the time source used to expire the counts
+     */
+    FeatureCountCache(boolean enabled, int maxEntries, long ttl, Ticker ticker) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = Math.max(0, ttl);
+        CacheBuilder<Object, Object> builder =
+                CacheBuilder.newBuilder().maximumSize(maxEntries).ticker(ticker).recordStats();
+        if (this.ttl > 0) {
+            builder.expireAfterWrite(this.ttl, TimeUnit.SECONDS);
+        }
+        this.counts = builder.build();
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            // the last application context started wins (there might be more in tests)
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not register the feature count cache statistics in JMX", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not unregister the feature count cache statistics from JMX", e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the key identifying the count of the given query, run against the feature type by the current user, or
+     * null if the count cannot be cached (joins, filters the key cannot represent)
+     */
+    public static CountKey getKey(FeatureTypeInfo meta, Query query) {
+        if (query.getJoins() != null && !query.getJoins().isEmpty()) {
+            // the count depends on the joined types too, which are not tracked for modifications
+            return null;
+        }
+        Filter filter = SimplifyingFilterVisitor.simplify(query.getFilter());
+        String cql;
+        try {
+            if (!representable(filter)) {
+                return null;
+            }
+            cql = ECQL.toCQL(filter);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Cannot encode the count filter, will not be cached", e);
+            return null;
+        }
+
+        Object viewParams = query.getHints() != null ? query.getHints().get(Hints.VIRTUAL_TABLE_PARAMETERS) : null;
+        Authentication user = SecurityContextHolder.getContext().getAuthentication();
+        Set<String> authorities = new TreeSet<>();
+        if (user != null && user.getAuthorities() != null) {
+            for (GrantedAuthority authority : user.getAuthorities()) {
+                authorities.add(authority.getAuthority());
+            }
+        }
+        StringBuilder sb = new StringBuilder(cql)
+                .append("|viewParams=")
+                .append(viewParams instanceof Map<?, ?> map ? new TreeMap<>(map) : viewParams)
+                .append("|version=")
+                .append(query.getVersion())
+                .append("|user=")
+                .append(user != null ? user.getName() : null)
+                .append("|authorities=")
+                .append(authorities);
+        QName typeName = new QName(meta.getNamespace().getURI(), meta.getName());
+        return new CountKey(typeName, sb.toString());
+    }
+
+    /**
+     * Checks the filter does not use case insensitive comparisons or match actions, which the CQL encoding does not
+     * preserve
+     */
+    private static boolean representable(Filter filter) {
+        boolean[] result = {true};
+        filter.accept(
+                new DefaultFilterVisitor() {
+                    private Object check(BinaryComparisonOperator filter, Object data) {
+                        if (!filter.isMatchingCase() || filter.getMatchAction() != MatchAction.ANY) {
+                            result[0] = false;
+                        }
+                        return data;
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsEqualTo filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsNotEqualTo filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsGreaterThan filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsGreaterThanOrEqualTo filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsLessThan filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+
+                    @Override
+                    public Object visit(PropertyIsLessThanOrEqualTo filter, Object data) {
+                        return check(filter, super.visit(filter, data));
+                    }
+                },
+                null);
+        return result[0];
+    }
+
+    /**
+     * Returns the number of features matched by the query, from the cache if available, running the count and caching
+     * it otherwise
+     */
+    public int getCount(CountKey key, FeatureSource<?, ?> source, Query query) throws IOException {
+        if (!enabled || key == null) {
+            return source.getFeatures(query).size();
+        }
+        Integer cached = counts.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long start = generation.get();
+        // make sure we get a count by getting a feature collection, FeatureSource.getCount(...) can return -1
+        int count = source.getFeatures(query).size();
+        if (count >= 0) {
+            counts.put(key, count);
+            // the data was modified while counting, the count might be stale already
+            if (generation.get() != start) {
+                counts.invalidate(key);
+            }
+        }
+        return count;
+    }
+
+    /** Evicts the counts of the given layer, or all of them if the name is null */
+    public void invalidate(QName layerName) {
+        generation.incrementAndGet();
+        if (layerName == null) {
+            counts.invalidateAll();
+        } else {
+            counts.asMap().keySet().removeIf(key -> countsLayer(key, layerName));
+        }
+    }
+
+    private boolean countsLayer(CountKey key, QName name) {
+        QName layer = key.typeName();
+        // clients might not qualify the type names in a transaction
+        return layer.getLocalPart().equals(name.getLocalPart())
+                && (name.getNamespaceURI().isEmpty() || layer.getNamespaceURI().equals(name.getNamespaceURI()));
+    }
+
+    @Override
+    public long getHitCount() {
+        return counts.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return counts.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return counts.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return counts.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return counts.size();
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    @Override
+    public long getTimeToLive() {
+        return ttl;
+    }
+
+    @Override
+    public void clear() {
+        invalidate(null);
+    }
+
+    @Override
+    public TransactionRequest beforeTransaction(TransactionRequest request) throws WFSException {
+        modifiedLayers.remove();
+        return request;
+    }
+
+    @Override
+    public void beforeCommit(TransactionRequest request) throws WFSException {
+        // nothing to do
+    }
+
+    @Override
+    public void dataStoreChange(TransactionEvent event) throws WFSException {
+        if (!enabled) {
+            return;
+        }
+        QName layerName = event.getLayerName();
+        invalidate(layerName);
+        Set<QName> layers = modifiedLayers.get();
+        if (layers == null) {
+            layers = new HashSet<>();
+            modifiedLayers.set(layers);
+        }
+        layers.add(layerName);
+    }
+
+    @Override
+    public void afterTransaction(TransactionRequest request, TransactionResponse result, boolean committed) {
+        Set<QName> layers = modifiedLayers.get();
+        modifiedLayers.remove();
+        if (layers != null) {
+            // counts run before the commit might have been cached in the meantime
+            layers.forEach(this::invalidate);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(DataModifiedEvent event) {
+        if (enabled) {
+            invalidate(event.getLayerName());
+        }
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) throws CatalogException {
+        // nothing counted yet
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        clear();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) throws CatalogException {
+        // wait for the post modify
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        // feature type filters and store connections might have been changed
+        clear();
+    }
+
+    @Override
+    public void reloaded() {
+        clear();
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onDispose() {
+        clear();
+        if (enabled) {
+            unregisterMBean();
+        }
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        clear();
+    }
+
+    /** Identifies a cached count, by feature type and query definition */
+    public record CountKey(QName typeName, String definition) {}
+}
@@ -0,0 +1,33 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+/** JMX management interface of the {@link FeatureCountCache}, exposing its statistics */
+public interface FeatureCountCacheMXBean {
+
+    /** Number of numberMatched computations answered by a cached count */
+    long getHitCount();
+
+    /** Number of numberMatched computations that required a count on the store */
+    long getMissCount();
+
+    /** Ratio of hits over all count lookups, 1 if no lookup was made yet */
+    double getHitRate();
+
+    /** Number of counts evicted to respect the size bound, or because they expired */
+    long getEvictionCount();
+
+    /** Number of counts currently in the cache */
+    long getSize();
+
+    /** Maximum number of cached counts */
+    int getMaxEntries();
+
+    /** Time to live of the cached counts, in seconds, 0 if they do not expire */
+    long getTimeToLive();
+
+    /** Removes all counts from the cache */
+    void clear();
+}
@@ -330,6 +330,12 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
 
         List<FeatureCollection<? extends FeatureType, ? extends Feature>> results = new ArrayList<>();
         final List<CountExecutor> totalCountExecutors = new ArrayList<>();
+        // keyset paging state, the query and start position of the page, and the cursor to the next one
+        KeysetPaging keyset = null;
+        org.geotools.api.data.Query keysetQuery = null;
+        FeatureSource<? extends FeatureType, ? extends Feature> keysetSource = null;
+        int keysetStart = 0;
+        String nextCursor = null;
         try {
             for (int i = 0; (i < queries.size()) && ((i == 0) || (count < maxFeatures)); i++) {
 
@@ -475,6 +481,19 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                             primaryTypeName,
                             primaryAlias);
 
+                    // seek pages by key rather than by offset, if possible
+                    if (queries.size() == 1
+                            && joins == null
+                            && offset > -1
+                            && maxFeatures < Integer.MAX_VALUE
+                            && !request.isResultTypeHits()
+                            && KeysetPaging.isEnabled()) {
+                        keyset = KeysetPaging.create(source, gtQuery.getSortBy());
+                        if (keyset != null) {
+                            keysetStart = applyKeyset(request, keyset, gtQuery, offset);
+                        }
+                    }
+
                     if (LOGGER.isLoggable(Level.FINE)) {
                         LOGGER.fine("Query is " + query + "\n To gt2: " + gtQuery);
                     }
@@ -494,6 +513,10 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
 
                     FeatureCollection<? extends FeatureType, ? extends Feature> features =
                             getFeatures(request, source, gtQuery);
+                    if (keyset != null) {
+                        keysetSource = source;
+                        keysetQuery = gtQuery;
+                    }
 
                     // For complex features, we need the targetCrs and version in scenario where we
                     // have
@@ -546,7 +569,11 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
                                     joins,
                                     primaryTypeName,
                                     primaryAlias);
-                            totalCountExecutors.add(new CountExecutor(source, qTotal));
+                            totalCountExecutors.add(new CountExecutor(
+                                    source,
+                                    qTotal,
+                                    primaryMeta,
+                                    GeoServerExtensions.bean(FeatureCountCache.class)));
                         }
                     }
 
@@ -610,11 +637,40 @@ public FeatureCollectionResponse run(GetFeatureRequest request) throws WFSExcept
 
             totalCount = updateTotalCount(
                     maxFeatures, isNumberMatchedSkipped, count, totalOffset, calculateSize, totalCountExecutors);
+
+            // the next page link needs the key of the last feature of this page, which is read with an extra
+            // one feature query, as the links are encoded before the page features are streamed
+            if (keysetQuery != null && count > 0 && maxFeatures <= count) {
+                nextCursor = keyset.nextCursor(keysetSource, keysetQuery, keysetStart + count - 1);
+            }
         } catch (IOException | SchemaException e) {
             throw new WFSException(request, "Error occurred getting features", e, request.getHandle());
         }
 
-        return buildResults(request, totalOffset, maxFeatures, count, totalCount, results, lockId, getFeatureById);
+        return buildResults(
+                request, totalOffset, maxFeatures, count, totalCount, results, lockId, getFeatureById, nextCursor);
+    }
+
+    /**
+     * Sorts the query by the paging key and, if the request carries a cursor, selects the features following it
+     * instead of skipping to the offset. Returns the start index of the query.
+     */
+    private int applyKeyset(
+            GetFeatureRequest request, KeysetPaging keyset, org.geotools.api.data.Query gtQuery, int offset) {
+        gtQuery.setSortBy(keyset.getSortBy());
+        Request dispatched = Dispatcher.REQUEST.get();
+        Map<String, Object> rawKvp = dispatched != null ? dispatched.getRawKvp() : null;
+        Object cursor = rawKvp != null ? rawKvp.get(KeysetPaging.CURSOR) : null;
+        if (!(cursor instanceof String token) || token.isEmpty()) {
+            return offset;
+        }
+        try {
+            keyset.seek(gtQuery, token);
+        } catch (IllegalArgumentException e) {
+            throw new WFSException(request, e.getMessage(), e, ServiceException.INVALID_PARAMETER_VALUE)
+                    .locator(KeysetPaging.CURSOR);
+        }
+        return 0;
     }
 
     private void validateJoin(GetFeatureRequest request, Query query, Filter filter, Join join, FeatureTypeInfo meta)
@@ -963,7 +1019,8 @@ protected FeatureCollectionResponse buildResults(
             Supplier<BigInteger> total,
             List<FeatureCollection<? extends FeatureType, ? extends Feature>> results,
             String lockId,
-            boolean getFeatureById) {
+            boolean getFeatureById,
+            String nextCursor) {
 
         FeatureCollectionResponse result = request.createResponse();
         result.setNumberOfFeatures(BigInteger.valueOf(count));
@@ -972,6 +1029,7 @@ protected FeatureCollectionResponse buildResults(
         result.setLockId(lockId);
         result.getFeature().addAll(results);
         result.setGetFeatureById(getFeatureById);
+        result.setNextCursor(nextCursor);
 
         if (offset > 0 || count < Integer.MAX_VALUE) {
             // paged request, set the values of previous and next
@@ -1017,6 +1075,9 @@ protected void buildPrevNextLinks(
             int count,
             FeatureCollectionResponse result,
             Map<String, String> kvp) {
+        // the cursor of this page is not valid for the others
+        kvp.keySet().removeIf(KeysetPaging.CURSOR::equalsIgnoreCase);
+
         // WFS 2.0 specific, must have a next and should point to the first result
         if (request.isResultTypeHits()
                 && (request.getVersion() == null || request.getVersion().startsWith("2"))) {
@@ -1048,6 +1109,9 @@ protected void buildPrevNextLinks(
         } else if (count > 0 && offset > -1 && maxFeatures <= count) {
             kvp.put("startIndex", String.valueOf(offset > 0 ? offset + count : count));
             kvp.put("count", String.valueOf(maxFeatures));
+            if (result.getNextCursor() != null) {
+                kvp.put(KeysetPaging.CURSOR, result.getNextCursor());
+            }
             result.setNext(buildURL(request.getBaseUrl(), "wfs", kvp, URLType.SERVICE));
         }
     }
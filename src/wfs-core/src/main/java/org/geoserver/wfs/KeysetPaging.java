@@ -0,0 +1,302 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.math.BigDecimal;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.QueryCapabilities;
+import org.geotools.api.feature.Feature;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.util.Converters;
+
+/**
+ * Keyset (seek) paging support for GetFeature. Rather than skipping the features of the previous pages, which makes
+ * the store read and discard them again on every page, the next page links carry an opaque {@link #CURSOR} holding
+ * the sort key of the last feature returned, and the next page is selected with a "greater than" filter on it.
+ *
+ * <p>The sort key is made of the client sort attributes, followed by the primary key attributes as the tie breaker.
+ * Keyset paging is used only when the sort is stable and can be expressed as a filter, that is, when the store exposes
+ * its primary key columns, supports sorting on the key, and the client sort attributes are not nillable. In all the
+ * other cases the usual offset paging is used. The links keep the start index too, so that clients can still move
+ * backwards, and the paging falls back on it when the cursor cannot be used.
+ *
+ * <p>The next link is part of the response header, written before the features are streamed, so the key of the last
+ * feature of the page cannot be taken from the response itself. Every full page hence costs one extra query, reading a
+ * single feature with the page offset plus its size minus one, see {@link #nextCursor(FeatureSource, Query, int)}.
+ * When the page was selected by cursor that offset is at most a page worth of rows, but the store still evaluates the
+ * filter and sort a second time.
+ *
+ * <p>Disabled by default, it can be enabled using the {@link #ENABLED_KEY} system property.
+ */
+public class KeysetPaging {
+
+    /** System property enabling keyset paging */
+    public static final String ENABLED_KEY = "org.geoserver.wfs.keysetPaging";
+
+    /** The request parameter carrying the continuation token */
+    public static final String CURSOR = "cursor";
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    private static final byte VERSION = 1;
+
+    private final String typeName;
+
+    private final SortBy[] sortBy;
+
+    private final Class<?>[] bindings;
+
+    private KeysetPaging(String typeName, SortBy[] sortBy, Class<?>[] bindings) {
+        this.typeName = typeName;
+        this.sortBy = sortBy;
+        this.bindings = bindings;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_KEY);
+    }
+
+    /**
+     * Returns the keyset paging for the given source and client sort, or null if the features cannot be reliably
+     * paged by key
+     */
+    public static KeysetPaging create(FeatureSource<?, ?> source, SortBy[] clientSort) {
+        if (!(source.getSchema() instanceof SimpleFeatureType schema)) {
+            return null;
+        }
+        List<SortBy> keys = new ArrayList<>();
+        List<Class<?>> bindings = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        if (clientSort != null) {
+            for (SortBy sort : clientSort) {
+                if (sort == SortBy.NATURAL_ORDER || sort == SortBy.REVERSE_ORDER || sort.getPropertyName() == null) {
+                    return null;
+                }
+                // the comparisons would skip the features with null values
+                if (!(sort.getPropertyName().evaluate(schema) instanceof AttributeDescriptor ad)
+                        || ad.isNillable()
+                        || !isSupported(ad.getType().getBinding())) {
+                    return null;
+                }
+                if (names.add(ad.getLocalName())) {
+                    keys.add(FF.sort(ad.getLocalName(), sort.getSortOrder()));
+                    bindings.add(ad.getType().getBinding());
+                }
+            }
+        }
+        boolean primaryKey = false;
+        for (AttributeDescriptor ad : schema.getAttributeDescriptors()) {
+            if (Boolean.TRUE.equals(ad.getUserData().get(JDBCDataStore.JDBC_PRIMARY_KEY_COLUMN))) {
+                if (!isSupported(ad.getType().getBinding())) {
+                    return null;
+                }
+                primaryKey = true;
+                if (names.add(ad.getLocalName())) {
+                    keys.add(FF.sort(ad.getLocalName(), SortOrder.ASCENDING));
+                    bindings.add(ad.getType().getBinding());
+                }
+            }
+        }
+        if (!primaryKey) {
+            return null;
+        }
+        SortBy[] sortBy = keys.toArray(new SortBy[keys.size()]);
+        QueryCapabilities capabilities = source.getQueryCapabilities();
+        if (capabilities == null || !capabilities.supportsSorting(sortBy)) {
+            return null;
+        }
+        return new KeysetPaging(schema.getTypeName(), sortBy, bindings.toArray(new Class<?>[bindings.size()]));
+    }
+
+    private static boolean isSupported(Class<?> binding) {
+        return Number.class.isAssignableFrom(binding)
+                || String.class.equals(binding)
+                || Boolean.class.equals(binding)
+                || Date.class.isAssignableFrom(binding);
+    }
+
+    /** The sort used to page, client sort first, primary key next */
+    public SortBy[] getSortBy() {
+        return sortBy.clone();
+    }
+
+    /**
+     * Makes the query select the features following the ones encoded in the cursor, rather than skipping to its start
+     * index
+     *
+     * @throws IllegalArgumentException if the cursor is invalid, or was not issued for this type and sort
+     */
+    public void seek(Query query, String cursor) {
+        Filter after = after(cursor);
+        Filter filter = query.getFilter();
+        query.setFilter(filter == null || filter == Filter.INCLUDE ? after : FF.and(filter, after));
+        query.setStartIndex(0);
+    }
+
+    /** Returns a filter selecting the features following the ones encoded in the cursor */
+    Filter after(String cursor) {
+        Object[] key = decode(cursor);
+        List<Filter> alternatives = new ArrayList<>();
+        for (int i = 0; i < sortBy.length; i++) {
+            // same values on the previous keys, following value on the current one
+            List<Filter> conditions = new ArrayList<>();
+            for (int j = 0; j < i; j++) {
+                conditions.add(FF.equals(property(j), FF.literal(key[j])));
+            }
+            if (sortBy[i].getSortOrder() == SortOrder.DESCENDING) {
+                conditions.add(FF.less(property(i), FF.literal(key[i])));
+            } else {
+                conditions.add(FF.greater(property(i), FF.literal(key[i])));
+            }
+            alternatives.add(conditions.size() == 1 ? conditions.get(0) : FF.and(conditions));
+        }
+        return alternatives.size() == 1 ? alternatives.get(0) : FF.or(alternatives);
+    }
+
+    private PropertyName property(int i) {
+        return sortBy[i].getPropertyName();
+    }
+
+    /**
+     * Returns the cursor for the page following the one selected by the query, reading the key of the feature at the
+     * given position, or null if no cursor can be built for it. This runs a separate query returning a single feature
+     * with only the key attributes, on top of the one producing the page.
+     */
+    public String nextCursor(FeatureSource<?, ?> source, Query query, int lastIndex) throws IOException {
+        Query probe = new Query(query);
+        probe.setStartIndex(lastIndex);
+        probe.setMaxFeatures(1);
+        probe.setPropertyNames(Stream.of(sortBy)
+                .map(s -> s.getPropertyName().getPropertyName())
+                .toArray(String[]::new));
+        probe.setCoordinateSystemReproject(null);
+        try (FeatureIterator<? extends Feature> features = source.getFeatures(probe).features()) {
+            if (features.hasNext() && features.next() instanceof SimpleFeature last) {
+                return encode(last);
+            }
+        }
+        return null;
+    }
+
+    /** Encodes the sort key of the feature in a cursor, or returns null if any key value is missing */
+    String encode(SimpleFeature feature) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(typeName);
+            out.writeUTF(getSortSpec());
+            out.writeShort(sortBy.length);
+            for (SortBy sort : sortBy) {
+                Object value = feature.getAttribute(sort.getPropertyName().getPropertyName());
+                if (value == null) {
+                    return null;
+                }
+                out.writeUTF(encodeValue(value));
+            }
+        } catch (UTFDataFormatException e) {
+            // key value too long to be encoded
+            return null;
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes the key values in the cursor
+     *
+     * @throws IllegalArgumentException if the cursor is invalid, or was not issued for this type and sort
+     */
+    Object[] decode(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            if (in.readByte() != VERSION
+                    || !typeName.equals(in.readUTF())
+                    || !getSortSpec().equals(in.readUTF())
+                    || in.readShort() != sortBy.length) {
+                throw new IllegalArgumentException("The cursor was issued for a different query");
+            }
+            Object[] key = new Object[sortBy.length];
+            for (int i = 0; i < key.length; i++) {
+                key[i] = decodeValue(in.readUTF(), bindings[i]);
+            }
+            return key;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private String getSortSpec() {
+        return Stream.of(sortBy)
+                .map(s -> s.getPropertyName().getPropertyName() + " " + s.getSortOrder().toSQL())
+                .collect(Collectors.joining(","));
+    }
+
+    private static String encodeValue(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.getTime() + "." + ts.getNanos();
+        } else if (value instanceof Date date) {
+            return String.valueOf(date.getTime());
+        } else if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    private static Object decodeValue(String value, Class<?> binding) {
+        try {
+            if (Date.class.isAssignableFrom(binding)) {
+                int dot = value.indexOf('.');
+                long time = Long.parseLong(dot > 0 ? value.substring(0, dot) : value);
+                if (Timestamp.class.isAssignableFrom(binding)) {
+                    Timestamp ts = new Timestamp(time);
+                    if (dot > 0) {
+                        ts.setNanos(Integer.parseInt(value.substring(dot + 1)));
+                    }
+                    return ts;
+                } else if (java.sql.Date.class.isAssignableFrom(binding)) {
+                    return new java.sql.Date(time);
+                } else if (Time.class.isAssignableFrom(binding)) {
+                    return new Time(time);
+                }
+                return new Date(time);
+            } else if (String.class.equals(binding)) {
+                return value;
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor value " + value, e);
+        }
+        Object converted = Converters.convert(value, binding);
+        if (converted == null) {
+            throw new IllegalArgumentException("Invalid cursor value " + value);
+        }
+        return converted;
+    }
+}
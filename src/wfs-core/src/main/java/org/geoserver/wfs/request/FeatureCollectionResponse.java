@@ -25,6 +25,9 @@ public abstract class FeatureCollectionResponse extends RequestObject {
 
     protected boolean getFeatureById = false;
 
+    /** The keyset paging cursor to the next page, if any */
+    protected String nextCursor;
+
     /**
      * It can be expensive to determine the total number of features up front, by using a supplier we can defer
      * calculation until the end of the request (when the value may already have been established).
@@ -147,6 +150,14 @@ public boolean isGetFeatureById() {
         return getFeatureById;
     }
 
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
     /** FeatureCollection response adapted from {@link net.opengis.wfs20.FeatureCollectionType}. */
     public static class WFS11 extends FeatureCollectionResponse {
 
@@ -23,6 +23,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -169,66 +170,19 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
         }
 
         WFSInfo wfs = getInfo();
-        // declare wfs schema location
         Object gft = getFeature.getParameters()[0];
-        Configuration config = createConfiguration(ns2metas, gft);
-
-        // set feature bounding parameter
-        // JD: this is quite bad as its not at all thread-safe, once we remove the configuration
-        // as being a singleton on trunk/2.0.x this should not be an issue
-        if (wfs.isFeatureBounding()) {
-            config.getProperties().remove(GMLConfiguration.NO_FEATURE_BOUNDS);
-        } else {
-            config.getProperties().add(GMLConfiguration.NO_FEATURE_BOUNDS);
-        }
-
-        if (wfs.isCiteCompliant()) {
-            // cite compliance forces us to forgo srsDimension attribute
-            config.getProperties().add(GMLConfiguration.NO_SRS_DIMENSION);
-        } else {
-            config.getProperties().remove(GMLConfiguration.NO_SRS_DIMENSION);
-        }
-
-        if (OPTIMIZED_ENCODING) {
-            config.getProperties().add(GMLConfiguration.OPTIMIZED_ENCODING);
-        } else {
-            config.getProperties().remove(GMLConfiguration.OPTIMIZED_ENCODING);
-        }
-
-        /*
-         * Set property encoding featureMemeber as opposed to featureMembers
-         *
-         */
-        if (wfs.isEncodeFeatureMember()) {
-            config.getProperties().add(GMLConfiguration.ENCODE_FEATURE_MEMBER);
-        } else {
-            config.getProperties().remove(GMLConfiguration.ENCODE_FEATURE_MEMBER);
-        }
-
-        boolean encodeMeasures = encodeMeasures(featureCollections, catalog);
-        updateConfiguration(config, numDecimals, padWithZeros, forcedDecimal, encodeMeasures);
-        Encoder encoder = createEncoder(config, ns2metas, gft);
-
-        encoder.setEncoding(Charset.forName(geoServer.getSettings().getCharset()));
-        if (wfs.isVerbose() || geoServer.getSettings().isVerbose()) {
-            encoder.setIndenting(true);
-        } else {
-            encoder.setIndenting(false);
-        }
-        Request dispatcherRequest = Dispatcher.REQUEST.get();
-        if (dispatcherRequest != null) {
-            encoder.setOmitXMLDeclaration(dispatcherRequest.isSOAP());
-        }
 
+        // declare wfs schema location
+        Map<String, String> schemaLocations = new LinkedHashMap<>();
         if (wfs.isCanonicalSchemaLocation()) {
-            encoder.setSchemaLocation(getWfsNamespace(), getCanonicalWfsSchemaLocation());
+            schemaLocations.put(getWfsNamespace(), getCanonicalWfsSchemaLocation());
         } else {
-            encoder.setSchemaLocation(
+            schemaLocations.put(
                     getWfsNamespace(), buildSchemaURL(request.getBaseURL(), getRelativeWfsSchemaLocation()));
         }
 
         // declare application schema namespaces
-
+        Map<String, String> prefixes = new LinkedHashMap<>();
         Map<String, String> params =
                 params("service", "WFS", "version", request.getVersion(), "request", "DescribeFeatureType");
         for (Map.Entry<String, Set<ResourceInfo>> stringSetEntry : ns2metas.entrySet()) {
@@ -241,13 +195,16 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
             for (Iterator m = metas.iterator(); m.hasNext(); ) {
                 ResourceInfo ri = (ResourceInfo) m.next();
                 if (ri instanceof FeatureTypeInfo meta) {
+                    if (meta.getNamespace() != null) {
+                        prefixes.putIfAbsent(namespaceURI, meta.getNamespace().getPrefix());
+                    }
                     FeatureType featureType = meta.getFeatureType();
                     Object userSchemaLocation = featureType.getUserData().get("schemaURI");
                     if (userSchemaLocation != null && userSchemaLocation instanceof Map) {
                         @SuppressWarnings("unchecked")
                         Map<String, String> schemaURIs = (Map<String, String>) userSchemaLocation;
                         for (String namespace : schemaURIs.keySet()) {
-                            encoder.setSchemaLocation(namespace, schemaURIs.get(namespace));
+                            schemaLocations.put(namespace, schemaURIs.get(namespace));
                         }
                     } else {
                         typeNames.append(meta.prefixedName());
@@ -256,8 +213,7 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
                         }
                     }
                 } else {
-                    encoder.getNamespaces()
-                            .declarePrefix(ri.getStore().getWorkspace().getName(), namespaceURI);
+                    prefixes.put(namespaceURI, ri.getStore().getWorkspace().getName());
                 }
             }
 
@@ -269,7 +225,77 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
                         + namespaceURI
                         + ". Using a built schema location by default: "
                         + schemaLocation);
-                encoder.setSchemaLocation(namespaceURI, schemaLocation);
+                schemaLocations.put(namespaceURI, schemaLocation);
+            }
+        }
+
+        Charset charset = Charset.forName(geoServer.getSettings().getCharset());
+        boolean indenting = wfs.isVerbose() || geoServer.getSettings().isVerbose();
+        Request dispatcherRequest = Dispatcher.REQUEST.get();
+        boolean soap = dispatcherRequest != null && dispatcherRequest.isSOAP();
+        boolean encodeMeasures = encodeMeasures(featureCollections, catalog);
+
+        // simple features can be streamed out without building the application schema
+        if (GML3StreamingEncoder.isEnabled() && !indenting && !soap && !encodeMeasures && !isComplexFeature(results)) {
+            GML3StreamingEncoder streaming =
+                    createStreamingEncoder(wfs, numDecimals, padWithZeros, forcedDecimal, prefixes);
+            if (streaming != null && streaming.canEncode(featureCollections)) {
+                streaming.encode(results, schemaLocations, charset, output);
+                return;
+            }
+        }
+
+        Configuration config = createConfiguration(ns2metas, gft);
+
+        // set feature bounding parameter
+        // JD: this is quite bad as its not at all thread-safe, once we remove the configuration
+        // as being a singleton on trunk/2.0.x this should not be an issue
+        if (wfs.isFeatureBounding()) {
+            config.getProperties().remove(GMLConfiguration.NO_FEATURE_BOUNDS);
+        } else {
+            config.getProperties().add(GMLConfiguration.NO_FEATURE_BOUNDS);
+        }
+
+        if (wfs.isCiteCompliant()) {
+            // cite compliance forces us to forgo srsDimension attribute
+            config.getProperties().add(GMLConfiguration.NO_SRS_DIMENSION);
+        } else {
+            config.getProperties().remove(GMLConfiguration.NO_SRS_DIMENSION);
+        }
+
+        if (OPTIMIZED_ENCODING) {
+            config.getProperties().add(GMLConfiguration.OPTIMIZED_ENCODING);
+        } else {
+            config.getProperties().remove(GMLConfiguration.OPTIMIZED_ENCODING);
+        }
+
+        /*
+         * Set property encoding featureMemeber as opposed to featureMembers
+         *
+         */
+        if (wfs.isEncodeFeatureMember()) {
+            config.getProperties().add(GMLConfiguration.ENCODE_FEATURE_MEMBER);
+        } else {
+            config.getProperties().remove(GMLConfiguration.ENCODE_FEATURE_MEMBER);
+        }
+
+        updateConfiguration(config, numDecimals, padWithZeros, forcedDecimal, encodeMeasures);
+        Encoder encoder = createEncoder(config, ns2metas, gft);
+
+        encoder.setEncoding(charset);
+        encoder.setIndenting(indenting);
+        if (dispatcherRequest != null) {
+            encoder.setOmitXMLDeclaration(soap);
+        }
+        for (Map.Entry<String, String> schemaLocation : schemaLocations.entrySet()) {
+            encoder.setSchemaLocation(schemaLocation.getKey(), schemaLocation.getValue());
+        }
+        for (Map.Entry<String, Set<ResourceInfo>> entry : ns2metas.entrySet()) {
+            for (ResourceInfo ri : entry.getValue()) {
+                if (!(ri instanceof FeatureTypeInfo)) {
+                    encoder.getNamespaces()
+                            .declarePrefix(ri.getStore().getWorkspace().getName(), entry.getKey());
+                }
             }
         }
 
@@ -281,6 +307,15 @@ protected void write(FeatureCollectionResponse results, OutputStream output, Ope
         }
     }
 
+    /**
+     * Returns the streaming encoder used for collections of simple features, or null if the format does not support
+     * streaming, see {@link GML3StreamingEncoder}
+     */
+    protected GML3StreamingEncoder createStreamingEncoder(
+            WFSInfo wfs, int numDecimals, boolean padWithZeros, boolean forcedDecimal, Map<String, String> prefixes) {
+        return null;
+    }
+
     protected abstract void updateConfiguration(
             Configuration configuration,
             int numDecimals,
@@ -0,0 +1,521 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.xml;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.geoserver.wfs.WFSConstants;
+import org.geoserver.wfs.request.FeatureCollectionResponse;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.geometry.BoundingBox;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.gml.producer.CoordinateFormatter;
+import org.geotools.gml2.SrsSyntax;
+import org.geotools.gml2.bindings.GML2EncodingUtils;
+import org.geotools.gml3.GML;
+import org.geotools.xml.impl.DatatypeConverterImpl;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+
+/**
+ * Streams a WFS 1.1 GML 3.1.1 feature collection of simple features straight to a {@link XMLStreamWriter}, without
+ * building the request specific application schema and the binding contexts the generic XSD encoder needs.
+ *
+ * <p>The element and namespace layout of each feature type is computed once, the coordinates are written with a
+ * {@link CoordinateFormatter} into a reused buffer. The output matches the one of the generic encoder for the
+ * supported content, that is, simple features whose attributes are strings, booleans, integral and floating point
+ * numbers, and points, lines, polygons and their multi counterparts. Collections holding anything else, and requests
+ * with indented output, are left to the generic encoder, see {@link #canEncode(List)}.
+ *
+ * <p>Disabled by default, it can be enabled using the {@link #ENABLED_KEY} system property.
+ */
+public class GML3StreamingEncoder {
+
+    /** System property enabling the streaming encoder */
+    public static final String ENABLED_KEY = "org.geoserver.wfs.gml3.streaming";
+
+    static final String GML_PREFIX = "gml";
+
+    static final String WFS_PREFIX = "wfs";
+
+    static final String XSI_PREFIX = "xsi";
+
+    static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    static final XMLOutputFactory OUTPUT_FACTORY = XMLOutputFactory.newInstance();
+
+    private final SrsSyntax srsSyntax;
+
+    private final CoordinateFormatter formatter;
+
+    private final boolean featureBounding;
+
+    private final boolean encodeSrsDimension;
+
+    private final boolean encodeFeatureMember;
+
+    /** The prefixes of the namespaces declared on the root element, by namespace URI */
+    private final Map<String, String> prefixes;
+
+    /** The feature type layouts, computed once per type */
+    private final Map<SimpleFeatureType, TypeLayout> layouts = new HashMap<>();
+
+    /** The srsName of the reference systems, computed once per system */
+    private final Map<CoordinateReferenceSystem, String> srsNames = new HashMap<>();
+
+    /** Reused buffer for the coordinate lists */
+    private final StringBuilder coordinates = new StringBuilder();
+
+    private char[] chars = new char[1024];
+
+    private XMLStreamWriter writer;
+
+    /**
+     * @param srsSyntax the srsName syntax
+     * @param formatter the coordinate formatter, configured with the decimals, padding and forced decimal settings
+     * @param featureBounding whether the bounds of the collection and of the features are encoded
+     * @param encodeSrsDimension whether the srsDimension attribute is encoded
+     * @param encodeFeatureMember whether features are encoded as gml:featureMember rather than gml:featureMembers
+     * @param prefixes the prefixes of the application namespaces, by namespace URI
+     */
+    public GML3StreamingEncoder(
+            SrsSyntax srsSyntax,
+            CoordinateFormatter formatter,
+            boolean featureBounding,
+            boolean encodeSrsDimension,
+            boolean encodeFeatureMember,
+            Map<String, String> prefixes) {
+        this.srsSyntax = srsSyntax;
+        this.formatter = formatter;
+        this.featureBounding = featureBounding;
+        this.encodeSrsDimension = encodeSrsDimension;
+        this.encodeFeatureMember = encodeFeatureMember;
+        this.prefixes = prefixes;
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_KEY);
+    }
+
+    /** Returns true if all the collections hold simple features this encoder supports */
+    @SuppressWarnings("rawtypes")
+    public boolean canEncode(List<FeatureCollection> collections) {
+        for (FeatureCollection collection : collections) {
+            if (!(collection.getSchema() instanceof SimpleFeatureType type) || layout(type) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes the response
+     *
+     * @param response the response to encode, holding only collections accepted by {@link #canEncode(List)}
+     * @param schemaLocations the schema locations, by namespace URI
+     * @param charset the output charset
+     * @param output the output stream
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public void encode(
+            FeatureCollectionResponse response,
+            Map<String, String> schemaLocations,
+            Charset charset,
+            OutputStream output)
+            throws IOException {
+        Writer out = new BufferedWriter(new OutputStreamWriter(output, charset), 64 * 1024);
+        try {
+            writer = OUTPUT_FACTORY.createXMLStreamWriter(out);
+            writer.writeStartDocument(charset.name(), "1.0");
+            writer.setPrefix(WFS_PREFIX, WFSConstants.NAMESPACE_1_1_0);
+            writer.setPrefix(GML_PREFIX, GML.NAMESPACE);
+            writer.setPrefix(XSI_PREFIX, XSI_NAMESPACE);
+            writer.writeStartElement(WFS_PREFIX, "FeatureCollection", WFSConstants.NAMESPACE_1_1_0);
+            writer.writeNamespace(WFS_PREFIX, WFSConstants.NAMESPACE_1_1_0);
+            writer.writeNamespace(GML_PREFIX, GML.NAMESPACE);
+            writer.writeNamespace(XSI_PREFIX, XSI_NAMESPACE);
+            for (Map.Entry<String, String> entry : prefixes.entrySet()) {
+                writer.setPrefix(entry.getValue(), entry.getKey());
+                writer.writeNamespace(entry.getValue(), entry.getKey());
+            }
+            writeCollectionAttributes(response, schemaLocations);
+
+            List<FeatureCollection> collections = response.getFeature();
+            if (featureBounding) {
+                ReferencedEnvelope bounds = null;
+                for (FeatureCollection collection : collections) {
+                    ReferencedEnvelope envelope = ReferencedEnvelope.reference(collection.getBounds());
+                    if (bounds == null) {
+                        bounds = envelope;
+                    } else if (envelope != null) {
+                        bounds.expandToInclude(envelope);
+                    }
+                }
+                writeBoundedBy(bounds);
+            }
+
+            boolean membersOpen = false;
+            for (FeatureCollection collection : collections) {
+                TypeLayout layout = layout((SimpleFeatureType) collection.getSchema());
+                try (FeatureIterator<SimpleFeature> features = collection.features()) {
+                    while (features.hasNext()) {
+                        SimpleFeature feature = features.next();
+                        if (encodeFeatureMember) {
+                            writer.writeStartElement(GML_PREFIX, "featureMember", GML.NAMESPACE);
+                        } else if (!membersOpen) {
+                            writer.writeStartElement(GML_PREFIX, "featureMembers", GML.NAMESPACE);
+                            membersOpen = true;
+                        }
+                        writeFeature(layout, feature);
+                        if (encodeFeatureMember) {
+                            writer.writeEndElement();
+                        }
+                    }
+                }
+            }
+            if (membersOpen) {
+                writer.writeEndElement();
+            }
+            writer.writeEndElement();
+            writer.writeEndDocument();
+            writer.flush();
+            out.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Failed to encode the GML3 response", e);
+        } finally {
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (XMLStreamException e) {
+                    // the underlying stream is not closed anyways
+                }
+                writer = null;
+            }
+        }
+    }
+
+    private void writeCollectionAttributes(FeatureCollectionResponse response, Map<String, String> schemaLocations)
+            throws XMLStreamException {
+        BigInteger count = response.getNumberOfFeatures();
+        if (count != null) {
+            writer.writeAttribute("numberOfFeatures", count.toString());
+        }
+        Calendar timeStamp = response.getTimeStamp();
+        if (timeStamp != null) {
+            writer.writeAttribute("timeStamp", DatatypeConverterImpl.getInstance().printDateTime(timeStamp));
+        }
+        if (response.getLockId() != null) {
+            writer.writeAttribute("lockId", response.getLockId());
+        }
+        if (!schemaLocations.isEmpty()) {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<String, String> entry : schemaLocations.entrySet()) {
+                if (sb.length() > 0) {
+                    sb.append(' ');
+                }
+                sb.append(entry.getKey()).append(' ').append(entry.getValue());
+            }
+            writer.writeAttribute(XSI_PREFIX, XSI_NAMESPACE, "schemaLocation", sb.toString());
+        }
+    }
+
+    private void writeFeature(TypeLayout layout, SimpleFeature feature) throws XMLStreamException {
+        writer.writeStartElement(layout.prefix(), layout.localName(), layout.namespace());
+        if (feature.getID() != null) {
+            writer.writeAttribute(GML_PREFIX, GML.NAMESPACE, "id", feature.getID());
+        }
+        if (featureBounding) {
+            BoundingBox bounds = feature.getBounds();
+            writeBoundedBy(bounds != null ? ReferencedEnvelope.reference(bounds) : null);
+        }
+        for (AttributeLayout attribute : layout.attributes()) {
+            Object value = feature.getAttribute(attribute.index());
+            if (value == null) {
+                if (attribute.minOccurs() == 0) {
+                    continue;
+                }
+                writer.writeStartElement(layout.prefix(), attribute.name(), layout.namespace());
+                if (attribute.nillable()) {
+                    writer.writeAttribute(XSI_PREFIX, XSI_NAMESPACE, "nil", "true");
+                }
+                writer.writeEndElement();
+                continue;
+            }
+            writer.writeStartElement(layout.prefix(), attribute.name(), layout.namespace());
+            if (attribute.geometry()) {
+                Geometry geometry = (Geometry) value;
+                String srsName = srsName(geometry, attribute.crs());
+                writeGeometry(geometry, srsName, true);
+            } else {
+                writer.writeCharacters(toString(value));
+            }
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private static String toString(Object value) {
+        if (value instanceof Double d && d.isInfinite()) {
+            return d > 0 ? "INF" : "-INF";
+        } else if (value instanceof Float f && f.isInfinite()) {
+            return f > 0 ? "INF" : "-INF";
+        }
+        return value.toString();
+    }
+
+    private void writeBoundedBy(ReferencedEnvelope bounds) throws XMLStreamException {
+        writer.writeStartElement(GML_PREFIX, "boundedBy", GML.NAMESPACE);
+        if (bounds == null || bounds.isNull() || bounds.isEmpty()) {
+            writer.writeStartElement(GML_PREFIX, "Null", GML.NAMESPACE);
+            writer.writeCharacters("unknown");
+            writer.writeEndElement();
+        } else {
+            writer.writeStartElement(GML_PREFIX, "Envelope", GML.NAMESPACE);
+            String srsName = srsName(bounds.getCoordinateReferenceSystem());
+            if (srsName != null) {
+                writer.writeAttribute("srsName", srsName);
+            }
+            if (encodeSrsDimension) {
+                writer.writeAttribute("srsDimension", String.valueOf(bounds.getDimension()));
+            }
+            coordinates.setLength(0);
+            appendOrdinate(bounds.getMinX(), false);
+            appendOrdinate(bounds.getMinY(), true);
+            writeSimpleElement("lowerCorner", coordinates);
+            coordinates.setLength(0);
+            appendOrdinate(bounds.getMaxX(), false);
+            appendOrdinate(bounds.getMaxY(), true);
+            writeSimpleElement("upperCorner", coordinates);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeGeometry(Geometry geometry, String srsName, boolean root) throws XMLStreamException {
+        if (geometry instanceof Point point) {
+            startGeometry("Point", geometry, srsName, root);
+            writeCoordinates("pos", point.getCoordinateSequence());
+        } else if (geometry instanceof LinearRing ring) {
+            startGeometry("LinearRing", geometry, srsName, root);
+            writeCoordinates("posList", ring.getCoordinateSequence());
+        } else if (geometry instanceof LineString line) {
+            startGeometry("LineString", geometry, srsName, root);
+            writeCoordinates("posList", line.getCoordinateSequence());
+        } else if (geometry instanceof Polygon polygon) {
+            startGeometry("Polygon", geometry, srsName, root);
+            writeRing("exterior", polygon.getExteriorRing());
+            for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                writeRing("interior", polygon.getInteriorRingN(i));
+            }
+        } else if (geometry instanceof MultiPoint) {
+            writeMulti("MultiPoint", "pointMember", geometry, srsName, root);
+            return;
+        } else if (geometry instanceof MultiLineString) {
+            writeMulti("MultiLineString", "lineStringMember", geometry, srsName, root);
+            return;
+        } else if (geometry instanceof MultiPolygon) {
+            writeMulti("MultiSurface", "surfaceMember", geometry, srsName, root);
+            return;
+        } else {
+            // ruled out when building the layout
+            throw new XMLStreamException("Unsupported geometry type " + geometry.getGeometryType());
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeMulti(String element, String member, Geometry geometry, String srsName, boolean root)
+            throws XMLStreamException {
+        startGeometry(element, geometry, srsName, root);
+        for (int i = 0; i < geometry.getNumGeometries(); i++) {
+            writer.writeStartElement(GML_PREFIX, member, GML.NAMESPACE);
+            writeGeometry(geometry.getGeometryN(i), null, false);
+            writer.writeEndElement();
+        }
+        writer.writeEndElement();
+    }
+
+    private void writeRing(String element, LinearRing ring) throws XMLStreamException {
+        writer.writeStartElement(GML_PREFIX, element, GML.NAMESPACE);
+        writeGeometry(ring, null, false);
+        writer.writeEndElement();
+    }
+
+    private void startGeometry(String element, Geometry geometry, String srsName, boolean root)
+            throws XMLStreamException {
+        writer.writeStartElement(GML_PREFIX, element, GML.NAMESPACE);
+        if (root) {
+            if (srsName != null) {
+                writer.writeAttribute("srsName", srsName);
+            }
+            if (encodeSrsDimension) {
+                writer.writeAttribute("srsDimension", String.valueOf(dimension(geometry)));
+            }
+        }
+    }
+
+    private static int dimension(Geometry geometry) {
+        if (geometry.isEmpty()) {
+            return 2;
+        }
+        CoordinateSequence cs = firstSequence(geometry);
+        return cs != null && cs.getDimension() - cs.getMeasures() > 2 ? 3 : 2;
+    }
+
+    private static CoordinateSequence firstSequence(Geometry geometry) {
+        if (geometry instanceof Point point) {
+            return point.getCoordinateSequence();
+        } else if (geometry instanceof LineString line) {
+            return line.getCoordinateSequence();
+        } else if (geometry instanceof Polygon polygon) {
+            return polygon.getExteriorRing().getCoordinateSequence();
+        } else if (geometry.getNumGeometries() > 0) {
+            return firstSequence(geometry.getGeometryN(0));
+        }
+        return null;
+    }
+
+    private void writeCoordinates(String element, CoordinateSequence cs) throws XMLStreamException {
+        coordinates.setLength(0);
+        boolean is3D = cs.getDimension() - cs.getMeasures() > 2;
+        for (int i = 0; i < cs.size(); i++) {
+            appendOrdinate(cs.getX(i), i > 0);
+            appendOrdinate(cs.getY(i), true);
+            if (is3D) {
+                appendOrdinate(cs.getZ(i), true);
+            }
+        }
+        writeSimpleElement(element, coordinates);
+    }
+
+    private void appendOrdinate(double ordinate, boolean separator) {
+        if (separator) {
+            coordinates.append(' ');
+        }
+        coordinates.append(formatter.format(ordinate));
+    }
+
+    private void writeSimpleElement(String element, StringBuilder text) throws XMLStreamException {
+        writer.writeStartElement(GML_PREFIX, element, GML.NAMESPACE);
+        int length = text.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        text.getChars(0, length, chars, 0);
+        writer.writeCharacters(chars, 0, length);
+        writer.writeEndElement();
+    }
+
+    private String srsName(Geometry geometry, CoordinateReferenceSystem declared) {
+        if (geometry.getUserData() instanceof CoordinateReferenceSystem crs) {
+            return srsName(crs);
+        }
+        return srsName(declared);
+    }
+
+    private String srsName(CoordinateReferenceSystem crs) {
+        if (crs == null) {
+            return null;
+        }
+        return srsNames.computeIfAbsent(crs, c -> GML2EncodingUtils.toURI(c, srsSyntax, false));
+    }
+
+    /** Returns the layout of the feature type, or null if the type holds attributes this encoder does not support */
+    TypeLayout layout(SimpleFeatureType type) {
+        if (layouts.containsKey(type)) {
+            return layouts.get(type);
+        }
+        TypeLayout layout = buildLayout(type);
+        layouts.put(type, layout);
+        return layout;
+    }
+
+    private TypeLayout buildLayout(SimpleFeatureType type) {
+        String namespace = type.getName().getNamespaceURI();
+        String prefix = namespace != null ? prefixes.get(namespace) : null;
+        if (prefix == null) {
+            return null;
+        }
+        List<AttributeDescriptor> descriptors = type.getAttributeDescriptors();
+        AttributeLayout[] attributes = new AttributeLayout[descriptors.size()];
+        for (int i = 0; i < attributes.length; i++) {
+            AttributeDescriptor ad = descriptors.get(i);
+            Class<?> binding = ad.getType().getBinding();
+            boolean geometry = ad instanceof GeometryDescriptor;
+            if (GML_PROPERTIES.contains(ad.getLocalName())) {
+                // mapped onto the gml:AbstractFeatureType properties
+                return null;
+            }
+            if (geometry ? !GEOMETRIES.contains(binding) : !VALUES.contains(binding)) {
+                return null;
+            }
+            CoordinateReferenceSystem crs =
+                    geometry ? ((GeometryDescriptor) ad).getCoordinateReferenceSystem() : null;
+            attributes[i] =
+                    new AttributeLayout(ad.getLocalName(), i, ad.getMinOccurs(), ad.isNillable(), geometry, crs);
+        }
+        return new TypeLayout(prefix, namespace, type.getTypeName(), attributes);
+    }
+
+    /** The names of the gml:AbstractFeatureType properties, encoded in the GML namespace */
+    static final Set<String> GML_PROPERTIES =
+            Set.of("metaDataProperty", "description", "name", "boundedBy", "location");
+
+    /** The geometry types the encoder supports, generic geometries might turn out to be curves or collections */
+    static final Set<Class<?>> GEOMETRIES = Set.of(
+            Point.class,
+            LineString.class,
+            Polygon.class,
+            MultiPoint.class,
+            MultiLineString.class,
+            MultiPolygon.class);
+
+    /** The attribute types whose string representation matches the XML schema one */
+    static final Set<Class<?>> VALUES = Set.of(
+            String.class,
+            Boolean.class,
+            Byte.class,
+            Short.class,
+            Integer.class,
+            Long.class,
+            BigInteger.class,
+            Float.class,
+            Double.class);
+
+    record TypeLayout(String prefix, String namespace, String localName, AttributeLayout[] attributes) {}
+
+    record AttributeLayout(
+            String name,
+            int index,
+            int minOccurs,
+            boolean nillable,
+            boolean geometry,
+            CoordinateReferenceSystem crs) {}
+}
@@ -0,0 +1,198 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.FeatureTypeInfo;
+import org.geoserver.catalog.NamespaceInfo;
+import org.geoserver.data.DataModifiedEvent;
+import org.geotools.api.data.Join;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.text.ecql.ECQL;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+public class FeatureCountCacheTest {
+
+    static final String NS = "http://www.geoserver.org/test";
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private final Ticker ticker = new Ticker() {
+        @Override
+        public long read() {
+            return nanos.get();
+        }
+    };
+
+    @After
+    public void clearAuthentication() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testHitsAndMisses() throws Exception {
+        FeatureCountCache cache = new FeatureCountCache(true, 100, 0, ticker);
+        FeatureTypeInfo roads = featureType("roads");
+        SimpleFeatureSource source = source(5);
+
+        Query query = new Query("roads", ECQL.toFilter("value > 1 AND value < 10"));
+        CountExecutor executor = new CountExecutor(source, query, roads, cache);
+        assertEquals(5, executor.getCount());
+        // same query, next page
+        Query next = new Query("roads", ECQL.toFilter("value > 1 AND value < 10"));
+        next.setStartIndex(10);
+        assertEquals(5, new CountExecutor(source, next, roads, cache).getCount());
+        assertEquals(5, new CountExecutor(source, query, roads, cache).getCount());
+        verify(source, times(1)).getFeatures(any(Query.class));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getSize());
+
+        Query other = new Query("roads", ECQL.toFilter("value > 2"));
+        assertEquals(5, new CountExecutor(source, other, roads, cache).getCount());
+        assertEquals(2, cache.getSize());
+    }
+
+    @Test
+    public void testKey() throws Exception {
+        FeatureTypeInfo roads = featureType("roads");
+        Query query = new Query("roads", ECQL.toFilter("value > 1"));
+        FeatureCountCache.CountKey anonymous = FeatureCountCache.getKey(roads, query);
+        assertNotNull(anonymous);
+        assertEquals(new QName(NS, "roads"), anonymous.typeName());
+        assertEquals(anonymous, FeatureCountCache.getKey(roads, new Query("roads", ECQL.toFilter("value > 1"))));
+
+        // users see different counts
+        SecurityContextHolder.getContext()
+                .setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "admin", null, List.of(new SimpleGrantedAuthority("ROLE_ADMINISTRATOR"))));
+        assertNotEquals(anonymous, FeatureCountCache.getKey(roads, query));
+
+        // the CQL encoding loses the case insensitive comparisons, joins are not tracked
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        Filter insensitive = ff.equal(ff.property("name"), ff.literal("a"), false);
+        assertNull(FeatureCountCache.getKey(roads, new Query("roads", insensitive)));
+        Query joined = new Query("roads", Filter.INCLUDE);
+        joined.getJoins().add(new Join("rivers", Filter.INCLUDE));
+        assertNull(FeatureCountCache.getKey(roads, joined));
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        FeatureCountCache cache = new FeatureCountCache(true, 100, 0, ticker);
+        SimpleFeatureSource source = source(5);
+        FeatureTypeInfo roads = featureType("roads");
+        FeatureTypeInfo rivers = featureType("rivers");
+        Query query = new Query("roads", Filter.INCLUDE);
+        new CountExecutor(source, query, roads, cache).getCount();
+        new CountExecutor(source, query, rivers, cache).getCount();
+        assertEquals(2, cache.getSize());
+
+        // qualified name, other namespace
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("http://other", "roads")));
+        assertEquals(2, cache.getSize());
+        // unqualified name, as used in some transactions
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("roads")));
+        assertEquals(1, cache.getSize());
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName(NS, "rivers")));
+        assertEquals(0, cache.getSize());
+
+        new CountExecutor(source, query, roads, cache).getCount();
+        cache.onApplicationEvent(new DataModifiedEvent(this));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testCountsDuringTransaction() throws Exception {
+        FeatureCountCache cache = new FeatureCountCache(true, 100, 0, ticker);
+        SimpleFeatureSource source = source(5);
+        FeatureTypeInfo roads = featureType("roads");
+        Query query = new Query("roads", Filter.INCLUDE);
+
+        cache.beforeTransaction(null);
+        TransactionEvent event = mock(TransactionEvent.class);
+        when(event.getLayerName()).thenReturn(new QName(NS, "roads"));
+        cache.dataStoreChange(event);
+        // another request counts before the commit
+        new CountExecutor(source, query, roads, cache).getCount();
+        assertEquals(1, cache.getSize());
+        cache.afterTransaction(null, null, true);
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        FeatureCountCache cache = new FeatureCountCache(true, 100, 60, ticker);
+        SimpleFeatureSource source = source(3);
+        FeatureTypeInfo roads = featureType("roads");
+        Query query = new Query("roads", Filter.INCLUDE);
+        new CountExecutor(source, query, roads, cache).getCount();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(30));
+        new CountExecutor(source, query, roads, cache).getCount();
+        verify(source, times(1)).getFeatures(any(Query.class));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        new CountExecutor(source, query, roads, cache).getCount();
+        verify(source, times(2)).getFeatures(any(Query.class));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        FeatureCountCache cache = new FeatureCountCache(false, 100, 0, ticker);
+        SimpleFeatureSource source = source(3);
+        FeatureTypeInfo roads = featureType("roads");
+        Query query = new Query("roads", Filter.INCLUDE);
+        assertEquals(3, new CountExecutor(source, query, roads, cache).getCount());
+        assertEquals(3, new CountExecutor(source, query, roads, cache).getCount());
+        verify(source, times(2)).getFeatures(any(Query.class));
+        assertEquals(0, cache.getSize());
+    }
+
+    private static FeatureTypeInfo featureType(String name) {
+        NamespaceInfo ns = mock(NamespaceInfo.class);
+        when(ns.getURI()).thenReturn(NS);
+        FeatureTypeInfo info = mock(FeatureTypeInfo.class);
+        when(info.getName()).thenReturn(name);
+        when(info.getNamespace()).thenReturn(ns);
+        return info;
+    }
+
+    private static SimpleFeatureSource source(int count) throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("roads", "name:String,value:int");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {"a", i}, "roads." + i));
+        }
+        SimpleFeatureSource source = mock(SimpleFeatureSource.class);
+        when(source.getFeatures(any(Query.class))).thenReturn(DataUtilities.collection(features));
+        return source;
+    }
+}
@@ -0,0 +1,176 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.QueryCapabilities;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.api.filter.sort.SortOrder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.jdbc.JDBCDataStore;
+import org.junit.Test;
+
+public class KeysetPagingTest {
+
+    @Test
+    public void testNotApplicable() throws Exception {
+        // no primary key exposed
+        assertNull(KeysetPaging.create(source(type(false)), null));
+        // nillable sort attribute, the comparisons would skip the null values
+        SortBy byName = KeysetPaging.FF.sort("name", SortOrder.ASCENDING);
+        assertNull(KeysetPaging.create(source(type(true)), new SortBy[] {byName}));
+        // natural order cannot be expressed as a filter
+        assertNull(KeysetPaging.create(source(type(true)), new SortBy[] {SortBy.NATURAL_ORDER}));
+        // sorting not supported
+        SimpleFeatureSource unsorted = mock(SimpleFeatureSource.class);
+        when(unsorted.getSchema()).thenReturn(type(true));
+        when(unsorted.getQueryCapabilities()).thenReturn(new QueryCapabilities());
+        assertNull(KeysetPaging.create(unsorted, null));
+    }
+
+    @Test
+    public void testSortBy() throws Exception {
+        SortBy byValue = KeysetPaging.FF.sort("value", SortOrder.DESCENDING);
+        KeysetPaging keyset = KeysetPaging.create(source(type(true)), new SortBy[] {byValue});
+        assertNotNull(keyset);
+        SortBy[] sortBy = keyset.getSortBy();
+        assertEquals(2, sortBy.length);
+        assertEquals("value", sortBy[0].getPropertyName().getPropertyName());
+        assertEquals(SortOrder.DESCENDING, sortBy[0].getSortOrder());
+        assertEquals("id", sortBy[1].getPropertyName().getPropertyName());
+        assertEquals(SortOrder.ASCENDING, sortBy[1].getSortOrder());
+    }
+
+    @Test
+    public void testPagingByPrimaryKey() throws Exception {
+        assertPagesCoverAll(null);
+    }
+
+    @Test
+    public void testPagingByAttribute() throws Exception {
+        // lots of ties on value, the primary key breaks them
+        assertPagesCoverAll(new SortBy[] {KeysetPaging.FF.sort("value", SortOrder.DESCENDING)});
+        assertPagesCoverAll(new SortBy[] {
+            KeysetPaging.FF.sort("value", SortOrder.ASCENDING), KeysetPaging.FF.sort("time", SortOrder.DESCENDING)
+        });
+    }
+
+    @Test
+    public void testInvalidCursor() throws Exception {
+        SimpleFeatureType type = type(true);
+        KeysetPaging byKey = KeysetPaging.create(source(type), null);
+        KeysetPaging byValue = KeysetPaging.create(
+                source(type), new SortBy[] {KeysetPaging.FF.sort("value", SortOrder.ASCENDING)});
+        String cursor = byKey.encode(features(type).get(3));
+        assertNotNull(cursor);
+        assertEquals(3L, byKey.decode(cursor)[0]);
+
+        Query query = new Query("squares");
+        assertThrows(IllegalArgumentException.class, () -> byValue.seek(query, cursor));
+        assertThrows(IllegalArgumentException.class, () -> byKey.seek(query, "not-a-cursor"));
+        assertThrows(IllegalArgumentException.class, () -> byKey.seek(query, cursor.substring(0, 10)));
+    }
+
+    /** Walks the features page by page, as the store would, and checks they are all returned in order */
+    private void assertPagesCoverAll(SortBy[] sortBy) throws Exception {
+        SimpleFeatureType type = type(true);
+        List<SimpleFeature> features = features(type);
+        KeysetPaging keyset = KeysetPaging.create(source(type), sortBy);
+        Comparator<SimpleFeature> comparator = comparator(keyset.getSortBy());
+        List<SimpleFeature> expected = new ArrayList<>(features);
+        expected.sort(comparator);
+
+        List<SimpleFeature> paged = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Query query = new Query("squares", Filter.INCLUDE);
+            query.setStartIndex(paged.size());
+            if (cursor != null) {
+                keyset.seek(query, cursor);
+                assertEquals(Integer.valueOf(0), query.getStartIndex());
+            }
+            Filter filter = query.getFilter();
+            List<SimpleFeature> page = features.stream()
+                    .filter(filter::evaluate)
+                    .sorted(comparator)
+                    .skip(query.getStartIndex())
+                    .limit(7)
+                    .toList();
+            paged.addAll(page);
+            cursor = page.isEmpty() ? null : keyset.encode(page.get(page.size() - 1));
+            pages++;
+        } while (cursor != null && pages < 100);
+        assertEquals(ids(expected), ids(paged));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparator<SimpleFeature> comparator(SortBy[] sortBy) {
+        Comparator<SimpleFeature> result = null;
+        for (SortBy sort : sortBy) {
+            String name = sort.getPropertyName().getPropertyName();
+            Comparator<SimpleFeature> c = Comparator.comparing(f -> (Comparable<Object>) f.getAttribute(name));
+            if (sort.getSortOrder() == SortOrder.DESCENDING) {
+                c = c.reversed();
+            }
+            result = result == null ? c : result.thenComparing(c);
+        }
+        return result;
+    }
+
+    private static List<String> ids(List<SimpleFeature> features) {
+        return features.stream().map(SimpleFeature::getID).toList();
+    }
+
+    private static SimpleFeatureType type(boolean exposePrimaryKey) {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("squares");
+        tb.userData(JDBCDataStore.JDBC_PRIMARY_KEY_COLUMN, exposePrimaryKey);
+        tb.nillable(false).add("id", Long.class);
+        tb.nillable(true).add("name", String.class);
+        tb.nillable(false).add("value", Integer.class);
+        tb.nillable(false).add("time", Timestamp.class);
+        return tb.buildFeatureType();
+    }
+
+    private static List<SimpleFeature> features(SimpleFeatureType type) {
+        List<SimpleFeature> features = new ArrayList<>();
+        for (long i = 0; i < 50; i++) {
+            Timestamp time = new Timestamp(1_000_000L * (i % 7));
+            time.setNanos((int) (i % 3) * 1000);
+            Object[] values = {i, "n" + i, (int) (i % 4), time};
+            features.add(SimpleFeatureBuilder.build(type, values, "squares." + i));
+        }
+        return features;
+    }
+
+    private static SimpleFeatureSource source(SimpleFeatureType type) {
+        SimpleFeatureSource source = mock(SimpleFeatureSource.class);
+        when(source.getSchema()).thenReturn(type);
+        when(source.getQueryCapabilities()).thenReturn(new QueryCapabilities() {
+            @Override
+            public boolean supportsSorting(SortBy... sortAttributes) {
+                return true;
+            }
+        });
+        return source;
+    }
+}
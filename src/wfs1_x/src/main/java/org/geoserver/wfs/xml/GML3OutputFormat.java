@@ -16,6 +16,7 @@
 import org.geoserver.wfs.WFSInfo;
 import org.geoserver.wfs.request.GetFeatureRequest;
 import org.geoserver.wfs.xml.v1_1_0.WFSConfiguration;
+import org.geotools.gml.producer.CoordinateFormatter;
 import org.geotools.gml3.GMLConfiguration;
 import org.geotools.xsd.Configuration;
 import org.geotools.xsd.Encoder;
@@ -58,6 +59,21 @@ protected Configuration createConfiguration(Map<String, Set<ResourceInfo>> resou
         return configuration;
     }
 
+    @Override
+    protected GML3StreamingEncoder createStreamingEncoder(
+            WFSInfo wfs, int numDecimals, boolean padWithZeros, boolean forcedDecimal, Map<String, String> prefixes) {
+        CoordinateFormatter formatter = new CoordinateFormatter(numDecimals);
+        formatter.setPadWithZeros(padWithZeros);
+        formatter.setForcedDecimal(forcedDecimal);
+        return new GML3StreamingEncoder(
+                wfs.getGML().get(WFSInfo.Version.V_11).getSrsNameStyle().toSrsSyntax(),
+                formatter,
+                wfs.isFeatureBounding(),
+                !wfs.isCiteCompliant(),
+                wfs.isEncodeFeatureMember(),
+                prefixes);
+    }
+
     @Override
     protected Encoder createEncoder(
             Configuration configuration, Map<String, Set<ResourceInfo>> resources, Object request) {
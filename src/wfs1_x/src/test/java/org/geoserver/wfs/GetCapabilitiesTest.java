@@ -25,6 +25,7 @@
 import org.geoserver.catalog.LayerInfo;
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.config.CapabilitiesCacheHeadersCallback;
+import org.geoserver.config.CapabilitiesDocumentCache;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.config.ResourceErrorHandling;
 import org.geoserver.data.test.CiteTestData;
@@ -388,6 +389,44 @@ public void testCachingHeadersDisabled() throws Exception {
         }
     }
 
+    @Test
+    public void testCapabilitiesDocumentCache() throws Exception {
+        CapabilitiesDocumentCache cache = GeoServerExtensions.bean(CapabilitiesDocumentCache.class);
+        boolean backup = cache.isEnabled();
+        FeatureTypeInfo fifteen = getCatalog().getFeatureTypeByName(getLayerId(CiteTestData.FIFTEEN));
+        String title = fifteen.getTitle();
+        try {
+            cache.setEnabled(true);
+            String path = "wfs?service=WFS&version=1.1.0&request=getCapabilities";
+            String iauPath = "iau/" + path;
+
+            // same request, same document, second one is a hit
+            String caps = getAsString(path);
+            long hits = cache.getStats().hitCount();
+            assertEquals(caps, getAsString(path));
+            assertEquals(hits + 1, cache.getStats().hitCount());
+            // different virtual service, different document
+            String iauCaps = getAsString(iauPath);
+            assertEquals(2, cache.size());
+
+            // changing a layer drops the global document, but not the ones of other workspaces
+            fifteen.setTitle("Cached title");
+            getCatalog().save(fifteen);
+            assertEquals(1, cache.size());
+            assertTrue(getAsString(path).contains("Cached title"));
+            assertEquals(iauCaps, getAsString(iauPath));
+
+            // service changes drop everything
+            WFSInfo wfs = getGeoServer().getService(WFSInfo.class);
+            getGeoServer().save(wfs);
+            assertEquals(0, cache.size());
+        } finally {
+            cache.setEnabled(backup);
+            fifteen.setTitle(title);
+            getCatalog().save(fifteen);
+        }
+    }
+
     MockHttpServletRequest createGetRequestWithHeaders(String path, String... headers) {
         MockHttpServletRequest request = createRequest(path);
         request.setMethod("GET");
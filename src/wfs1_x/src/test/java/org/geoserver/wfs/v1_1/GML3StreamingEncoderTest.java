@@ -0,0 +1,168 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.v1_1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import org.custommonkey.xmlunit.Diff;
+import org.custommonkey.xmlunit.Difference;
+import org.custommonkey.xmlunit.DifferenceConstants;
+import org.custommonkey.xmlunit.DifferenceListener;
+import org.geoserver.data.test.MockData;
+import org.geoserver.wfs.GMLInfo;
+import org.geoserver.wfs.WFSInfo;
+import org.geoserver.wfs.WFSTestSupport;
+import org.geoserver.wfs.xml.GML3StreamingEncoder;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.gml.producer.CoordinateFormatter;
+import org.geotools.gml2.SrsSyntax;
+import org.junit.After;
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+public class GML3StreamingEncoderTest extends WFSTestSupport {
+
+    @After
+    public void restore() {
+        System.clearProperty(GML3StreamingEncoder.ENABLED_KEY);
+        WFSInfo wfs = getWFS();
+        wfs.setFeatureBounding(true);
+        wfs.setEncodeFeatureMember(false);
+        wfs.setCiteCompliant(false);
+        wfs.getGML().get(WFSInfo.Version.V_11).setSrsNameStyle(GMLInfo.SrsNameStyle.URN);
+        getGeoServer().save(wfs);
+    }
+
+    @Test
+    public void testCanEncode() throws Exception {
+        GML3StreamingEncoder encoder = new GML3StreamingEncoder(
+                SrsSyntax.OGC_URN,
+                new CoordinateFormatter(8),
+                true,
+                true,
+                false,
+                Map.of(MockData.CITE_URI, "cite", MockData.CGF_URI, "cgf", MockData.CDF_URI, "cdf"));
+        assertTrue(encoder.canEncode(List.of(features(MockData.BUILDINGS), features(MockData.BRIDGES))));
+        assertTrue(encoder.canEncode(List.of(features(MockData.POINTS), features(MockData.MPOLYGONS))));
+        // dates, and attributes mapped onto the GML feature properties
+        assertFalse(encoder.canEncode(List.of(features(MockData.NULLS))));
+        assertFalse(encoder.canEncode(List.of(features(MockData.BUILDINGS), features(MockData.NULLS))));
+        // unknown prefix, GML feature properties and generic geometries
+        assertFalse(encoder.canEncode(List.of(features(MockData.PRIMITIVEGEOFEATURE))));
+    }
+
+    @Test
+    public void testSameOutput() throws Exception {
+        for (QName name : new QName[] {
+            MockData.BUILDINGS,
+            MockData.BRIDGES,
+            MockData.STREAMS,
+            MockData.POINTS,
+            MockData.LINES,
+            MockData.POLYGONS,
+            MockData.MPOINTS,
+            MockData.MLINES,
+            MockData.MPOLYGONS
+        }) {
+            assertSameOutput("wfs?request=GetFeature&version=1.1.0&service=wfs&typename=" + getLayerId(name));
+        }
+    }
+
+    @Test
+    public void testSameOutputMultipleTypes() throws Exception {
+        assertSameOutput("wfs?request=GetFeature&version=1.1.0&service=wfs&typename="
+                + getLayerId(MockData.BUILDINGS)
+                + ","
+                + getLayerId(MockData.POINTS)
+                + "&maxFeatures=3");
+    }
+
+    @Test
+    public void testSameOutputReprojected() throws Exception {
+        assertSameOutput("wfs?request=GetFeature&version=1.1.0&service=wfs&typename="
+                + getLayerId(MockData.POLYGONS)
+                + "&srsName=EPSG:4326");
+    }
+
+    @Test
+    public void testSameOutputEmpty() throws Exception {
+        assertSameOutput("wfs?request=GetFeature&version=1.1.0&service=wfs&typename="
+                + getLayerId(MockData.STREAMS)
+                + "&featureId=Streams.unknown");
+    }
+
+    @Test
+    public void testSameOutputConfigurations() throws Exception {
+        WFSInfo wfs = getWFS();
+        wfs.setFeatureBounding(false);
+        wfs.setEncodeFeatureMember(true);
+        wfs.setCiteCompliant(true);
+        wfs.getGML().get(WFSInfo.Version.V_11).setSrsNameStyle(GMLInfo.SrsNameStyle.NORMAL);
+        getGeoServer().save(wfs);
+
+        assertSameOutput("wfs?request=GetFeature&version=1.1.0&service=wfs&typename="
+                + getLayerId(MockData.MPOLYGONS)
+                + ","
+                + getLayerId(MockData.BRIDGES));
+    }
+
+    private FeatureCollection features(QName name) throws Exception {
+        return getCatalog().getFeatureTypeByName(getLayerId(name)).getFeatureSource(null, null).getFeatures();
+    }
+
+    private void assertSameOutput(String path) throws Exception {
+        Document expected = getAsDOM(path);
+        System.setProperty(GML3StreamingEncoder.ENABLED_KEY, "true");
+        Document actual;
+        try {
+            actual = getAsDOM(path);
+        } finally {
+            System.clearProperty(GML3StreamingEncoder.ENABLED_KEY);
+        }
+        assertEquals("wfs:FeatureCollection", actual.getDocumentElement().getNodeName());
+
+        Diff diff = new Diff(expected, actual);
+        diff.overrideDifferenceListener(new DifferenceListener() {
+
+            @Override
+            public int differenceFound(Difference difference) {
+                if (difference.getId() == DifferenceConstants.ATTR_VALUE_ID) {
+                    Node control = difference.getControlNodeDetail().getNode();
+                    Node test = difference.getTestNodeDetail().getNode();
+                    // generated on each request
+                    if ("timeStamp".equals(control.getLocalName())) {
+                        return RETURN_IGNORE_DIFFERENCE_NODES_IDENTICAL;
+                    }
+                    // the location pairs order is not relevant
+                    if ("schemaLocation".equals(control.getLocalName())
+                            && locations(control).equals(locations(test))) {
+                        return RETURN_IGNORE_DIFFERENCE_NODES_IDENTICAL;
+                    }
+                }
+                return RETURN_ACCEPT_DIFFERENCE;
+            }
+
+            @Override
+            public void skippedComparison(Node control, Node test) {}
+        });
+        assertTrue(path + ": " + diff, diff.similar());
+    }
+
+    private static HashSet<String> locations(Node schemaLocation) {
+        String[] tokens = schemaLocation.getNodeValue().trim().split("\\s+");
+        HashSet<String> pairs = new HashSet<>();
+        for (int i = 0; i + 1 < tokens.length; i += 2) {
+            pairs.add(tokens[i] + " " + tokens[i + 1]);
+        }
+        return pairs;
+    }
+}
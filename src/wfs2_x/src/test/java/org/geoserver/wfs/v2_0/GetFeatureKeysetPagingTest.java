@@ -0,0 +1,163 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wfs.v2_0;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import org.custommonkey.xmlunit.XMLUnit;
+import org.custommonkey.xmlunit.XpathEngine;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.CatalogBuilder;
+import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wfs.KeysetPaging;
+import org.geotools.api.data.DataStore;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.jdbc.JDBCDataStoreFactory;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+public class GetFeatureKeysetPagingTest extends WFS20TestSupport {
+
+    static final int FEATURES = 20;
+
+    /** Number of distinct values, lots of ties on the sort key */
+    static final int VALUES = 3;
+
+    @BeforeClass
+    public static void enableKeysetPaging() {
+        System.setProperty(KeysetPaging.ENABLED_KEY, "true");
+    }
+
+    @AfterClass
+    public static void disableKeysetPaging() {
+        System.clearProperty(KeysetPaging.ENABLED_KEY);
+    }
+
+    @Override
+    protected void setUpInternal(SystemTestData data) throws Exception {
+        // a store exposing its primary key, which keyset paging needs as the tie breaker
+        Catalog cat = getCatalog();
+        DataStoreInfo ds = cat.getFactory().createDataStore();
+        ds.setName("keyed");
+        ds.setWorkspace(cat.getDefaultWorkspace());
+        ds.setEnabled(true);
+        Map<String, Serializable> params = ds.getConnectionParameters();
+        params.put("dbtype", "geopkg");
+        params.put("database", getTestData().getDataDirectoryRoot().getAbsolutePath() + "/keyed.gpkg");
+        params.put("read_only", false);
+        params.put(JDBCDataStoreFactory.EXPOSE_PK.key, true);
+        cat.add(ds);
+
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("Keyed");
+        tb.add("geom", Point.class, 4326);
+        tb.nillable(false).add("value", Integer.class);
+        SimpleFeatureType type = tb.buildFeatureType();
+        DataStore store = (DataStore) ds.getDataStore(null);
+        store.createSchema(type);
+
+        GeometryFactory gf = new GeometryFactory();
+        DefaultFeatureCollection features = new DefaultFeatureCollection(null, null);
+        for (int i = 0; i < FEATURES; i++) {
+            Point point = gf.createPoint(new Coordinate(i, i));
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {point, i % VALUES}, null));
+        }
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource("Keyed");
+        fs.addFeatures(DataUtilities.simple(features));
+
+        CatalogBuilder cb = new CatalogBuilder(cat);
+        cb.setStore(ds);
+        cat.add(cb.buildFeatureType(fs));
+    }
+
+    @Test
+    public void testPagingByPrimaryKey() throws Exception {
+        List<String> ids = walk("wfs?request=GetFeature&version=2.0.0&service=wfs&typeNames=gs:Keyed"
+                + "&startIndex=0&count=6");
+        assertAllOnce(ids);
+    }
+
+    @Test
+    public void testPagingWithTies() throws Exception {
+        List<String> ids = walk("wfs?request=GetFeature&version=2.0.0&service=wfs&typeNames=gs:Keyed"
+                + "&startIndex=0&count=4&sortBy=value DESC");
+        assertAllOnce(ids);
+        // the pages follow the sort, the ties ordered by primary key
+        for (int i = 1; i < ids.size(); i++) {
+            int previous = value(ids.get(i - 1));
+            int current = value(ids.get(i));
+            assertTrue(
+                    ids.toString(),
+                    previous > current || previous == current && fid(ids.get(i - 1)) < fid(ids.get(i)));
+        }
+    }
+
+    @Test
+    public void testNoPrimaryKeyFallback() throws Exception {
+        // the property store does not expose a primary key, offset paging is used
+        Document doc = getAsDOM("wfs?request=GetFeature&version=2.0.0&service=wfs&typeNames=cdf:Fifteen"
+                + "&startIndex=0&count=5");
+        String next = doc.getDocumentElement().getAttribute("next");
+        assertTrue(next.contains("startIndex=5"));
+        assertFalse(next.contains(KeysetPaging.CURSOR + "="));
+    }
+
+    /** Follows the next links from the given request, checking they carry a cursor, and returns the ids read */
+    private List<String> walk(String request) throws Exception {
+        XpathEngine xpath = XMLUnit.newXpathEngine();
+        List<String> ids = new ArrayList<>();
+        String path = request;
+        int pages = 0;
+        while (path != null && pages++ < FEATURES) {
+            Document doc = getAsDOM(path);
+            NodeList members = xpath.getMatchingNodes("//wfs:member/*", doc);
+            for (int i = 0; i < members.getLength(); i++) {
+                ids.add(((Element) members.item(i)).getAttribute("gml:id"));
+            }
+            path = null;
+            if (doc.getDocumentElement().hasAttribute("next")) {
+                String next = doc.getDocumentElement().getAttribute("next");
+                assertTrue(next, next.contains(KeysetPaging.CURSOR + "="));
+                path = next.substring(next.indexOf("wfs?"));
+            }
+        }
+        return ids;
+    }
+
+    private static void assertAllOnce(List<String> ids) {
+        // no duplicates, no gaps
+        assertEquals(FEATURES, ids.size());
+        assertEquals(FEATURES, new HashSet<>(ids).size());
+    }
+
+    /** The value of the feature, the fids are assigned in insertion order starting from 1 */
+    private static int value(String id) {
+        return (fid(id) - 1) % VALUES;
+    }
+
+    private static int fid(String id) {
+        return Integer.parseInt(id.substring(id.lastIndexOf('.') + 1));
+    }
+}
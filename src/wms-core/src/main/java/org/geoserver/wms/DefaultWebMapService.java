@@ -311,13 +311,18 @@ public static void autoSetBoundsAndSize(GetMapRequest getMap) {
         new GetMapDefaults().autoSetBoundsAndSize(getMap);
     }
 
-    /** Returns a app wide cached rendering pool that can be used for parallelized rendering */
+    /**
+     * Returns a app wide cached rendering pool that can be used for parallelized rendering. The pool is a
+     * {@link RenderingScheduler} if enabled with the {@link RenderingScheduler#ENABLED_PROPERTY} system variable.
+     */
     public static ExecutorService getRenderingPool() {
         // lazy init to support test harness, creating and destroying the DefaultWebMapService bean multiple times
         if (RENDERING_POOL == null) {
             synchronized (DefaultWebMapService.class) {
                 if (RENDERING_POOL == null) {
-                    RENDERING_POOL = new ThreadLocalTransferExecutor("wms-rendering");
+                    RENDERING_POOL = RenderingScheduler.isEnabled()
+                            ? RenderingScheduler.lookup()
+                            : new ThreadLocalTransferExecutor("wms-rendering");
                 }
             }
         }
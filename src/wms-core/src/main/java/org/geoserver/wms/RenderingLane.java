@@ -0,0 +1,31 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+/**
+ * The lanes the {@link RenderingScheduler} sorts rendering work into, in decreasing priority order.
+ *
+ * <p>The weight of a lane is the number of its tasks started in a row before the lower priority lanes get a turn, when
+ * all of them have work waiting.
+ */
+public enum RenderingLane {
+    /** Tile requests, either coming from GeoWebCache or from tiled WMS clients */
+    TILE(8),
+    /** Ad-hoc GetMap requests */
+    MAP(3),
+    /** Printing, vector output formats and very large maps */
+    PRINT(1);
+
+    private final int weight;
+
+    RenderingLane(int weight) {
+        this.weight = weight;
+    }
+
+    /** Number of tasks of this lane started in a row before the lower priority lanes get a turn */
+    public int getWeight() {
+        return weight;
+    }
+}
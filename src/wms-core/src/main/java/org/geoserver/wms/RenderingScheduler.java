@@ -0,0 +1,570 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.LocalWorkspace;
+import org.geoserver.ows.Request;
+import org.geoserver.platform.GeoServerExtensions;
+import org.geoserver.threadlocals.ThreadLocalsTransfer;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Rendering pool that sorts the work into priority {@link RenderingLane}s, so that a few heavy requests cannot starve
+ * the cheap tile ones.
+ *
+ * <p>At most {@link #MAX_THREADS_PROPERTY} tasks run at the same time, out of which at most
+ * {@link #MAX_MAP_THREADS_PROPERTY} ad-hoc GetMap and {@link #MAX_PRINT_THREADS_PROPERTY} printing ones, the remaining
+ * threads being reserved to tiles. When threads free up, the lanes take turns according to their
+ * {@link RenderingLane#getWeight() weight}. Optionally, the tasks running for the same layer or workspace can be capped
+ * too, see {@link #FAIRNESS_KEY_PROPERTY} and {@link #MAX_THREADS_PER_KEY_PROPERTY}. Tasks submitted by the rendering
+ * threads themselves are started right away, they are part of work that has already been scheduled.
+ *
+ * <p>The lane and key of a task are computed out of the OWS {@link Request} being executed by the submitting thread,
+ * subclasses can override {@link #getLane(Request)} and {@link #getKey(Request)}. Tasks cancelled while still queued,
+ * e.g., by a rendering timeout, are dropped instead of being run.
+ *
+ * <p>The scheduler is disabled by default, and used by {@link DefaultWebMapService#getRenderingPool()} only if the
+ * {@link #ENABLED_PROPERTY} system variable is set to true. In that case a {@link RenderingScheduler} bean found in the
+ * application context is used, allowing to plug a custom one, or a new one is created otherwise.
+ */
+public class RenderingScheduler extends AbstractExecutorService implements RenderingSchedulerMXBean {
+
+    static final Logger LOGGER = Logging.getLogger(RenderingScheduler.class);
+
+    /** System property enabling the rendering scheduler */
+    public static final String ENABLED_PROPERTY = "org.geoserver.wms.rendering.scheduler";
+
+    /** System property setting the maximum number of rendering tasks running at the same time */
+    public static final String MAX_THREADS_PROPERTY = "org.geoserver.wms.rendering.maxThreads";
+
+    /** System property setting the maximum number of ad-hoc GetMap rendering tasks running at the same time */
+    public static final String MAX_MAP_THREADS_PROPERTY = "org.geoserver.wms.rendering.maxMapThreads";
+
+    /** System property setting the maximum number of printing rendering tasks running at the same time */
+    public static final String MAX_PRINT_THREADS_PROPERTY = "org.geoserver.wms.rendering.maxPrintThreads";
+
+    /** System property choosing what the per key caps apply to, either {@code layer} or {@code workspace} */
+    public static final String FAIRNESS_KEY_PROPERTY = "org.geoserver.wms.rendering.fairnessKey";
+
+    /** System property setting the maximum number of rendering tasks running at the same time for the same key */
+    public static final String MAX_THREADS_PER_KEY_PROPERTY = "org.geoserver.wms.rendering.maxThreadsPerKey";
+
+    /** System property setting the image size, in pixels, above which a GetMap is considered a printing one */
+    public static final String PRINT_PIXELS_PROPERTY = "org.geoserver.wms.rendering.printPixels";
+
+    public static final String OBJECT_NAME = "org.geoserver:type=RenderingScheduler";
+
+    /**
+     * The request parameter GeoWebCache adds to the GetMap requests it issues, to render meta-tiles. The GWC module
+     * depends on this one, its {@code GeoServerTileLayer.GWC_SEED_INTERCEPT_TOKEN} refers to this constant.
+     */
+    public static final String GWC_SEED_INTERCEPT_TOKEN = "GWC_SEED_INTERCEPT";
+
+    static final long PRINT_PIXELS = Long.getLong(PRINT_PIXELS_PROPERTY, 4096L * 4096);
+
+    private static final RenderingLane[] LANES = RenderingLane.values();
+
+    private static final ThreadLocal<Boolean> RENDERING_THREAD = new ThreadLocal<>();
+
+    /** What the per key caps apply to */
+    public enum FairnessKey {
+        /** The requested layers, as a whole */
+        LAYER,
+        /** The workspace of the requested layers */
+        WORKSPACE
+    }
+
+    private final ThreadPoolExecutor threads;
+
+    private final int maxThreads;
+
+    private final int[] maxLaneThreads = new int[LANES.length];
+
+    private final FairnessKey fairnessKey;
+
+    private final int maxThreadsPerKey;
+
+    private final Object lock = new Object();
+
+    // all the following fields are guarded by lock
+
+    @SuppressWarnings("unchecked")
+    private final ArrayDeque<Task>[] queues = new ArrayDeque[LANES.length];
+
+    private final int[] credits = new int[LANES.length];
+
+    private final Map<String, Integer> runningByKey = new HashMap<>();
+
+    private int running;
+
+    private final int[] runningByLane = new int[LANES.length];
+
+    private final long[] started = new long[LANES.length];
+
+    private final long[] dropped = new long[LANES.length];
+
+    private final long[] totalWait = new long[LANES.length];
+
+    private final long[] maxWait = new long[LANES.length];
+
+    private boolean shutdown;
+
+    private volatile boolean registered;
+
+    /** Builds a scheduler configured by system properties, and registers its statistics in JMX */
+    public RenderingScheduler() {
+        this(
+                Integer.getInteger(MAX_THREADS_PROPERTY, 4 * Runtime.getRuntime().availableProcessors()),
+                Integer.getInteger(MAX_MAP_THREADS_PROPERTY, -1),
+                Integer.getInteger(MAX_PRINT_THREADS_PROPERTY, -1),
+                FairnessKey.valueOf(System.getProperty(FAIRNESS_KEY_PROPERTY, "layer").toUpperCase()),
+                Integer.getInteger(MAX_THREADS_PER_KEY_PROPERTY, Integer.MAX_VALUE));
+        registerMBean();
+    }
+
+    /**
+     * Builds a scheduler with the given limits
+     *
+     * @param maxThreads the maximum number of tasks running at the same time
+     * @param maxMapThreads the maximum number of ad-hoc GetMap tasks running at the same time, a negative value
+     *     defaults to three quarters of {@code maxThreads}
+     * @param maxPrintThreads the maximum number of printing tasks running at the same time, a negative value defaults
+     *     to a quarter of {@code maxThreads}
+     * @param fairnessKey what the per key caps apply to
+     * @param maxThreadsPerKey the maximum number of tasks running at the same time for the same key
+     */
+    public RenderingScheduler(
+            int maxThreads, int maxMapThreads, int maxPrintThreads, FairnessKey fairnessKey, int maxThreadsPerKey) {
+        this.maxThreads = Math.max(1, maxThreads);
+        this.maxLaneThreads[RenderingLane.TILE.ordinal()] = this.maxThreads;
+        this.maxLaneThreads[RenderingLane.MAP.ordinal()] =
+                Math.max(1, maxMapThreads < 0 ? this.maxThreads * 3 / 4 : maxMapThreads);
+        this.maxLaneThreads[RenderingLane.PRINT.ordinal()] =
+                Math.max(1, maxPrintThreads < 0 ? this.maxThreads / 4 : maxPrintThreads);
+        this.fairnessKey = fairnessKey;
+        this.maxThreadsPerKey = Math.max(1, maxThreadsPerKey);
+        for (RenderingLane lane : LANES) {
+            queues[lane.ordinal()] = new ArrayDeque<>();
+            credits[lane.ordinal()] = lane.getWeight();
+        }
+        // the threads are bounded by the scheduling, plus the nested tasks
+        this.threads =
+                new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60L, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+                    Thread t = new Thread(r, "wms-rendering");
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /** Returns true if the rendering scheduler has been enabled with the {@link #ENABLED_PROPERTY} system variable */
+    public static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /** Returns the {@link RenderingScheduler} found in the application context, or a new default one */
+    static RenderingScheduler lookup() {
+        RenderingScheduler scheduler = GeoServerExtensions.bean(RenderingScheduler.class);
+        return scheduler != null ? scheduler : new RenderingScheduler();
+    }
+
+    /**
+     * Returns the lane the work submitted while executing the given request belongs to
+     *
+     * @param request the current OWS request, or null if the work is not submitted by the OWS dispatcher
+     */
+    protected RenderingLane getLane(Request request) {
+        if (request == null) {
+            return RenderingLane.MAP;
+        }
+        String service = request.getService();
+        Map<String, Object> kvp = request.getRawKvp();
+        if ("gwc".equalsIgnoreCase(service)
+                || "WMTS".equalsIgnoreCase(service)
+                || (kvp != null
+                        && (kvp.containsKey(GWC_SEED_INTERCEPT_TOKEN)
+                                || Boolean.parseBoolean(getString(kvp, "TILED"))))) {
+            return RenderingLane.TILE;
+        }
+        if ("WPS".equalsIgnoreCase(service)) {
+            // map downloads and other offline map production
+            return RenderingLane.PRINT;
+        }
+        if (kvp != null) {
+            String format = getString(kvp, "FORMAT");
+            if (format != null) {
+                format = format.toLowerCase();
+                if (format.contains("pdf") || format.contains("svg") || format.contains("postscript")) {
+                    return RenderingLane.PRINT;
+                }
+            }
+            try {
+                String width = getString(kvp, "WIDTH");
+                String height = getString(kvp, "HEIGHT");
+                if (width != null
+                        && height != null
+                        && Long.parseLong(width.trim()) * Long.parseLong(height.trim()) > PRINT_PIXELS) {
+                    return RenderingLane.PRINT;
+                }
+            } catch (NumberFormatException e) {
+                // the request parsing will complain
+            }
+        }
+        return RenderingLane.MAP;
+    }
+
+    /**
+     * Returns the key the per key caps apply to for the work submitted while executing the given request, or null if
+     * the work is not subject to them
+     *
+     * @param request the current OWS request, or null if the work is not submitted by the OWS dispatcher
+     */
+    protected String getKey(Request request) {
+        if (request == null || maxThreadsPerKey == Integer.MAX_VALUE) {
+            return null;
+        }
+        Map<String, Object> kvp = request.getRawKvp();
+        String layers = kvp == null ? null : getString(kvp, kvp.containsKey("LAYERS") ? "LAYERS" : "LAYER");
+        if (fairnessKey == FairnessKey.LAYER) {
+            return layers;
+        }
+        WorkspaceInfo workspace = LocalWorkspace.get();
+        if (workspace != null) {
+            return workspace.getName();
+        }
+        if (layers == null) {
+            return null;
+        }
+        String first = layers.split(",")[0];
+        int idx = first.indexOf(':');
+        // layers without a prefix share the same key
+        return idx > 0 ? first.substring(0, idx) : "";
+    }
+
+    private static String getString(Map<String, Object> kvp, String key) {
+        Object value = kvp.get(key);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        ThreadLocalsTransfer transfer = new ThreadLocalsTransfer();
+        if (RENDERING_THREAD.get() != null) {
+            // nested work, queueing it behind other requests could deadlock its parent task
+            threads.execute(new Task(command, transfer, null, null));
+            return;
+        }
+        Request request = Dispatcher.REQUEST.get();
+        Task task = new Task(command, transfer, getLane(request), getKey(request));
+        synchronized (lock) {
+            if (shutdown) {
+                throw new RejectedExecutionException("The rendering scheduler has been shut down");
+            }
+            queues[task.lane.ordinal()].add(task);
+        }
+        dispatch();
+    }
+
+    /** Starts as many queued tasks as the limits allow */
+    private void dispatch() {
+        List<Task> starts = new ArrayList<>();
+        List<Task> drops = new ArrayList<>();
+        synchronized (lock) {
+            Task task;
+            while (running < maxThreads && (task = next(drops)) != null) {
+                int lane = task.lane.ordinal();
+                long wait = System.nanoTime() - task.queued;
+                running++;
+                runningByLane[lane]++;
+                if (task.key != null) {
+                    runningByKey.merge(task.key, 1, Integer::sum);
+                }
+                started[lane]++;
+                totalWait[lane] += wait;
+                maxWait[lane] = Math.max(maxWait[lane], wait);
+                task.scheduled = true;
+                starts.add(task);
+            }
+        }
+        drops.forEach(Task::cancel);
+        for (Task task : starts) {
+            try {
+                threads.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.cancel();
+                completed(task);
+            }
+        }
+        terminateIfDrained();
+    }
+
+    /** Stops the rendering threads once shut down and all the accepted tasks have run */
+    private void terminateIfDrained() {
+        synchronized (lock) {
+            if (!shutdown || running > 0) {
+                return;
+            }
+            for (ArrayDeque<Task> queue : queues) {
+                if (!queue.isEmpty()) {
+                    return;
+                }
+            }
+        }
+        threads.shutdown();
+    }
+
+    /** Picks the next task to run, giving each lane a number of turns matching its weight, guarded by lock */
+    private Task next(List<Task> drops) {
+        for (RenderingLane lane : LANES) {
+            if (credits[lane.ordinal()] > 0) {
+                Task task = poll(lane, drops);
+                if (task != null) {
+                    credits[lane.ordinal()]--;
+                    return task;
+                }
+            }
+        }
+        // the lanes that still had turns have no work that can be started, start a new round
+        for (RenderingLane lane : LANES) {
+            credits[lane.ordinal()] = lane.getWeight();
+        }
+        for (RenderingLane lane : LANES) {
+            Task task = poll(lane, drops);
+            if (task != null) {
+                credits[lane.ordinal()]--;
+                return task;
+            }
+        }
+        return null;
+    }
+
+    /** Removes the first task of the lane that can be started, if any, guarded by lock */
+    private Task poll(RenderingLane lane, List<Task> drops) {
+        int idx = lane.ordinal();
+        if (runningByLane[idx] >= maxLaneThreads[idx]) {
+            return null;
+        }
+        for (Iterator<Task> it = queues[idx].iterator(); it.hasNext(); ) {
+            Task task = it.next();
+            if (task.isAbandoned()) {
+                it.remove();
+                dropped[idx]++;
+                drops.add(task);
+            } else if (task.key == null || runningByKey.getOrDefault(task.key, 0) < maxThreadsPerKey) {
+                it.remove();
+                return task;
+            }
+        }
+        return null;
+    }
+
+    private void completed(Task task) {
+        synchronized (lock) {
+            running--;
+            runningByLane[task.lane.ordinal()]--;
+            if (task.key != null) {
+                runningByKey.computeIfPresent(task.key, (k, v) -> v > 1 ? v - 1 : null);
+            }
+        }
+        dispatch();
+    }
+
+    /** A queued rendering task, runs the submitted command with the submitter thread locals */
+    private final class Task implements Runnable {
+
+        final Runnable command;
+
+        final ThreadLocalsTransfer transfer;
+
+        final RenderingLane lane;
+
+        final String key;
+
+        final long queued = System.nanoTime();
+
+        /** Whether the task has been accounted for as running, guarded by lock */
+        boolean scheduled;
+
+        Task(Runnable command, ThreadLocalsTransfer transfer, RenderingLane lane, String key) {
+            this.command = command;
+            this.transfer = transfer;
+            this.lane = lane;
+            this.key = key;
+        }
+
+        boolean isAbandoned() {
+            return command instanceof Future<?> future && future.isCancelled();
+        }
+
+        void cancel() {
+            if (command instanceof Future<?> future) {
+                future.cancel(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            RENDERING_THREAD.set(Boolean.TRUE);
+            transfer.apply();
+            try {
+                command.run();
+            } finally {
+                transfer.cleanup();
+                RENDERING_THREAD.remove();
+                if (scheduled) {
+                    completed(this);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting new tasks, the queued ones are still run, according to the usual limits, and the rendering
+     * threads are stopped once they are all done
+     */
+    @Override
+    public void shutdown() {
+        synchronized (lock) {
+            shutdown = true;
+        }
+        unregisterMBean();
+        terminateIfDrained();
+    }
+
+    /** Shuts down the rendering threads, the tasks that did not start yet are dropped, the running ones interrupted */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Task> drops = new ArrayList<>();
+        synchronized (lock) {
+            shutdown = true;
+            for (ArrayDeque<Task> queue : queues) {
+                drops.addAll(queue);
+                queue.clear();
+            }
+        }
+        drops.forEach(Task::cancel);
+        threads.shutdownNow();
+        unregisterMBean();
+        List<Runnable> result = new ArrayList<>();
+        drops.forEach(t -> result.add(t.command));
+        return result;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        synchronized (lock) {
+            return shutdown;
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return threads.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return threads.awaitTermination(timeout, unit);
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            // the last scheduler created wins (there might be more in tests)
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+            registered = true;
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not register the rendering scheduler statistics in JMX", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (registered && server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not unregister the rendering scheduler statistics from JMX", e);
+        }
+    }
+
+    private Map<String, Long> byLane(IntToLongFunction value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        synchronized (lock) {
+            for (RenderingLane lane : LANES) {
+                result.put(lane.name(), value.applyAsLong(lane.ordinal()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getQueueDepth() {
+        return byLane(lane -> queues[lane].size());
+    }
+
+    @Override
+    public Map<String, Long> getRunningCount() {
+        return byLane(lane -> runningByLane[lane]);
+    }
+
+    @Override
+    public Map<String, Long> getStartedCount() {
+        return byLane(lane -> started[lane]);
+    }
+
+    @Override
+    public Map<String, Long> getDroppedCount() {
+        return byLane(lane -> dropped[lane]);
+    }
+
+    @Override
+    public Map<String, Double> getAverageWaitTime() {
+        Map<String, Double> result = new LinkedHashMap<>();
+        synchronized (lock) {
+            for (RenderingLane lane : LANES) {
+                int idx = lane.ordinal();
+                result.put(lane.name(), started[idx] == 0 ? 0d : totalWait[idx] / (started[idx] * 1e6));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getMaxWaitTime() {
+        return byLane(lane -> TimeUnit.NANOSECONDS.toMillis(maxWait[lane]));
+    }
+
+    @Override
+    public int getMaxThreads() {
+        return maxThreads;
+    }
+}
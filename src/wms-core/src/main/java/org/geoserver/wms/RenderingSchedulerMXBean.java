@@ -0,0 +1,32 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+import java.util.Map;
+
+/** JMX management interface of the {@link RenderingScheduler}, exposing its statistics by {@link RenderingLane} */
+public interface RenderingSchedulerMXBean {
+
+    /** Number of tasks waiting to be started, by lane */
+    Map<String, Long> getQueueDepth();
+
+    /** Number of tasks currently running, by lane */
+    Map<String, Long> getRunningCount();
+
+    /** Number of tasks started since the scheduler was created, by lane */
+    Map<String, Long> getStartedCount();
+
+    /** Number of tasks dropped because the request they belonged to was already over, by lane */
+    Map<String, Long> getDroppedCount();
+
+    /** Average time the started tasks waited in the queue, in milliseconds, by lane */
+    Map<String, Double> getAverageWaitTime();
+
+    /** Maximum time a started task waited in the queue, in milliseconds, by lane */
+    Map<String, Long> getMaxWaitTime();
+
+    /** Maximum number of tasks running at the same time, nested tasks excluded */
+    int getMaxThreads();
+}
@@ -0,0 +1,74 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.compiled;
+
+import java.util.function.Predicate;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+
+/**
+ * Wraps a rule filter, evaluating simple features with a predicate compiled by {@link FilterCompiler}. The predicate
+ * is compiled on first use against the type of the features evaluated, which may differ from the source one when the
+ * renderer queries a subset of the attributes, and compiled again should the type change.
+ *
+ * <p>Visitors see the wrapped filter. When a duplicating visitor returns an unchanged copy of it, as the style copies
+ * made by the renderer while rescaling do, the copy gets wrapped again. Filters rewritten by the visitor, and the
+ * simplified ones the renderer builds the data query from, are returned as is.
+ */
+public class CompiledFilter implements Filter {
+
+    private final Filter delegate;
+
+    private volatile Compiled compiled;
+
+    public CompiledFilter(Filter delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public boolean evaluate(Object object) {
+        if (!(object instanceof SimpleFeature feature)) {
+            return delegate.evaluate(object);
+        }
+        SimpleFeatureType type = feature.getFeatureType();
+        Compiled current = compiled;
+        if (current == null || current.type() != type) {
+            current = new Compiled(type, FilterCompiler.compile(delegate, type));
+            compiled = current;
+        }
+        return current.predicate().test(feature);
+    }
+
+    @Override
+    public Object accept(FilterVisitor visitor, Object extraData) {
+        Object result = delegate.accept(visitor, extraData);
+        if (isCopy(visitor, result)) {
+            return new CompiledFilter((Filter) result);
+        }
+        return result;
+    }
+
+    private boolean isCopy(FilterVisitor visitor, Object result) {
+        return visitor instanceof DuplicatingFilterVisitor
+                && !(visitor instanceof SimplifyingFilterVisitor)
+                && result instanceof Filter
+                && delegate.equals(result);
+    }
+
+    public Filter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private record Compiled(SimpleFeatureType type, Predicate<SimpleFeature> predicate) {}
+}
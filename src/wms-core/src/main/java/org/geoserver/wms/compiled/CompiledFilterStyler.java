@@ -0,0 +1,79 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.compiled;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.wms.GetMapCallbackAdapter;
+import org.geoserver.wms.WMSMapContent;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.styling.visitor.DuplicatingStyleVisitor;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Replaces the rule filters of the vector layers styles with {@link CompiledFilter} wrappers, so that the rule matching
+ * performed by the renderer for each feature runs on compiled predicates rather than on the interpreted filter trees.
+ *
+ * <p>Disabled by default, enable it with the {@link #ENABLED_PROPERTY} system property.
+ */
+public class CompiledFilterStyler extends GetMapCallbackAdapter {
+
+    static final Logger LOGGER = Logging.getLogger(CompiledFilterStyler.class);
+
+    /** System property enabling the compiled rule filters */
+    public static final String ENABLED_PROPERTY = "org.geoserver.wms.compiledFilters";
+
+    private final boolean enabled;
+
+    public CompiledFilterStyler() {
+        this(Boolean.getBoolean(ENABLED_PROPERTY));
+    }
+
+    public CompiledFilterStyler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Layer beforeLayer(WMSMapContent mapContent, Layer layer) {
+        if (!enabled || !(layer instanceof FeatureLayer featureLayer) || layer.getStyle() == null) {
+            return layer;
+        }
+        try {
+            CompilingStyleVisitor visitor = new CompilingStyleVisitor();
+            layer.getStyle().accept(visitor);
+            if (visitor.compiled > 0) {
+                featureLayer.setStyle((Style) visitor.getCopy());
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not compile the rule filters of layer " + layer.getTitle(), e);
+        }
+        return layer;
+    }
+
+    /** Copies the style, wrapping the rule filters in {@link CompiledFilter} */
+    static class CompilingStyleVisitor extends DuplicatingStyleVisitor {
+
+        int compiled;
+
+        @Override
+        public void visit(Rule rule) {
+            super.visit(rule);
+            Rule copy = (Rule) pages.peek();
+            Filter filter = copy.getFilter();
+            if (filter != null && filter != Filter.INCLUDE && !(filter instanceof CompiledFilter)) {
+                copy.setFilter(new CompiledFilter(filter));
+                compiled++;
+            }
+        }
+    }
+}
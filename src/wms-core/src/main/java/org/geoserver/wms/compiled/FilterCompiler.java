@@ -0,0 +1,576 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.compiled;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsNotEqualTo;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.Add;
+import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Divide;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.Multiply;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.expression.Subtract;
+import org.geotools.util.Converters;
+
+/**
+ * Compiles filters into predicates specialized for a feature type.
+ *
+ * <p>Attribute names are resolved to indexes once, literals are converted once to the type of the attribute they are
+ * compared with, and numeric comparisons, {@code Between}, {@code In} and the case conversion functions are evaluated
+ * on primitive values, without the by-name lookups and conversions the interpreted filters perform for each feature.
+ *
+ * <p>Numbers are compared exactly: integral values as longs, and other values as doubles only when both sides are
+ * exactly represented by a double, so a long beyond 2<sup>53</sup> in a floating point comparison is evaluated by the
+ * original filter. {@code BigDecimal} and {@code BigInteger} values, and floats compared with doubles, are not
+ * compiled at all.
+ *
+ * <p>Constructs not supported (spatial and temporal operators, {@code Like}, other functions, comparisons between two
+ * attributes) are evaluated by the original filter, so are comparisons finding a null attribute value, so that the
+ * result is always the same as the interpreted one.
+ */
+public final class FilterCompiler {
+
+    /** Longs up to this magnitude are exactly represented by doubles */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    private FilterCompiler() {}
+
+    /** Compiles the filter for features of the given type, the result only accepts features of that type */
+    public static Predicate<SimpleFeature> compile(Filter filter, SimpleFeatureType type) {
+        if (filter == Filter.INCLUDE) {
+            return f -> true;
+        } else if (filter == Filter.EXCLUDE) {
+            return f -> false;
+        } else if (filter instanceof And and) {
+            Predicate<SimpleFeature>[] children = compile(and.getChildren(), type);
+            return f -> {
+                for (Predicate<SimpleFeature> child : children) {
+                    if (!child.test(f)) {
+                        return false;
+                    }
+                }
+                return true;
+            };
+        } else if (filter instanceof Or or) {
+            Predicate<SimpleFeature>[] children = compile(or.getChildren(), type);
+            return f -> {
+                for (Predicate<SimpleFeature> child : children) {
+                    if (child.test(f)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        } else if (filter instanceof Not not) {
+            return compile(not.getFilter(), type).negate();
+        } else if (filter instanceof Id id) {
+            Set<String> ids = new HashSet<>();
+            id.getIDs().forEach(i -> ids.add(String.valueOf(i)));
+            return f -> ids.contains(f.getID());
+        }
+
+        Predicate<SimpleFeature> compiled = null;
+        if (filter instanceof PropertyIsNull isNull) {
+            compiled = compileIsNull(isNull, type);
+        } else if (filter instanceof PropertyIsBetween between) {
+            compiled = compileBetween(between, type);
+        } else if (filter instanceof BinaryComparisonOperator comparison) {
+            compiled = compileComparison(comparison, type);
+        }
+        return compiled != null ? compiled : filter::evaluate;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<SimpleFeature>[] compile(List<Filter> filters, SimpleFeatureType type) {
+        Predicate<SimpleFeature>[] result = new Predicate[filters.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = compile(filters.get(i), type);
+        }
+        return result;
+    }
+
+    private static Predicate<SimpleFeature> compileIsNull(PropertyIsNull filter, SimpleFeatureType type) {
+        if (filter.getExpression() instanceof PropertyName name) {
+            Attribute attribute = attribute(name, type);
+            if (attribute != null) {
+                return f -> attribute.value(f) == null;
+            }
+        }
+        return null;
+    }
+
+    private static Predicate<SimpleFeature> compileBetween(PropertyIsBetween filter, SimpleFeatureType type) {
+        Expr value = compile(filter.getExpression(), type);
+        if (value == null || !value.isNumeric()) {
+            return null;
+        }
+        Expr lower = toNumber(compile(filter.getLowerBoundary(), type));
+        Expr upper = toNumber(compile(filter.getUpperBoundary(), type));
+        if (!(lower instanceof Constant low) || !(upper instanceof Constant high)) {
+            return null;
+        }
+        if (value.isIntegral() && low.isIntegral() && high.isIntegral()) {
+            long min = ((Number) low.value).longValue();
+            long max = ((Number) high.value).longValue();
+            return f -> {
+                if (value.value(f) instanceof Number n && isIntegral(n.getClass())) {
+                    long v = n.longValue();
+                    return v >= min && v <= max;
+                }
+                return filter.evaluate(f);
+            };
+        }
+        if (!comparableAsDoubles(value, low) || !comparableAsDoubles(value, high)) {
+            return null;
+        }
+        double min = low.number;
+        double max = high.number;
+        return f -> {
+            double v = value.number(f);
+            if (Double.isNaN(v)) {
+                return filter.evaluate(f);
+            }
+            return v >= min && v <= max;
+        };
+    }
+
+    private static Predicate<SimpleFeature> compileComparison(BinaryComparisonOperator filter, SimpleFeatureType type) {
+        Expr left = compile(filter.getExpression1(), type);
+        Expr right = compile(filter.getExpression2(), type);
+        if (left == null || right == null) {
+            return null;
+        }
+        // one side has to be constant, the literal gets converted to the type of the other side
+        if (right instanceof Constant) {
+            right = convert(right, left.binding);
+        } else if (left instanceof Constant) {
+            left = convert(left, right.binding);
+        } else {
+            return null;
+        }
+        if (left == null || right == null) {
+            return null;
+        }
+        if (left.isNumeric() && right.isNumeric()) {
+            return compileNumeric(filter, left, right);
+        } else if (left.binding == String.class && right.binding == String.class) {
+            return compileString(filter, left, right);
+        } else if (left.binding == Boolean.class && right.binding == Boolean.class) {
+            return compileBoolean(filter, left, right);
+        }
+        return null;
+    }
+
+    private static Predicate<SimpleFeature> compileNumeric(BinaryComparisonOperator filter, Expr left, Expr right) {
+        IntPredicate test;
+        if (filter instanceof PropertyIsEqualTo) {
+            test = c -> c == 0;
+        } else if (filter instanceof PropertyIsNotEqualTo) {
+            test = c -> c != 0;
+        } else if (filter instanceof PropertyIsLessThan) {
+            test = c -> c < 0;
+        } else if (filter instanceof PropertyIsLessThanOrEqualTo) {
+            test = c -> c <= 0;
+        } else if (filter instanceof PropertyIsGreaterThan) {
+            test = c -> c > 0;
+        } else if (filter instanceof PropertyIsGreaterThanOrEqualTo) {
+            test = c -> c >= 0;
+        } else {
+            return null;
+        }
+        if (left.isIntegral() && right.isIntegral()) {
+            return f -> {
+                if (left.value(f) instanceof Number a
+                        && isIntegral(a.getClass())
+                        && right.value(f) instanceof Number b
+                        && isIntegral(b.getClass())) {
+                    return test.test(Long.compare(a.longValue(), b.longValue()));
+                }
+                return filter.evaluate(f);
+            };
+        }
+        if (!comparableAsDoubles(left, right)) {
+            return null;
+        }
+        return f -> {
+            double a = left.number(f);
+            double b = right.number(f);
+            if (Double.isNaN(a) || Double.isNaN(b)) {
+                return filter.evaluate(f);
+            }
+            return test.test(a < b ? -1 : a > b ? 1 : 0);
+        };
+    }
+
+    /**
+     * Whether the two numeric expressions can be compared as doubles. Constants have to be exactly represented, and
+     * floats are not compared with doubles, as the float to double widening would decide the outcome.
+     */
+    private static boolean comparableAsDoubles(Expr left, Expr right) {
+        if (isInexact(left) || isInexact(right)) {
+            return false;
+        }
+        boolean leftFloat = left.binding == Float.class;
+        boolean rightFloat = right.binding == Float.class;
+        return leftFloat == rightFloat || left.isIntegral() || right.isIntegral();
+    }
+
+    private static boolean isInexact(Expr expr) {
+        return expr instanceof Constant c && Double.isNaN(c.number);
+    }
+
+    private static Predicate<SimpleFeature> compileString(BinaryComparisonOperator filter, Expr left, Expr right) {
+        boolean matchCase = filter.isMatchingCase();
+        StringTest test;
+        if (filter instanceof PropertyIsEqualTo) {
+            test = matchCase ? String::equals : String::equalsIgnoreCase;
+        } else if (filter instanceof PropertyIsNotEqualTo) {
+            test = matchCase ? (a, b) -> !a.equals(b) : (a, b) -> !a.equalsIgnoreCase(b);
+        } else if (!matchCase) {
+            return null;
+        } else if (filter instanceof PropertyIsLessThan) {
+            test = (a, b) -> a.compareTo(b) < 0;
+        } else if (filter instanceof PropertyIsLessThanOrEqualTo) {
+            test = (a, b) -> a.compareTo(b) <= 0;
+        } else if (filter instanceof PropertyIsGreaterThan) {
+            test = (a, b) -> a.compareTo(b) > 0;
+        } else if (filter instanceof PropertyIsGreaterThanOrEqualTo) {
+            test = (a, b) -> a.compareTo(b) >= 0;
+        } else {
+            return null;
+        }
+        return f -> {
+            if (left.value(f) instanceof String a && right.value(f) instanceof String b) {
+                return test.test(a, b);
+            }
+            return filter.evaluate(f);
+        };
+    }
+
+    private static Predicate<SimpleFeature> compileBoolean(BinaryComparisonOperator filter, Expr left, Expr right) {
+        boolean equal;
+        if (filter instanceof PropertyIsEqualTo) {
+            equal = true;
+        } else if (filter instanceof PropertyIsNotEqualTo) {
+            equal = false;
+        } else {
+            return null;
+        }
+        return f -> {
+            if (left.value(f) instanceof Boolean a && right.value(f) instanceof Boolean b) {
+                return a.equals(b) == equal;
+            }
+            return filter.evaluate(f);
+        };
+    }
+
+    /** Compiles an expression, returns null if not supported */
+    static Expr compile(Expression expression, SimpleFeatureType type) {
+        if (expression instanceof Literal literal) {
+            Object value = literal.getValue();
+            return value != null ? new Constant(value) : null;
+        } else if (expression instanceof PropertyName name) {
+            return attribute(name, type);
+        } else if (expression instanceof BinaryExpression math) {
+            return compileMath(math, type);
+        } else if (expression instanceof Function function) {
+            return compileFunction(function, type);
+        }
+        return null;
+    }
+
+    private static Attribute attribute(PropertyName name, SimpleFeatureType type) {
+        String propertyName = name.getPropertyName();
+        int index = type.indexOf(propertyName);
+        if (index < 0 && propertyName.indexOf(':') > 0) {
+            index = type.indexOf(propertyName.substring(propertyName.indexOf(':') + 1));
+        }
+        if (index < 0) {
+            return null;
+        }
+        return new Attribute(index, type.getDescriptor(index).getType().getBinding());
+    }
+
+    private static Expr compileMath(BinaryExpression expression, SimpleFeatureType type) {
+        Expr left = toNumber(compile(expression.getExpression1(), type));
+        Expr right = toNumber(compile(expression.getExpression2(), type));
+        if (left == null || right == null || !left.isNumeric() || !right.isNumeric()) {
+            return null;
+        }
+        if (expression instanceof Add) {
+            return new Arithmetic(left, right, Double::sum);
+        } else if (expression instanceof Subtract) {
+            return new Arithmetic(left, right, (a, b) -> a - b);
+        } else if (expression instanceof Multiply) {
+            return new Arithmetic(left, right, (a, b) -> a * b);
+        } else if (expression instanceof Divide) {
+            return new Arithmetic(left, right, (a, b) -> a / b);
+        }
+        return null;
+    }
+
+    private static Expr compileFunction(Function function, SimpleFeatureType type) {
+        String name = function.getName();
+        List<Expression> parameters = function.getParameters();
+        if (name == null || parameters.isEmpty()) {
+            return null;
+        }
+        if (name.equals("in") || name.matches("in\\d+")) {
+            return compileIn(function, type);
+        } else if (parameters.size() == 1 && (name.equals("strToLowerCase") || name.equals("strToUpperCase"))) {
+            Expr value = compile(parameters.get(0), type);
+            if (value == null || value.binding != String.class || value instanceof Constant) {
+                return null;
+            }
+            boolean lower = name.equals("strToLowerCase");
+            return new Expr(String.class) {
+                @Override
+                Object value(SimpleFeature f) {
+                    Object v = value.value(f);
+                    if (!(v instanceof String s)) {
+                        return function.evaluate(f);
+                    }
+                    return lower ? s.toLowerCase() : s.toUpperCase();
+                }
+            };
+        }
+        return null;
+    }
+
+    private static Expr compileIn(Function function, SimpleFeatureType type) {
+        List<Expression> parameters = function.getParameters();
+        Expr value = compile(parameters.get(0), type);
+        if (value == null || value instanceof Constant) {
+            return null;
+        }
+        List<Expression> candidates = parameters.subList(1, parameters.size());
+        if (value.isNumeric()) {
+            List<Constant> constants = new ArrayList<>();
+            boolean integral = value.isIntegral();
+            for (Expression candidate : candidates) {
+                if (!(toNumber(compile(candidate, type)) instanceof Constant c)) {
+                    return null;
+                }
+                constants.add(c);
+                integral &= c.isIntegral();
+            }
+            if (integral) {
+                long[] longs = constants.stream()
+                        .mapToLong(c -> ((Number) c.value).longValue())
+                        .sorted()
+                        .toArray();
+                return new Expr(Boolean.class) {
+                    @Override
+                    Object value(SimpleFeature f) {
+                        if (value.value(f) instanceof Number n && isIntegral(n.getClass())) {
+                            return Arrays.binarySearch(longs, n.longValue()) >= 0;
+                        }
+                        return function.evaluate(f);
+                    }
+                };
+            }
+            if (!constants.stream().allMatch(c -> comparableAsDoubles(value, c))) {
+                return null;
+            }
+            double[] numbers = constants.stream().mapToDouble(c -> c.number).sorted().toArray();
+            return new Expr(Boolean.class) {
+                @Override
+                Object value(SimpleFeature f) {
+                    double v = value.number(f);
+                    if (Double.isNaN(v)) {
+                        return function.evaluate(f);
+                    }
+                    return Arrays.binarySearch(numbers, v) >= 0;
+                }
+            };
+        } else if (value.binding == String.class) {
+            Set<String> strings = new HashSet<>();
+            for (Expression candidate : candidates) {
+                if (!(convert(compile(candidate, type), String.class) instanceof Constant c)) {
+                    return null;
+                }
+                strings.add((String) c.value);
+            }
+            return new Expr(Boolean.class) {
+                @Override
+                Object value(SimpleFeature f) {
+                    Object v = value.value(f);
+                    if (v == null) {
+                        return function.evaluate(f);
+                    }
+                    return strings.contains(v);
+                }
+            };
+        }
+        return null;
+    }
+
+    private static Expr toNumber(Expr expr) {
+        return expr instanceof Constant ? convert(expr, Double.class) : expr;
+    }
+
+    /**
+     * Converts a constant to the given type, returns null if not possible. Numeric constants are kept as they are when
+     * the type is numeric too, so that they get compared exactly. Other expressions are returned as is.
+     */
+    private static Expr convert(Expr expr, Class<?> binding) {
+        if (!(expr instanceof Constant constant)) {
+            return expr;
+        }
+        if (binding.isInstance(constant.value) || isNumeric(binding) && constant.isNumeric()) {
+            return constant;
+        }
+        // big numbers would lose precision
+        boolean bigNumber = constant.value instanceof Number && !constant.isNumeric();
+        if (bigNumber || !isNumeric(binding) && binding != String.class && binding != Boolean.class) {
+            return null;
+        }
+        Object converted = Converters.convert(constant.value, binding);
+        return converted != null ? new Constant(converted) : null;
+    }
+
+    static boolean isIntegral(Class<?> binding) {
+        return binding == Integer.class || binding == Long.class || binding == Short.class || binding == Byte.class;
+    }
+
+    static boolean isNumeric(Class<?> binding) {
+        return isIntegral(binding) || binding == Double.class || binding == Float.class;
+    }
+
+    /** The value as a double, NaN if null, not a number or not exactly represented by a double */
+    static double toDouble(Object value) {
+        if (value instanceof Long l) {
+            return l >= -MAX_EXACT_LONG && l <= MAX_EXACT_LONG ? l : Double.NaN;
+        } else if (value instanceof Number n && isNumeric(n.getClass())) {
+            return n.doubleValue();
+        }
+        return Double.NaN;
+    }
+
+    @FunctionalInterface
+    private interface StringTest {
+        boolean test(String a, String b);
+    }
+
+    @FunctionalInterface
+    private interface NumericOperator {
+        double apply(double a, double b);
+    }
+
+    /** A compiled expression, with the type of its values */
+    abstract static class Expr {
+
+        final Class<?> binding;
+
+        Expr(Class<?> binding) {
+            this.binding = binding;
+        }
+
+        abstract Object value(SimpleFeature f);
+
+        /** The value as a double, NaN if null, not a number or not exactly represented by a double */
+        double number(SimpleFeature f) {
+            return toDouble(value(f));
+        }
+
+        /** Whether the values are integral or floating point primitive wrappers */
+        boolean isNumeric() {
+            return FilterCompiler.isNumeric(binding);
+        }
+
+        boolean isIntegral() {
+            return FilterCompiler.isIntegral(binding);
+        }
+    }
+
+    static final class Constant extends Expr {
+
+        final Object value;
+
+        final double number;
+
+        Constant(Object value) {
+            super(value.getClass());
+            this.value = value;
+            this.number = toDouble(value);
+        }
+
+        @Override
+        Object value(SimpleFeature f) {
+            return value;
+        }
+
+        @Override
+        double number(SimpleFeature f) {
+            return number;
+        }
+    }
+
+    static final class Attribute extends Expr {
+
+        final int index;
+
+        Attribute(int index, Class<?> binding) {
+            super(binding);
+            this.index = index;
+        }
+
+        @Override
+        Object value(SimpleFeature f) {
+            return f.getAttribute(index);
+        }
+    }
+
+    static final class Arithmetic extends Expr {
+
+        final Expr left;
+
+        final Expr right;
+
+        final NumericOperator operator;
+
+        Arithmetic(Expr left, Expr right, NumericOperator operator) {
+            super(Double.class);
+            this.left = left;
+            this.right = right;
+            this.operator = operator;
+        }
+
+        @Override
+        Object value(SimpleFeature f) {
+            double v = number(f);
+            return Double.isNaN(v) ? null : v;
+        }
+
+        @Override
+        double number(SimpleFeature f) {
+            return operator.apply(left.number(f), right.number(f));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import java.awt.Rectangle;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.renderer.lite.RendererUtilities;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.index.strtree.STRtree;
+
+/**
+ * Spatial index of the features drawn while rendering a layer in a map, built as a by-product of the rendering and
+ * used to answer GetFeatureInfo requests hitting the same map without rendering again.
+ *
+ * <p>The index is a packed R-tree of the screen space envelopes of the drawn features, expanded by the size of the
+ * symbols, associated to the feature ids. The feature ids are returned in rendering order.
+ */
+public class FeatureHitIndex {
+
+    private final QName layerName;
+
+    private final ReferencedEnvelope bounds;
+
+    private final int width;
+
+    private final int height;
+
+    private final AffineTransform worldToScreen;
+
+    private final double radius;
+
+    private final String[] ids;
+
+    private final STRtree tree;
+
+    FeatureHitIndex(Builder builder) {
+        this.layerName = builder.layerName;
+        this.bounds = builder.bounds;
+        this.width = builder.width;
+        this.height = builder.height;
+        this.worldToScreen = builder.worldToScreen;
+        this.radius = builder.radius;
+        this.ids = builder.ids.toArray(new String[builder.ids.size()]);
+        this.tree = new STRtree(Math.max(2, Math.min(10, ids.length)));
+        for (int i = 0; i < ids.length; i++) {
+            tree.insert(builder.envelopes.get(i), i);
+        }
+        tree.build();
+    }
+
+    /** The qualified name of the indexed layer, or null if not a catalog layer */
+    public QName getLayerName() {
+        return layerName;
+    }
+
+    /** The area rendered in the map */
+    public ReferencedEnvelope getBounds() {
+        return bounds;
+    }
+
+    /** The transformation from world to screen space of the rendered map */
+    public AffineTransform getWorldToScreen() {
+        return new AffineTransform(worldToScreen);
+    }
+
+    /** The radius of the largest symbol used to draw the features, in pixels */
+    public double getRadius() {
+        return radius;
+    }
+
+    /** Number of features drawn */
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Returns the screen space area around the given world location
+     *
+     * @param x The x of the location, in world coordinates
+     * @param y The y of the location, in world coordinates
+     * @param buffer The radius of the area, in pixels
+     */
+    public Envelope getScreenArea(double x, double y, double buffer) {
+        Point2D screen = worldToScreen.transform(new Point2D.Double(x, y), null);
+        return new Envelope(
+                screen.getX() - buffer, screen.getX() + buffer, screen.getY() - buffer, screen.getY() + buffer);
+    }
+
+    /** Returns true if the given screen space area falls inside the rendered map */
+    public boolean covers(Envelope screenArea) {
+        return screenArea.getMinX() >= 0
+                && screenArea.getMinY() >= 0
+                && screenArea.getMaxX() <= width
+                && screenArea.getMaxY() <= height;
+    }
+
+    /** Returns the ids of the features whose symbols might be drawn in the given screen area, in rendering order */
+    public Set<String> query(Envelope screenArea) {
+        List<Integer> hits = new ArrayList<>();
+        tree.query(screenArea, item -> hits.add((Integer) item));
+        hits.sort(null);
+        Set<String> result = new LinkedHashSet<>();
+        for (Integer hit : hits) {
+            result.add(ids[hit]);
+        }
+        return result;
+    }
+
+    /** Collects the drawn features while a layer is being rendered */
+    public static class Builder {
+
+        private final QName layerName;
+
+        private final ReferencedEnvelope bounds;
+
+        private final int width;
+
+        private final int height;
+
+        private final AffineTransform worldToScreen;
+
+        private final double radius;
+
+        private final List<String> ids = new ArrayList<>();
+
+        private final List<Envelope> envelopes = new ArrayList<>();
+
+        /**
+         * @param layerName the qualified name of the layer, or null if not a catalog layer
+         * @param bounds the area being rendered
+         * @param width the width of the map, in pixels
+         * @param height the height of the map, in pixels
+         * @param radius the radius of the largest symbol used to draw the features, in pixels
+         */
+        public Builder(QName layerName, ReferencedEnvelope bounds, int width, int height, double radius) {
+            this.layerName = layerName;
+            this.bounds = bounds;
+            this.width = width;
+            this.height = height;
+            this.radius = radius;
+            this.worldToScreen = RendererUtilities.worldToScreenTransform(bounds, new Rectangle(width, height));
+        }
+
+        public AffineTransform getWorldToScreen() {
+            return worldToScreen;
+        }
+
+        /** Adds a drawn feature, given its screen space envelope before the symbol expansion */
+        public void add(String id, Envelope screenEnvelope) {
+            Envelope expanded = new Envelope(screenEnvelope);
+            expanded.expandBy(radius);
+            ids.add(id);
+            envelopes.add(expanded);
+        }
+
+        public FeatureHitIndex build() {
+            return new FeatureHitIndex(this);
+        }
+    }
+}
@@ -0,0 +1,381 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalNotification;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.CatalogException;
+import org.geoserver.catalog.event.CatalogAddEvent;
+import org.geoserver.catalog.event.CatalogListener;
+import org.geoserver.catalog.event.CatalogModifyEvent;
+import org.geoserver.catalog.event.CatalogPostModifyEvent;
+import org.geoserver.catalog.event.CatalogRemoveEvent;
+import org.geoserver.config.ConfigurationListenerAdapter;
+import org.geoserver.config.GeoServer;
+import org.geoserver.config.GeoServerInfo;
+import org.geoserver.config.ServiceInfo;
+import org.geoserver.config.impl.GeoServerLifecycleHandler;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.style.Style;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.Envelope;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Caches the {@link FeatureHitIndex} built while rendering tiled maps, so that GetFeatureInfo requests hitting the
+ * same tiles can be answered with an index lookup, see {@link FeatureHitIndexer} and
+ * {@link VectorRenderingLayerIdentifier}.
+ *
+ * <p>The indexes are grouped by {@link HitIndexKey}, that is, by layer, style, filters, dimensions, CRS and resolution,
+ * and found by location inside the group. The cache is bounded in number of indexed features and indexes, with least
+ * recently used eviction, and the indexes expire after a configurable time, as a safety net against data changes
+ * performed without going through GeoServer. Data modifications evict the indexes of the modified layer, catalog and
+ * configuration changes wipe the whole cache. Each invalidation also bumps a generation counter, captured by
+ * {@link FeatureHitIndexer} before rendering and checked again when the index is cached, so that an index built while
+ * the data was being modified is never published.
+ *
+ * <p>The cache is disabled by default, it can be enabled using the {@link #ENABLED_KEY} system property.
+ */
+public class FeatureHitIndexCache
+        implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent>, CatalogListener {
+
+    /** System property enabling the hit index */
+    public static final String ENABLED_KEY = "org.geoserver.wms.featureinfo.hitIndex";
+
+    /** System property setting the maximum number of features indexed, across all the cached indexes */
+    public static final String MAX_FEATURES_KEY = "org.geoserver.wms.featureinfo.hitIndex.maxFeatures";
+
+    /** System property setting the maximum number of cached indexes */
+    public static final String MAX_ENTRIES_KEY = "org.geoserver.wms.featureinfo.hitIndex.maxEntries";
+
+    /** System property setting the time after which a cached index expires, in seconds, zero or less to disable */
+    public static final String EXPIRE_SECONDS_KEY = "org.geoserver.wms.featureinfo.hitIndex.expireSeconds";
+
+    static final int DEFAULT_MAX_FEATURES = 1_000_000;
+
+    static final long DEFAULT_EXPIRE_SECONDS = 600;
+
+    static final int DEFAULT_MAX_ENTRIES = 10_000;
+
+    private static final MathContext RESOLUTION_PRECISION = new MathContext(9);
+
+    private final boolean enabled;
+
+    private final Cache<IndexId, FeatureHitIndex> indexes;
+
+    /** The ids of the cached indexes, grouped by key */
+    private final Map<HitIndexKey, Set<IndexId>> directory = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /** Incremented on each invalidation, to tell apart the indexes built across one */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeatureHitIndexCache(GeoServer geoServer) {
+        this(
+                Boolean.getBoolean(ENABLED_KEY),
+                Integer.getInteger(MAX_FEATURES_KEY, DEFAULT_MAX_FEATURES),
+                Integer.getInteger(MAX_ENTRIES_KEY, DEFAULT_MAX_ENTRIES),
+                Long.getLong(EXPIRE_SECONDS_KEY, DEFAULT_EXPIRE_SECONDS),
+                Ticker.systemTicker());
+        if (enabled) {
+            geoServer.getCatalog().addListener(this);
+            geoServer.addListener(new ConfigurationListenerAdapter() {
+                @Override
+                public void handleGlobalChange(
+                        GeoServerInfo global,
+                        List<String> propertyNames,
+                        List<Object> oldValues,
+                        List<Object> newValues) {
+                    clear();
+                }
+
+                @Override
+                public void handleServiceChange(
+                        ServiceInfo service,
+                        List<String> propertyNames,
+                        List<Object> oldValues,
+                        List<Object> newValues) {
+                    clear();
+                }
+            });
+        }
+    }
+
+    /**
+     * @param enabled whether the hit index is enabled
+     * @param maxFeatures the maximum number of features indexed, across all the cached indexes
+     * @param maxEntries the maximum number of cached indexes
+     * @param expireSeconds the time after which a cached index expires, in seconds, zero or less to disable
+     * @param ticker the time source used to expire the indexes
+     */
+    FeatureHitIndexCache(boolean enabled, int maxFeatures, int maxEntries, long expireSeconds, Ticker ticker) {
+        this.enabled = enabled;
+        // like in QuickTileCache, the minimum weight makes the weight bound also bound the
+        // number of entries
+        final int minWeight = Math.max(1, maxFeatures / Math.max(1, maxEntries));
+        CacheBuilder<Object, Object> builder = CacheBuilder.newBuilder().ticker(ticker);
+        if (expireSeconds > 0) {
+            builder.expireAfterWrite(expireSeconds, TimeUnit.SECONDS);
+        }
+        this.indexes = builder.maximumWeight(maxFeatures)
+                .weigher((IndexId k, FeatureHitIndex v) -> Math.max(minWeight, v.size()))
+                .removalListener((RemovalNotification<IndexId, FeatureHitIndex> n) -> {
+                    if (n.getCause() != RemovalCause.REPLACED) {
+                        unlist(n.getKey());
+                    }
+                })
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the key grouping the indexes of the given layer rendered by the request, or null if the layer is not part
+     * of the request or its rendering cannot be indexed (e.g., paged, sorted or clipped)
+     */
+    public static HitIndexKey getKey(GetMapRequest request, String layerName) {
+        List<MapLayerInfo> layers = request.getLayers();
+        int idx = 0;
+        while (idx < layers.size() && !Objects.equals(layers.get(idx).getName(), layerName)) {
+            idx++;
+        }
+        if (idx == layers.size()
+                || request.getCrs() == null
+                || request.getBbox() == null
+                || request.getStartIndex() != null
+                || request.getMaxFeatures() != null
+                || request.getClip() != null
+                || (request.getFeatureId() != null && !request.getFeatureId().isEmpty())
+                || (request.getSortBy() != null && !request.getSortBy().isEmpty())) {
+            return null;
+        }
+
+        Style style = get(request.getStyles(), idx);
+        if (style == null) {
+            style = layers.get(idx).getDefaultStyle();
+        }
+        // the rendered features depend on the user permissions too
+        Authentication user = SecurityContextHolder.getContext().getAuthentication();
+        Map<String, Object> env = request.getEnv();
+        StringBuilder sb = new StringBuilder(layerName)
+                .append("|user=")
+                .append(user != null ? user.getName() : null)
+                .append("|style=")
+                .append(style != null ? style.getName() : null)
+                .append("|sld=")
+                .append(request.getSld())
+                .append("|sldBody=")
+                .append(request.getSldBody() != null ? request.getSldBody().hashCode() : null)
+                .append("|filter=")
+                .append(get(request.getFilter(), idx))
+                .append("|cql=")
+                .append(get(request.getCQLFilter(), idx))
+                .append("|viewParams=")
+                .append(get(request.getViewParams(), idx))
+                .append("|time=")
+                .append(request.getTime())
+                .append("|elevation=")
+                .append(request.getElevation())
+                .append("|env=")
+                .append(env != null ? new TreeMap<>(env) : null)
+                .append("|dpi=")
+                .append(request.getFormatOptions().get("dpi"))
+                .append("|version=")
+                .append(request.getFeatureVersion());
+        CoordinateReferenceSystem crs = request.getCrs();
+        String srs = CRS.toSRS(crs) + "/" + CRS.getAxisOrder(crs);
+        double resX = normalize(request.getBbox().getWidth() / request.getWidth());
+        double resY = normalize(request.getBbox().getHeight() / request.getHeight());
+        return new HitIndexKey(sb.toString(), srs, resX, resY);
+    }
+
+    private static <T> T get(List<T> list, int idx) {
+        return list != null && list.size() > idx ? list.get(idx) : null;
+    }
+
+    /** Rounds the resolution to 9 significant digits, so that the little numerical differences disappear */
+    static double normalize(double d) {
+        if (Double.isInfinite(d) || Double.isNaN(d)) {
+            return d;
+        }
+        return new BigDecimal(d).round(RESOLUTION_PRECISION).doubleValue();
+    }
+
+    /** Returns the current generation, to be captured before rendering and passed to {@link #put} */
+    public long getGeneration() {
+        return generation.get();
+    }
+
+    /**
+     * Caches an index, replacing the one built for the same key and area, if any. The index is discarded if the cache
+     * got invalidated since the given generation was captured, that is, while the map was being rendered.
+     */
+    public void put(HitIndexKey key, FeatureHitIndex index, long generation) {
+        if (!enabled || this.generation.get() != generation) {
+            return;
+        }
+        IndexId id = new IndexId(key, index.getBounds());
+        directory.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+        indexes.put(id, index);
+        // an invalidation might have happened between the check and the put
+        if (this.generation.get() != generation) {
+            indexes.asMap().remove(id, index);
+        }
+    }
+
+    /**
+     * Returns an index for the given key whose map covers the search area, or null if none is found
+     *
+     * @param key The index key
+     * @param x The x of the search area center, in world coordinates
+     * @param y The y of the search area center, in world coordinates
+     * @param buffer The search area radius, in pixels
+     */
+    public FeatureHitIndex lookup(HitIndexKey key, double x, double y, double buffer) {
+        Set<IndexId> ids = enabled ? directory.get(key) : null;
+        if (ids != null) {
+            for (IndexId id : ids) {
+                FeatureHitIndex index = indexes.getIfPresent(id);
+                if (index != null && index.covers(index.getScreenArea(x, y, buffer))) {
+                    hits.incrementAndGet();
+                    return index;
+                }
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    private void unlist(IndexId id) {
+        directory.computeIfPresent(id.key(), (k, ids) -> {
+            ids.remove(id);
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+
+    /** Number of lookups answered by a cached index */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /** Number of lookups that did not find a cached index */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /** Number of cached indexes */
+    public long getSize() {
+        return indexes.size();
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        indexes.invalidateAll();
+    }
+
+    @Override
+    public void onApplicationEvent(DataModifiedEvent event) {
+        QName layerName = event.getLayerName();
+        if (layerName == null) {
+            clear();
+        } else {
+            generation.incrementAndGet();
+            indexes.asMap().values().removeIf(index -> rendersLayer(index, layerName));
+        }
+    }
+
+    private boolean rendersLayer(FeatureHitIndex index, QName name) {
+        QName layer = index.getLayerName();
+        // clients might not qualify the type names in a transaction
+        return layer == null
+                || (layer.getLocalPart().equals(name.getLocalPart())
+                        && (name.getNamespaceURI().isEmpty()
+                                || layer.getNamespaceURI().equals(name.getNamespaceURI())));
+    }
+
+    @Override
+    public void handleAddEvent(CatalogAddEvent event) throws CatalogException {
+        // nothing rendered yet
+    }
+
+    @Override
+    public void handleRemoveEvent(CatalogRemoveEvent event) throws CatalogException {
+        clear();
+    }
+
+    @Override
+    public void handleModifyEvent(CatalogModifyEvent event) throws CatalogException {
+        // wait for the post modify
+    }
+
+    @Override
+    public void handlePostModifyEvent(CatalogPostModifyEvent event) throws CatalogException {
+        // styles and layers might have been changed
+        clear();
+    }
+
+    @Override
+    public void reloaded() {
+        clear();
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onDispose() {
+        clear();
+    }
+
+    @Override
+    public void beforeReload() {
+        // nothing to do
+    }
+
+    @Override
+    public void onReload() {
+        clear();
+    }
+
+    /**
+     * Groups the indexes that can answer the same GetFeatureInfo requests: same layer and map definition, CRS and
+     * resolution
+     */
+    public record HitIndexKey(String definition, String srs, double resolutionX, double resolutionY) {}
+
+    /** Identifies a cached index, by key and rendered area */
+    record IndexId(HitIndexKey key, Envelope bounds) {
+        IndexId {
+            Objects.requireNonNull(key);
+            bounds = new Envelope(bounds);
+        }
+    }
+}
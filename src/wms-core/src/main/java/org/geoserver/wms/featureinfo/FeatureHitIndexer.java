@@ -0,0 +1,301 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.geoserver.catalog.ResourceInfo;
+import org.geoserver.wms.GetMapCallbackAdapter;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
+import org.geoserver.wms.RenderingScheduler;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.WebMap;
+import org.geoserver.wms.featureinfo.FeatureHitIndexCache.HitIndexKey;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.type.FeatureType;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.PolygonSymbolizer;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.api.style.Symbolizer;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.transform.AffineTransform2D;
+import org.geotools.referencing.operation.transform.ConcatenatedTransform;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.lite.MetaBufferEstimator;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Builds a {@link FeatureHitIndex} for each vector layer rendered in tiled GetMap requests, as a by-product of the
+ * rendering, and publishes them in the {@link FeatureHitIndexCache} once the map is successfully produced.
+ *
+ * <p>Only the layers whose symbol sizes can be statically estimated, and whose drawn features can be found by their
+ * default geometry, see {@link #isIndexable(Style, FeatureType)}, are indexed. The envelopes of the default geometry
+ * of the drawn features are indexed, expanded by the symbol size.
+ */
+public class FeatureHitIndexer extends GetMapCallbackAdapter {
+
+    static final Logger LOGGER = Logging.getLogger(FeatureHitIndexer.class);
+
+    /** Key of the indexing render listener in the {@link WMSMapContent#getUserData() map content user data} */
+    static final String LISTENER_KEY = IndexingRenderListener.class.getName();
+
+    /** Key of the index being built in the {@link Layer#getUserData() layer user data} */
+    static final String INDEX_KEY = LayerIndex.class.getName();
+
+    private final FeatureHitIndexCache cache;
+
+    private final ThreadLocal<List<LayerIndex>> requestIndexes = new ThreadLocal<>();
+
+    public FeatureHitIndexer(FeatureHitIndexCache cache) {
+        this.cache = cache;
+    }
+
+    /** Returns the render listener collecting the drawn features of the map, or null if the map is not indexed */
+    public static RenderListener getRenderListener(WMSMapContent mapContent) {
+        return mapContent.getUserData().get(LISTENER_KEY) instanceof RenderListener listener ? listener : null;
+    }
+
+    @Override
+    public GetMapRequest initRequest(GetMapRequest request) {
+        requestIndexes.remove();
+        return request;
+    }
+
+    @Override
+    public Layer beforeLayer(WMSMapContent mapContent, Layer layer) {
+        GetMapRequest request = mapContent.getRequest();
+        if (!cache.isEnabled()
+                || request == null
+                || !isTiled(request)
+                || request.getAngle() != 0
+                || request.getFormatOptions().get("dpi") != null
+                || !(layer instanceof FeatureLayer featureLayer)
+                || !(featureLayer.getFeatureSource() instanceof SimpleFeatureSource source)
+                || layer.getStyle() == null) {
+            return layer;
+        }
+        try {
+            // captured before rendering, the index is discarded if the cache gets invalidated meanwhile
+            long generation = cache.getGeneration();
+            HitIndexKey key = FeatureHitIndexCache.getKey(request, layer.getTitle());
+            if (key == null || !isIndexable(layer.getStyle(), source.getSchema())) {
+                return layer;
+            }
+            double radius = getRadius(layer.getStyle());
+            if (radius < 0) {
+                return layer;
+            }
+            ReferencedEnvelope bounds = new ReferencedEnvelope(request.getBbox(), request.getCrs());
+            FeatureHitIndex.Builder builder = new FeatureHitIndex.Builder(
+                    getQualifiedName(request, layer.getTitle()),
+                    bounds,
+                    request.getWidth(),
+                    request.getHeight(),
+                    radius);
+            LayerIndex index = new LayerIndex(key, builder, request.getCrs(), generation);
+            layer.getUserData().put(INDEX_KEY, index);
+
+            mapContent.getUserData().computeIfAbsent(LISTENER_KEY, k -> new IndexingRenderListener());
+            List<LayerIndex> indexes = requestIndexes.get();
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+                requestIndexes.set(indexes);
+            }
+            indexes.add(index);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not set up the hit index of layer " + layer.getTitle(), e);
+        }
+        return layer;
+    }
+
+    @Override
+    public WebMap finished(WebMap map) {
+        List<LayerIndex> indexes = requestIndexes.get();
+        requestIndexes.remove();
+        if (indexes != null) {
+            for (LayerIndex index : indexes) {
+                if (index.complete && !index.failed) {
+                    cache.put(index.key, index.builder.build(), index.generation);
+                }
+            }
+        }
+        return map;
+    }
+
+    @Override
+    public void failed(Throwable t) {
+        requestIndexes.remove();
+    }
+
+    /** True for the WMS-C tiled requests and the meta-tile requests issued by GeoWebCache */
+    static boolean isTiled(GetMapRequest request) {
+        Map<String, Object> kvp = request.getRawKvp();
+        return request.isTiled() || (kvp != null && kvp.containsKey(RenderingScheduler.GWC_SEED_INTERCEPT_TOKEN));
+    }
+
+    /**
+     * Returns true if the features drawn by the style can be found by their default geometry, that is, if the style
+     * does not use rendering transformations, geometry transformations or other geometries, and fills all the polygons
+     * it draws, as a hit inside a polygon that is not filled does not select it
+     */
+    static boolean isIndexable(Style style, FeatureType schema) {
+        GeometryDescriptor defaultGeometry = schema.getGeometryDescriptor();
+        for (FeatureTypeStyle fts : style.featureTypeStyles()) {
+            if (fts.getTransformation() != null) {
+                // the drawn features are not the source ones
+                return false;
+            }
+            for (Rule rule : fts.rules()) {
+                for (Symbolizer symbolizer : rule.symbolizers()) {
+                    Expression geometry = symbolizer.getGeometry();
+                    if (geometry != null
+                            && !(geometry instanceof PropertyName property
+                                    && defaultGeometry != null
+                                    && defaultGeometry.getLocalName().equals(property.getPropertyName()))) {
+                        return false;
+                    }
+                    if (symbolizer instanceof PolygonSymbolizer polygon && polygon.getFill() == null) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /** Returns the radius of the largest symbol in the style, in pixels, or -1 if it cannot be estimated */
+    static double getRadius(Style style) {
+        MetaBufferEstimator estimator = new MetaBufferEstimator();
+        style.accept(estimator);
+        if (!estimator.isEstimateAccurate()) {
+            return -1;
+        }
+        return Math.max(1, estimator.getBuffer() / 2d);
+    }
+
+    private QName getQualifiedName(GetMapRequest request, String layerName) {
+        for (MapLayerInfo layer : request.getLayers()) {
+            if (Objects.equals(layer.getName(), layerName) && layer.getLayerInfo() != null) {
+                ResourceInfo resource = layer.getResource();
+                if (resource != null) {
+                    Name name = resource.getQualifiedName();
+                    return new QName(name.getNamespaceURI(), name.getLocalPart());
+                }
+            }
+        }
+        return null;
+    }
+
+    /** The index of a layer being rendered */
+    static class LayerIndex {
+
+        final HitIndexKey key;
+
+        final FeatureHitIndex.Builder builder;
+
+        final CoordinateReferenceSystem mapCrs;
+
+        final long generation;
+
+        CoordinateReferenceSystem featureCrs;
+
+        MathTransform toScreen;
+
+        boolean complete;
+
+        boolean failed;
+
+        LayerIndex(
+                HitIndexKey key, FeatureHitIndex.Builder builder, CoordinateReferenceSystem mapCrs, long generation) {
+            this.key = key;
+            this.builder = builder;
+            this.mapCrs = mapCrs;
+            this.generation = generation;
+        }
+
+        void add(SimpleFeature feature) {
+            if (failed || !(feature.getDefaultGeometry() instanceof Geometry geometry)) {
+                return;
+            }
+            try {
+                CoordinateReferenceSystem crs = feature.getFeatureType().getCoordinateReferenceSystem();
+                if (toScreen == null || crs != featureCrs) {
+                    AffineTransform2D worldToScreen = new AffineTransform2D(builder.getWorldToScreen());
+                    if (crs == null || CRS.equalsIgnoreMetadata(crs, mapCrs)) {
+                        toScreen = worldToScreen;
+                    } else {
+                        MathTransform reprojection = CRS.findMathTransform(crs, mapCrs, true);
+                        toScreen = ConcatenatedTransform.create(reprojection, worldToScreen);
+                    }
+                    featureCrs = crs;
+                }
+                Envelope screen = JTS.transform(geometry.getEnvelopeInternal(), null, toScreen, 5);
+                builder.add(feature.getID(), screen);
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Could not index feature " + feature.getID(), e);
+                failed = true;
+            }
+        }
+    }
+
+    /** Adds the drawn features to the index of the layer being rendered */
+    static class IndexingRenderListener implements RenderListener {
+
+        private LayerIndex current;
+
+        private SimpleFeature previous;
+
+        @Override
+        public void featureRenderer(SimpleFeature feature) {
+            // the same feature is notified once per feature type style
+            if (current != null && feature != previous) {
+                previous = feature;
+                current.add(feature);
+            }
+        }
+
+        @Override
+        public void errorOccurred(Exception e) {
+            // the index might be missing features
+            if (current != null) {
+                current.failed = true;
+            }
+        }
+
+        @Override
+        public void layerStart(Layer layer) {
+            current = layer.getUserData().get(INDEX_KEY) instanceof LayerIndex index ? index : null;
+            previous = null;
+        }
+
+        @Override
+        public void layerEnd(Layer layer) {
+            if (current != null) {
+                current.complete = true;
+            }
+            current = null;
+        }
+    }
+}
@@ -13,6 +13,7 @@
 import java.awt.RenderingHints;
 import java.awt.RenderingHints.Key;
 import java.awt.geom.AffineTransform;
+import java.awt.geom.Point2D;
 import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.DirectColorModel;
@@ -22,6 +23,7 @@
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
@@ -53,15 +55,18 @@
 import org.geotools.api.feature.type.FeatureType;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.identity.FeatureId;
 import org.geotools.api.filter.spatial.BBOX;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.MathTransform;
 import org.geotools.api.referencing.operation.TransformException;
 import org.geotools.api.style.Rule;
 import org.geotools.api.style.Style;
 import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.filter.Filters;
@@ -79,7 +84,10 @@
 import org.geotools.styling.visitor.UomRescaleStyleVisitor;
 import org.geotools.util.factory.Hints;
 import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
 
 /**
  * Painting based layer identifier: this method actually paints a reduced version of the map to find out which features
@@ -100,6 +108,7 @@ public class VectorRenderingLayerIdentifier extends AbstractVectorLayerIdentifie
 
     private WMS wms;
     private VectorBasicLayerIdentifier fallback;
+    private FeatureHitIndexCache hitIndexCache;
     private static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
 
     static {
@@ -114,8 +123,18 @@ public class VectorRenderingLayerIdentifier extends AbstractVectorLayerIdentifie
     }
 
     public VectorRenderingLayerIdentifier(WMS wms, VectorBasicLayerIdentifier fallback) {
+        this(wms, fallback, null);
+    }
+
+    /**
+     * Builds the identifier, using the hit index cache, if enabled, to answer the requests hitting tiles previously
+     * rendered
+     */
+    public VectorRenderingLayerIdentifier(
+            WMS wms, VectorBasicLayerIdentifier fallback, FeatureHitIndexCache hitIndexCache) {
         this.wms = wms;
         this.fallback = fallback;
+        this.hitIndexCache = hitIndexCache;
     }
 
     @Override
@@ -140,6 +159,14 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
             return fallback.identify(params, maxFeatures);
         }
 
+        // fast path, lookup the features drawn in a previously rendered tile
+        if (hitIndexCache != null && hitIndexCache.isEnabled()) {
+            List<FeatureCollection> indexed = identifyFromHitIndex(params, maxFeatures);
+            if (indexed != null) {
+                return indexed;
+            }
+        }
+
         final Style style = preprocessStyle(
                 params.getStyle(), params.getLayer().getFeature().getFeatureType());
         final int userBuffer = params.getBuffer() > 0 ? params.getBuffer() : MIN_BUFFER_SIZE;
@@ -216,6 +243,84 @@ public List<FeatureCollection> identify(FeatureInfoRequestParameters params, fin
         }
     }
 
+    /**
+     * Identifies the features using the {@link FeatureHitIndex} built while rendering a tile matching the request, if
+     * any. The features are fetched by id, and checked against the symbol size. Returns null if no index is available,
+     * or if the style draws something the distance check against the default geometry cannot match, in which case the
+     * features are identified by rendering.
+     */
+    private List<FeatureCollection> identifyFromHitIndex(FeatureInfoRequestParameters params, int maxFeatures)
+            throws Exception {
+        // the index works against the default geometry, make sure it's there
+        if (params.getPropertyNames() != null) {
+            return null;
+        }
+        FeatureSource<? extends FeatureType, ? extends Feature> source =
+                params.getLayer().getFeatureSource(true, params.getRequestedCRS());
+        if (params.getStyle() == null || !FeatureHitIndexer.isIndexable(params.getStyle(), source.getSchema())) {
+            return null;
+        }
+        FeatureHitIndexCache.HitIndexKey key = FeatureHitIndexCache.getKey(
+                params.getGetMapRequest(), params.getLayer().getName());
+        if (key == null) {
+            return null;
+        }
+        final int buffer = getBuffer(params.getBuffer() > 0 ? params.getBuffer() : MIN_BUFFER_SIZE);
+        AffineTransform worldToScreen = RendererUtilities.worldToScreenTransform(
+                params.getRequestedBounds(), new Rectangle(params.getWidth(), params.getHeight()));
+        Point2D click = new Point2D.Double(params.getX() + 0.5, params.getY() + 0.5);
+        Point2D world = worldToScreen.inverseTransform(click, null);
+        FeatureHitIndex index = hitIndexCache.lookup(key, world.getX(), world.getY(), buffer);
+        if (index == null) {
+            return null;
+        }
+        Set<String> ids = index.query(index.getScreenArea(world.getX(), world.getY(), buffer));
+        if (ids.isEmpty()) {
+            return aggregateByFeatureType(Collections.emptyList(), params.getRequestedCRS());
+        }
+
+        // fetch the candidates by id
+        Set<FeatureId> fids = new HashSet<>();
+        for (String id : ids) {
+            fids.add(FF.featureId(id));
+        }
+        Query query = new Query(source.getSchema().getName().getLocalPart(), FF.id(fids));
+        Map<String, String> viewParams = params.getViewParams();
+        if (viewParams != null) {
+            query.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, viewParams));
+        }
+        Map<String, Feature> candidates = new HashMap<>();
+        try (FeatureIterator<? extends Feature> it = source.getFeatures(query).features()) {
+            while (it.hasNext()) {
+                Feature f = it.next();
+                candidates.put(f.getIdentifier().getID(), f);
+            }
+        }
+        if (candidates.isEmpty()) {
+            // feature ids are not stable across queries for this store, render instead
+            return null;
+        }
+
+        // check the candidates geometry is actually close enough to the clicked point
+        MathTransform toScreen = new AffineTransform2D(worldToScreen);
+        Geometry clicked = new GeometryFactory().createPoint(new Coordinate(click.getX(), click.getY()));
+        double tolerance = buffer + index.getRadius();
+        List<Feature> features = new ArrayList<>();
+        for (String id : ids) {
+            Feature f = candidates.get(id);
+            Object geometry = f != null && f.getDefaultGeometryProperty() != null
+                    ? f.getDefaultGeometryProperty().getValue()
+                    : null;
+            if (geometry instanceof Geometry g && JTS.transform(g, toScreen).isWithinDistance(clicked, tolerance)) {
+                features.add(f);
+                if (features.size() >= maxFeatures) {
+                    break;
+                }
+            }
+        }
+        return aggregateByFeatureType(features, params.getRequestedCRS());
+    }
+
     protected int getBuffer(final int userBuffer) {
         if (wms.getMaxBuffer() <= 0) {
             return userBuffer;
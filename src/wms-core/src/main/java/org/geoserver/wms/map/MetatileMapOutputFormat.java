@@ -16,6 +16,8 @@
 import java.text.MessageFormat;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
@@ -111,66 +113,61 @@ public MetatileMapOutputFormat(GetMapRequest request, RenderedImageMapOutputForm
     @Override
     public WebMap produceMap(WMSMapContent mapContent) throws ServiceException, IOException {
         // get the key that identifies the meta tile. The cache will make sure
-        // two threads asking
-        // for the same tile will get the same key, and thus will synchronize
-        // with each other
-        // (the first eventually builds the meta-tile, the second finds it ready
-        // to be used)
+        // two threads asking for the same meta tile will not render it twice
+        // (the first eventually builds the meta-tile, the second waits for it
+        // to be ready to be used)
         QuickTileCache.MetaTileKey key = tileCache.getMetaTileKey(request);
 
-        synchronized (key) {
-            RenderedImage tile = tileCache.getTile(key, request);
-            List<GridCoverage2D> renderedCoverages = null;
-
+        AtomicBoolean rendered = new AtomicBoolean();
+        AtomicReference<List<GridCoverage2D>> renderedCoverages = new AtomicReference<>();
+        RenderedImage[] tiles = tileCache.getTiles(key, () -> {
+            // compute the meta-tile
             if (LOGGER.isLoggable(Level.FINER)) {
-                LOGGER.finer("Looked for meta tile "
+                LOGGER.finer("Building meta tile "
                         + key.metaTileCoords.x
                         + ", "
                         + key.metaTileCoords.y
-                        + "in cache: "
-                        + ((tile != null) ? "hit!" : "miss"));
+                        + " of size w="
+                        + key.getTileSize() * key.getMetaFactor()
+                        + ", h="
+                        + key.getTileSize() * key.getMetaFactor()
+                        + " with metatilign factor "
+                        + key.getMetaFactor());
             }
 
-            if (tile == null) {
-                // compute the meta-tile
-                if (LOGGER.isLoggable(Level.FINER)) {
-                    LOGGER.finer("Building meta tile "
-                            + key.metaTileCoords.x
-                            + ", "
-                            + key.metaTileCoords.y
-                            + " of size w="
-                            + key.getTileSize() * key.getMetaFactor()
-                            + ", h="
-                            + key.getTileSize() * key.getMetaFactor()
-                            + " with metatilign factor "
-                            + key.getMetaFactor());
-                }
+            // alter the map definition so that we build a meta-tile instead
+            // of just the tile
+            mapContent.getViewport().setBounds(key.getMetaTileEnvelope());
+            mapContent.setMapWidth(key.getTileSize() * key.getMetaFactor());
+            mapContent.setMapHeight(key.getTileSize() * key.getMetaFactor());
+            mapContent.setTileSize(key.getTileSize());
 
-                // alter the map definition so that we build a meta-tile instead
-                // of just the tile
-                mapContent.getViewport().setBounds(key.getMetaTileEnvelope());
-                mapContent.setMapWidth(key.getTileSize() * key.getMetaFactor());
-                mapContent.setMapHeight(key.getTileSize() * key.getMetaFactor());
-                mapContent.setTileSize(key.getTileSize());
-
-                // adjust the bbox/width/height env vars that GetMap setup, since we
-                // are changing them under its feet
-                EnvFunction.setLocalValue("wms_bbox", mapContent.getViewport().getBounds());
-                EnvFunction.setLocalValue("wms_width", mapContent.getMapWidth());
-                EnvFunction.setLocalValue("wms_height", mapContent.getMapHeight());
-
-                RenderedImageMap metaTileMap = delegate.produceMap(mapContent);
-
-                RenderedImage metaTile = metaTileMap.getImage();
-                RenderedImage[] tiles = split(key, metaTile);
-                tileCache.storeTiles(key, tiles);
-                tile = tileCache.getTile(key, request, tiles);
-                renderedCoverages = metaTileMap.getRenderedCoverages();
-            }
-            RenderedImageMap tileMap = new RenderedImageMap(mapContent, tile, getMimeType());
-            tileMap.setRenderedCoverages(renderedCoverages);
-            return tileMap;
+            // adjust the bbox/width/height env vars that GetMap setup, since we
+            // are changing them under its feet
+            EnvFunction.setLocalValue("wms_bbox", mapContent.getViewport().getBounds());
+            EnvFunction.setLocalValue("wms_width", mapContent.getMapWidth());
+            EnvFunction.setLocalValue("wms_height", mapContent.getMapHeight());
+
+            RenderedImageMap metaTileMap = delegate.produceMap(mapContent);
+            rendered.set(true);
+            renderedCoverages.set(metaTileMap.getRenderedCoverages());
+
+            return split(key, metaTileMap.getImage());
+        });
+
+        if (LOGGER.isLoggable(Level.FINER)) {
+            LOGGER.finer("Looked for meta tile "
+                    + key.metaTileCoords.x
+                    + ", "
+                    + key.metaTileCoords.y
+                    + " in cache: "
+                    + (rendered.get() ? "miss" : "hit!"));
         }
+
+        RenderedImage tile = tileCache.getTile(key, request, tiles);
+        RenderedImageMap tileMap = new RenderedImageMap(mapContent, tile, getMimeType());
+        tileMap.setRenderedCoverages(renderedCoverages.get());
+        return tileMap;
     }
 
     /** @see org.geoserver.wms.GetMapOutputFormat#getOutputFormatNames() */
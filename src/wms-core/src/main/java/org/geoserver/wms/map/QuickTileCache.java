@@ -5,18 +5,36 @@
  */
 package org.geoserver.wms.map;
 
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.awt.Point;
 import java.awt.geom.Point2D;
 import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.xml.namespace.QName;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.ResourcePool;
 import org.geoserver.config.ConfigurationListenerAdapter;
 import org.geoserver.config.GeoServer;
@@ -26,16 +44,45 @@
 import org.geoserver.data.DataModifiedEvent;
 import org.geoserver.platform.ServiceException;
 import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.MapLayerInfo;
+import org.geotools.api.feature.type.Name;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.gml2.SrsSyntax;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.CRS.AxisOrder;
-import org.geotools.util.CanonicalSet;
+import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Envelope;
 import org.springframework.context.ApplicationListener;
 
-public class QuickTileCache implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent> {
+/**
+ * Caches the meta-tiles rendered for untiled clients sending {@code TILED=true} GetMap requests, so that the other
+ * tiles of the same meta-tile can be served without rendering again.
+ *
+ * <p>The cache is bounded both in memory (estimated from the tiles sample model) and number of meta-tiles, with least
+ * recently used eviction. Concurrent requests for the same meta-tile are coalesced, only one renders it while the
+ * others wait for the result. Data modifications evict the meta-tiles of the modified layer, configuration changes wipe
+ * the whole cache. Statistics are exposed via JMX as {@link #OBJECT_NAME}. The bounds can be configured using the
+ * {@link #MAX_MEMORY_KEY} and {@link #MAX_ENTRIES_KEY} system properties.
+ */
+public class QuickTileCache
+        implements GeoServerLifecycleHandler, ApplicationListener<DataModifiedEvent>, QuickTileCacheMXBean {
+
+    static final Logger LOGGER = Logging.getLogger(QuickTileCache.class);
+
+    /** System property setting the maximum memory used by the cached meta-tiles, in megabytes */
+    public static final String MAX_MEMORY_KEY = "org.geoserver.wms.metaTileCache.maxMemory";
+
+    /** System property setting the maximum number of cached meta-tiles */
+    public static final String MAX_ENTRIES_KEY = "org.geoserver.wms.metaTileCache.maxEntries";
+
+    static final long DEFAULT_MAX_MEMORY_MB = 128;
+
+    static final int DEFAULT_MAX_ENTRIES = 1000;
+
+    /** The JMX name the cache statistics are published under */
+    public static final String OBJECT_NAME = "org.geoserver:type=QuickTileCache";
+
     /**
      * Set of parameters that we can ignore, since they do not define a map, are either unrelated, or define the tiling
      * instead
@@ -54,38 +101,97 @@ public class QuickTileCache implements GeoServerLifecycleHandler, ApplicationLis
         ignoredParameters.add("EXCEPTIONS");
     }
 
-    /** Canonicalizer used to return the same object when two threads ask for the same meta-tile */
-    private CanonicalSet<MetaTileKey> metaTileKeys = CanonicalSet.newInstance(MetaTileKey.class);
+    private final long maxMemory;
+
+    private final int maxEntries;
 
-    private WeakHashMap<MetaTileKey, CacheElement> tileCache = new WeakHashMap<>();
+    /** Estimated memory used by the cached meta-tiles, kept up to date by the removal listener */
+    private final AtomicLong memoryUsage = new AtomicLong();
+
+    private final Cache<MetaTileKey, CacheElement> tileCache;
 
     public QuickTileCache(GeoServer geoServer) {
+        this(
+                Long.getLong(MAX_MEMORY_KEY, DEFAULT_MAX_MEMORY_MB) * 1024 * 1024,
+                Integer.getInteger(MAX_ENTRIES_KEY, DEFAULT_MAX_ENTRIES));
+        registerMBean();
         geoServer.addListener(new ConfigurationListenerAdapter() {
             @Override
             public void handleGlobalChange(
                     GeoServerInfo global, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                clear();
             }
 
             @Override
             public void handleServiceChange(
                     ServiceInfo service, List<String> propertyNames, List<Object> oldValues, List<Object> newValues) {
-                tileCache.clear();
+                clear();
             }
 
             @Override
             public void reloaded() {
-                tileCache.clear();
+                clear();
             }
         });
     }
 
     /** For testing only */
-    QuickTileCache() {}
+    QuickTileCache() {
+        this(DEFAULT_MAX_MEMORY_MB * 1024 * 1024, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Builds a cache with the given bounds
+     *
+     * @param maxMemory The maximum estimated memory used by the cached meta-tiles, in bytes
+     * @param maxEntries The maximum number of cached meta-tiles
+     */
+    QuickTileCache(long maxMemory, int maxEntries) {
+        this.maxMemory = maxMemory;
+        this.maxEntries = maxEntries;
+        // the weight of a meta-tile is at least maxMemory / maxEntries, so that the weight bound
+        // also bounds the number of entries
+        final long minWeight = Math.max(1, maxMemory / Math.max(1, maxEntries));
+        this.tileCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxMemory)
+                .weigher((MetaTileKey k, CacheElement v) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, v.size)))
+                .removalListener((RemovalNotification<MetaTileKey, CacheElement> n) ->
+                        memoryUsage.addAndGet(-n.getValue().size))
+                .recordStats()
+                .build();
+    }
+
+    private void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            // the last application context started wins (there might be more in tests)
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+            server.registerMBean(this, name);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Could not register the meta-tile cache statistics in JMX", e);
+        }
+    }
+
+    private void unregisterMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not unregister the meta-tile cache statistics from JMX", e);
+        }
+    }
 
     /**
-     * Given a tiled request, builds a key that can be used to access the cache looking for a specific meta-tile, and
-     * also as a synchronization tool to avoid multiple requests to trigger parallel computation of the same meta-tile
+     * Given a tiled request, builds a key that can be used to access the cache looking for a specific meta-tile. Keys
+     * of requests for the same meta-tile are equal, see {@link #getTiles(MetaTileKey, Callable)} for the coalescing of
+     * concurrent requests.
      */
     public MetaTileKey getMetaTileKey(GetMapRequest request) {
         String mapDefinition = buildMapDefinition(request.getRawKvp());
@@ -106,11 +212,22 @@ public MetaTileKey getMetaTileKey(GetMapRequest request) {
         Point metaTileCoords = getMetaTileCoordinates(tileCoords);
         ReferencedEnvelope metaTileEnvelope = getMetaTileEnvelope(bbox, tileCoords, metaTileCoords);
         MetaTileKey key = new MetaTileKey(mapKey, metaTileCoords, metaTileEnvelope);
+        key.layers = getLayerNames(request);
+        return key;
+    }
 
-        // since this will be used for thread synchronization, we have to make
-        // sure two thread asking for the same meta tile will get the same key
-        // object
-        return metaTileKeys.unique(key);
+    /** Returns the qualified names of the layers in the request, or null if any of them is not a catalog layer */
+    private Set<QName> getLayerNames(GetMapRequest request) {
+        Set<QName> names = new HashSet<>();
+        for (MapLayerInfo layer : request.getLayers()) {
+            ResourceInfo resource = layer.getResource();
+            if (resource == null) {
+                return null;
+            }
+            Name name = resource.getQualifiedName();
+            names.add(new QName(name.getNamespaceURI(), name.getLocalPart()));
+        }
+        return names;
     }
 
     private ReferencedEnvelope getMetaTileEnvelope(ReferencedEnvelope bbox, Point tileCoords, Point metaTileCoords) {
@@ -261,6 +378,9 @@ static class MetaTileKey {
 
         ReferencedEnvelope metaTileEnvelope;
 
+        /** The layers rendered in the meta-tile, or null if unknown. Not part of the key identity */
+        Set<QName> layers;
+
         public MetaTileKey(MapKey mapKey, Point metaTileCoords, ReferencedEnvelope metaTileEnvelope) {
             super();
             this.mapKey = mapKey;
@@ -307,6 +427,22 @@ public int getTileSize() {
             return 256;
         }
 
+        /** True if the meta-tile renders the given layer, or the layers are unknown */
+        boolean rendersLayer(QName name) {
+            if (layers == null) {
+                return true;
+            }
+            for (QName layer : layers) {
+                // clients might not qualify the type names in a transaction
+                if (layer.getLocalPart().equals(name.getLocalPart())
+                        && (name.getNamespaceURI().isEmpty()
+                                || layer.getNamespaceURI().equals(name.getNamespaceURI()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
         @Override
         public String toString() {
             return mapKey + "\nmtc:" + metaTileCoords.x + "," + metaTileCoords.y;
@@ -314,8 +450,8 @@ public String toString() {
     }
 
     /** Gathers a tile from the cache, if available */
-    public synchronized RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
-        CacheElement ce = tileCache.get(key);
+    public RenderedImage getTile(MetaTileKey key, GetMapRequest request) {
+        CacheElement ce = tileCache.getIfPresent(key);
 
         if (ce == null) {
             return null;
@@ -336,37 +472,127 @@ public RenderedImage getTile(MetaTileKey key, GetMapRequest request, RenderedIma
         return tiles[tileCoord.x + (tileCoord.y * key.getMetaFactor())];
     }
 
+    /**
+     * Returns the tiles of the meta-tile, using the loader to render them if not cached. Concurrent calls for the same
+     * meta-tile are coalesced, the loader is run once and the other callers wait for its result.
+     */
+    public RenderedImage[] getTiles(MetaTileKey key, Callable<RenderedImage[]> loader) throws IOException {
+        try {
+            return tileCache.get(key, () -> newElement(loader.call())).tiles;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            throw new ServiceException(e.getCause());
+        } catch (UncheckedExecutionException | ExecutionError e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new ServiceException(e.getCause());
+        }
+    }
+
     /** Puts the specified tile array in the cache, and returns the tile the request was looking for */
-    public synchronized void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
-        tileCache.put(key, new CacheElement(tiles));
+    public void storeTiles(MetaTileKey key, RenderedImage[] tiles) {
+        tileCache.put(key, newElement(tiles));
+    }
+
+    private CacheElement newElement(RenderedImage[] tiles) {
+        CacheElement element = new CacheElement(tiles);
+        memoryUsage.addAndGet(element.size);
+        return element;
     }
 
     static class CacheElement {
         RenderedImage[] tiles;
 
+        /** Estimated memory usage, in bytes */
+        long size;
+
         public CacheElement(RenderedImage[] tiles) {
             this.tiles = tiles;
+            for (RenderedImage tile : tiles) {
+                if (tile != null) {
+                    SampleModel sm = tile.getSampleModel();
+                    long bits = 0;
+                    for (int sampleSize : sm.getSampleSize()) {
+                        bits += sampleSize;
+                    }
+                    size += (long) tile.getWidth() * tile.getHeight() * bits / 8;
+                }
+            }
         }
     }
 
     @Override
     public void onApplicationEvent(DataModifiedEvent event) {
-        // if anything changes we just wipe out the cache. the mapkey
-        // contains a string with part of the map request where the layer
-        // name is included, but we would have to parse it and consider
-        // also that the namespace may be missing in the getmap request
-        tileCache.clear();
+        QName layerName = event.getLayerName();
+        if (layerName == null) {
+            // unknown modification, wipe out the cache
+            clear();
+        } else {
+            tileCache.asMap().keySet().removeIf(key -> key.rendersLayer(layerName));
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return tileCache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return tileCache.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return tileCache.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return tileCache.stats().evictionCount();
+    }
+
+    @Override
+    public long getSize() {
+        return tileCache.size();
+    }
+
+    @Override
+    public long getMemoryUsage() {
+        return memoryUsage.get();
+    }
+
+    @Override
+    public long getMaxMemory() {
+        return maxMemory;
+    }
+
+    @Override
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /** Returns a snapshot of the cache statistics */
+    public CacheStats getStatistics() {
+        return tileCache.stats();
+    }
+
+    @Override
+    public void clear() {
+        tileCache.invalidateAll();
     }
 
     @Override
     public void onReset() {
         // data might have changed in the meantime
-        tileCache.clear();
+        clear();
     }
 
     @Override
     public void onDispose() {
-        tileCache.clear();
+        clear();
+        unregisterMBean();
     }
 
     @Override
@@ -376,6 +602,6 @@ public void beforeReload() {
 
     @Override
     public void onReload() {
-        tileCache.clear();
+        clear();
     }
 }
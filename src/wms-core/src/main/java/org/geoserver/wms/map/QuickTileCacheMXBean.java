@@ -0,0 +1,36 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map;
+
+/** JMX management interface of the {@link QuickTileCache}, exposing its statistics */
+public interface QuickTileCacheMXBean {
+
+    /** Number of tile requests served from a cached meta-tile */
+    long getHitCount();
+
+    /** Number of tile requests that required the meta-tile to be rendered */
+    long getMissCount();
+
+    /** Ratio of hits over all tile requests, 1 if no request was made yet */
+    double getHitRate();
+
+    /** Number of meta-tiles evicted to respect the memory and size bounds */
+    long getEvictionCount();
+
+    /** Number of meta-tiles currently in the cache */
+    long getSize();
+
+    /** Estimated memory used by the cached meta-tiles, in bytes */
+    long getMemoryUsage();
+
+    /** Maximum memory the cached meta-tiles can use, in bytes */
+    long getMaxMemory();
+
+    /** Maximum number of cached meta-tiles */
+    int getMaxEntries();
+
+    /** Removes all meta-tiles from the cache */
+    void clear();
+}
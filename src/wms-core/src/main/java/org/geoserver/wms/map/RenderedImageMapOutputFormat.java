@@ -43,10 +43,13 @@
 import org.geoserver.wms.WMSPartialMapException;
 import org.geoserver.wms.WMSServiceExceptionHandler;
 import org.geoserver.wms.decoration.MapDecorationLayout;
+import org.geoserver.wms.featureinfo.FeatureHitIndexer;
+import org.geoserver.wms.profiling.RenderProfiler;
 import org.geotools.api.style.Style;
 import org.geotools.image.ImageWorker;
 import org.geotools.map.Layer;
 import org.geotools.map.StyleLayer;
+import org.geotools.renderer.RenderListener;
 import org.geotools.renderer.lite.LabelCache;
 import org.geotools.renderer.lite.StreamingRenderer;
 
@@ -108,6 +111,15 @@ public class RenderedImageMapOutputFormat extends AbstractMapOutputFormat {
     /** The size of a megabyte */
     private static final int KB = 1024;
 
+    /**
+     * System property enabling the rendering of antialiased paletted output straight into the palette extracted from
+     * the styles, when one can be devised, rather than quantizing a RGBA image. Uses a quarter of the memory and skips
+     * the quantization, but the antialiased pixels get the closest palette color instead of a blended one.
+     */
+    public static final String DIRECT_PALETTE_RENDERING_KEY = "org.geoserver.wms.directPaletteRendering";
+
+    static final boolean DIRECT_PALETTE_RENDERING = Boolean.getBoolean(DIRECT_PALETTE_RENDERING_KEY);
+
     /** The lookup table used for data type transformation (it's really the identity one) */
     private static LookupTableImageN IDENTITY_TABLE = new LookupTableImageN(getTable());
 
@@ -229,14 +241,21 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
         final Color bgColor = mapContent.getBgColor();
         if (AA_NONE.equals(antialias)) {
             potentialPalette = mapContent.getPalette();
-        } else if (AA_NONE.equals(antialias)) {
+        }
+        if (mapContent.getPalette() == null && isDirectPaletteRendering(request, antialias)) {
+            // the style colors are known upfront, render straight into the palette instead of
+            // quantizing a RGBA image after the fact
             PaletteExtractor pe = new PaletteExtractor(transparent ? null : bgColor);
-            List<Layer> layers = mapContent.layers();
-            for (Layer layer : layers) {
+            boolean stylesKnown = true;
+            for (Layer layer : mapContent.layers()) {
+                if (layer.getStyle() == null) {
+                    stylesKnown = false;
+                    break;
+                }
                 pe.visit(layer.getStyle());
                 if (!pe.canComputePalette()) break;
             }
-            if (pe.canComputePalette()) potentialPalette = pe.getPalette();
+            if (stylesKnown && pe.canComputePalette()) potentialPalette = pe.getPalette();
         }
         final IndexColorModel palette = potentialPalette;
 
@@ -308,14 +327,14 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
 
         final Graphics2D graphic = getGraphics(transparent, bgColor, preparedImage, hintsMap);
 
+        if (preparedImage.getColorModel() instanceof IndexColorModel) {
+            // otherwise we end up with dithered colors where the match is
+            // not 100%
+            hintsMap.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
+        }
         // set up the antialias hints
         if (AA_NONE.equals(antialias)) {
             hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
-            if (preparedImage.getColorModel() instanceof IndexColorModel) {
-                // otherwise we end up with dithered colors where the match is
-                // not 100%
-                hintsMap.put(RenderingHints.KEY_DITHERING, RenderingHints.VALUE_DITHER_DISABLE);
-            }
         } else if (AA_TEXT.equals(antialias)) {
             hintsMap.put(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_OFF);
             hintsMap.put(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
@@ -486,6 +505,14 @@ public RenderedImageMap produceMap(final WMSMapContent mapContent, final boolean
             statistics = new RenderTimeStatistics();
             renderer.addRenderListener(statistics);
         }
+        RenderListener profiler = RenderProfiler.getRenderListener(mapContent);
+        if (profiler != null) {
+            renderer.addRenderListener(profiler);
+        }
+        RenderListener hitIndexer = FeatureHitIndexer.getRenderListener(mapContent);
+        if (hitIndexer != null) {
+            renderer.addRenderListener(hitIndexer);
+        }
         onBeforeRender(renderer);
 
         int maxRenderingTime = wms.getMaxRenderingTime(request);
@@ -600,6 +627,27 @@ public static boolean getFormatOptionAsBoolean(final GetMapRequest request, fina
         return true;
     }
 
+    /**
+     * Returns true if a palette extracted from the styles should be used as the drawing surface: the format must be a
+     * paletted one, and either antialiasing is disabled, so that all pixels are painted with the style colors, or
+     * {@link #DIRECT_PALETTE_RENDERING_KEY} is set, accepting that antialiased pixels get the closest palette color.
+     */
+    private boolean isDirectPaletteRendering(GetMapRequest request, String antialias) {
+        if (!isPaletteSupported() || !isPalettedFormat(request.getFormat())) {
+            return false;
+        }
+        return AA_NONE.equals(antialias) || DIRECT_PALETTE_RENDERING;
+    }
+
+    /** Returns true if the format requires a palette, e.g., image/png8 or image/gif */
+    static boolean isPalettedFormat(String format) {
+        if (format == null) {
+            return false;
+        }
+        String lower = format.toLowerCase();
+        return lower.contains("png8") || lower.contains("8bit") || lower.startsWith("image/gif");
+    }
+
     private RenderedImageMap optimizeAndBuildMap(
             IndexColorModel palette, RenderedImage preparedImage, WMSMapContent mapContent) {
         RenderedImage image;
@@ -11,6 +11,7 @@
 import java.io.OutputStream;
 import java.util.Map;
 import org.geoserver.platform.ServiceException;
+import org.geoserver.wms.DefaultWebMapService;
 import org.geoserver.wms.WMSMapContent;
 import org.geotools.api.style.ColorMap;
 import org.geotools.api.style.Style;
@@ -19,12 +20,48 @@
 import org.geotools.styling.AbstractStyleVisitor;
 
 /**
- * Encodes the image in PNG using the PNGJ library
+ * Encodes the image in PNG using the PNGJ library.
+ *
+ * <p>Large images can be encoded with a {@link ParallelPNGEncoder} instead, filtering and compressing bands of rows
+ * in parallel, see {@link #PARALLELISM_KEY}.
  *
  * @author Andrea Aime - GeoSolutions
  */
 public class PNGJWriter {
 
+    /** System property setting the number of bands encoded in parallel, 1 (the default) disables parallel encoding */
+    public static final String PARALLELISM_KEY = "org.geoserver.wms.png.parallelism";
+
+    /** System property setting the minimum number of pixels an image needs to have to be encoded in parallel */
+    public static final String PARALLEL_MIN_PIXELS_KEY = "org.geoserver.wms.png.parallelMinPixels";
+
+    /** System property enabling the per row adaptive filter selection in parallel encoding */
+    public static final String ADAPTIVE_FILTERING_KEY = "org.geoserver.wms.png.adaptiveFiltering";
+
+    private final int parallelism;
+
+    private final long parallelMinPixels;
+
+    private final boolean adaptiveFiltering;
+
+    public PNGJWriter() {
+        this(
+                Integer.getInteger(PARALLELISM_KEY, 1),
+                Long.getLong(PARALLEL_MIN_PIXELS_KEY, 1024 * 1024),
+                Boolean.getBoolean(ADAPTIVE_FILTERING_KEY));
+    }
+
+    /**
+     * @param parallelism number of bands encoded in parallel, 1 to disable parallel encoding
+     * @param parallelMinPixels minimum number of pixels for an image to be encoded in parallel
+     * @param adaptiveFiltering whether to choose the filter of each row in parallel encoding
+     */
+    public PNGJWriter(int parallelism, long parallelMinPixels, boolean adaptiveFiltering) {
+        this.parallelism = parallelism;
+        this.parallelMinPixels = parallelMinPixels;
+        this.adaptiveFiltering = adaptiveFiltering;
+    }
+
     public RenderedImage writePNG(
             RenderedImage image, OutputStream outStream, float quality, WMSMapContent mapContent) {
         return writePNG(image, outStream, quality, mapContent, null);
@@ -38,6 +75,15 @@ public RenderedImage writePNG(
             Map<String, String> metadata) {
         // what kind of scaline filtering are we going to use?
         FilterType filterType = getFilterType(mapContent);
+        if (isParallelEncoding(image)) {
+            try {
+                new ParallelPNGEncoder(DefaultWebMapService.getRenderingPool(), parallelism, adaptiveFiltering)
+                        .encode(image, outStream, quality, filterType, metadata);
+            } catch (Exception e) {
+                throw new ServiceException("Failed to encode the PNG", e);
+            }
+            return image;
+        }
         // Creation of a new PNGWriter object
         PNGWriter writer = new PNGWriter();
         // Check if a Scanline is supported by the writer
@@ -61,6 +107,12 @@ public RenderedImage writePNG(
         return output;
     }
 
+    private boolean isParallelEncoding(RenderedImage image) {
+        return parallelism > 1
+                && (long) image.getWidth() * image.getHeight() >= parallelMinPixels
+                && ParallelPNGEncoder.isSupported(image);
+    }
+
     /**
      * SUB filtering is useful for raster images with "high" variation, otherwise we go for NONE, empirically it
      * provides better compression at lower effort
@@ -0,0 +1,627 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import ar.com.hjg.pngj.FilterType;
+import java.awt.Rectangle;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentSampleModel;
+import java.awt.image.DataBufferByte;
+import java.awt.image.DataBufferInt;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.SinglePixelPackedSampleModel;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.zip.Adler32;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * PNG encoder splitting the image in bands of rows, which are filtered and compressed in parallel.
+ *
+ * <p>Each band is compressed by its own raw deflater and terminated with a full flush, so that the compressed bands
+ * can be concatenated in a single valid zlib stream (the last band is finished instead). The zlib checksum of the
+ * whole stream is computed combining the Adler-32 checksums of the bands. Each band becomes a separate IDAT chunk.
+ * Since each deflater starts with an empty dictionary the output is slightly larger than a single stream one,
+ * bands are kept tall enough to make the difference negligible.
+ *
+ * <p>Supports 8 bits gray, gray/alpha, RGB and RGBA images, and paletted images up to 8 bits, which cover the images
+ * produced by the WMS renderer. Use {@link #isSupported(RenderedImage)} to check an image can be encoded.
+ */
+public class ParallelPNGEncoder {
+
+    static final byte[] PNG_SIGNATURE = {(byte) 137, 80, 78, 71, 13, 10, 26, 10};
+
+    /** Minimum number of rows in a band, to keep the compression ratio close to the one of a single stream */
+    static final int MIN_BAND_ROWS = 32;
+
+    static final int FILTER_NONE = 0;
+    static final int FILTER_SUB = 1;
+    static final int FILTER_UP = 2;
+    static final int FILTER_AVERAGE = 3;
+    static final int FILTER_PAETH = 4;
+
+    private static final int COLOR_GRAY = 0;
+    private static final int COLOR_RGB = 2;
+    private static final int COLOR_PALETTE = 3;
+    private static final int COLOR_GRAY_ALPHA = 4;
+    private static final int COLOR_RGBA = 6;
+
+    private final ExecutorService executor;
+
+    private final int parallelism;
+
+    private final boolean adaptiveFiltering;
+
+    /**
+     * @param executor the executor compressing the bands
+     * @param parallelism maximum number of bands being encoded at the same time
+     * @param adaptiveFiltering if true the filter of each row is chosen among the five PNG ones, picking the one with
+     *     the smallest sum of absolute differences, instead of using the requested filter type
+     */
+    public ParallelPNGEncoder(ExecutorService executor, int parallelism, boolean adaptiveFiltering) {
+        this.executor = executor;
+        this.parallelism = Math.max(1, parallelism);
+        this.adaptiveFiltering = adaptiveFiltering;
+    }
+
+    /** Returns true if the image sample and color models can be handled by this encoder */
+    public static boolean isSupported(RenderedImage image) {
+        return getColorType(image.getColorModel(), image.getSampleModel()) >= 0;
+    }
+
+    /** Returns the PNG color type for the given color and sample models, or -1 if not supported */
+    private static int getColorType(ColorModel cm, SampleModel sm) {
+        if (cm == null || sm == null) {
+            return -1;
+        }
+        if (cm instanceof IndexColorModel) {
+            int bits = sm.getSampleSize(0);
+            return sm.getNumBands() == 1 && (bits == 1 || bits == 2 || bits == 4 || bits == 8) ? COLOR_PALETTE : -1;
+        }
+        if (cm.isAlphaPremultiplied() || sm.getNumBands() != cm.getNumComponents()) {
+            return -1;
+        }
+        for (int size : sm.getSampleSize()) {
+            if (size != 8) {
+                return -1;
+            }
+        }
+        ColorSpace cs = cm.getColorSpace();
+        if (cs.isCS_sRGB()) {
+            return cm.hasAlpha() ? COLOR_RGBA : COLOR_RGB;
+        } else if (cs.getType() == ColorSpace.TYPE_GRAY) {
+            return cm.hasAlpha() ? COLOR_GRAY_ALPHA : COLOR_GRAY;
+        }
+        return -1;
+    }
+
+    /**
+     * Encodes the image
+     *
+     * @param image the image to encode, must be {@link #isSupported(RenderedImage) supported}
+     * @param out the destination stream
+     * @param quality the compression quality, 1 being the fastest and 0 the most compact
+     * @param filterType the filter used for all rows, unless adaptive filtering is enabled
+     * @param metadata optional key/value pairs, written as text chunks
+     */
+    public void encode(
+            RenderedImage image, OutputStream out, float quality, FilterType filterType, Map<String, String> metadata)
+            throws IOException {
+        ColorModel cm = image.getColorModel();
+        int colorType = getColorType(cm, image.getSampleModel());
+        if (colorType < 0) {
+            throw new IllegalArgumentException("Unsupported image for parallel PNG encoding: " + cm);
+        }
+        int bitDepth = colorType == COLOR_PALETTE ? image.getSampleModel().getSampleSize(0) : 8;
+        int level = Math.max(0, Math.min(9, 9 - Math.round(9 * quality)));
+        int filter = adaptiveFiltering || filterType == null || filterType.val < 0 || filterType.val > FILTER_PAETH
+                ? -1
+                : filterType.val;
+
+        out.write(PNG_SIGNATURE);
+        writeHeader(out, image.getWidth(), image.getHeight(), bitDepth, colorType);
+        if (colorType == COLOR_PALETTE) {
+            writePalette(out, (IndexColorModel) cm, bitDepth);
+        }
+        if (metadata != null) {
+            for (Map.Entry<String, String> entry : metadata.entrySet()) {
+                byte[] key = entry.getKey().getBytes(StandardCharsets.ISO_8859_1);
+                byte[] value = entry.getValue().getBytes(StandardCharsets.ISO_8859_1);
+                byte[] text = new byte[key.length + 1 + value.length];
+                System.arraycopy(key, 0, text, 0, key.length);
+                System.arraycopy(value, 0, text, key.length + 1, value.length);
+                writeChunk(out, "tEXt", text, text.length);
+            }
+        }
+        writeData(image, out, level, filter, bitDepth);
+        writeChunk(out, "IEND", new byte[0], 0);
+        out.flush();
+    }
+
+    /** Encodes the bands keeping at most {@link #parallelism} of them in flight, writes them out in order */
+    private void writeData(RenderedImage image, OutputStream out, int level, int filter, int bitDepth)
+            throws IOException {
+        int height = image.getHeight();
+        int bandRows = Math.max(MIN_BAND_ROWS, (height + parallelism * 4 - 1) / (parallelism * 4));
+        int bands = (height + bandRows - 1) / bandRows;
+
+        // zlib header, the compression level flags are informative only
+        int flags = level < 2 ? 0x01 : level < 6 ? 0x5E : level == 6 ? 0x9C : 0xDA;
+        byte[] zlibHeader = {0x78, (byte) flags};
+
+        long adler = 1;
+        Deque<Future<EncodedBand>> inFlight = new ArrayDeque<>();
+        int submitted = 0;
+        try {
+            for (int band = 0; band < bands; band++) {
+                while (submitted < bands && inFlight.size() < parallelism) {
+                    BandEncoder encoder = new BandEncoder(
+                            image, submitted * bandRows, bandRows, level, filter, bitDepth, submitted == bands - 1);
+                    // no need to hop threads when encoding sequentially
+                    inFlight.add(
+                            parallelism > 1
+                                    ? executor.submit(encoder)
+                                    : CompletableFuture.completedFuture(encoder.call()));
+                    submitted++;
+                }
+                EncodedBand encoded = inFlight.removeFirst().get();
+                adler = combineAdler32(adler, encoded.adler(), encoded.length());
+                byte[] data = encoded.data();
+                if (band == 0) {
+                    data = concat(zlibHeader, data);
+                }
+                if (band == bands - 1) {
+                    byte[] checksum = new byte[4];
+                    writeInt(checksum, 0, (int) adler);
+                    data = concat(data, checksum);
+                }
+                writeChunk(out, "IDAT", data, data.length);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while encoding the PNG");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+            throw new IOException("Failed to encode the PNG", e.getCause());
+        } finally {
+            for (Future<EncodedBand> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static byte[] concat(byte[] first, byte[] second) {
+        byte[] result = new byte[first.length + second.length];
+        System.arraycopy(first, 0, result, 0, first.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    /** The compressed data of a band, along with the checksum and length of the uncompressed filtered rows */
+    record EncodedBand(byte[] data, long adler, long length) {}
+
+    /** Filters and compresses a band of rows */
+    private static class BandEncoder implements Callable<EncodedBand> {
+        final RenderedImage image;
+        final int firstRow;
+        final int rows;
+        final int level;
+        final int filter;
+        final int bitDepth;
+        final boolean last;
+
+        BandEncoder(RenderedImage image, int firstRow, int rows, int level, int filter, int bitDepth, boolean last) {
+            this.image = image;
+            this.firstRow = firstRow;
+            this.rows = Math.min(rows, image.getHeight() - firstRow);
+            this.level = level;
+            this.filter = filter;
+            this.bitDepth = bitDepth;
+            this.last = last;
+        }
+
+        @Override
+        public EncodedBand call() throws IOException {
+            int minY = image.getMinY() + firstRow;
+            // the row above the band is needed as well, by the UP, AVERAGE and PAETH filters
+            int readY = firstRow > 0 ? minY - 1 : minY;
+            Raster raster;
+            if (image instanceof BufferedImage bi) {
+                raster = bi.getRaster();
+            } else {
+                raster = image.getData(
+                        new Rectangle(image.getMinX(), readY, image.getWidth(), minY + rows - readY));
+            }
+            RowReader reader = RowReader.of(raster, image.getMinX(), image.getWidth(), bitDepth);
+            int rowBytes = reader.rowBytes();
+            int bpp = reader.bytesPerPixel();
+
+            byte[] previous = new byte[rowBytes];
+            byte[] current = new byte[rowBytes];
+            if (readY < minY) {
+                reader.read(readY, previous);
+            }
+            RowFilter rowFilter = new RowFilter(rowBytes, bpp);
+            Adler32 adler = new Adler32();
+            Deflater deflater = new Deflater(level, true);
+            ByteArrayOutputStream bos = new ByteArrayOutputStream(rowBytes * rows / 4 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            try {
+                for (int y = minY; y < minY + rows; y++) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException("Interrupted while encoding the PNG");
+                    }
+                    reader.read(y, current);
+                    byte[] filtered = rowFilter.filter(current, previous, filter);
+                    adler.update(filtered, 0, rowBytes + 1);
+                    deflater.setInput(filtered, 0, rowBytes + 1);
+                    while (!deflater.needsInput()) {
+                        int n = deflater.deflate(buffer, 0, buffer.length, Deflater.NO_FLUSH);
+                        bos.write(buffer, 0, n);
+                    }
+                    byte[] swap = previous;
+                    previous = current;
+                    current = swap;
+                }
+                if (last) {
+                    deflater.finish();
+                    while (!deflater.finished()) {
+                        int n = deflater.deflate(buffer);
+                        bos.write(buffer, 0, n);
+                    }
+                } else {
+                    // full flush, byte aligns the output and terminates it with an empty stored block
+                    int n;
+                    do {
+                        n = deflater.deflate(buffer, 0, buffer.length, Deflater.FULL_FLUSH);
+                        bos.write(buffer, 0, n);
+                    } while (n == buffer.length);
+                }
+            } finally {
+                deflater.end();
+            }
+            return new EncodedBand(bos.toByteArray(), adler.getValue(), (long) rows * (rowBytes + 1));
+        }
+    }
+
+    /** Applies the PNG filters to a row, reusing its buffers */
+    static class RowFilter {
+        final int rowBytes;
+        final int bpp;
+        final byte[][] outputs = new byte[5][];
+
+        RowFilter(int rowBytes, int bpp) {
+            this.rowBytes = rowBytes;
+            this.bpp = bpp;
+        }
+
+        /**
+         * Returns the filtered row, prefixed by the filter type byte
+         *
+         * @param filter the filter type, or -1 to pick the best one
+         */
+        byte[] filter(byte[] row, byte[] previous, int filter) {
+            if (filter >= 0) {
+                return apply(filter, row, previous);
+            }
+            byte[] best = null;
+            long bestSum = Long.MAX_VALUE;
+            for (int type = FILTER_NONE; type <= FILTER_PAETH; type++) {
+                byte[] filtered = apply(type, row, previous);
+                long sum = 0;
+                for (int i = 1; i <= rowBytes && sum < bestSum; i++) {
+                    sum += Math.abs(filtered[i]);
+                }
+                if (sum < bestSum) {
+                    bestSum = sum;
+                    best = filtered;
+                }
+            }
+            return best;
+        }
+
+        private byte[] apply(int type, byte[] row, byte[] previous) {
+            byte[] out = outputs[type];
+            if (out == null) {
+                out = outputs[type] = new byte[rowBytes + 1];
+            }
+            out[0] = (byte) type;
+            switch (type) {
+                case FILTER_NONE -> System.arraycopy(row, 0, out, 1, rowBytes);
+                case FILTER_SUB -> {
+                    System.arraycopy(row, 0, out, 1, Math.min(bpp, rowBytes));
+                    for (int i = bpp; i < rowBytes; i++) {
+                        out[i + 1] = (byte) (row[i] - row[i - bpp]);
+                    }
+                }
+                case FILTER_UP -> {
+                    for (int i = 0; i < rowBytes; i++) {
+                        out[i + 1] = (byte) (row[i] - previous[i]);
+                    }
+                }
+                case FILTER_AVERAGE -> {
+                    for (int i = 0; i < rowBytes; i++) {
+                        int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                        out[i + 1] = (byte) (row[i] - ((left + (previous[i] & 0xFF)) >>> 1));
+                    }
+                }
+                default -> {
+                    for (int i = 0; i < rowBytes; i++) {
+                        int left = i >= bpp ? row[i - bpp] & 0xFF : 0;
+                        int upLeft = i >= bpp ? previous[i - bpp] & 0xFF : 0;
+                        out[i + 1] = (byte) (row[i] - paeth(left, previous[i] & 0xFF, upLeft));
+                    }
+                }
+            }
+            return out;
+        }
+
+        private static int paeth(int a, int b, int c) {
+            int p = a + b - c;
+            int pa = Math.abs(p - a);
+            int pb = Math.abs(p - b);
+            int pc = Math.abs(p - c);
+            if (pa <= pb && pa <= pc) {
+                return a;
+            }
+            return pb <= pc ? b : c;
+        }
+    }
+
+    /** Reads the rows of a raster in PNG layout, with direct access to the common sample models */
+    abstract static class RowReader {
+        final Raster raster;
+        final int minX;
+        final int width;
+        final int bands;
+
+        RowReader(Raster raster, int minX, int width) {
+            this.raster = raster;
+            this.minX = minX;
+            this.width = width;
+            this.bands = raster.getNumBands();
+        }
+
+        static RowReader of(Raster raster, int minX, int width, int bitDepth) {
+            SampleModel sm = raster.getSampleModel();
+            if (bitDepth < 8) {
+                return new PackedRowReader(raster, minX, width, bitDepth);
+            } else if (sm instanceof ComponentSampleModel && raster.getDataBuffer() instanceof DataBufferByte) {
+                return new ByteRowReader(raster, minX, width);
+            } else if (sm instanceof SinglePixelPackedSampleModel && raster.getDataBuffer() instanceof DataBufferInt) {
+                return new IntPackedRowReader(raster, minX, width);
+            }
+            return new GenericRowReader(raster, minX, width);
+        }
+
+        int bytesPerPixel() {
+            return bands;
+        }
+
+        int rowBytes() {
+            return width * bands;
+        }
+
+        abstract void read(int y, byte[] row);
+    }
+
+    /** Pixel interleaved or banded byte data */
+    static class ByteRowReader extends RowReader {
+        final byte[][] banks;
+        final int[] offsets;
+        final int pixelStride;
+        final int scanlineStride;
+
+        ByteRowReader(Raster raster, int minX, int width) {
+            super(raster, minX, width);
+            ComponentSampleModel sm = (ComponentSampleModel) raster.getSampleModel();
+            DataBufferByte db = (DataBufferByte) raster.getDataBuffer();
+            int[] bankIndices = sm.getBankIndices();
+            int[] bandOffsets = sm.getBandOffsets();
+            banks = new byte[bands][];
+            offsets = new int[bands];
+            for (int b = 0; b < bands; b++) {
+                banks[b] = db.getData(bankIndices[b]);
+                offsets[b] = db.getOffsets()[bankIndices[b]] + bandOffsets[b];
+            }
+            pixelStride = sm.getPixelStride();
+            scanlineStride = sm.getScanlineStride();
+        }
+
+        @Override
+        void read(int y, byte[] row) {
+            int start = (y - raster.getSampleModelTranslateY()) * scanlineStride
+                    + (minX - raster.getSampleModelTranslateX()) * pixelStride;
+            for (int b = 0; b < bands; b++) {
+                byte[] bank = banks[b];
+                int src = start + offsets[b];
+                for (int x = 0, dst = b; x < width; x++, dst += bands, src += pixelStride) {
+                    row[dst] = bank[src];
+                }
+            }
+        }
+    }
+
+    /** Packed int data, e.g., {@link BufferedImage#TYPE_INT_ARGB} */
+    static class IntPackedRowReader extends RowReader {
+        final int[] data;
+        final int[] masks;
+        final int[] shifts;
+        final int scanlineStride;
+
+        IntPackedRowReader(Raster raster, int minX, int width) {
+            super(raster, minX, width);
+            SinglePixelPackedSampleModel sm = (SinglePixelPackedSampleModel) raster.getSampleModel();
+            DataBufferInt db = (DataBufferInt) raster.getDataBuffer();
+            data = db.getData();
+            masks = sm.getBitMasks();
+            shifts = sm.getBitOffsets();
+            scanlineStride = sm.getScanlineStride();
+        }
+
+        @Override
+        void read(int y, byte[] row) {
+            int src = ((DataBufferInt) raster.getDataBuffer()).getOffset()
+                    + (y - raster.getSampleModelTranslateY()) * scanlineStride
+                    + (minX - raster.getSampleModelTranslateX());
+            for (int x = 0, dst = 0; x < width; x++, src++) {
+                int pixel = data[src];
+                for (int b = 0; b < bands; b++) {
+                    row[dst++] = (byte) ((pixel & masks[b]) >>> shifts[b]);
+                }
+            }
+        }
+    }
+
+    /** Any other 8 bits data */
+    static class GenericRowReader extends RowReader {
+        final int[] samples;
+
+        GenericRowReader(Raster raster, int minX, int width) {
+            super(raster, minX, width);
+            samples = new int[width * bands];
+        }
+
+        @Override
+        void read(int y, byte[] row) {
+            raster.getPixels(minX, y, width, 1, samples);
+            for (int i = 0; i < samples.length; i++) {
+                row[i] = (byte) samples[i];
+            }
+        }
+    }
+
+    /** Paletted data with less than 8 bits per pixel, packed most significant bits first */
+    static class PackedRowReader extends RowReader {
+        final int bitDepth;
+        final int[] samples;
+
+        PackedRowReader(Raster raster, int minX, int width, int bitDepth) {
+            super(raster, minX, width);
+            this.bitDepth = bitDepth;
+            this.samples = new int[width];
+        }
+
+        @Override
+        int bytesPerPixel() {
+            return 1;
+        }
+
+        @Override
+        int rowBytes() {
+            return (width * bitDepth + 7) / 8;
+        }
+
+        @Override
+        void read(int y, byte[] row) {
+            raster.getSamples(minX, y, width, 1, 0, samples);
+            int pixelsPerByte = 8 / bitDepth;
+            int mask = (1 << bitDepth) - 1;
+            for (int i = 0, x = 0; i < row.length; i++) {
+                int packed = 0;
+                for (int p = 0; p < pixelsPerByte; p++, x++) {
+                    int sample = x < width ? samples[x] & mask : 0;
+                    packed |= sample << (8 - bitDepth * (p + 1));
+                }
+                row[i] = (byte) packed;
+            }
+        }
+    }
+
+    /** Combines the Adler-32 checksums of two consecutive sequences, the second one being {@code length2} long */
+    static long combineAdler32(long adler1, long adler2, long length2) {
+        final long base = 65521;
+        long remainder = length2 % base;
+        long sum1 = adler1 & 0xFFFF;
+        long sum2 = (remainder * sum1) % base;
+        sum1 += (adler2 & 0xFFFF) + base - 1;
+        sum2 += ((adler1 >>> 16) & 0xFFFF) + ((adler2 >>> 16) & 0xFFFF) + base - remainder;
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum1 >= base) {
+            sum1 -= base;
+        }
+        if (sum2 >= (base << 1)) {
+            sum2 -= (base << 1);
+        }
+        if (sum2 >= base) {
+            sum2 -= base;
+        }
+        return sum1 | (sum2 << 16);
+    }
+
+    private static void writeHeader(OutputStream out, int width, int height, int bitDepth, int colorType)
+            throws IOException {
+        byte[] header = new byte[13];
+        writeInt(header, 0, width);
+        writeInt(header, 4, height);
+        header[8] = (byte) bitDepth;
+        header[9] = (byte) colorType;
+        // compression, filter and interlace methods, all defaults
+        writeChunk(out, "IHDR", header, header.length);
+    }
+
+    private static void writePalette(OutputStream out, IndexColorModel icm, int bitDepth) throws IOException {
+        int size = Math.min(icm.getMapSize(), 1 << bitDepth);
+        byte[] palette = new byte[size * 3];
+        byte[] alphas = new byte[size];
+        int lastTranslucent = -1;
+        for (int i = 0; i < size; i++) {
+            palette[i * 3] = (byte) icm.getRed(i);
+            palette[i * 3 + 1] = (byte) icm.getGreen(i);
+            palette[i * 3 + 2] = (byte) icm.getBlue(i);
+            alphas[i] = (byte) icm.getAlpha(i);
+            if (icm.getAlpha(i) != 255) {
+                lastTranslucent = i;
+            }
+        }
+        writeChunk(out, "PLTE", palette, palette.length);
+        if (lastTranslucent >= 0) {
+            writeChunk(out, "tRNS", alphas, lastTranslucent + 1);
+        }
+    }
+
+    private static void writeChunk(OutputStream out, String type, byte[] data, int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        byte[] header = new byte[8];
+        writeInt(header, 0, length);
+        System.arraycopy(typeBytes, 0, header, 4, 4);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        byte[] trailer = new byte[4];
+        writeInt(trailer, 0, (int) crc.getValue());
+        out.write(header);
+        out.write(data, 0, length);
+        out.write(trailer);
+    }
+
+    private static void writeInt(byte[] target, int offset, int value) {
+        target[offset] = (byte) (value >>> 24);
+        target[offset + 1] = (byte) (value >>> 16);
+        target[offset + 2] = (byte) (value >>> 8);
+        target[offset + 3] = (byte) value;
+    }
+}
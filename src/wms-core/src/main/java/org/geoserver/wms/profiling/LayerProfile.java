@@ -0,0 +1,173 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.style.Rule;
+import org.geotools.filter.text.ecql.ECQL;
+import org.geotools.map.Layer;
+
+/**
+ * Measurements taken while rendering a single layer of a single map. Not thread safe, the measurements are taken by
+ * the thread reading and processing the features of the layer.
+ */
+public class LayerProfile {
+
+    /** Key of the profile in the {@link Layer#getUserData() layer user data} */
+    static final String KEY = LayerProfile.class.getName();
+
+    private final String layerName;
+
+    private final String styleName;
+
+    private final List<RuleProfile> rules = new ArrayList<>();
+
+    long queryNanos;
+
+    long featuresRead;
+
+    long featuresDrawn;
+
+    long renderStart;
+
+    long renderEnd;
+
+    public LayerProfile(String layerName, String styleName) {
+        this.layerName = layerName;
+        this.styleName = styleName;
+    }
+
+    /** Returns the profile attached to the layer, if any */
+    static LayerProfile get(Layer layer) {
+        return layer.getUserData().get(KEY) instanceof LayerProfile profile ? profile : null;
+    }
+
+    RuleProfile addRule(int ftsIndex, int ruleIndex, Rule rule) {
+        RuleProfile profile = new RuleProfile(ftsIndex + "." + ruleIndex, rule);
+        rules.add(profile);
+        return profile;
+    }
+
+    public String getLayerName() {
+        return layerName;
+    }
+
+    public String getStyleName() {
+        return styleName;
+    }
+
+    public List<RuleProfile> getRules() {
+        return rules;
+    }
+
+    /** Time spent querying the data and reading the features, in nanoseconds */
+    public long getQueryNanos() {
+        return queryNanos;
+    }
+
+    /** Time elapsed between the start and the end of the layer rendering, in nanoseconds */
+    public long getRenderNanos() {
+        return renderEnd > renderStart ? renderEnd - renderStart : 0;
+    }
+
+    /** Returns true if the renderer actually got to render the layer */
+    public boolean isRendered() {
+        return renderStart != 0;
+    }
+
+    public long getFeaturesRead() {
+        return featuresRead;
+    }
+
+    public long getFeaturesDrawn() {
+        return featuresDrawn;
+    }
+
+    /** Measurements taken for a single rule, the features evaluated against its filter, and matching it */
+    public static class RuleProfile {
+
+        private final String id;
+
+        private final String name;
+
+        private final String filter;
+
+        private final String symbolizers;
+
+        private final boolean elseRule;
+
+        long evaluated;
+
+        long matched;
+
+        long filterNanos;
+
+        RuleProfile(String id, Rule rule) {
+            this.id = id;
+            this.name = rule.getName();
+            this.filter = toCQL(rule.getFilter());
+            this.symbolizers = rule.symbolizers().stream()
+                    .map(s -> s.getClass().getSimpleName().replace("Impl", ""))
+                    .collect(Collectors.joining(","));
+            this.elseRule = rule.isElseFilter();
+        }
+
+        private static String toCQL(Filter filter) {
+            if (filter == null || filter == Filter.INCLUDE) {
+                return null;
+            }
+            try {
+                return ECQL.toCQL(filter);
+            } catch (Exception e) {
+                return filter.toString();
+            }
+        }
+
+        /** Position of the rule in the style, as {@code <feature type style index>.<rule index>} */
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /** The rule filter, in ECQL, or null if the rule has none */
+        public String getFilter() {
+            return filter;
+        }
+
+        /** The comma separated types of the rule symbolizers */
+        public String getSymbolizers() {
+            return symbolizers;
+        }
+
+        /**
+         * Returns true for else rules, the renderer does not evaluate their filter, so the counts of features
+         * evaluated and matched stay at zero
+         */
+        public boolean isElseRule() {
+            return elseRule;
+        }
+
+        /** Number of features evaluated against the rule filter */
+        public long getEvaluated() {
+            return evaluated;
+        }
+
+        /** Number of features matching the rule filter, and thus drawn by all its symbolizers */
+        public long getMatched() {
+            return matched;
+        }
+
+        /** Time spent evaluating the rule filter, in nanoseconds */
+        public long getFilterNanos() {
+            return filterNanos;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import java.awt.RenderingHints.Key;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.geotools.api.data.DataAccess;
+import org.geotools.api.data.FeatureListener;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.QueryCapabilities;
+import org.geotools.api.data.ResourceInfo;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
+import org.geotools.feature.collection.DecoratingSimpleFeatureIterator;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.decorate.AbstractDecorator;
+
+/** Feature source measuring the time spent querying and reading the features, and counting them */
+class ProfilingFeatureSource extends AbstractDecorator<SimpleFeatureSource> implements SimpleFeatureSource {
+
+    private final LayerProfile profile;
+
+    ProfilingFeatureSource(SimpleFeatureSource delegate, LayerProfile profile) {
+        super(delegate);
+        this.profile = profile;
+    }
+
+    @Override
+    public SimpleFeatureCollection getFeatures() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return new ProfilingFeatureCollection(delegate.getFeatures());
+        } finally {
+            profile.queryNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public SimpleFeatureCollection getFeatures(Filter filter) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return new ProfilingFeatureCollection(delegate.getFeatures(filter));
+        } finally {
+            profile.queryNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public SimpleFeatureCollection getFeatures(Query query) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return new ProfilingFeatureCollection(delegate.getFeatures(query));
+        } finally {
+            profile.queryNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public Name getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public ResourceInfo getInfo() {
+        return delegate.getInfo();
+    }
+
+    @Override
+    public DataAccess<SimpleFeatureType, SimpleFeature> getDataStore() {
+        return delegate.getDataStore();
+    }
+
+    @Override
+    public QueryCapabilities getQueryCapabilities() {
+        return delegate.getQueryCapabilities();
+    }
+
+    @Override
+    public void addFeatureListener(FeatureListener listener) {
+        delegate.addFeatureListener(listener);
+    }
+
+    @Override
+    public void removeFeatureListener(FeatureListener listener) {
+        delegate.removeFeatureListener(listener);
+    }
+
+    @Override
+    public SimpleFeatureType getSchema() {
+        return delegate.getSchema();
+    }
+
+    @Override
+    public ReferencedEnvelope getBounds() throws IOException {
+        return delegate.getBounds();
+    }
+
+    @Override
+    public ReferencedEnvelope getBounds(Query query) throws IOException {
+        return delegate.getBounds(query);
+    }
+
+    @Override
+    public int getCount(Query query) throws IOException {
+        return delegate.getCount(query);
+    }
+
+    @Override
+    public Set<Key> getSupportedHints() {
+        return delegate.getSupportedHints();
+    }
+
+    private class ProfilingFeatureCollection extends DecoratingSimpleFeatureCollection {
+
+        ProfilingFeatureCollection(SimpleFeatureCollection delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public SimpleFeatureIterator features() {
+            long start = System.nanoTime();
+            try {
+                return new ProfilingFeatureIterator(super.features());
+            } finally {
+                profile.queryNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private class ProfilingFeatureIterator extends DecoratingSimpleFeatureIterator {
+
+        ProfilingFeatureIterator(SimpleFeatureIterator delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public boolean hasNext() {
+            long start = System.nanoTime();
+            try {
+                return super.hasNext();
+            } finally {
+                profile.queryNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            long start = System.nanoTime();
+            try {
+                SimpleFeature feature = super.next();
+                profile.featuresRead++;
+                return feature;
+            } finally {
+                profile.queryNanos += System.nanoTime() - start;
+            }
+        }
+
+        @Override
+        public void close() {
+            long start = System.nanoTime();
+            try {
+                super.close();
+            } finally {
+                profile.queryNanos += System.nanoTime() - start;
+            }
+        }
+    }
+}
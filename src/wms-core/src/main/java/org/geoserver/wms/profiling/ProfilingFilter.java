@@ -0,0 +1,68 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import org.geoserver.wms.profiling.LayerProfile.RuleProfile;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+
+/**
+ * Wraps a rule filter, counting the features evaluated and matched, and the time spent evaluating them.
+ *
+ * <p>Visitors see the wrapped filter. When a duplicating visitor returns an unchanged copy of it, as the style copies
+ * made by the renderer while rescaling do, the copy gets wrapped again, so that the measurements survive the style
+ * rewrites performed before rendering. Filters rewritten by the visitor, and the simplified ones the renderer builds
+ * the data query from, are returned as is.
+ */
+class ProfilingFilter implements Filter {
+
+    private final Filter delegate;
+
+    private final RuleProfile rule;
+
+    ProfilingFilter(Filter delegate, RuleProfile rule) {
+        this.delegate = delegate;
+        this.rule = rule;
+    }
+
+    @Override
+    public boolean evaluate(Object object) {
+        long start = System.nanoTime();
+        boolean result = delegate.evaluate(object);
+        rule.filterNanos += System.nanoTime() - start;
+        rule.evaluated++;
+        if (result) {
+            rule.matched++;
+        }
+        return result;
+    }
+
+    @Override
+    public Object accept(FilterVisitor visitor, Object extraData) {
+        Object result = delegate.accept(visitor, extraData);
+        if (isCopy(visitor, result)) {
+            return new ProfilingFilter((Filter) result, rule);
+        }
+        return result;
+    }
+
+    private boolean isCopy(FilterVisitor visitor, Object result) {
+        return visitor instanceof DuplicatingFilterVisitor
+                && !(visitor instanceof SimplifyingFilterVisitor)
+                && result instanceof Filter
+                && delegate.equals(result);
+    }
+
+    Filter getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
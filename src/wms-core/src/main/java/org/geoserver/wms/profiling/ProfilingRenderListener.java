@@ -0,0 +1,42 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.map.Layer;
+import org.geotools.renderer.RenderListener;
+
+/** Records the rendering time and the features drawn of the profiled layers */
+class ProfilingRenderListener implements RenderListener {
+
+    private LayerProfile current;
+
+    @Override
+    public void featureRenderer(SimpleFeature feature) {
+        if (current != null) {
+            current.featuresDrawn++;
+        }
+    }
+
+    @Override
+    public void errorOccurred(Exception e) {}
+
+    @Override
+    public void layerStart(Layer layer) {
+        current = LayerProfile.get(layer);
+        if (current != null) {
+            current.renderStart = System.nanoTime();
+        }
+    }
+
+    @Override
+    public void layerEnd(Layer layer) {
+        LayerProfile profile = LayerProfile.get(layer);
+        if (profile != null) {
+            profile.renderEnd = System.nanoTime();
+        }
+        current = null;
+    }
+}
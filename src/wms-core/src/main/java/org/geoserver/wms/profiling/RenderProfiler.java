@@ -0,0 +1,264 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geoserver.catalog.Catalog;
+import org.geoserver.catalog.LayerInfo;
+import org.geoserver.catalog.StyleInfo;
+import org.geoserver.wms.GetMapCallbackAdapter;
+import org.geoserver.wms.GetMapRequest;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.WebMap;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.style.FeatureTypeStyle;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.renderer.RenderListener;
+import org.geotools.styling.visitor.DuplicatingStyleVisitor;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Opt-in profiler of the GetMap rendering, recording for each vector layer the time spent reading the data and
+ * rendering it, and for each rule the number of features evaluated against its filter, the ones matching it, and the
+ * time spent evaluating the filter. The measurements are aggregated in a rolling window per style, see
+ * {@link StyleProfile}, so that the rules and filters responsible for slow maps can be found in production. Styles are
+ * identified by their workspace prefixed name, so that same named styles in different workspaces are kept apart.
+ *
+ * <p>The profiler is disabled by default, it can be enabled with the {@link #ENABLED_PROPERTY} system variable, or at
+ * runtime using the REST API.
+ */
+public class RenderProfiler extends GetMapCallbackAdapter {
+
+    static final Logger LOGGER = Logging.getLogger(RenderProfiler.class);
+
+    /** System property enabling the profiler at startup */
+    public static final String ENABLED_PROPERTY = "org.geoserver.wms.profiling";
+
+    /** System property setting the length of the rolling window, in minutes */
+    public static final String WINDOW_PROPERTY = "org.geoserver.wms.profiling.window";
+
+    /** System property setting the maximum number of styles profiled */
+    public static final String MAX_STYLES_PROPERTY = "org.geoserver.wms.profiling.maxStyles";
+
+    /** Key of the profiling render listener in the {@link WMSMapContent#getUserData() map content user data} */
+    static final String LISTENER_KEY = ProfilingRenderListener.class.getName();
+
+    /** Style name used for the styles without one, e.g. inline ones */
+    static final String UNNAMED_STYLE = "unnamed";
+
+    static final int SLICES = 12;
+
+    private final Catalog catalog;
+
+    private final ThreadLocal<List<LayerProfile>> requestProfiles = new ThreadLocal<>();
+
+    private final Map<String, StyleProfile> styles = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+
+    private final int maxStyles;
+
+    private volatile boolean enabled;
+
+    public RenderProfiler(Catalog catalog) {
+        this(
+                catalog,
+                Boolean.getBoolean(ENABLED_PROPERTY),
+                TimeUnit.MINUTES.toMillis(Long.getLong(WINDOW_PROPERTY, 60)),
+                Integer.getInteger(MAX_STYLES_PROPERTY, 1000));
+    }
+
+    /**
+     * @param catalog the catalog used to resolve the workspace of the styles, if null the style names are used as is
+     * @param enabled whether the profiler is initially enabled
+     * @param windowMillis the length of the rolling window, in milliseconds
+     * @param maxStyles the maximum number of styles profiled, the styles above it are ignored
+     */
+    public RenderProfiler(Catalog catalog, boolean enabled, long windowMillis, int maxStyles) {
+        this.catalog = catalog;
+        this.enabled = enabled;
+        this.windowMillis = windowMillis;
+        this.maxStyles = maxStyles;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /** Returns the render listener collecting the rendering measurements for the map, or null if not profiled */
+    public static RenderListener getRenderListener(WMSMapContent mapContent) {
+        return mapContent.getUserData().get(LISTENER_KEY) instanceof RenderListener listener ? listener : null;
+    }
+
+    @Override
+    public GetMapRequest initRequest(GetMapRequest request) {
+        requestProfiles.remove();
+        return request;
+    }
+
+    @Override
+    public Layer beforeLayer(WMSMapContent mapContent, Layer layer) {
+        if (!enabled
+                || !(layer instanceof FeatureLayer featureLayer)
+                || !(featureLayer.getFeatureSource() instanceof SimpleFeatureSource source)
+                || layer.getStyle() == null) {
+            return layer;
+        }
+        try {
+            Style style = layer.getStyle();
+            String styleName = getStyleName(layer.getTitle(), style);
+            LayerProfile profile = new LayerProfile(layer.getTitle(), styleName);
+            ProfilingStyleVisitor visitor = new ProfilingStyleVisitor(profile);
+            style.accept(visitor);
+
+            FeatureLayer profiled = new FeatureLayer(
+                    new ProfilingFeatureSource(source, profile), (Style) visitor.getCopy(), layer.getTitle());
+            profiled.setQuery(featureLayer.getQuery());
+            profiled.setVisible(layer.isVisible());
+            profiled.setSelected(layer.isSelected());
+            profiled.getUserData().putAll(layer.getUserData());
+            profiled.getUserData().put(LayerProfile.KEY, profile);
+
+            mapContent.getUserData().computeIfAbsent(LISTENER_KEY, k -> new ProfilingRenderListener());
+            List<LayerProfile> profiles = requestProfiles.get();
+            if (profiles == null) {
+                profiles = new ArrayList<>();
+                requestProfiles.set(profiles);
+            }
+            profiles.add(profile);
+            return profiled;
+        } catch (Exception e) {
+            LOGGER.log(Level.FINE, "Could not set up the profiling of layer " + layer.getTitle(), e);
+            return layer;
+        }
+    }
+
+    /**
+     * Returns the workspace prefixed name of the style. The catalog styles are usually named that way already, the
+     * ones that are not get resolved against the styles of the layer.
+     */
+    String getStyleName(String layerName, Style style) {
+        String name = style.getName();
+        if (name == null) {
+            return UNNAMED_STYLE;
+        }
+        if (catalog == null || name.indexOf(':') >= 0 || layerName == null) {
+            return name;
+        }
+        LayerInfo layer = catalog.getLayerByName(layerName);
+        if (layer != null) {
+            List<StyleInfo> candidates = new ArrayList<>(layer.getStyles());
+            candidates.add(layer.getDefaultStyle());
+            for (StyleInfo candidate : candidates) {
+                if (candidate != null && name.equals(candidate.getName())) {
+                    return candidate.prefixedName();
+                }
+            }
+        }
+        return name;
+    }
+
+    @Override
+    public WebMap finished(WebMap map) {
+        record();
+        return map;
+    }
+
+    @Override
+    public void failed(Throwable t) {
+        record();
+    }
+
+    /** Adds the measurements of the current request layers to the style profiles */
+    private void record() {
+        List<LayerProfile> profiles = requestProfiles.get();
+        requestProfiles.remove();
+        if (profiles == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (LayerProfile profile : profiles) {
+            if (!profile.isRendered()) {
+                continue;
+            }
+            StyleProfile styleProfile = styles.get(profile.getStyleName());
+            if (styleProfile == null) {
+                if (styles.size() >= maxStyles) {
+                    continue;
+                }
+                styleProfile = styles.computeIfAbsent(
+                        profile.getStyleName(), name -> new StyleProfile(name, windowMillis, SLICES));
+            }
+            styleProfile.record(profile, now);
+        }
+    }
+
+    /** Returns the profiles of the styles rendered in the window, sorted by name */
+    public List<StyleProfile> getStyleProfiles() {
+        long now = System.currentTimeMillis();
+        List<StyleProfile> result = new ArrayList<>();
+        for (StyleProfile profile : styles.values()) {
+            if (profile.getCount(now) > 0) {
+                result.add(profile);
+            }
+        }
+        result.sort(Comparator.comparing(StyleProfile::getName));
+        return result;
+    }
+
+    /** Returns the profile of the given style, or null if not found */
+    public StyleProfile getStyleProfile(String name) {
+        return styles.get(name);
+    }
+
+    /** Removes all the collected measurements */
+    public void clear() {
+        styles.clear();
+    }
+
+    /** Copies the style, wrapping the rule filters so that their evaluations get measured */
+    static class ProfilingStyleVisitor extends DuplicatingStyleVisitor {
+
+        private final LayerProfile profile;
+
+        private int ftsIndex = -1;
+
+        private int ruleIndex;
+
+        ProfilingStyleVisitor(LayerProfile profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public void visit(FeatureTypeStyle fts) {
+            ftsIndex++;
+            ruleIndex = 0;
+            super.visit(fts);
+        }
+
+        @Override
+        public void visit(Rule rule) {
+            super.visit(rule);
+            Rule copy = (Rule) pages.peek();
+            Filter filter = copy.getFilter() != null ? copy.getFilter() : Filter.INCLUDE;
+            copy.setFilter(new ProfilingFilter(filter, profile.addRule(ftsIndex, ruleIndex++, rule)));
+        }
+    }
+}
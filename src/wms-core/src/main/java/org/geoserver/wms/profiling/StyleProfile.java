@@ -0,0 +1,289 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.geoserver.wms.profiling.LayerProfile.RuleProfile;
+
+/**
+ * Rendering measurements of a style, aggregated over a rolling time window.
+ *
+ * <p>The window is split in slices, the measurements are accumulated in the slice matching the time they are
+ * recorded, and the slices older than the window are recycled.
+ */
+public class StyleProfile {
+
+    /** Upper bounds of the histogram buckets, in milliseconds, the last bucket collects everything above */
+    static final long[] BUCKETS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 30000, 60000};
+
+    /** Maximum number of layer names tracked for a style */
+    static final int MAX_LAYERS = 20;
+
+    private final String name;
+
+    private final long sliceMillis;
+
+    private final Slice[] slices;
+
+    private final Set<String> layers = new LinkedHashSet<>();
+
+    /**
+     * @param name the style name
+     * @param windowMillis the length of the rolling window, in milliseconds
+     * @param sliceCount the number of slices the window is split into
+     */
+    public StyleProfile(String name, long windowMillis, int sliceCount) {
+        this.name = name;
+        this.sliceMillis = Math.max(1, windowMillis / sliceCount);
+        this.slices = new Slice[sliceCount];
+        for (int i = 0; i < sliceCount; i++) {
+            slices[i] = new Slice();
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** Adds the measurements of a rendered layer */
+    public synchronized void record(LayerProfile profile, long now) {
+        long epoch = now / sliceMillis;
+        Slice slice = slices[(int) (epoch % slices.length)];
+        if (slice.epoch != epoch) {
+            slice.reset(epoch);
+        }
+        long render = TimeUnit.NANOSECONDS.toMillis(profile.getRenderNanos());
+        long query = TimeUnit.NANOSECONDS.toMillis(profile.getQueryNanos());
+        slice.render.add(render);
+        slice.query.add(query);
+        slice.paint.add(Math.max(0, render - query));
+        slice.featuresRead += profile.getFeaturesRead();
+        slice.featuresDrawn += profile.getFeaturesDrawn();
+        for (RuleProfile rule : profile.getRules()) {
+            slice.rules.computeIfAbsent(rule.getId(), k -> new RuleTotals(rule)).add(rule);
+        }
+        if (layers.size() < MAX_LAYERS) {
+            layers.add(profile.getLayerName());
+        }
+    }
+
+    /** Returns the number of layer renderings recorded in the window */
+    public synchronized long getCount(long now) {
+        long count = 0;
+        for (Slice slice : slices) {
+            if (isCurrent(slice, now)) {
+                count += slice.render.count;
+            }
+        }
+        return count;
+    }
+
+    private boolean isCurrent(Slice slice, long now) {
+        return slice.epoch > now / sliceMillis - slices.length;
+    }
+
+    /** Summarizes the measurements recorded in the window, as a tree of maps and lists ready for encoding */
+    public synchronized Map<String, Object> summarize(long now) {
+        Histogram render = new Histogram();
+        Histogram query = new Histogram();
+        Histogram paint = new Histogram();
+        long featuresRead = 0;
+        long featuresDrawn = 0;
+        Map<String, RuleTotals> rules = new LinkedHashMap<>();
+        for (Slice slice : slices) {
+            if (isCurrent(slice, now)) {
+                render.merge(slice.render);
+                query.merge(slice.query);
+                paint.merge(slice.paint);
+                featuresRead += slice.featuresRead;
+                featuresDrawn += slice.featuresDrawn;
+                slice.rules.forEach((id, totals) ->
+                        rules.computeIfAbsent(id, k -> new RuleTotals(totals)).merge(totals));
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("layers", new ArrayList<>(layers));
+        result.put("count", render.count);
+        result.put("featuresRead", featuresRead);
+        result.put("featuresDrawn", featuresDrawn);
+        result.put("featuresSkipped", Math.max(0, featuresRead - featuresDrawn));
+        result.put("renderTime", render.summarize());
+        result.put("queryTime", query.summarize());
+        result.put("paintTime", paint.summarize());
+        List<Map<String, Object>> ruleList = new ArrayList<>();
+        for (RuleTotals totals : rules.values()) {
+            ruleList.add(totals.summarize());
+        }
+        result.put("rules", ruleList);
+        return result;
+    }
+
+    /** The measurements recorded in a slice of the window */
+    private static class Slice {
+
+        long epoch = -1;
+
+        Histogram render = new Histogram();
+
+        Histogram query = new Histogram();
+
+        Histogram paint = new Histogram();
+
+        long featuresRead;
+
+        long featuresDrawn;
+
+        Map<String, RuleTotals> rules = new LinkedHashMap<>();
+
+        void reset(long epoch) {
+            this.epoch = epoch;
+            render = new Histogram();
+            query = new Histogram();
+            paint = new Histogram();
+            featuresRead = 0;
+            featuresDrawn = 0;
+            rules = new LinkedHashMap<>();
+        }
+    }
+
+    /** Latency histogram, in milliseconds, with fixed buckets */
+    static class Histogram {
+
+        final long[] counts = new long[BUCKETS.length + 1];
+
+        long count;
+
+        long sum;
+
+        long max;
+
+        void add(long millis) {
+            int idx = 0;
+            while (idx < BUCKETS.length && millis > BUCKETS[idx]) {
+                idx++;
+            }
+            counts[idx]++;
+            count++;
+            sum += millis;
+            max = Math.max(max, millis);
+        }
+
+        void merge(Histogram other) {
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += other.counts[i];
+            }
+            count += other.count;
+            sum += other.sum;
+            max = Math.max(max, other.max);
+        }
+
+        /** Returns the upper bound of the bucket containing the given percentile, capped by the maximum */
+        long percentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long threshold = (long) Math.ceil(count * percentile / 100);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS.length; i++) {
+                seen += counts[i];
+                if (seen >= threshold) {
+                    return Math.min(BUCKETS[i], max);
+                }
+            }
+            return max;
+        }
+
+        Map<String, Object> summarize() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("count", count);
+            result.put("average", count == 0 ? 0 : sum / count);
+            result.put("p50", percentile(50));
+            result.put("p90", percentile(90));
+            result.put("p99", percentile(99));
+            result.put("max", max);
+            List<Map<String, Object>> buckets = new ArrayList<>();
+            for (int i = 0; i < counts.length; i++) {
+                if (counts[i] > 0) {
+                    Map<String, Object> bucket = new LinkedHashMap<>();
+                    bucket.put("upTo", i < BUCKETS.length ? BUCKETS[i] : null);
+                    bucket.put("count", counts[i]);
+                    buckets.add(bucket);
+                }
+            }
+            result.put("histogram", buckets);
+            return result;
+        }
+    }
+
+    /** Totals of a rule measurements */
+    private static class RuleTotals {
+
+        final String id;
+
+        final String name;
+
+        final String filter;
+
+        final String symbolizers;
+
+        final boolean elseRule;
+
+        long evaluated;
+
+        long matched;
+
+        long filterNanos;
+
+        RuleTotals(RuleProfile rule) {
+            this(rule.getId(), rule.getName(), rule.getFilter(), rule.getSymbolizers(), rule.isElseRule());
+        }
+
+        RuleTotals(RuleTotals other) {
+            this(other.id, other.name, other.filter, other.symbolizers, other.elseRule);
+        }
+
+        RuleTotals(String id, String name, String filter, String symbolizers, boolean elseRule) {
+            this.id = id;
+            this.name = name;
+            this.filter = filter;
+            this.symbolizers = symbolizers;
+            this.elseRule = elseRule;
+        }
+
+        void add(RuleProfile rule) {
+            evaluated += rule.getEvaluated();
+            matched += rule.getMatched();
+            filterNanos += rule.getFilterNanos();
+        }
+
+        void merge(RuleTotals other) {
+            evaluated += other.evaluated;
+            matched += other.matched;
+            filterNanos += other.filterNanos;
+        }
+
+        Map<String, Object> summarize() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("name", name);
+            result.put("filter", filter);
+            result.put("symbolizers", symbolizers);
+            result.put("elseRule", elseRule);
+            result.put("evaluated", evaluated);
+            result.put("matched", matched);
+            result.put("skipped", evaluated - matched);
+            result.put("filterTime", TimeUnit.NANOSECONDS.toMillis(filterNanos));
+            return result;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.geoserver.ows.Dispatcher;
+import org.geoserver.ows.Request;
+import org.geoserver.wms.RenderingScheduler.FairnessKey;
+import org.junit.After;
+import org.junit.Test;
+
+public class RenderingSchedulerTest {
+
+    RenderingScheduler scheduler;
+
+    @After
+    public void cleanup() throws Exception {
+        Dispatcher.REQUEST.remove();
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    public void testLanes() {
+        scheduler = new RenderingScheduler(4, -1, -1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        assertEquals(RenderingLane.MAP, scheduler.getLane(null));
+        assertEquals(RenderingLane.MAP, scheduler.getLane(request("WMS", "LAYERS", "a", "WIDTH", "256")));
+        assertEquals(RenderingLane.TILE, scheduler.getLane(request("WMS", "LAYERS", "a", "TILED", "true")));
+        assertEquals(
+                RenderingLane.TILE,
+                scheduler.getLane(request("WMS", RenderingScheduler.GWC_SEED_INTERCEPT_TOKEN, "true")));
+        assertEquals(RenderingLane.TILE, scheduler.getLane(request("gwc")));
+        assertEquals(RenderingLane.PRINT, scheduler.getLane(request("WMS", "FORMAT", "application/pdf")));
+        assertEquals(RenderingLane.PRINT, scheduler.getLane(request("WMS", "WIDTH", "8192", "HEIGHT", "8192")));
+        assertEquals(RenderingLane.PRINT, scheduler.getLane(request("WPS")));
+    }
+
+    @Test
+    public void testKeys() {
+        scheduler = new RenderingScheduler(4, -1, -1, FairnessKey.LAYER, 1);
+        assertEquals("topp:states,sf:roads", scheduler.getKey(request("WMS", "LAYERS", "topp:states,sf:roads")));
+        scheduler = new RenderingScheduler(4, -1, -1, FairnessKey.WORKSPACE, 1);
+        assertEquals("topp", scheduler.getKey(request("WMS", "LAYERS", "topp:states,sf:roads")));
+        assertEquals("", scheduler.getKey(request("WMS", "LAYERS", "states")));
+    }
+
+    @Test
+    public void testTilesFirst() throws Exception {
+        scheduler = new RenderingScheduler(1, -1, -1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = submit(request("WMS", "LAYERS", "a"), release::await);
+        waitFor(() -> scheduler.getRunningCount().get("MAP") == 1);
+
+        Future<?> map = submit(request("WMS", "LAYERS", "a"), () -> order.add("map"));
+        Future<?> tile = submit(request("WMS", "LAYERS", "a", "TILED", "true"), () -> order.add("tile"));
+        assertEquals(1, (long) scheduler.getQueueDepth().get("MAP"));
+        assertEquals(1, (long) scheduler.getQueueDepth().get("TILE"));
+
+        release.countDown();
+        blocker.get();
+        map.get();
+        tile.get();
+        assertEquals(List.of("tile", "map"), order);
+        assertEquals(2, (long) scheduler.getStartedCount().get("MAP"));
+        assertEquals(1, (long) scheduler.getStartedCount().get("TILE"));
+    }
+
+    @Test
+    public void testLaneCap() throws Exception {
+        // two threads, but a single one for ad-hoc maps, the other is reserved to tiles
+        scheduler = new RenderingScheduler(2, 1, 1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = submit(request("WMS", "LAYERS", "a"), release::await);
+        Future<?> map = submit(request("WMS", "LAYERS", "b"), () -> {});
+        Future<?> tile = submit(request("WMS", "LAYERS", "a", "TILED", "true"), () -> {});
+
+        tile.get(10, TimeUnit.SECONDS);
+        assertFalse(map.isDone());
+        assertEquals(1, (long) scheduler.getQueueDepth().get("MAP"));
+
+        release.countDown();
+        blocker.get();
+        map.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testKeyCap() throws Exception {
+        scheduler = new RenderingScheduler(4, 4, 1, FairnessKey.LAYER, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> blocker = submit(request("WMS", "LAYERS", "heavy"), release::await);
+        Future<?> sameLayer = submit(request("WMS", "LAYERS", "heavy"), () -> {});
+        Future<?> otherLayer = submit(request("WMS", "LAYERS", "cheap"), () -> {});
+
+        otherLayer.get(10, TimeUnit.SECONDS);
+        assertFalse(sameLayer.isDone());
+
+        release.countDown();
+        blocker.get();
+        sameLayer.get(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testDropCancelled() throws Exception {
+        scheduler = new RenderingScheduler(1, -1, -1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<?> blocker = submit(request("WMS", "LAYERS", "a"), release::await);
+        Future<?> cancelled = submit(request("WMS", "LAYERS", "b"), () -> ran.set(true));
+        Future<?> kept = submit(request("WMS", "LAYERS", "c"), () -> {});
+
+        // e.g., a rendering timeout while still queued
+        cancelled.cancel(false);
+
+        release.countDown();
+        blocker.get();
+        kept.get(10, TimeUnit.SECONDS);
+        assertFalse(ran.get());
+        assertEquals(1, (long) scheduler.getDroppedCount().get("MAP"));
+        assertEquals(0, (long) scheduler.getQueueDepth().get("MAP"));
+    }
+
+    @Test
+    public void testNestedTasksNotQueued() throws Exception {
+        scheduler = new RenderingScheduler(1, -1, -1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        Future<?> parent = submit(request("WMS", "LAYERS", "a"), () -> {
+            // would deadlock if queued behind its parent
+            scheduler.submit(() -> {}).get(10, TimeUnit.SECONDS);
+        });
+        parent.get(10, TimeUnit.SECONDS);
+        assertEquals(1, (long) scheduler.getStartedCount().get("MAP"));
+    }
+
+    @Test
+    public void testShutdown() throws Exception {
+        scheduler = new RenderingScheduler(1, -1, -1, FairnessKey.LAYER, Integer.MAX_VALUE);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicBoolean ran = new AtomicBoolean();
+        Future<?> blocker = submit(request("WMS", "LAYERS", "a"), release::await);
+        Future<?> queued = submit(request("WMS", "LAYERS", "b"), () -> ran.set(true));
+
+        scheduler.shutdown();
+        assertTrue(scheduler.isShutdown());
+        assertFalse(scheduler.isTerminated());
+        assertThrows(RejectedExecutionException.class, () -> submit(request("WMS", "LAYERS", "c"), () -> {}));
+
+        // the accepted tasks still run, then the threads stop
+        release.countDown();
+        blocker.get(10, TimeUnit.SECONDS);
+        queued.get(10, TimeUnit.SECONDS);
+        assertTrue(ran.get());
+        assertTrue(scheduler.awaitTermination(10, TimeUnit.SECONDS));
+        assertTrue(scheduler.isTerminated());
+    }
+
+    private Future<?> submit(Request request, Task task) {
+        Dispatcher.REQUEST.set(request);
+        try {
+            return scheduler.submit(() -> {
+                task.run();
+                return null;
+            });
+        } finally {
+            Dispatcher.REQUEST.remove();
+        }
+    }
+
+    private static void waitFor(Condition condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + 10000;
+        while (!condition.isMet() && System.currentTimeMillis() < end) {
+            Thread.sleep(10);
+        }
+        assertTrue(condition.isMet());
+    }
+
+    private static Request request(String service, String... kvp) {
+        Request request = new Request();
+        request.setService(service);
+        Map<String, Object> raw = new HashMap<>();
+        for (int i = 0; i < kvp.length; i += 2) {
+            raw.put(kvp[i], kvp[i + 1]);
+        }
+        request.setRawKvp(raw);
+        return request;
+    }
+
+    interface Task {
+        void run() throws Exception;
+    }
+
+    interface Condition {
+        boolean isMet();
+    }
+}
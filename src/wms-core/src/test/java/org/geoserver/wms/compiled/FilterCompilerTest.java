@@ -0,0 +1,190 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.compiled;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.text.ecql.ECQL;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+import org.geotools.styling.StyleBuilder;
+import org.geotools.styling.visitor.DuplicatingStyleVisitor;
+import org.junit.Test;
+
+public class FilterCompilerTest {
+
+    static final String[] FILTERS = {
+        "value < 3",
+        "value <= '3'",
+        "value = 3",
+        "value <> 3",
+        "value > 2.5",
+        "ratio >= 0.5 AND value < 4",
+        "ratio * 2 > 1",
+        "value + 1 = 4",
+        "value BETWEEN 1 AND 3",
+        "NOT (value BETWEEN 1 AND 3)",
+        "value IN (1, 3, 5)",
+        "name = 'b'",
+        "name <> 'b'",
+        "name > 'b'",
+        "name IN ('a', 'c')",
+        "in(name, 'a', 'c') = true",
+        "in(value, 1, 2) = true",
+        "in(value, 1, 2) = false",
+        "strToUpperCase(name) = 'B'",
+        "flag = true",
+        "flag <> 'false'",
+        "name IS NULL",
+        "value IS NOT NULL",
+        "name LIKE 'a%'",
+        "value < 3 OR name = 'c'",
+        "IN ('squares.1', 'squares.3')",
+        "INCLUDE",
+        "EXCLUDE"
+    };
+
+    @Test
+    public void testSameResultsAsInterpreted() throws Exception {
+        List<SimpleFeature> features = features();
+        SimpleFeatureType type = features.get(0).getFeatureType();
+        for (String cql : FILTERS) {
+            Filter filter = ECQL.toFilter(cql);
+            Predicate<SimpleFeature> compiled = FilterCompiler.compile(filter, type);
+            for (SimpleFeature feature : features) {
+                assertEquals(cql + " on " + feature.getID(), filter.evaluate(feature), compiled.test(feature));
+            }
+        }
+    }
+
+    @Test
+    public void testExactNumbers() throws Exception {
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        SimpleFeatureType type = DataUtilities.createType("ids", "id:long,amount:java.math.BigDecimal,size:float");
+        // neighbours the same once converted to doubles
+        long big = 9007199254740993L;
+        SimpleFeature lower = SimpleFeatureBuilder.build(
+                type, new Object[] {big - 1, new BigDecimal("0.10000000000000000001"), 0.1f}, "ids.1");
+        SimpleFeature upper =
+                SimpleFeatureBuilder.build(type, new Object[] {big, new BigDecimal("0.1"), 0.5f}, "ids.2");
+        Filter[] filters = {
+            ff.equals(ff.property("id"), ff.literal(big)),
+            ff.notEqual(ff.property("id"), ff.literal(big)),
+            ff.greater(ff.property("id"), ff.literal(big - 1)),
+            ff.lessOrEqual(ff.property("id"), ff.literal(big - 1)),
+            ff.between(ff.property("id"), ff.literal(big), ff.literal(big + 1)),
+            ff.equals(ff.function("in", ff.property("id"), ff.literal(big), ff.literal(1)), ff.literal(true)),
+            ff.equals(ff.property("id"), ff.literal((double) big)),
+            ff.greater(ff.property("id"), ff.literal(0.5)),
+            ff.equals(ff.property("amount"), ff.literal(new BigDecimal("0.1"))),
+            ff.equals(ff.property("amount"), ff.literal(0.1)),
+            ff.equals(ff.property("size"), ff.literal(0.1)),
+            ff.equals(ff.property("size"), ff.literal(0.5)),
+            ff.less(ff.property("size"), ff.literal(1))
+        };
+        for (Filter filter : filters) {
+            Predicate<SimpleFeature> compiled = FilterCompiler.compile(filter, type);
+            for (SimpleFeature feature : List.of(lower, upper)) {
+                assertEquals(filter + " on " + feature.getID(), filter.evaluate(feature), compiled.test(feature));
+            }
+        }
+
+        // integral values are told apart even beyond the double precision
+        Predicate<SimpleFeature> equal = FilterCompiler.compile(filters[0], type);
+        assertFalse(equal.test(lower));
+        assertTrue(equal.test(upper));
+        Predicate<SimpleFeature> between = FilterCompiler.compile(filters[4], type);
+        assertFalse(between.test(lower));
+        assertTrue(between.test(upper));
+    }
+
+    @Test
+    public void testCompiledFilterTypeChange() throws Exception {
+        CompiledFilter filter = new CompiledFilter(ECQL.toFilter("value = 3"));
+        SimpleFeatureType full = DataUtilities.createType("squares", "geom:Point,name:String,value:int");
+        SimpleFeatureType subset = DataUtilities.createType("squares", "value:int");
+        assertTrue(filter.evaluate(SimpleFeatureBuilder.build(full, new Object[] {null, "a", 3}, "squares.1")));
+        // attribute moved to a different index
+        assertTrue(filter.evaluate(SimpleFeatureBuilder.build(subset, new Object[] {3}, "squares.2")));
+        assertFalse(filter.evaluate(SimpleFeatureBuilder.build(subset, new Object[] {4}, "squares.3")));
+    }
+
+    @Test
+    public void testVisitors() throws Exception {
+        Filter original = ECQL.toFilter("value < 3");
+        CompiledFilter filter = new CompiledFilter(original);
+        // unchanged copies keep the wrapper, other visitors see the original filter
+        Object copy = filter.accept(new DuplicatingFilterVisitor(), null);
+        assertTrue(copy instanceof CompiledFilter);
+        assertEquals(original, ((CompiledFilter) copy).getDelegate());
+        assertTrue(filter.accept(new DuplicatingFilterVisitor() {}, null) instanceof CompiledFilter);
+        assertEquals(original, filter.accept(new SimplifyingFilterVisitor(), null));
+        Object rewritten = filter.accept(
+                new DuplicatingFilterVisitor() {
+                    @Override
+                    public Object visit(Literal expression, Object extraData) {
+                        return getFactory(extraData).literal(5);
+                    }
+                },
+                null);
+        assertFalse(rewritten instanceof CompiledFilter);
+        assertEquals(ECQL.toFilter("value < 5"), rewritten);
+    }
+
+    @Test
+    public void testStyleVisitor() throws Exception {
+        StyleBuilder sb = new StyleBuilder();
+        Style style = sb.createStyle(sb.createPolygonSymbolizer());
+        Rule rule = style.featureTypeStyles().get(0).rules().get(0);
+        rule.setFilter(ECQL.toFilter("value < 3"));
+
+        CompiledFilterStyler.CompilingStyleVisitor visitor = new CompiledFilterStyler.CompilingStyleVisitor();
+        style.accept(visitor);
+        Style compiled = (Style) visitor.getCopy();
+        assertEquals(1, visitor.compiled);
+        Filter filter = compiled.featureTypeStyles().get(0).rules().get(0).getFilter();
+        assertTrue(filter instanceof CompiledFilter);
+
+        // survives further style copies, as performed by the renderer when rescaling
+        DuplicatingStyleVisitor duplicator = new DuplicatingStyleVisitor();
+        compiled.accept(duplicator);
+        Style duplicate = (Style) duplicator.getCopy();
+        assertTrue(duplicate.featureTypeStyles().get(0).rules().get(0).getFilter() instanceof CompiledFilter);
+    }
+
+    private static List<SimpleFeature> features() throws Exception {
+        SimpleFeatureType type =
+                DataUtilities.createType("squares", "geom:Point,name:String,value:int,ratio:double,flag:Boolean");
+        String[] names = {"a", "b", "c", null};
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Object[] values = {
+                null,
+                names[i % names.length],
+                i == 6 ? null : Integer.valueOf(i),
+                i == 7 ? null : Double.valueOf(i / 4d),
+                i == 5 ? null : Boolean.valueOf(i % 2 == 0)
+            };
+            features.add(SimpleFeatureBuilder.build(type, values, "squares." + i));
+        }
+        return features;
+    }
+}
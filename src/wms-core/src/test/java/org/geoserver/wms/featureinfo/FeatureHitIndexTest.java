@@ -0,0 +1,204 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.featureinfo;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Ticker;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.namespace.QName;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.wms.featureinfo.FeatureHitIndexCache.HitIndexKey;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.style.PolygonSymbolizer;
+import org.geotools.data.DataUtilities;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultEngineeringCRS;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class FeatureHitIndexTest {
+
+    static final QName LAYER = new QName("http://www.test.org", "roads");
+
+    static final HitIndexKey KEY = new HitIndexKey("test:roads|style=line", "EPSG:404000/INAPPLICABLE", 1, 1);
+
+    @Test
+    public void testQuery() {
+        // 100x100 pixels map, one unit per pixel
+        FeatureHitIndex.Builder builder = new FeatureHitIndex.Builder(LAYER, bounds(0, 0), 100, 100, 2);
+        builder.add("roads.3", new Envelope(10, 20, 10, 20));
+        builder.add("roads.1", new Envelope(15, 30, 15, 30));
+        builder.add("roads.2", new Envelope(80, 90, 80, 90));
+        FeatureHitIndex index = builder.build();
+        assertEquals(3, index.size());
+
+        // results are in rendering order
+        assertEquals(List.of("roads.3", "roads.1"), List.copyOf(index.query(new Envelope(16, 17, 16, 17))));
+        // the symbol radius is taken into account
+        assertEquals(Set.of("roads.2"), index.query(new Envelope(91, 91, 91, 91)));
+        assertTrue(index.query(new Envelope(50, 51, 50, 51)).isEmpty());
+
+        // y axis goes down in screen space
+        Envelope area = index.getScreenArea(10, 90, 3);
+        assertEquals(new Envelope(7, 13, 7, 13), area);
+        assertTrue(index.covers(area));
+        assertFalse(index.covers(index.getScreenArea(1, 50, 3)));
+    }
+
+    @Test
+    public void testCacheLookup() {
+        FeatureHitIndexCache cache = cache(true, 1000, 10);
+        FeatureHitIndex first = build(0, 0);
+        FeatureHitIndex second = build(100, 0);
+        cache.put(KEY, first, cache.getGeneration());
+        cache.put(KEY, second, cache.getGeneration());
+        assertEquals(2, cache.getSize());
+
+        assertSame(first, cache.lookup(KEY, 50, 50, 3));
+        assertSame(second, cache.lookup(KEY, 150, 50, 3));
+        // too close to the border of both
+        assertNull(cache.lookup(KEY, 99, 50, 3));
+        // different map
+        HitIndexKey otherKey = new HitIndexKey(KEY.definition(), KEY.srs(), 2, 2);
+        assertNull(cache.lookup(otherKey, 50, 50, 3));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+
+        // replacing an index keeps it reachable
+        FeatureHitIndex replacement = build(0, 0);
+        cache.put(KEY, replacement, cache.getGeneration());
+        assertSame(replacement, cache.lookup(KEY, 50, 50, 3));
+    }
+
+    @Test
+    public void testDisabled() {
+        FeatureHitIndexCache cache = cache(false, 1000, 10);
+        cache.put(KEY, build(0, 0), cache.getGeneration());
+        assertEquals(0, cache.getSize());
+        assertNull(cache.lookup(KEY, 50, 50, 3));
+    }
+
+    @Test
+    public void testDataModification() {
+        FeatureHitIndexCache cache = cache(true, 1000, 10);
+        cache.put(KEY, build(0, 0), cache.getGeneration());
+
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("http://www.test.org", "rivers")));
+        assertEquals(1, cache.getSize());
+
+        // unqualified names match any namespace
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("roads")));
+        assertEquals(0, cache.getSize());
+        assertNull(cache.lookup(KEY, 50, 50, 3));
+    }
+
+    @Test
+    public void testInvalidatedWhileRendering() {
+        FeatureHitIndexCache cache = cache(true, 1000, 10);
+        long generation = cache.getGeneration();
+        // data modified while the index was being built
+        cache.onApplicationEvent(new DataModifiedEvent(this, LAYER));
+        cache.put(KEY, build(0, 0), generation);
+        assertEquals(0, cache.getSize());
+        assertNull(cache.lookup(KEY, 50, 50, 3));
+
+        generation = cache.getGeneration();
+        cache.clear();
+        cache.put(KEY, build(0, 0), generation);
+        assertEquals(0, cache.getSize());
+
+        cache.put(KEY, build(0, 0), cache.getGeneration());
+        assertEquals(1, cache.getSize());
+    }
+
+    @Test
+    public void testExpiry() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = new Ticker() {
+            @Override
+            public long read() {
+                return nanos.get();
+            }
+        };
+        FeatureHitIndexCache cache = new FeatureHitIndexCache(true, 1000, 10, 60, ticker);
+        FeatureHitIndex index = build(0, 0);
+        cache.put(KEY, index, cache.getGeneration());
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        assertSame(index, cache.lookup(KEY, 50, 50, 3));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertNull(cache.lookup(KEY, 50, 50, 3));
+    }
+
+    @Test
+    public void testIndexableStyles() throws Exception {
+        SimpleFeatureType schema = DataUtilities.createType("roads", "geom:Polygon,other:Polygon,name:String");
+        StyleBuilder sb = new StyleBuilder();
+        assertTrue(FeatureHitIndexer.isIndexable(sb.createStyle(sb.createPolygonSymbolizer()), schema));
+        assertTrue(FeatureHitIndexer.isIndexable(sb.createStyle(sb.createLineSymbolizer()), schema));
+
+        PolygonSymbolizer defaultGeometry = sb.createPolygonSymbolizer();
+        defaultGeometry.setGeometry(sb.getFilterFactory().property("geom"));
+        assertTrue(FeatureHitIndexer.isIndexable(sb.createStyle(defaultGeometry), schema));
+
+        // outline only, a hit inside the polygon does not select it
+        PolygonSymbolizer outline = sb.createPolygonSymbolizer(sb.createStroke(), null);
+        assertFalse(FeatureHitIndexer.isIndexable(sb.createStyle(outline), schema));
+
+        // geometry transformation
+        PolygonSymbolizer buffered = sb.createPolygonSymbolizer();
+        FilterFactory ff = sb.getFilterFactory();
+        buffered.setGeometry(ff.function("buffer", ff.property("geom"), ff.literal(10)));
+        assertFalse(FeatureHitIndexer.isIndexable(sb.createStyle(buffered), schema));
+
+        // other geometry
+        PolygonSymbolizer other = sb.createPolygonSymbolizer();
+        other.setGeometry(ff.property("other"));
+        assertFalse(FeatureHitIndexer.isIndexable(sb.createStyle(other), schema));
+    }
+
+    @Test
+    public void testEviction() {
+        // at most two indexes
+        FeatureHitIndexCache cache = cache(true, 1000, 2);
+        for (int i = 0; i < 10; i++) {
+            cache.put(KEY, build(i * 100, 0), cache.getGeneration());
+        }
+        assertTrue(cache.getSize() <= 2);
+        assertSame(null, cache.lookup(KEY, 50, 50, 3));
+    }
+
+    @Test
+    public void testNormalize() {
+        assertEquals(
+                FeatureHitIndexCache.normalize(0.0006866455078125),
+                FeatureHitIndexCache.normalize(0.00068664550781250001),
+                0d);
+        assertEquals(156543.034, FeatureHitIndexCache.normalize(156543.03392804097), 0d);
+    }
+
+    private static FeatureHitIndexCache cache(boolean enabled, int maxFeatures, int maxEntries) {
+        return new FeatureHitIndexCache(enabled, maxFeatures, maxEntries, 0, Ticker.systemTicker());
+    }
+
+    private static FeatureHitIndex build(double x, double y) {
+        FeatureHitIndex.Builder builder = new FeatureHitIndex.Builder(LAYER, bounds(x, y), 100, 100, 1);
+        builder.add("roads.1", new Envelope(40, 60, 40, 60));
+        return builder.build();
+    }
+
+    private static ReferencedEnvelope bounds(double x, double y) {
+        return new ReferencedEnvelope(x, x + 100, y, y + 100, DefaultEngineeringCRS.GENERIC_2D);
+    }
+}
@@ -6,9 +6,26 @@
 package org.geoserver.wms.map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Point;
 import java.awt.geom.Point2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.namespace.QName;
+import org.geoserver.data.DataModifiedEvent;
+import org.geoserver.wms.map.QuickTileCache.MapKey;
+import org.geoserver.wms.map.QuickTileCache.MetaTileKey;
+import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
 
@@ -65,4 +82,105 @@ public void testInnerTileOffsets() {
         assertEquals(new Point(0, 2), cache.getTileOffsetsInMeta(box1, meta));
         assertEquals(new Point(1, 2), cache.getTileOffsetsInMeta(box2, meta));
     }
+
+    private MetaTileKey key(String layer, int x) {
+        MapKey mapKey = new MapKey("LAYERS=" + layer, 1, new Point2D.Double(0, 0));
+        MetaTileKey key = new MetaTileKey(mapKey, new Point(x, 0), new ReferencedEnvelope(x, x + 3, 0, 3, null));
+        key.layers = Set.of(new QName("http://test", layer));
+        return key;
+    }
+
+    /** A 3x3 meta-tile made of 16x16 ARGB tiles, 9216 bytes */
+    private RenderedImage[] tiles() {
+        RenderedImage[] tiles = new RenderedImage[9];
+        for (int i = 0; i < tiles.length; i++) {
+            tiles[i] = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+        }
+        return tiles;
+    }
+
+    @Test
+    public void testMaxEntries() {
+        QuickTileCache cache = new QuickTileCache(1024L * 1024 * 1024, 5);
+        for (int i = 0; i < 50; i++) {
+            cache.storeTiles(key("a", i * 3), tiles());
+        }
+        assertTrue(cache.getSize() <= 5);
+        assertTrue(cache.getEvictionCount() >= 45);
+    }
+
+    @Test
+    public void testMaxMemory() {
+        QuickTileCache cache = new QuickTileCache(20 * 9216, 1000);
+        for (int i = 0; i < 50; i++) {
+            cache.storeTiles(key("a", i * 3), tiles());
+        }
+        assertTrue(cache.getSize() <= 20);
+        assertTrue(cache.getMemoryUsage() <= 20 * 9216);
+        assertEquals(cache.getSize() * 9216, cache.getMemoryUsage());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getMemoryUsage());
+    }
+
+    @Test
+    public void testLayerInvalidation() throws Exception {
+        QuickTileCache cache = new QuickTileCache();
+        MetaTileKey a = key("a", 0);
+        MetaTileKey b = key("b", 0);
+        MetaTileKey unknown = key("c", 0);
+        unknown.layers = null;
+        cache.storeTiles(a, tiles());
+        cache.storeTiles(b, tiles());
+        cache.storeTiles(unknown, tiles());
+
+        // unqualified names match any namespace, unknown layers are always invalidated
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("a")));
+        assertEquals(1, cache.getSize());
+        assertNotNull(cache.getTiles(b, () -> {
+            throw new IllegalStateException("Should have been cached");
+        }));
+
+        // a different namespace does not match
+        cache.onApplicationEvent(new DataModifiedEvent(this, new QName("http://other", "b")));
+        assertEquals(1, cache.getSize());
+
+        // unknown modified layer, everything goes
+        cache.onApplicationEvent(new DataModifiedEvent(this));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testCoalescingAndStatistics() throws Exception {
+        QuickTileCache cache = new QuickTileCache();
+        MetaTileKey key = key("a", 0);
+        RenderedImage[] tiles = tiles();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<RenderedImage[]> first = executor.submit(() -> cache.getTiles(key, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                release.await();
+                return tiles;
+            }));
+            loading.await(10, TimeUnit.SECONDS);
+            // the second request waits for the first one to render the meta-tile
+            Future<RenderedImage[]> second = executor.submit(() -> cache.getTiles(key, () -> {
+                loads.incrementAndGet();
+                return tiles();
+            }));
+            release.countDown();
+            assertSame(tiles, first.get(10, TimeUnit.SECONDS));
+            assertSame(tiles, second.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+    }
 }
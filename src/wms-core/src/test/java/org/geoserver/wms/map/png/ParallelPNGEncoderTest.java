@@ -0,0 +1,136 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.map.png;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import ar.com.hjg.pngj.FilterType;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.Adler32;
+import javax.imageio.ImageIO;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class ParallelPNGEncoderTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void setUpExecutor() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void shutdownExecutor() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        int[] types = {
+            BufferedImage.TYPE_INT_ARGB,
+            BufferedImage.TYPE_INT_RGB,
+            BufferedImage.TYPE_4BYTE_ABGR,
+            BufferedImage.TYPE_3BYTE_BGR,
+            BufferedImage.TYPE_BYTE_GRAY,
+            BufferedImage.TYPE_BYTE_INDEXED,
+            BufferedImage.TYPE_BYTE_BINARY
+        };
+        for (int type : types) {
+            BufferedImage image = buildImage(type, 517, 433);
+            for (boolean adaptive : new boolean[] {false, true}) {
+                for (int parallelism : new int[] {1, 4}) {
+                    ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                    new ParallelPNGEncoder(executor, parallelism, adaptive)
+                            .encode(image, bos, 0.75f, FilterType.FILTER_SUB, null);
+                    assertSamePixels("type " + type, image, ImageIO.read(new ByteArrayInputStream(bos.toByteArray())));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSubImage() throws Exception {
+        // the raster does not start at the origin of its data buffer
+        BufferedImage image = buildImage(BufferedImage.TYPE_4BYTE_ABGR, 900, 900).getSubimage(133, 201, 500, 600);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new ParallelPNGEncoder(executor, 3, false).encode(image, bos, 0.1f, FilterType.FILTER_NONE, null);
+        assertSamePixels("subimage", image, ImageIO.read(new ByteArrayInputStream(bos.toByteArray())));
+    }
+
+    @Test
+    public void testMetadata() throws Exception {
+        BufferedImage image = buildImage(BufferedImage.TYPE_INT_ARGB, 64, 64);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new ParallelPNGEncoder(executor, 2, false)
+                .encode(image, bos, 0.75f, FilterType.FILTER_NONE, Map.of("Software", "GeoServer"));
+        String contents = new String(bos.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertTrue(contents.contains("tEXtSoftware\0GeoServer"));
+    }
+
+    @Test
+    public void testPNGJWriterParallel() throws Exception {
+        BufferedImage image = buildImage(BufferedImage.TYPE_INT_ARGB, 300, 300);
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        new PNGJWriter(4, 0, true).writePNG(image, bos, 0.75f, null);
+        assertSamePixels("writer", image, ImageIO.read(new ByteArrayInputStream(bos.toByteArray())));
+    }
+
+    @Test
+    public void testSupported() {
+        assertTrue(ParallelPNGEncoder.isSupported(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB)));
+        assertFalse(ParallelPNGEncoder.isSupported(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB_PRE)));
+        assertFalse(ParallelPNGEncoder.isSupported(new BufferedImage(1, 1, BufferedImage.TYPE_USHORT_GRAY)));
+    }
+
+    @Test
+    public void testCombineAdler32() {
+        byte[] data = new byte[100_000];
+        new Random(0).nextBytes(data);
+        Adler32 whole = new Adler32();
+        whole.update(data);
+        Adler32 first = new Adler32();
+        first.update(data, 0, 30_000);
+        Adler32 second = new Adler32();
+        second.update(data, 30_000, 70_000);
+        assertEquals(
+                whole.getValue(), ParallelPNGEncoder.combineAdler32(first.getValue(), second.getValue(), 70_000));
+    }
+
+    private static BufferedImage buildImage(int type, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D graphics = image.createGraphics();
+        Random random = new Random(0);
+        for (int i = 0; i < 300; i++) {
+            graphics.setColor(
+                    new Color(random.nextInt(256), random.nextInt(256), random.nextInt(256), random.nextInt(256)));
+            graphics.fillOval(random.nextInt(width), random.nextInt(height), 40, 40);
+        }
+        graphics.dispose();
+        return image;
+    }
+
+    private static void assertSamePixels(String message, BufferedImage expected, BufferedImage actual) {
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                assertEquals(message + " at " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+}
@@ -0,0 +1,210 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.profiling;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.Map;
+import org.geoserver.wms.WMSMapContent;
+import org.geoserver.wms.profiling.LayerProfile.RuleProfile;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.style.Rule;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.filter.text.ecql.ECQL;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.filter.visitor.SimplifyingFilterVisitor;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class RenderProfilerTest {
+
+    @Test
+    public void testProfileRendering() throws Exception {
+        RenderProfiler profiler = new RenderProfiler(null, true, 60000, 100);
+        WMSMapContent mapContent = new WMSMapContent();
+        try {
+            profiler.initRequest(null);
+            Layer original = new FeatureLayer(buildSource(), buildStyle(), "test:squares");
+            Layer layer = profiler.beforeLayer(mapContent, original);
+            assertNotNull(LayerProfile.get(layer));
+            assertNotNull(RenderProfiler.getRenderListener(mapContent));
+            render(layer, mapContent);
+            profiler.finished(null);
+        } finally {
+            mapContent.dispose();
+        }
+
+        StyleProfile profile = profiler.getStyleProfile("squares");
+        assertNotNull(profile);
+        assertEquals(List.of(profile), profiler.getStyleProfiles());
+        Map<String, Object> summary = profile.summarize(System.currentTimeMillis());
+        assertEquals(1L, summary.get("count"));
+        assertEquals(List.of("test:squares"), summary.get("layers"));
+        assertEquals(10L, summary.get("featuresRead"));
+        assertEquals(10L, summary.get("featuresDrawn"));
+
+        @SuppressWarnings("unchecked")
+        List<Map<String, Object>> rules = (List<Map<String, Object>>) summary.get("rules");
+        assertEquals(2, rules.size());
+        Map<String, Object> low = rules.get(0);
+        assertEquals("0.0", low.get("id"));
+        assertEquals("low", low.get("name"));
+        assertEquals("value < 3", low.get("filter"));
+        assertEquals("PolygonSymbolizer", low.get("symbolizers"));
+        assertEquals(10L, low.get("evaluated"));
+        assertEquals(3L, low.get("matched"));
+        assertEquals(7L, low.get("skipped"));
+        Map<String, Object> high = rules.get(1);
+        assertEquals("0.1", high.get("id"));
+        assertEquals(10L, high.get("evaluated"));
+        assertEquals(7L, high.get("matched"));
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        RenderProfiler profiler = new RenderProfiler(null, false, 60000, 100);
+        WMSMapContent mapContent = new WMSMapContent();
+        try {
+            Layer layer = new FeatureLayer(buildSource(), buildStyle(), "test:squares");
+            assertSame(layer, profiler.beforeLayer(mapContent, layer));
+            assertNull(RenderProfiler.getRenderListener(mapContent));
+        } finally {
+            mapContent.dispose();
+        }
+    }
+
+    @Test
+    public void testFilterSurvivesStyleDuplication() throws Exception {
+        Rule styleRule = buildStyle().featureTypeStyles().get(0).rules().get(0);
+        RuleProfile rule = new LayerProfile("layer", "style").addRule(0, 0, styleRule);
+        ProfilingFilter filter = new ProfilingFilter(ECQL.toFilter("value < 3"), rule);
+
+        Object copy = filter.accept(new DuplicatingFilterVisitor(), null);
+        assertTrue(copy instanceof ProfilingFilter);
+        Object subclassCopy = filter.accept(new DuplicatingFilterVisitor() {}, null);
+        assertTrue(subclassCopy instanceof ProfilingFilter);
+        Object simplified = filter.accept(new SimplifyingFilterVisitor(), null);
+        assertFalse(simplified instanceof ProfilingFilter);
+        Object rewritten = filter.accept(
+                new DuplicatingFilterVisitor() {
+                    @Override
+                    public Object visit(Literal expression, Object extraData) {
+                        return getFactory(extraData).literal(5);
+                    }
+                },
+                null);
+        assertFalse(rewritten instanceof ProfilingFilter);
+        assertEquals(ECQL.toFilter("value < 5"), rewritten);
+
+        SimpleFeature feature = buildSource().getFeatures().features().next();
+        assertTrue(((Filter) copy).evaluate(feature));
+        assertEquals(1, rule.getEvaluated());
+        assertEquals(1, rule.getMatched());
+    }
+
+    @Test
+    public void testRollingWindow() {
+        StyleProfile profile = new StyleProfile("style", 60000, 6);
+        LayerProfile layer = new LayerProfile("layer", "style");
+        layer.renderStart = 1;
+        layer.renderEnd = 1 + 150_000_000L;
+        layer.queryNanos = 100_000_000L;
+        profile.record(layer, 1000);
+        profile.record(layer, 25000);
+
+        assertEquals(2, profile.getCount(30000));
+        Map<String, Object> summary = profile.summarize(30000);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> render = (Map<String, Object>) summary.get("renderTime");
+        assertEquals(2L, render.get("count"));
+        assertEquals(150L, render.get("max"));
+        assertEquals(150L, render.get("p50"));
+        @SuppressWarnings("unchecked")
+        Map<String, Object> paint = (Map<String, Object>) summary.get("paintTime");
+        assertEquals(50L, paint.get("max"));
+
+        // the first slice falls out of the window, then the second one does
+        assertEquals(1, profile.getCount(65000));
+        assertEquals(0, profile.getCount(90000));
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        StyleProfile.Histogram histogram = new StyleProfile.Histogram();
+        for (int i = 0; i < 90; i++) {
+            histogram.add(3);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.add(700);
+        }
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(5, histogram.percentile(90));
+        assertEquals(700, histogram.percentile(99));
+    }
+
+    private static SimpleFeatureSource buildSource() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("squares", "geom:Polygon,value:int");
+        SimpleFeature[] features = new SimpleFeature[10];
+        for (int i = 0; i < features.length; i++) {
+            features[i] = SimpleFeatureBuilder.build(
+                    type, new Object[] {JTS.toGeometry(new Envelope(i, i + 1, i, i + 1)), i}, "squares." + i);
+        }
+        return DataUtilities.source(features);
+    }
+
+    private static Style buildStyle() throws Exception {
+        StyleBuilder sb = new StyleBuilder();
+        Rule low = sb.createRule(sb.createPolygonSymbolizer(Color.RED));
+        low.setName("low");
+        low.setFilter(ECQL.toFilter("value < 3"));
+        Rule high = sb.createRule(sb.createPolygonSymbolizer(Color.BLUE));
+        high.setName("high");
+        high.setFilter(ECQL.toFilter("value >= 3"));
+        Style style = sb.createStyle();
+        style.setName("squares");
+        style.featureTypeStyles().add(sb.createFeatureTypeStyle("squares", new Rule[] {low, high}));
+        return style;
+    }
+
+    private static void render(Layer layer, WMSMapContent mapContent) {
+        MapContent content = new MapContent();
+        try {
+            content.addLayer(layer);
+            ReferencedEnvelope bounds = new ReferencedEnvelope(0, 10, 0, 10, null);
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(content);
+            renderer.addRenderListener(RenderProfiler.getRenderListener(mapContent));
+            BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D graphics = image.createGraphics();
+            renderer.paint(graphics, new Rectangle(100, 100), bounds);
+            graphics.dispose();
+        } finally {
+            content.dispose();
+        }
+    }
+}
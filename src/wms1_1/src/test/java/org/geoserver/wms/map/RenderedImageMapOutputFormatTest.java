@@ -13,6 +13,7 @@
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -28,6 +29,7 @@
 import java.awt.geom.NoninvertibleTransformException;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.IndexColorModel;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.awt.image.WritableRaster;
@@ -265,6 +267,47 @@ public void testSimpleGetMapQuery() throws Exception {
         assertNotBlank("testSimpleGetMapQuery", image);
     }
 
+    @Test
+    public void testDirectPaletteRendering() throws Exception {
+        Catalog catalog = getCatalog();
+        final FeatureSource fs = catalog.getFeatureTypeByName(
+                        MockData.BASIC_POLYGONS.getPrefix(), MockData.BASIC_POLYGONS.getLocalPart())
+                .getFeatureSource(null, null);
+        StyleBuilder sb = new StyleBuilder();
+        Style style = sb.createStyle(sb.createPolygonSymbolizer(Color.BLUE, Color.BLACK, 1));
+
+        // paletted output without antialiasing, the style colors are all there is to paint
+        RenderedImage image = renderBasicPolygons(fs, style, "image/png8", "none");
+        assertTrue(image.getColorModel() instanceof IndexColorModel);
+        assertNotBlank("testDirectPaletteRendering", new ImageWorker(image).getBufferedImage());
+
+        // antialiased or full color output still goes through a RGBA surface
+        assertFalse(renderBasicPolygons(fs, style, "image/png8", null).getColorModel() instanceof IndexColorModel);
+        assertFalse(renderBasicPolygons(fs, style, "image/png", "none").getColorModel() instanceof IndexColorModel);
+    }
+
+    private RenderedImage renderBasicPolygons(FeatureSource fs, Style style, String format, String antialias)
+            throws Exception {
+        GetMapRequest request = new GetMapRequest();
+        final WMSMapContent map = new WMSMapContent();
+        map.getViewport().setBounds(new ReferencedEnvelope(fs.getBounds(), DefaultGeographicCRS.WGS84));
+        map.setMapWidth(300);
+        map.setMapHeight(300);
+        map.setBgColor(Color.red);
+        map.setTransparent(false);
+        map.setRequest(request);
+        map.addLayer(new FeatureLayer(fs, style));
+
+        request.setFormat(format);
+        if (antialias != null) {
+            request.getFormatOptions().put("antialias", antialias);
+        }
+        RenderedImageMap imageMap = this.rasterMapProducer.produceMap(map);
+        RenderedImage image = imageMap.getImage();
+        imageMap.dispose();
+        return image;
+    }
+
     @Test
     public void testAdvancedProjectionDensification() throws Exception {
         WMS wms = getWMS();
@@ -32,6 +32,7 @@
 import org.geoserver.catalog.CatalogBuilder;
 import org.geoserver.catalog.DataLinkInfo;
 import org.geoserver.catalog.DataStoreInfo;
+import org.geoserver.catalog.FeatureTypeInfo;
 import org.geoserver.catalog.Keyword;
 import org.geoserver.catalog.LayerGroupHelper;
 import org.geoserver.catalog.LayerGroupInfo;
@@ -42,11 +43,13 @@
 import org.geoserver.catalog.ResourceInfo;
 import org.geoserver.catalog.StyleInfo;
 import org.geoserver.catalog.WorkspaceInfo;
+import org.geoserver.config.CapabilitiesDocumentCache;
 import org.geoserver.config.ContactInfo;
 import org.geoserver.config.GeoServerInfo;
 import org.geoserver.data.test.MockData;
 import org.geoserver.data.test.SystemTestData;
 import org.geoserver.json.JSONType;
+import org.geoserver.platform.GeoServerExtensions;
 import org.geoserver.wms.GetCapabilitiesRequest;
 import org.geoserver.wms.WMS;
 import org.geoserver.wms.WMSInfo;
@@ -778,6 +781,46 @@ public void testNonAdvertisedNonQueriableWithinGroup() throws Exception {
         }
     }
 
+    @Test
+    public void testCapabilitiesDocumentCache() throws Exception {
+        CapabilitiesDocumentCache cache = GeoServerExtensions.bean(CapabilitiesDocumentCache.class);
+        boolean backup = cache.isEnabled();
+        Catalog catalog = getCatalog();
+        FeatureTypeInfo buildings = catalog.getFeatureTypeByName(getLayerId(MockData.BUILDINGS));
+        String title = buildings.getTitle();
+        try {
+            cache.setEnabled(true);
+            String path = "wms?service=WMS&request=getCapabilities&version=1.1.1";
+            String citePath = MockData.CITE_PREFIX + "/" + path;
+            String cdfPath = MockData.CDF_PREFIX + "/" + path;
+
+            String caps = getAsString(path);
+            long hits = cache.getStats().hitCount();
+            assertEquals(caps, getAsString(path));
+            assertEquals(hits + 1, cache.getStats().hitCount());
+            getAsString(citePath);
+            String cdfCaps = getAsString(cdfPath);
+            assertEquals(3, cache.size());
+
+            // a layer change drops the global and own workspace documents, but not the ones of other workspaces
+            buildings.setTitle("Cached WMS title");
+            catalog.save(buildings);
+            assertEquals(1, cache.size());
+            assertTrue(getAsString(path).contains("Cached WMS title"));
+            assertTrue(getAsString(citePath).contains("Cached WMS title"));
+            assertEquals(cdfCaps, getAsString(cdfPath));
+
+            // layer publishing changes too
+            setAdvertised(catalog, MockData.BUILDINGS, false);
+            assertFalse(getAsString(path).contains("Cached WMS title"));
+        } finally {
+            cache.setEnabled(backup);
+            buildings.setTitle(title);
+            catalog.save(buildings);
+            setAdvertised(catalog, MockData.BUILDINGS, true);
+        }
+    }
+
     private void setAdvertised(Catalog catalog, QName name, boolean advertised) {
         LayerInfo lakes = catalog.getLayerByName(getLayerId(name));
         lakes.setAdvertised(advertised);
@@ -0,0 +1,124 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.wms_1_1_1;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geoserver.data.test.MockData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wms.WMSTestSupport;
+import org.geoserver.wms.featureinfo.FeatureHitIndexCache;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.kordamp.json.JSONArray;
+import org.kordamp.json.JSONObject;
+
+/** Checks the GetFeatureInfo answered from the hit index built by GetMap match the rendering based ones */
+public class GetFeatureInfoHitIndexTest extends WMSTestSupport {
+
+    static final String OUTLINE_STYLE = "polygonOutline";
+
+    /** 8x8 degrees, 32 pixels per degree */
+    static final String MAP = "&srs=EPSG:4326&bbox=-4,-1,4,7&width=256&height=256";
+
+    /** Pixels inside one, two or no polygons */
+    static final int[][] CLICKS = {{128, 224}, {80, 96}, {128, 96}, {176, 144}, {32, 224}, {224, 16}};
+
+    @BeforeClass
+    public static void enableHitIndex() {
+        System.setProperty(FeatureHitIndexCache.ENABLED_KEY, "true");
+    }
+
+    @AfterClass
+    public static void disableHitIndex() {
+        System.clearProperty(FeatureHitIndexCache.ENABLED_KEY);
+    }
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        super.onSetUp(testData);
+        testData.addStyle(OUTLINE_STYLE, "polygonOutline.sld", GetFeatureInfoHitIndexTest.class, getCatalog());
+    }
+
+    @Before
+    public void clearCache() {
+        getCache().clear();
+    }
+
+    @Test
+    public void testSameFeaturesAsRendering() throws Exception {
+        FeatureHitIndexCache cache = getCache();
+        String layer = getLayerId(MockData.BASIC_POLYGONS);
+
+        // nothing rendered yet, the features are identified by rendering
+        List<List<String>> rendered = new ArrayList<>();
+        for (int[] click : CLICKS) {
+            rendered.add(getFeatureInfo(layer, "", click));
+        }
+        assertEquals(0, cache.getHitCount());
+        assertEquals(List.of("BasicPolygons.1107531493630"), rendered.get(0));
+        assertEquals(2, rendered.get(2).size());
+        assertTrue(rendered.get(4).isEmpty());
+
+        getMap(layer, "");
+        assertEquals(1, cache.getSize());
+        for (int i = 0; i < CLICKS.length; i++) {
+            assertEquals("click " + i, rendered.get(i), getFeatureInfo(layer, "", CLICKS[i]));
+        }
+        assertEquals(CLICKS.length, cache.getHitCount());
+    }
+
+    @Test
+    public void testNoFillRendered() throws Exception {
+        FeatureHitIndexCache cache = getCache();
+        String layer = getLayerId(MockData.BASIC_POLYGONS);
+
+        getMap(layer, OUTLINE_STYLE);
+        assertEquals(0, cache.getSize());
+        // inside the diamond but away from its outline, not a hit
+        assertTrue(getFeatureInfo(layer, OUTLINE_STYLE, CLICKS[0]).isEmpty());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    private FeatureHitIndexCache getCache() {
+        return applicationContext.getBean(FeatureHitIndexCache.class);
+    }
+
+    private void getMap(String layer, String style) throws Exception {
+        getAsImage(
+                "wms?service=WMS&version=1.1.1&request=GetMap&format=image/png&tiled=true&layers="
+                        + layer
+                        + "&styles="
+                        + style
+                        + MAP,
+                "image/png");
+    }
+
+    private List<String> getFeatureInfo(String layer, String style, int[] click) throws Exception {
+        JSONObject json = (JSONObject) getAsJSON("wms?service=WMS&version=1.1.1&request=GetFeatureInfo"
+                + "&info_format=application/json&feature_count=10&layers="
+                + layer
+                + "&query_layers="
+                + layer
+                + "&styles="
+                + style
+                + MAP
+                + "&x="
+                + click[0]
+                + "&y="
+                + click[1]);
+        JSONArray features = json.getJSONArray("features");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < features.size(); i++) {
+            ids.add(features.getJSONObject(i).getString("id"));
+        }
+        return ids;
+    }
+}
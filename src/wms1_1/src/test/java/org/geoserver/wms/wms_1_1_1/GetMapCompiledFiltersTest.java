@@ -0,0 +1,65 @@
+/* (c) 2026 Open Source Geospatial Foundation - all rights reserved
+ * This code is licensed under the GPL 2.0 license, available at the root
+ * application directory.
+ */
+package org.geoserver.wms.wms_1_1_1;
+
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import javax.xml.namespace.QName;
+import org.geoserver.data.test.MockData;
+import org.geoserver.data.test.SystemTestData;
+import org.geoserver.wms.WMSTestSupport;
+import org.geoserver.wms.compiled.CompiledFilterStyler;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** Renders rule based styles with the compiled rule filters enabled */
+public class GetMapCompiledFiltersTest extends WMSTestSupport {
+
+    static final QName RULE_SQUARES = new QName(MockData.CITE_URI, "ruleSquares", MockData.CITE_PREFIX);
+
+    @BeforeClass
+    public static void enableCompiledFilters() {
+        System.setProperty(CompiledFilterStyler.ENABLED_PROPERTY, "true");
+    }
+
+    @AfterClass
+    public static void disableCompiledFilters() {
+        System.clearProperty(CompiledFilterStyler.ENABLED_PROPERTY);
+    }
+
+    @Override
+    protected void onSetUp(SystemTestData testData) throws Exception {
+        super.onSetUp(testData);
+        testData.addStyle("ruleSquares", "ruleSquares.sld", GetMapCompiledFiltersTest.class, getCatalog());
+        testData.addVectorLayer(
+                RULE_SQUARES,
+                Collections.emptyMap(),
+                "ruleSquares.properties",
+                GetMapCompiledFiltersTest.class,
+                getCatalog());
+    }
+
+    @Test
+    public void testRuleFilters() throws Exception {
+        assertTrue(applicationContext.getBean(CompiledFilterStyler.class).isEnabled());
+
+        BufferedImage image = getAsImage(
+                "wms?service=WMS&version=1.1.1&request=GetMap&format=image/png&srs=EPSG:4326"
+                        + "&bbox=0,0,4,1&width=400&height=100&styles=ruleSquares&layers="
+                        + getLayerId(RULE_SQUARES),
+                "image/png");
+        // ids only telling apart as longs, the first square is matched by the else rule
+        assertPixel(image, 50, 50, new Color(128, 128, 128));
+        assertPixel(image, 150, 50, Color.RED);
+        // between with a floating point boundary, and a string comparison
+        assertPixel(image, 250, 50, Color.GREEN);
+        // null check
+        assertPixel(image, 350, 50, Color.BLUE);
+    }
+}